@@ -0,0 +1,72 @@
+package ragde.factories;
+
+import com.querydsl.core.types.Predicate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+import ragde.factories.implementations.PageFactoryImpl;
+import ragde.models.QPerson;
+import ragde.pojos.pages.FilterRequest;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure how long PageFactory takes to turn a list of filters into a query condition
+ * (run with ./gradlew jmh)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("unchecked")
+public class PageFactoryBenchmark {
+
+    private final PageFactory pageFactory = new PageFactoryImpl();
+
+    private final List<FilterRequest> filters = List.of(
+            new FilterRequest("name", "name", FilterRequest.OPERATIONS.LIKE),
+            new FilterRequest("lastName", "last", FilterRequest.OPERATIONS.STARTS_WITH),
+            new FilterRequest("civilStatus", "1", FilterRequest.OPERATIONS.EQ),
+            new FilterRequest("birthday", "1986-04-08", FilterRequest.OPERATIONS.GT),
+            new FilterRequest("createdAt", "2020-10-25T19:23:55Z", FilterRequest.OPERATIONS.LET)
+    );
+
+    // criteria stubs, so only the time spent by PageFactory is measured and not the JPA provider
+    private final Root root = stub(Root.class);
+
+    private final CriteriaQuery query = stub(CriteriaQuery.class);
+
+    private final CriteriaBuilder cb = stub(CriteriaBuilder.class);
+
+    @Benchmark
+    public javax.persistence.criteria.Predicate getSpecifications() {
+        Specification specification = pageFactory.getSpecifications(filters);
+        return specification.toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate getPredicate() {
+        return pageFactory.getPredicate(filters, QPerson.person);
+    }
+
+    private static final Map<Class, Object> STUBS = new ConcurrentHashMap<>();
+
+    /**
+     * Create an interface implementation where every method returns another stub (or null if the type isn't an interface)
+     *
+     * @param type interface to implement
+     * @return stub instance
+     */
+    private static <T> T stub(Class<T> type) {
+        return (T) STUBS.computeIfAbsent(type, t -> Proxy.newProxyInstance(PageFactoryBenchmark.class.getClassLoader(), new Class[]{t},
+                (proxy, method, args) -> method.getReturnType().isInterface() ? stub(method.getReturnType()) : null));
+    }
+}
@@ -0,0 +1,108 @@
+package ragde.security.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import org.openjdk.jmh.annotations.*;
+import ragde.security.jwt.implementations.CompactTokenCodec;
+import ragde.security.pojos.LoggedUser;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.security.Key;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare tokens signed with a String secret and a JSON subject against a prebuilt Key and compact claims
+ * (run with ./gradlew jmh, token sizes are reported as the jsonTokenChars and compactTokenChars secondary results)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    private final String secret = "mySecret";
+
+    private final Key key = new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS512.getJcaName());
+
+    private final JwtParser parser = Jwts.parser().setSigningKey(key);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final TokenCodec codec = new CompactTokenCodec();
+
+    private final LoggedUser loggedUser = new LoggedUser("15", "Edgar Arguelles", "https://lh3.googleusercontent.com/a/photo.jpg", "3",
+            Set.of("VIEW_USERS", "CREATE_USERS", "REMOVE_USERS", "VIEW_ROLES", "CREATE_ROLES", "REMOVE_ROLES"));
+
+    private String jsonToken;
+
+    private String compactToken;
+
+    @Setup
+    public void setup() throws IOException {
+        jsonToken = buildJson();
+        compactToken = buildCompact();
+    }
+
+    @Benchmark
+    public String signJson(TokenSize tokenSize) throws IOException {
+        String token = buildJson();
+        tokenSize.jsonTokenChars = token.length();
+        return token;
+    }
+
+    @Benchmark
+    public String signCompact(TokenSize tokenSize) throws IOException {
+        String token = buildCompact();
+        tokenSize.compactTokenChars = token.length();
+        return token;
+    }
+
+    @Benchmark
+    public LoggedUser verifyJson() throws IOException {
+        String subject = Jwts.parser().setSigningKey(secret).parseClaimsJws(jsonToken).getBody().getSubject();
+        return mapper.readValue(subject, LoggedUser.class);
+    }
+
+    @Benchmark
+    public LoggedUser verifyCompact() throws IOException {
+        Claims claims = parser.parseClaimsJws(compactToken).getBody();
+        return codec.decode(claims);
+    }
+
+    private String buildJson() throws IOException {
+        return Jwts.builder()
+                .setSubject(mapper.writeValueAsString(loggedUser))
+                .setExpiration(new Date(System.currentTimeMillis() + 604800))
+                .signWith(SignatureAlgorithm.HS512, secret)
+                .compact();
+    }
+
+    private String buildCompact() throws IOException {
+        return Jwts.builder()
+                .setClaims(codec.encode(loggedUser))
+                .setExpiration(new Date(System.currentTimeMillis() + 604800))
+                .signWith(SignatureAlgorithm.HS512, key)
+                .compact();
+    }
+
+    /**
+     * Token sizes in chars, reported by the sign benchmarks as secondary results
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TokenSize {
+
+        public int jsonTokenChars;
+
+        public int compactTokenChars;
+    }
+}
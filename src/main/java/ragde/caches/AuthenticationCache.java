@@ -0,0 +1,40 @@
+package ragde.caches;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.Date;
+import java.util.Map;
+
+public interface AuthenticationCache {
+
+    /**
+     * Get the Authentication built from a token
+     *
+     * @param token requested token
+     * @return cached Authentication or null if it isn't cached or it's expired
+     */
+    Authentication get(String token);
+
+    /**
+     * Store the Authentication built from a token, it's cached until the token expires or the cache ttl ends
+     *
+     * @param token          requested token
+     * @param authentication Authentication built from the token
+     * @param expiration     token's expiration time
+     */
+    void put(String token, Authentication authentication, Date expiration);
+
+    /**
+     * Check if cache is enabled
+     *
+     * @return true if Authentications are cached
+     */
+    boolean isEnabled();
+
+    /**
+     * Get hits, misses and size
+     *
+     * @return statistics map
+     */
+    Map<String, Long> getStatistics();
+}
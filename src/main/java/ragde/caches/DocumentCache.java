@@ -0,0 +1,31 @@
+package ragde.caches;
+
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import java.util.Map;
+
+public interface DocumentCache extends PreparsedDocumentProvider {
+
+    /**
+     * Get a persisted query
+     *
+     * @param hash query's SHA-256 hash
+     * @return persisted query or null if it isn't persisted
+     */
+    String getQuery(String hash);
+
+    /**
+     * Persist a query, so next requests can send only its hash
+     *
+     * @param hash  query's SHA-256 hash
+     * @param query query to be persisted
+     */
+    void putQuery(String hash, String query);
+
+    /**
+     * Get hits, misses and size of parsed documents and size of persisted queries
+     *
+     * @return statistics map
+     */
+    Map<String, Long> getStatistics();
+}
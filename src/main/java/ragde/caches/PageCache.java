@@ -0,0 +1,41 @@
+package ragde.caches;
+
+import org.springframework.data.domain.Page;
+import ragde.models.Model;
+import ragde.pojos.pages.PageDataRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public interface PageCache {
+
+    /**
+     * Get a page from cache, when it isn't cached or it's expired the page is loaded and stored.
+     * Only the page's ids and totals are cached, so the content is always found again by id and entities
+     * (and their lazy relations) are never shared across sessions
+     *
+     * @param type            entity class used as cache region
+     * @param pageDataRequest page request used as cache key
+     * @param loader          function that executes the page query (filter, sort and count)
+     * @param finder          function that finds the page content by ids
+     * @param <T>             entity type
+     * @return page
+     */
+    <T extends Model> Page<T> page(Class<T> type, PageDataRequest pageDataRequest, Supplier<Page<T>> loader, Function<List<String>, List<T>> finder);
+
+    /**
+     * Remove all cached pages of an entity, when there is an active transaction pages are removed once it's committed
+     *
+     * @param type entity class used as cache region
+     */
+    void evict(Class<? extends Model> type);
+
+    /**
+     * Get hits, misses, evictions and size by entity
+     *
+     * @return statistics map
+     */
+    Map<String, Map<String, Long>> getStatistics();
+}
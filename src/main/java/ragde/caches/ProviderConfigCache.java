@@ -0,0 +1,28 @@
+package ragde.caches;
+
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import ragde.models.AuthProvider;
+import ragde.security.pojos.ProviderConfig;
+
+import java.util.function.Function;
+
+public interface ProviderConfigCache {
+
+    /**
+     * Get the configuration of an OAuth provider, the AuthProvider is loaded and its connection factory is built
+     * only once (even with concurrent requests) and reused until the provider is evicted
+     *
+     * @param name              AuthProvider's name
+     * @param connectionFactory function that builds the provider's connection factory from the AuthProvider
+     * @return provider's configuration
+     */
+    ProviderConfig get(String name, Function<AuthProvider, OAuth2ConnectionFactory<?>> connectionFactory);
+
+    /**
+     * Remove the configuration of an OAuth provider so it's built again with its new values,
+     * when there is an active transaction it's removed once it's committed
+     *
+     * @param name AuthProvider's name
+     */
+    void evict(String name);
+}
@@ -0,0 +1,14 @@
+package ragde.caches;
+
+import ragde.models.Model;
+
+public interface SecondLevelCache {
+
+    /**
+     * Remove an entity from Hibernate's second-level cache, with the collections holding it and the cached queries,
+     * when there is an active transaction the entity is removed once it's committed
+     *
+     * @param type entity class to be removed
+     */
+    void evict(Class<? extends Model> type);
+}
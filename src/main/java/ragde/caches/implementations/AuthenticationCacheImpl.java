@@ -0,0 +1,105 @@
+package ragde.caches.implementations;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import ragde.caches.AuthenticationCache;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AuthenticationCacheImpl implements AuthenticationCache {
+
+    // max tokens cached, 0 disables the cache
+    @Value("${authentication-cache.max-size:0}")
+    private int MAX_SIZE;
+
+    // max seconds a token is cached (it's never cached after its expiration), 0 disables the cache
+    @Value("${authentication-cache.ttl:0}")
+    private long TTL;
+
+    // token's digest is used as key, so the whole token isn't kept in memory
+    private final Map<String, CachedAuthentication> authentications = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    @Override
+    public Authentication get(String token) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        String key = DigestUtils.sha256Hex(token);
+        CachedAuthentication cachedAuthentication;
+        synchronized (authentications) {
+            cachedAuthentication = authentications.get(key);
+            if (cachedAuthentication != null && cachedAuthentication.expiration - System.currentTimeMillis() <= 0) {
+                authentications.remove(key);
+                cachedAuthentication = null;
+            }
+        }
+
+        if (cachedAuthentication == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cachedAuthentication.authentication;
+    }
+
+    @Override
+    public void put(String token, Authentication authentication, Date expiration) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long time = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TTL);
+        if (expiration != null) {
+            time = Math.min(time, expiration.getTime());
+        }
+
+        String key = DigestUtils.sha256Hex(token);
+        synchronized (authentications) {
+            authentications.put(key, new CachedAuthentication(authentication, time));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return MAX_SIZE > 0 && TTL > 0;
+    }
+
+    @Override
+    public Map<String, Long> getStatistics() {
+        synchronized (authentications) {
+            return Map.of("hits", hits.get(), "misses", misses.get(), "size", (long) authentications.size());
+        }
+    }
+
+    /**
+     * Cached Authentication values
+     */
+    private static class CachedAuthentication {
+
+        private final Authentication authentication;
+
+        private final long expiration;
+
+        private CachedAuthentication(Authentication authentication, long expiration) {
+            this.authentication = authentication;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ragde.caches.implementations;
+
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ragde.caches.DocumentCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class DocumentCacheImpl implements DocumentCache {
+
+    // max parsed documents and max persisted queries cached, 0 disables the cache
+    @Value("${document-cache.max-size:0}")
+    private int MAX_SIZE;
+
+    // query's digest is used as key, so persisted queries and their parsed documents share the same key
+    private final Map<String, PreparsedDocumentEntry> documents = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private final Map<String, String> queries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    @Override
+    public PreparsedDocumentEntry get(String query, Function<String, PreparsedDocumentEntry> compute) {
+        if (MAX_SIZE <= 0) {
+            return compute.apply(query);
+        }
+
+        String key = DigestUtils.sha256Hex(query);
+        PreparsedDocumentEntry entry;
+        synchronized (documents) {
+            entry = documents.get(key);
+        }
+
+        if (entry != null) {
+            hits.incrementAndGet();
+            return entry;
+        }
+
+        // parse and validate outside the lock, a query requested concurrently could be parsed twice
+        misses.incrementAndGet();
+        entry = compute.apply(query);
+        synchronized (documents) {
+            documents.put(key, entry);
+        }
+        return entry;
+    }
+
+    @Override
+    public String getQuery(String hash) {
+        synchronized (queries) {
+            return queries.get(hash);
+        }
+    }
+
+    @Override
+    public void putQuery(String hash, String query) {
+        if (MAX_SIZE <= 0) {
+            return;
+        }
+
+        synchronized (queries) {
+            queries.put(hash, query);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getStatistics() {
+        synchronized (documents) {
+            synchronized (queries) {
+                return Map.of("hits", hits.get(), "misses", misses.get(), "size", (long) documents.size(), "persistedQueries", (long) queries.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ragde.caches.implementations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ragde.caches.PageCache;
+import ragde.models.Model;
+import ragde.pojos.pages.PageDataRequest;
+import ragde.repositories.datasources.ReplicaRoutingDataSource;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class PageCacheImpl implements PageCache {
+
+    // max pages cached by entity, 0 disables the cache
+    @Value("${page-cache.max-size:0}")
+    private int MAX_SIZE;
+
+    // seconds a page is cached, 0 disables the cache
+    @Value("${page-cache.ttl:0}")
+    private long TTL;
+
+    private final Map<Class<? extends Model>, Region> regions = new ConcurrentHashMap<>();
+
+    @Override
+    public <T extends Model> Page<T> page(Class<T> type, PageDataRequest pageDataRequest, Supplier<Page<T>> loader, Function<List<String>, List<T>> finder) {
+        if (MAX_SIZE <= 0 || TTL <= 0) {
+            return loader.get();
+        }
+
+        Region region = getRegion(type);
+        CachedPage cachedPage = region.get(pageDataRequest);
+        if (cachedPage != null) {
+            List<T> content = getContent(cachedPage.ids, finder);
+            // null when some entity was removed without evicting the cache, so page must be loaded again
+            if (content != null) {
+                region.hit();
+                return new PageImpl<>(content, cachedPage.pageable, cachedPage.total);
+            }
+        }
+
+        region.miss();
+        long generation = region.getGeneration();
+        // the page is kept for everyone, so it's not loaded from a replica which could be behind the last eviction
+        Page<T> page = ReplicaRoutingDataSource.readLatest(loader);
+        List<String> ids = page.getContent().stream().map(Model::getId).collect(Collectors.toList());
+        region.put(pageDataRequest, generation, new CachedPage(ids, page.getPageable(), page.getTotalElements(), System.nanoTime() + TimeUnit.SECONDS.toNanos(TTL)));
+        return page;
+    }
+
+    @Override
+    public void evict(Class<? extends Model> type) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    getRegion(type).clear();
+                }
+            });
+        } else {
+            getRegion(type).clear();
+        }
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> getStatistics() {
+        Map<String, Map<String, Long>> statistics = new TreeMap<>();
+        regions.forEach((type, region) -> statistics.put(type.getSimpleName(), region.getStatistics()));
+        return statistics;
+    }
+
+    /**
+     * Get (or create) the cache region of an entity
+     *
+     * @param type entity class
+     * @return entity region
+     */
+    private Region getRegion(Class<? extends Model> type) {
+        return regions.computeIfAbsent(type, t -> new Region(MAX_SIZE));
+    }
+
+    /**
+     * Find the entities and sort them as the cached ids
+     *
+     * @param ids    cached ids
+     * @param finder function that finds entities by ids
+     * @param <T>    entity type
+     * @return sorted entities or null if some of them doesn't exist anymore
+     */
+    private <T extends Model> List<T> getContent(List<String> ids, Function<List<String>, List<T>> finder) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, T> entities = finder.apply(ids).stream().collect(Collectors.toMap(Model::getId, e -> e, (e1, e2) -> e1));
+        List<T> content = ids.stream().map(entities::get).filter(Objects::nonNull).collect(Collectors.toList());
+        return content.size() == ids.size() ? content : null;
+    }
+
+    /**
+     * Cached page values
+     */
+    private static class CachedPage {
+
+        private final List<String> ids;
+
+        private final Pageable pageable;
+
+        private final long total;
+
+        private final long expiration;
+
+        private CachedPage(List<String> ids, Pageable pageable, long total, long expiration) {
+            this.ids = ids;
+            this.pageable = pageable;
+            this.total = total;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Cached pages of one entity, the generation changes on every eviction so a page loaded
+     * before an eviction (maybe with old values) is never stored after it
+     */
+    private static class Region {
+
+        private final Map<PageDataRequest, CachedPage> entries;
+
+        private long generation;
+
+        private long hits;
+
+        private long misses;
+
+        private long evictions;
+
+        private Region(int maxSize) {
+            // access order, so the least recently used page is removed when size is exceeded
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PageDataRequest, CachedPage> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private synchronized CachedPage get(PageDataRequest pageDataRequest) {
+            CachedPage cachedPage = entries.get(pageDataRequest);
+            if (cachedPage != null && cachedPage.expiration - System.nanoTime() <= 0) {
+                entries.remove(pageDataRequest);
+                return null;
+            }
+            return cachedPage;
+        }
+
+        private synchronized void put(PageDataRequest pageDataRequest, long generation, CachedPage cachedPage) {
+            if (this.generation == generation) {
+                entries.put(pageDataRequest, cachedPage);
+            }
+        }
+
+        private synchronized void clear() {
+            generation++;
+            evictions++;
+            entries.clear();
+        }
+
+        private synchronized long getGeneration() {
+            return generation;
+        }
+
+        private synchronized void hit() {
+            hits++;
+        }
+
+        private synchronized void miss() {
+            misses++;
+        }
+
+        private synchronized Map<String, Long> getStatistics() {
+            return Map.of("hits", hits, "misses", misses, "evictions", evictions, "size", (long) entries.size());
+        }
+    }
+}
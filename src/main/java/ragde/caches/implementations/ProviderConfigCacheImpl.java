@@ -0,0 +1,52 @@
+package ragde.caches.implementations;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ragde.caches.ProviderConfigCache;
+import ragde.exceptions.RagdeDontFoundException;
+import ragde.models.AuthProvider;
+import ragde.repositories.AuthProviderRepository;
+import ragde.security.pojos.ProviderConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class ProviderConfigCacheImpl implements ProviderConfigCache {
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    private final Map<String, ProviderConfig> configs = new ConcurrentHashMap<>();
+
+    @Override
+    public ProviderConfig get(String name, Function<AuthProvider, OAuth2ConnectionFactory<?>> connectionFactory) {
+        // computeIfAbsent blocks concurrent requests of the same provider until its configuration is built
+        return configs.computeIfAbsent(name, n -> {
+            AuthProvider authProvider = authProviderRepository.findByName(n);
+            if (authProvider == null) {
+                throw new RagdeDontFoundException("Provider '" + n + "' don't found.");
+            }
+
+            return new ProviderConfig(authProvider.getAuthKey(), authProvider.getAuthSecret(), connectionFactory.apply(authProvider).getOAuthOperations());
+        });
+    }
+
+    @Override
+    public void evict(String name) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    configs.remove(name);
+                }
+            });
+        } else {
+            configs.remove(name);
+        }
+    }
+}
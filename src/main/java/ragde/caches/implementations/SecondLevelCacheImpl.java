@@ -0,0 +1,53 @@
+package ragde.caches.implementations;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ragde.caches.SecondLevelCache;
+import ragde.models.Model;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
+
+@Component
+public class SecondLevelCacheImpl implements SecondLevelCache {
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void evict(Class<? extends Model> type) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(type);
+                }
+            });
+        } else {
+            clear(type);
+        }
+    }
+
+    /**
+     * Remove entity's region, the regions of the collections whose elements are this entity and the query regions
+     *
+     * @param type entity class to be removed
+     */
+    private void clear(Class<? extends Model> type) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(type);
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            for (PluralAttribute<?, ?, ?> attribute : entity.getPluralAttributes()) {
+                if (attribute.getElementType().getJavaType().equals(type)) {
+                    cache.evictCollectionData(entity.getJavaType().getName() + "." + attribute.getName());
+                }
+            }
+        }
+        cache.evictQueryRegions();
+    }
+}
@@ -0,0 +1,109 @@
+package ragde.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import ragde.factories.ExportFactory;
+import ragde.models.*;
+import ragde.pojos.pages.FilterRequest;
+import ragde.services.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Export all the entities matching the filters (sent in the body, the same as pagination's filters), rows are written
+ * to the response while they are read from data base so memory doesn't grow with the number of rows
+ */
+@RestController
+@RequestMapping(value = "/export")
+public class ExportCtrl {
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private ExportFactory exportFactory;
+
+    @PostMapping(value = "/people")
+    public void people(@RequestParam(defaultValue = "NDJSON") ExportFactory.FORMAT format, @RequestBody(required = false) List<FilterRequest> filters,
+                       HttpServletResponse response) throws IOException {
+        export(personService, Person.class, "people", format, filters, response);
+    }
+
+    @PostMapping(value = "/roles")
+    public void roles(@RequestParam(defaultValue = "NDJSON") ExportFactory.FORMAT format, @RequestBody(required = false) List<FilterRequest> filters,
+                      HttpServletResponse response) throws IOException {
+        export(roleService, Role.class, "roles", format, filters, response);
+    }
+
+    @PostMapping(value = "/permissions")
+    public void permissions(@RequestParam(defaultValue = "NDJSON") ExportFactory.FORMAT format, @RequestBody(required = false) List<FilterRequest> filters,
+                            HttpServletResponse response) throws IOException {
+        export(permissionService, Permission.class, "permissions", format, filters, response);
+    }
+
+    @PostMapping(value = "/authentications")
+    public void authentications(@RequestParam(defaultValue = "NDJSON") ExportFactory.FORMAT format, @RequestBody(required = false) List<FilterRequest> filters,
+                                HttpServletResponse response) throws IOException {
+        export(authenticationService, Authentication.class, "authentications", format, filters, response);
+    }
+
+    private <T extends Model> void export(JpaService<T> service, Class<T> type, String name, ExportFactory.FORMAT format,
+                                          List<FilterRequest> filters, HttpServletResponse response) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        LazyRowWriter<T> rowWriter = new LazyRowWriter<>(() -> {
+            response.setContentType(format == ExportFactory.FORMAT.CSV ? "text/csv" : "application/x-ndjson");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.name().toLowerCase() + "\"");
+            return exportFactory.rowWriter(type, format, writer);
+        });
+
+        service.export(filters, rowWriter);
+        // there weren't rows
+        rowWriter.start();
+        writer.flush();
+    }
+
+    /**
+     * Start the response with the first row, so errors thrown before it (access denied, invalid filters) still get an error response
+     */
+    private static class LazyRowWriter<T> implements Consumer<T> {
+
+        private final Supplier<Consumer<T>> factory;
+
+        private Consumer<T> rowWriter;
+
+        LazyRowWriter(Supplier<Consumer<T>> factory) {
+            this.factory = factory;
+        }
+
+        void start() {
+            if (rowWriter == null) {
+                rowWriter = factory.get();
+            }
+        }
+
+        @Override
+        public void accept(T entity) {
+            start();
+            rowWriter.accept(entity);
+        }
+    }
+}
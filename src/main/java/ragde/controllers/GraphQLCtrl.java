@@ -0,0 +1,92 @@
+package ragde.controllers;
+
+import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import io.leangen.graphql.spqr.spring.autoconfigure.ServletContextFactory;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import io.leangen.graphql.spqr.spring.web.servlet.DefaultGraphQLExecutor;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import ragde.caches.DocumentCache;
+import ragde.exceptions.RagdeValidationException;
+import ragde.pojos.requests.GraphQLBody;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replace SPQR's /graphql controller (graphql.spqr.http.enabled=false) in order to support automatic persisted queries,
+ * clients send extensions.persistedQuery.sha256Hash instead of the query, and the whole query only the first time
+ */
+@RestController
+public class GraphQLCtrl {
+
+    public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+    public static final String PERSISTED_QUERY_NOT_SUPPORTED = "PersistedQueryNotSupported";
+
+    public static final String PERSISTED_QUERY_INVALID_HASH = "provided sha does not match query";
+
+    private static final String GRAPHQL_CONTENT_TYPE = "application/graphql";
+
+    @Autowired
+    private GraphQL graphQL;
+
+    @Autowired
+    private ServletContextFactory contextFactory;
+
+    @Autowired
+    private DataLoaderRegistryFactory dataLoaderRegistryFactory;
+
+    @Autowired
+    private DocumentCache documentCache;
+
+    private DefaultGraphQLExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new DefaultGraphQLExecutor(contextFactory, dataLoaderRegistryFactory);
+    }
+
+    @PostMapping(value = "/graphql", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> executeJsonPost(@RequestBody GraphQLBody body, NativeWebRequest request) {
+        String query = body.getQuery();
+        String hash = body.getPersistedQueryHash();
+        if (hash != null) {
+            if (!Integer.valueOf(1).equals(body.getPersistedQueryVersion())) {
+                return error(PERSISTED_QUERY_NOT_SUPPORTED);
+            }
+
+            hash = hash.toLowerCase();
+            if (query == null) {
+                query = documentCache.getQuery(hash);
+                if (query == null) {
+                    // client sends the same request again including the query
+                    return error(PERSISTED_QUERY_NOT_FOUND);
+                }
+            } else if (!DigestUtils.sha256Hex(query).equals(hash)) {
+                return error(PERSISTED_QUERY_INVALID_HASH);
+            } else {
+                documentCache.putQuery(hash, query);
+            }
+        }
+
+        return executor.execute(graphQL, new GraphQLRequest(query, body.getOperationName(), body.getVariables()), request);
+    }
+
+    @PostMapping(value = "/graphql", consumes = GRAPHQL_CONTENT_TYPE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> executeGraphQLPost(@RequestBody String query, NativeWebRequest request) {
+        return executor.execute(graphQL, new GraphQLRequest(query, null, null), request);
+    }
+
+    private Map<String, Object> error(String message) {
+        return new ExecutionResultImpl(List.of(new RagdeValidationException(message))).toSpecification();
+    }
+}
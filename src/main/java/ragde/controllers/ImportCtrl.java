@@ -0,0 +1,54 @@
+package ragde.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ragde.factories.ExportFactory;
+import ragde.factories.ImportFactory;
+import ragde.services.ImportService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Import rows sent in the body (with the same formats as exports), the body is read while rows are written so memory
+ * doesn't grow with the number of rows, the progress is written as a NDJSON line each time a chunk is written
+ */
+@RestController
+@RequestMapping(value = "/import")
+public class ImportCtrl {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ImportFactory importFactory;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @PostMapping(value = "/people")
+    public void people(@RequestParam(defaultValue = "NDJSON") ExportFactory.FORMAT format, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+        importService.importPeople(importFactory.rowReader(format, reader), progress -> {
+            try {
+                if (!response.isCommitted()) {
+                    response.setContentType("application/x-ndjson");
+                    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                }
+                writer.write(mapper.writeValueAsString(progress));
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -8,6 +8,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import ragde.caches.AuthenticationCache;
+import ragde.caches.DocumentCache;
+import ragde.caches.PageCache;
+import ragde.graphql.metrics.GraphQLMetrics;
+import ragde.repositories.indexes.IndexAdvisor;
+import ragde.search.PersonSearchIndex;
 
 import java.util.Map;
 
@@ -21,6 +27,24 @@ public class InfoCtrl {
     @Autowired
     private Environment env;
 
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
+    @Autowired
+    private DocumentCache documentCache;
+
+    @Autowired
+    private GraphQLMetrics graphQLMetrics;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
     @GetMapping(value = "/version")
     public ResponseEntity version() {
         return new ResponseEntity<>(Map.of("version", API_VERSION), HttpStatus.OK);
@@ -31,4 +55,40 @@ public class InfoCtrl {
         // get spring active profile
         return new ResponseEntity<>(Map.of("environment", env.getActiveProfiles()), HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/page-cache")
+    public ResponseEntity pageCache() {
+        // hits, misses, evictions and size by entity
+        return new ResponseEntity<>(pageCache.getStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/authentication-cache")
+    public ResponseEntity authenticationCache() {
+        // hits, misses and size
+        return new ResponseEntity<>(authenticationCache.getStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/document-cache")
+    public ResponseEntity documentCache() {
+        // hits, misses and size of parsed documents and size of persisted queries
+        return new ResponseEntity<>(documentCache.getStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/graphql")
+    public ResponseEntity graphQL() {
+        // phases, operations and fields timings of sampled executions
+        return new ResponseEntity<>(graphQLMetrics.getStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/indexes")
+    public ResponseEntity indexes() {
+        // page queries by shape (timings, covering index and suggested index) and existing indexes by entity
+        return new ResponseEntity<>(indexAdvisor.getReport(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/search")
+    public ResponseEntity search() {
+        // people, grams and estimated memory of the person search index, searches and fallbacks to the database
+        return new ResponseEntity<>(personSearchIndex.getStatistics(), HttpStatus.OK);
+    }
+}
@@ -77,6 +77,8 @@ public abstract class RagdeException extends RuntimeException implements GraphQL
             errorCode = HttpStatus.FORBIDDEN;
         } else if (this instanceof RagdeValidationException) {
             errorCode = HttpStatus.BAD_REQUEST;
+        } else if (this instanceof RagdeConflictException) {
+            errorCode = HttpStatus.CONFLICT;
         }
 
         return Map.of("errorType", errorCode, "errorCode", errorCode.value(), "error", response.getError());
@@ -2,15 +2,18 @@ package ragde.exceptions.handlers;
 
 import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.DataFetcherExceptionHandlerParameters;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 import ragde.exceptions.RagdeAuthenticationException;
+import ragde.exceptions.RagdeConflictException;
 import ragde.exceptions.RagdeException;
 import ragde.exceptions.RagdeInternalException;
 import ragde.exceptions.RagdeValidationException;
 import ragde.pojos.responses.error.nesteds.NestedError;
 import ragde.pojos.responses.error.nesteds.ValidationNestedError;
 
+import javax.persistence.OptimisticLockException;
 import javax.validation.ConstraintViolationException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +33,9 @@ public class GraphQLExceptionsHandler implements DataFetcherExceptionHandler {
             if (exception instanceof AccessDeniedException) {
                 ragdeException = new RagdeAuthenticationException("Access is denied.");
             }
+            if (exception instanceof OptimisticLockingFailureException || exception instanceof OptimisticLockException) {
+                ragdeException = new RagdeConflictException("Data was modified by another user.");
+            }
             if (exception instanceof ConstraintViolationException) {
                 List<NestedError> nestedErrors = ((ConstraintViolationException) exception).getConstraintViolations().stream()
                         .map(violation -> {
@@ -0,0 +1,25 @@
+package ragde.factories;
+
+import ragde.models.Model;
+
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Create writers that export entities as rows
+ */
+public interface ExportFactory {
+
+    enum FORMAT {NDJSON, CSV}
+
+    /**
+     * Create a function that writes each entity as one row (one JSON object per line or one CSV line),
+     * only entity's own values are written (relationships and values hidden from GraphQL aren't)
+     *
+     * @param type   entity class
+     * @param format rows format
+     * @param writer where rows are written, CSV header is written when the function is created
+     * @return function that writes an entity
+     */
+    <T extends Model> Consumer<T> rowWriter(Class<T> type, FORMAT format, Writer writer);
+}
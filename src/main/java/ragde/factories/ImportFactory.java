@@ -0,0 +1,23 @@
+package ragde.factories;
+
+import ragde.pojos.requests.ImportRow;
+
+import java.io.Reader;
+import java.util.Iterator;
+
+/**
+ * Create readers that parse import files row by row
+ */
+public interface ImportFactory {
+
+    /**
+     * Create an iterator that reads one row each time it's called, so the whole file is never kept in memory.
+     * NDJSON rows are JSON objects, CSV rows get their columns from the header (first line), quoted values could contain
+     * separators, quotes ("") and line breaks, blank lines are skipped
+     *
+     * @param format rows format
+     * @param reader where rows are read
+     * @return rows iterator, rows that couldn't be parsed have an error instead of values
+     */
+    Iterator<ImportRow> rowReader(ExportFactory.FORMAT format, Reader reader);
+}
@@ -3,9 +3,13 @@ package ragde.factories;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.EntityPathBase;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mongodb.core.query.Criteria;
+import ragde.pojos.pages.CursorPage;
 import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
 
 import java.util.List;
 
@@ -23,7 +27,7 @@ public interface PageFactory {
     PageRequest pageRequest(PageDataRequest pageDataRequest);
 
     /**
-     * Create a Specifications instance from a FilterRequest list
+     * Create a Specifications instance from a FilterRequest list, filters are joined by AND and groups (AND, OR) are nested in the same predicate
      *
      * @param filtersRequest list of FilterRequest data
      * @return Specifications created
@@ -31,11 +35,63 @@ public interface PageFactory {
     Specification getSpecifications(List<FilterRequest> filtersRequest);
 
     /**
-     * Create a Predicate instance from a FilterRequest list
+     * Create a Predicate instance from a FilterRequest list, filters are joined by AND and groups (AND, OR) are nested in the same predicate
      *
      * @param filtersRequest list of FilterRequest data
      * @param entityPathBase QEntity base to generate Predicate
      * @return Predicate created
      */
     Predicate getPredicate(List<FilterRequest> filtersRequest, EntityPathBase entityPathBase);
+
+    /**
+     * Create a mongo Criteria instance from a FilterRequest list, filters are joined by $and and groups are nested as $and or $or
+     *
+     * @param filtersRequest list of FilterRequest data
+     * @param domainClass    entity class where fields are declared (used to parse values)
+     * @return Criteria created (empty Criteria matches all documents)
+     */
+    Criteria getCriteria(List<FilterRequest> filtersRequest, Class<?> domainClass);
+
+    /**
+     * Create the Sort used by cursor pagination (PageDataRequest sort plus id as tiebreaker, reversed when paging before a cursor)
+     *
+     * @param pageDataRequest PageDataRequest data
+     * @return Sort created
+     */
+    Sort cursorSort(PageDataRequest pageDataRequest);
+
+    /**
+     * Create a Specifications instance from PageDataRequest filters and cursor
+     *
+     * @param pageDataRequest PageDataRequest data
+     * @return Specifications created
+     */
+    Specification getCursorSpecifications(PageDataRequest pageDataRequest);
+
+    /**
+     * Create a Predicate instance from PageDataRequest filters and cursor
+     *
+     * @param pageDataRequest PageDataRequest data
+     * @param entityPathBase  QEntity base to generate Predicate
+     * @return Predicate created
+     */
+    Predicate getCursorPredicate(PageDataRequest pageDataRequest, EntityPathBase entityPathBase);
+
+    /**
+     * Create a CursorPage from the entities found with cursorSort and a limit of PageDataRequest size + 1
+     *
+     * @param entities        entities found
+     * @param pageDataRequest PageDataRequest data
+     * @return CursorPage created
+     */
+    <T> CursorPage<T> cursorPage(List<T> entities, PageDataRequest pageDataRequest);
+
+    /**
+     * Create a PageSlice from the entities found with pageRequest sort, its offset and a limit of PageDataRequest size + 1
+     *
+     * @param entities        entities found
+     * @param pageDataRequest PageDataRequest data
+     * @return PageSlice created
+     */
+    <T> PageSlice<T> pageSlice(List<T> entities, PageDataRequest pageDataRequest);
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package ragde.factories.implementations;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.leangen.graphql.annotations.GraphQLIgnore;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.stereotype.Component;
+import ragde.factories.ExportFactory;
+import ragde.models.Model;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Component
+public class ExportFactoryImpl implements ExportFactory {
+
+    private final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    // rows are written one after another in the same writer, so Jackson must not close it
+    private final ObjectMapper mapper = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    // columns resolved once per entity, instead of using reflection on each row
+    private final Map<Class<?>, List<String>> columns = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <T extends Model> Consumer<T> rowWriter(Class<T> type, FORMAT format, Writer writer) {
+        List<String> names = columns.computeIfAbsent(type, this::getColumns);
+        if (format == FORMAT.NDJSON) {
+            return entity -> write(() -> {
+                mapper.writeValue(writer, getValues(entity, names));
+                writer.write('\n');
+            });
+        }
+
+        write(() -> writeCsvLine(writer, names));
+        return entity -> write(() -> writeCsvLine(writer, getValues(entity, names).values().stream()
+                .map(value -> value == null ? null : value.toString()).collect(Collectors.toList())));
+    }
+
+    /**
+     * Get the columns of an entity: its basic persistent attributes (id and dates first) with a visible getter
+     *
+     * @param type entity class
+     * @return columns names
+     */
+    private List<String> getColumns(Class<?> type) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(type);
+        Set<String> basics = entityType.getAttributes().stream()
+                .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                .map(Attribute::getName).collect(Collectors.toSet());
+
+        LinkedList<Class<?>> hierarchy = new LinkedList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.addFirst(c);
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, field.getName());
+                boolean visible = descriptor != null && descriptor.getReadMethod() != null && !descriptor.getReadMethod().isAnnotationPresent(GraphQLIgnore.class);
+                if (basics.contains(field.getName()) && visible) {
+                    names.add(field.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Get entity's values, dates use the same format as pagination's filters
+     *
+     * @param entity entity to be written
+     * @param names  columns names
+     * @return values by column
+     */
+    private Map<String, Object> getValues(Object entity, List<String> names) {
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        Map<String, Object> values = new LinkedHashMap<>();
+        names.forEach(name -> {
+            Object value = wrapper.getPropertyValue(name);
+            if (value instanceof LocalDateTime) {
+                value = DATE_TIME_FORMATTER.format((LocalDateTime) value);
+            } else if (value instanceof LocalDate) {
+                value = value.toString();
+            }
+            values.put(name, value);
+        });
+        return values;
+    }
+
+    /**
+     * Write one CSV line, values with separators, quotes or line breaks are quoted
+     *
+     * @param writer where line is written
+     * @param values line values (null values are empty)
+     * @throws IOException if line can't be written
+     */
+    private void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            String value = values.get(i);
+            if (value != null && (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r"))) {
+                value = "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            writer.write(value == null ? "" : value);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Run a write operation, rows are written inside Consumers so IOException is wrapped
+     *
+     * @param operation write operation
+     */
+    private void write(IOOperation operation) {
+        try {
+            operation.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface IOOperation {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,196 @@
+package ragde.factories.implementations;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import ragde.factories.ExportFactory;
+import ragde.factories.ImportFactory;
+import ragde.pojos.requests.ImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+@Component
+public class ImportFactoryImpl implements ImportFactory {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public Iterator<ImportRow> rowReader(ExportFactory.FORMAT format, Reader reader) {
+        BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        if (format == ExportFactory.FORMAT.NDJSON) {
+            return new RowIterator(values -> readJsonRow(bufferedReader, values));
+        }
+
+        List<String> header = readCsvRecord(bufferedReader);
+        if (header == null) {
+            return Collections.emptyIterator();
+        }
+
+        return new RowIterator(values -> {
+            List<String> record = readCsvRecord(bufferedReader);
+            if (record == null) {
+                return READ.END;
+            }
+
+            if (record.size() != header.size()) {
+                return READ.INVALID;
+            }
+
+            for (int i = 0; i < header.size(); i++) {
+                values.put(header.get(i), record.get(i));
+            }
+            return READ.ROW;
+        }, "Row doesn't have the same columns as the header.");
+    }
+
+    /**
+     * Read the next not blank line as a JSON object
+     *
+     * @param reader where line is read
+     * @param values where row values are put
+     * @return INVALID when line isn't a JSON object or END when there aren't more lines
+     */
+    private READ readJsonRow(BufferedReader reader, Map<String, String> values) {
+        String line;
+        do {
+            line = readLine(reader);
+        } while (line != null && line.isBlank());
+
+        if (line == null) {
+            return READ.END;
+        }
+
+        try {
+            Map<String, Object> json = mapper.readValue(line, new TypeReference<Map<String, Object>>() {
+            });
+            json.forEach((key, value) -> values.put(key, value == null ? null : value.toString()));
+            return READ.ROW;
+        } catch (JsonProcessingException e) {
+            return READ.INVALID;
+        }
+    }
+
+    /**
+     * Read the next not blank CSV record, it could take several lines when a quoted value has line breaks
+     *
+     * @param reader where record is read
+     * @return record values (empty values are null) or null when there aren't more records
+     */
+    private List<String> readCsvRecord(BufferedReader reader) {
+        try {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        value.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.length() == 0 ? null : value.toString());
+                    value.setLength(0);
+                } else if (c == '\n') {
+                    if (values.isEmpty() && value.length() == 0) {
+                        // blank line
+                        continue;
+                    }
+                    break;
+                } else if (c != '\r') {
+                    value.append((char) c);
+                }
+            }
+
+            if (c == -1 && values.isEmpty() && value.length() == 0) {
+                return null;
+            }
+            values.add(value.length() == 0 ? null : value.toString());
+            return values;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the next line
+     *
+     * @param reader where line is read
+     * @return line or null when there aren't more lines
+     */
+    private String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Iterate rows read by a function, the function puts the row values and tells if the row couldn't be parsed or
+     * there aren't more rows
+     */
+    private static class RowIterator implements Iterator<ImportRow> {
+
+        private final RowReader rowReader;
+
+        private final String invalidRowError;
+
+        private ImportRow next;
+
+        private long number;
+
+        RowIterator(RowReader rowReader) {
+            this(rowReader, "Row isn't a valid JSON object.");
+        }
+
+        RowIterator(RowReader rowReader, String invalidRowError) {
+            this.rowReader = rowReader;
+            this.invalidRowError = invalidRowError;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                Map<String, String> values = new HashMap<>();
+                READ read = rowReader.read(values);
+                if (read != READ.END) {
+                    number++;
+                    next = read == READ.ROW ? new ImportRow(number, values) : new ImportRow(number, null, invalidRowError);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            ImportRow row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    private enum READ {ROW, INVALID, END}
+
+    private interface RowReader {
+        READ read(Map<String, String> values);
+    }
+}
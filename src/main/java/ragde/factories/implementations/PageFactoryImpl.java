@@ -1,24 +1,41 @@
 package ragde.factories.implementations;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.*;
+import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.ReflectionUtils;
 import ragde.exceptions.RagdeValidationException;
 import ragde.factories.PageFactory;
+import ragde.pojos.pages.CursorPage;
 import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.Root;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Component
 @SuppressWarnings("unchecked")
@@ -28,6 +45,25 @@ public class PageFactoryImpl implements PageFactory {
 
     private final String DATE_PATTERN = "yyyy-MM-dd";
 
+    private final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN);
+
+    private final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
+
+    // values are parsed only when they have the date shape, so plain values don't pay for a DateTimeParseException
+    private final Pattern DATE_TIME_SHAPE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}Z");
+
+    private final Pattern DATE_SHAPE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    // QEntity paths resolved once per QEntity and field, instead of using reflection on each filter
+    private final Map<EntityPathBase, Map<String, Path>> paths = new ConcurrentHashMap<>();
+
+    // entity field types resolved once per entity and field, used to parse mongo Criteria values
+    private final Map<Class<?>, Map<String, Class<?>>> fieldTypes = new ConcurrentHashMap<>();
+
+    private final String ID_FIELD = "id";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
     @Override
     public PageRequest pageRequest(PageDataRequest pageDataRequest) {
         Sort sort = Sort.by(Sort.Direction.ASC, "id");
@@ -47,7 +83,7 @@ public class PageFactoryImpl implements PageFactory {
         }
 
         final List<Specification> specifications = new ArrayList<>();
-        filtersRequest.forEach(fr -> specifications.add((root, query, cb) -> getPredicate(fr, root, cb)));
+        filtersRequest.forEach(fr -> specifications.add(getSpecification(fr)));
 
         Specification where = null;
         for (Specification s : specifications) {
@@ -79,76 +115,218 @@ public class PageFactoryImpl implements PageFactory {
         return expression == null ? DEFAULT_EXPRESSION : expression;
     }
 
-    /**
-     * Create a Predicate from FilterRequest
-     *
-     * @param filterRequest Filter data
-     * @param root          A root type in the from clause
-     * @param cb            Used to construct criteria queries
-     * @return Predicate generated
-     */
-    private javax.persistence.criteria.Predicate getPredicate(FilterRequest filterRequest, Root root, CriteriaBuilder cb) {
-        String stringValue = filterRequest.getValue();
-        LocalDateTime dateTimeValue = null;
-        LocalDate dateValue = null;
-        try {
-            dateTimeValue = LocalDateTime.parse(stringValue, DateTimeFormatter.ofPattern(DATE_TIME_PATTERN));
-        } catch (Exception ignored) {
+    @Override
+    public Criteria getCriteria(List<FilterRequest> filtersRequest, Class<?> domainClass) {
+        if (filtersRequest == null || filtersRequest.isEmpty()) {
+            return new Criteria();
         }
-        try {
-            dateValue = LocalDate.parse(stringValue, DateTimeFormatter.ofPattern(DATE_PATTERN));
-        } catch (Exception ignored) {
+
+        return new Criteria().andOperator(filtersRequest.stream().map(fr -> getCriteria(fr, domainClass)).toArray(Criteria[]::new));
+    }
+
+    @Override
+    public Sort cursorSort(PageDataRequest pageDataRequest) {
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (pageDataRequest.getSort() != null && !pageDataRequest.getSort().isEmpty() && pageDataRequest.getDirection() != null) {
+            direction = getDirection(pageDataRequest.getDirection());
         }
 
-        Object value = dateTimeValue != null ? dateTimeValue
-                : dateValue != null ? dateValue
-                : stringValue;
+        // rows before a cursor are read in the opposite order and then reversed by cursorPage
+        if (pageDataRequest.getBefore() != null) {
+            direction = direction.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        }
 
-        return switch (filterRequest.getOperation()) {
-            case EQ -> cb.equal(root.get(filterRequest.getField()), value);
-            case NE -> cb.notEqual(root.get(filterRequest.getField()), value);
-            case GT -> {
-                if (dateTimeValue != null) {
-                    yield cb.greaterThan(root.get(filterRequest.getField()), dateTimeValue);
+        return Sort.by(direction, getCursorFields(pageDataRequest).toArray(new String[0]));
+    }
+
+    @Override
+    public Specification getCursorSpecifications(PageDataRequest pageDataRequest) {
+        Specification where = getSpecifications(pageDataRequest.getFilters());
+        List<String> values = getCursorValues(pageDataRequest);
+        if (values == null) {
+            return where;
+        }
+
+        List<String> fields = getCursorFields(pageDataRequest);
+        boolean greater = isCursorGreater(pageDataRequest);
+        Specification keyset = (root, query, cb) -> {
+            // (f1 > v1) OR (f1 = v1 AND f2 > v2) OR ... OR (f1 = v1 AND ... AND id > vn)
+            List<javax.persistence.criteria.Predicate> disjunction = new ArrayList<>();
+            for (int i = 0; i < fields.size(); i++) {
+                List<javax.persistence.criteria.Predicate> conjunction = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    conjunction.add(getCursorPredicate(fields.get(j), values.get(j), FilterRequest.OPERATIONS.EQ, root, cb));
                 }
-                if (dateValue != null) {
-                    yield cb.greaterThan(root.get(filterRequest.getField()), dateValue);
+                javax.persistence.criteria.Predicate predicate = getCursorPredicate(fields.get(i), values.get(i), greater ? FilterRequest.OPERATIONS.GT : FilterRequest.OPERATIONS.LT, root, cb);
+                if (predicate != null) {
+                    conjunction.add(predicate);
+                    disjunction.add(cb.and(conjunction.toArray(new javax.persistence.criteria.Predicate[0])));
                 }
-                yield cb.greaterThan(root.get(filterRequest.getField()), stringValue);
             }
-            case GET -> {
-                if (dateTimeValue != null) {
-                    yield cb.greaterThanOrEqualTo(root.get(filterRequest.getField()), dateTimeValue);
-                }
-                if (dateValue != null) {
-                    yield cb.greaterThanOrEqualTo(root.get(filterRequest.getField()), dateValue);
-                }
-                yield cb.greaterThanOrEqualTo(root.get(filterRequest.getField()), stringValue);
+            return cb.or(disjunction.toArray(new javax.persistence.criteria.Predicate[0]));
+        };
+
+        return where == null ? Specification.where(keyset) : where.and(keyset);
+    }
+
+    @Override
+    public Predicate getCursorPredicate(PageDataRequest pageDataRequest, EntityPathBase entityPathBase) {
+        Predicate where = getPredicate(pageDataRequest.getFilters(), entityPathBase);
+        List<String> values = getCursorValues(pageDataRequest);
+        if (values == null) {
+            return where;
+        }
+
+        List<String> fields = getCursorFields(pageDataRequest);
+        boolean greater = isCursorGreater(pageDataRequest);
+        // (f1 > v1) OR (f1 = v1 AND f2 > v2) OR ... OR (f1 = v1 AND ... AND id > vn)
+        BooleanExpression keyset = null;
+        for (int i = 0; i < fields.size(); i++) {
+            BooleanExpression expression = getCursorExpression(fields.get(i), values.get(i), greater ? FilterRequest.OPERATIONS.GT : FilterRequest.OPERATIONS.LT, entityPathBase);
+            if (expression == null) {
+                continue;
             }
-            case LT -> {
-                if (dateTimeValue != null) {
-                    yield cb.lessThan(root.get(filterRequest.getField()), dateTimeValue);
-                }
-                if (dateValue != null) {
-                    yield cb.lessThan(root.get(filterRequest.getField()), dateValue);
+            for (int j = i - 1; j >= 0; j--) {
+                expression = getCursorExpression(fields.get(j), values.get(j), FilterRequest.OPERATIONS.EQ, entityPathBase).and(expression);
+            }
+            keyset = keyset == null ? expression : keyset.or(expression);
+        }
+
+        return ExpressionUtils.and(where, keyset == null ? Expressions.asBoolean(true).isFalse() : keyset);
+    }
+
+    @Override
+    public <T> CursorPage<T> cursorPage(List<T> entities, PageDataRequest pageDataRequest) {
+        boolean hasMore = entities.size() > pageDataRequest.getSize();
+        List<T> nodes = new ArrayList<>(hasMore ? entities.subList(0, pageDataRequest.getSize()) : entities);
+        boolean backward = pageDataRequest.getBefore() != null;
+        if (backward) {
+            Collections.reverse(nodes);
+        }
+
+        List<String> fields = getCursorFields(pageDataRequest);
+        List<Edge<T>> edges = io.leangen.graphql.execution.relay.generic.PageFactory.createEdges(nodes, (node, index) -> new DefaultConnectionCursor(encodeCursor(node, fields)));
+        // the element pointed by the cursor is always on the other side of the page
+        PageInfo pageInfo = io.leangen.graphql.execution.relay.generic.PageFactory.createPageInfo(edges, backward || hasMore, backward ? hasMore : pageDataRequest.getAfter() != null);
+
+        return new CursorPage<>(edges, pageInfo);
+    }
+
+    @Override
+    public <T> PageSlice<T> pageSlice(List<T> entities, PageDataRequest pageDataRequest) {
+        boolean hasNext = entities.size() > pageDataRequest.getSize();
+        List<T> content = hasNext ? entities.subList(0, pageDataRequest.getSize()) : entities;
+        return new PageSlice<>(new ArrayList<>(content), pageRequest(pageDataRequest), hasNext);
+    }
+
+    /**
+     * Create a Specification from FilterRequest, groups are compiled with their nested filters into a single predicate
+     *
+     * @param filterRequest Filter data
+     * @return Specification generated
+     */
+    private Specification getSpecification(FilterRequest filterRequest) {
+        checkFilter(filterRequest);
+        switch (filterRequest.getOperation()) {
+            case AND, OR -> {
+                List<Specification> nested = filterRequest.getFilters().stream().map(this::getSpecification).collect(Collectors.toList());
+                boolean or = filterRequest.getOperation() == FilterRequest.OPERATIONS.OR;
+                return (root, query, cb) -> {
+                    javax.persistence.criteria.Predicate[] predicates = nested.stream().map(s -> s.toPredicate(root, query, cb))
+                            .toArray(javax.persistence.criteria.Predicate[]::new);
+                    return or ? cb.or(predicates) : cb.and(predicates);
+                };
+            }
+            case IN, NOT_IN -> {
+                List<Comparable> values = filterRequest.getValues().stream().map(this::parseValue).collect(Collectors.toList());
+                boolean in = filterRequest.getOperation() == FilterRequest.OPERATIONS.IN;
+                return (root, query, cb) -> {
+                    javax.persistence.criteria.Predicate predicate = root.get(filterRequest.getField()).in(values);
+                    return in ? predicate : cb.not(predicate);
+                };
+            }
+            default -> {
+                Comparable value = parseValue(filterRequest.getValue());
+                return (root, query, cb) -> getPredicate(filterRequest, value, root, cb);
+            }
+        }
+    }
+
+    /**
+     * Check that FilterRequest has the data its operation requires: nested filters for groups,
+     * field and values for list operations and field and value for the rest
+     *
+     * @param filterRequest Filter data
+     * @throws RagdeValidationException if some required data is missing
+     */
+    private void checkFilter(FilterRequest filterRequest) throws RagdeValidationException {
+        switch (filterRequest.getOperation()) {
+            case AND, OR -> {
+                if (filterRequest.getFilters() == null || filterRequest.getFilters().isEmpty()) {
+                    throw new RagdeValidationException(filterRequest.getOperation() + " operation requires nested filters.");
                 }
-                yield cb.lessThan(root.get(filterRequest.getField()), stringValue);
             }
-            case LET -> {
-                if (dateTimeValue != null) {
-                    yield cb.lessThanOrEqualTo(root.get(filterRequest.getField()), dateTimeValue);
+            case IN, NOT_IN -> {
+                if (filterRequest.getField() == null || filterRequest.getValues() == null || filterRequest.getValues().isEmpty()
+                        || !filterRequest.getValues().stream().allMatch(Objects::nonNull)) {
+                    throw new RagdeValidationException(filterRequest.getOperation() + " operation requires field and values.");
                 }
-                if (dateValue != null) {
-                    yield cb.lessThanOrEqualTo(root.get(filterRequest.getField()), dateValue);
+            }
+            default -> {
+                if (filterRequest.getField() == null || filterRequest.getValue() == null) {
+                    throw new RagdeValidationException(filterRequest.getOperation() + " operation requires field and value.");
                 }
-                yield cb.lessThanOrEqualTo(root.get(filterRequest.getField()), stringValue);
             }
+        }
+    }
+
+    /**
+     * Create a Predicate from FilterRequest
+     *
+     * @param filterRequest Filter data
+     * @param value         FilterRequest value parsed by parseValue
+     * @param root          A root type in the from clause
+     * @param cb            Used to construct criteria queries
+     * @return Predicate generated
+     */
+    private javax.persistence.criteria.Predicate getPredicate(FilterRequest filterRequest, Comparable value, Root root, CriteriaBuilder cb) {
+        String stringValue = filterRequest.getValue();
+        return switch (filterRequest.getOperation()) {
+            case EQ -> cb.equal(root.get(filterRequest.getField()), value);
+            case NE -> cb.notEqual(root.get(filterRequest.getField()), value);
+            case GT -> cb.greaterThan(root.get(filterRequest.getField()), value);
+            case GET -> cb.greaterThanOrEqualTo(root.get(filterRequest.getField()), value);
+            case LT -> cb.lessThan(root.get(filterRequest.getField()), value);
+            case LET -> cb.lessThanOrEqualTo(root.get(filterRequest.getField()), value);
             case STARTS_WITH -> cb.like(root.get(filterRequest.getField()), stringValue + "%");
             case ENDS_WITH -> cb.like(root.get(filterRequest.getField()), "%" + stringValue);
             default -> cb.like(root.get(filterRequest.getField()), "%" + stringValue + "%");
         };
     }
 
+    /**
+     * Parse a filter value
+     *
+     * @param value value to be parsed
+     * @return LocalDateTime, LocalDate or the same String when value doesn't have a date format
+     */
+    private Comparable parseValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (DATE_TIME_SHAPE.matcher(value).matches()) {
+                return LocalDateTime.parse(value, DATE_TIME_FORMATTER);
+            }
+            if (DATE_SHAPE.matcher(value).matches()) {
+                return LocalDate.parse(value, DATE_FORMATTER);
+            }
+        } catch (DateTimeParseException ignored) {
+            // values like 2020-13-45 have the shape but aren't dates
+        }
+        return value;
+    }
+
     /**
      * Create a BooleanExpression from FilterRequest
      *
@@ -157,33 +335,206 @@ public class PageFactoryImpl implements PageFactory {
      * @return BooleanExpression generated
      */
     private BooleanExpression getBooleanExpression(FilterRequest filterRequest, EntityPathBase entityPathBase) {
+        checkFilter(filterRequest);
+        if (filterRequest.getOperation() == FilterRequest.OPERATIONS.AND || filterRequest.getOperation() == FilterRequest.OPERATIONS.OR) {
+            BooleanExpression[] nested = filterRequest.getFilters().stream().map(f -> getBooleanExpression(f, entityPathBase)).toArray(BooleanExpression[]::new);
+            return filterRequest.getOperation() == FilterRequest.OPERATIONS.OR ? Expressions.anyOf(nested) : Expressions.allOf(nested);
+        }
+
         try {
-            Class type = entityPathBase.getClass().getDeclaredField(filterRequest.getField()).getType();
+            Path path = getPath(filterRequest.getField(), entityPathBase);
+            if (filterRequest.getOperation() == FilterRequest.OPERATIONS.IN || filterRequest.getOperation() == FilterRequest.OPERATIONS.NOT_IN) {
+                return getInExpression(filterRequest, path, entityPathBase);
+            }
+            if (path instanceof NumberPath) {
+                return getNumberExpression(filterRequest, (NumberPath) path);
+            }
+            if (path instanceof DateTimePath) {
+                return getDateTimeExpression(filterRequest, (DateTimePath) path);
+            }
+            if (path instanceof DatePath) {
+                return getDateExpression(filterRequest, (DatePath) path);
+            }
+            return getStringExpression(filterRequest, (StringPath) path);
+        } catch (Exception e) {
+            throw new RagdeValidationException(e.getMessage());
+        }
+    }
+
+    /**
+     * Create a BooleanExpression from FilterRequest list operations, values are parsed with the path type
+     *
+     * @param filterRequest  Filter data
+     * @param path           typed path of the field
+     * @param entityPathBase QEntity base where field is declared
+     * @return BooleanExpression generated
+     * @throws NoSuchFieldException if entity doesn't have the field
+     */
+    private BooleanExpression getInExpression(FilterRequest filterRequest, Path path, EntityPathBase entityPathBase) throws NoSuchFieldException {
+        List<Object> values = new ArrayList<>();
+        for (String value : filterRequest.getValues()) {
+            if (path instanceof NumberPath) {
+                // list parameters are bound without conversion, so numbers are parsed with the entity field type
+                Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(getFieldType(filterRequest.getField(), entityPathBase.getType()));
+                values.add(NumberUtils.parseNumber(value, (Class<Number>) type));
+            } else if (path instanceof DateTimePath) {
+                values.add(LocalDateTime.parse(value, DATE_TIME_FORMATTER));
+            } else if (path instanceof DatePath) {
+                values.add(LocalDate.parse(value, DATE_FORMATTER));
+            } else {
+                values.add(value);
+            }
+        }
+
+        SimpleExpression expression = (SimpleExpression) path;
+        return filterRequest.getOperation() == FilterRequest.OPERATIONS.IN ? expression.in(values) : expression.notIn(values);
+    }
+
+    /**
+     * Get the typed path of a QEntity field, it's resolved with reflection only the first time
+     *
+     * @param field          field name
+     * @param entityPathBase QEntity base where field is declared
+     * @return NumberPath, DateTimePath, DatePath or StringPath
+     * @throws NoSuchFieldException if QEntity doesn't have the field
+     */
+    private Path getPath(String field, EntityPathBase entityPathBase) throws NoSuchFieldException {
+        Map<String, Path> entityPaths = paths.computeIfAbsent(entityPathBase, e -> new ConcurrentHashMap<>());
+        Path path = entityPaths.get(field);
+        if (path == null) {
+            Class type = entityPathBase.getClass().getDeclaredField(field).getType();
             PathBuilder entityPath = new PathBuilder(entityPathBase.getClass(), entityPathBase.toString());
             if (type == NumberPath.class) {
-                return getNumberExpression(filterRequest, entityPath);
+                path = entityPath.getNumber(field, Number.class);
+            } else if (type == DateTimePath.class) {
+                path = entityPath.getDateTime(field, LocalDateTime.class);
+            } else if (type == DatePath.class) {
+                path = entityPath.getDate(field, LocalDate.class);
+            } else {
+                path = entityPath.getString(field);
             }
-            if (type == DateTimePath.class) {
-                return getDateTimeExpression(filterRequest, entityPath);
+            entityPaths.put(field, path);
+        }
+        return path;
+    }
+
+    /**
+     * Create a mongo Criteria from FilterRequest, value is parsed with the type of the entity field
+     *
+     * @param filterRequest Filter data
+     * @param domainClass   entity class where field is declared
+     * @return Criteria generated
+     */
+    private Criteria getCriteria(FilterRequest filterRequest, Class<?> domainClass) {
+        checkFilter(filterRequest);
+        if (filterRequest.getOperation() == FilterRequest.OPERATIONS.AND || filterRequest.getOperation() == FilterRequest.OPERATIONS.OR) {
+            Criteria[] nested = filterRequest.getFilters().stream().map(f -> getCriteria(f, domainClass)).toArray(Criteria[]::new);
+            return filterRequest.getOperation() == FilterRequest.OPERATIONS.OR ? new Criteria().orOperator(nested) : new Criteria().andOperator(nested);
+        }
+
+        try {
+            Class<?> type = getFieldType(filterRequest.getField(), domainClass);
+            if (!Number.class.isAssignableFrom(type) && type != LocalDateTime.class && type != LocalDate.class) {
+                type = String.class;
             }
-            if (type == DatePath.class) {
-                return getDateExpression(filterRequest, entityPath);
+
+            Criteria criteria = Criteria.where(filterRequest.getField());
+            if (filterRequest.getOperation() == FilterRequest.OPERATIONS.IN || filterRequest.getOperation() == FilterRequest.OPERATIONS.NOT_IN) {
+                List<Object> values = new ArrayList<>();
+                for (String value : filterRequest.getValues()) {
+                    values.add(getCriteriaValue(value, type));
+                }
+                return filterRequest.getOperation() == FilterRequest.OPERATIONS.IN ? criteria.in(values) : criteria.nin(values);
             }
-            return getStringExpression(filterRequest, entityPath);
+
+            Object value = getCriteriaValue(filterRequest.getValue(), type);
+            return switch (filterRequest.getOperation()) {
+                case EQ -> criteria.is(value);
+                case NE -> criteria.ne(value);
+                case GT -> criteria.gt(value);
+                case GET -> criteria.gte(value);
+                case LT -> criteria.lt(value);
+                case LET -> criteria.lte(value);
+                default -> getRegexCriteria(filterRequest, type, criteria);
+            };
         } catch (Exception e) {
             throw new RagdeValidationException(e.getMessage());
         }
     }
 
+    /**
+     * Parse a mongo Criteria value with the type of the entity field
+     *
+     * @param value value to be parsed
+     * @param type  field type (Number, LocalDateTime, LocalDate or String)
+     * @return parsed value
+     */
+    private Object getCriteriaValue(String value, Class<?> type) {
+        if (Number.class.isAssignableFrom(type)) {
+            return Double.parseDouble(value);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value, DATE_TIME_FORMATTER);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value, DATE_FORMATTER);
+        }
+        return value;
+    }
+
+    /**
+     * Create a mongo regex Criteria from FilterRequest like operations
+     *
+     * @param filterRequest Filter data
+     * @param type          field type
+     * @param criteria      field criteria
+     * @return Criteria generated
+     * @throws RagdeValidationException if field isn't String
+     */
+    private Criteria getRegexCriteria(FilterRequest filterRequest, Class<?> type, Criteria criteria) throws RagdeValidationException {
+        if (type != String.class) {
+            String typeName = Number.class.isAssignableFrom(type) ? "Number" : type == LocalDateTime.class ? "DateTime" : "Date";
+            throw new RagdeValidationException(typeName + " type doesn't allow like operations.");
+        }
+
+        String value = Pattern.quote(filterRequest.getValue());
+        return switch (filterRequest.getOperation()) {
+            case STARTS_WITH -> criteria.regex("^" + value);
+            case ENDS_WITH -> criteria.regex(value + "$");
+            default -> criteria.regex(value);
+        };
+    }
+
+    /**
+     * Get the type of an entity field, it's resolved with reflection only the first time
+     *
+     * @param field       field name
+     * @param domainClass entity class where field is declared
+     * @return field type
+     * @throws NoSuchFieldException if entity doesn't have the field
+     */
+    private Class<?> getFieldType(String field, Class<?> domainClass) throws NoSuchFieldException {
+        Map<String, Class<?>> types = fieldTypes.computeIfAbsent(domainClass, c -> new ConcurrentHashMap<>());
+        Class<?> type = types.get(field);
+        if (type == null) {
+            java.lang.reflect.Field declared = ReflectionUtils.findField(domainClass, field);
+            if (declared == null) {
+                throw new NoSuchFieldException(field);
+            }
+            type = declared.getType();
+            types.put(field, type);
+        }
+        return type;
+    }
+
     /**
      * Create a BooleanExpression from FilterRequest when field is String
      *
      * @param filterRequest Filter data
-     * @param entityPath    PathBuilder base to generate BooleanExpression
+     * @param expression    QEntity field path
      * @return BooleanExpression generated
      */
-    private BooleanExpression getStringExpression(FilterRequest filterRequest, PathBuilder entityPath) {
-        StringPath expression = entityPath.getString(filterRequest.getField());
+    private BooleanExpression getStringExpression(FilterRequest filterRequest, StringPath expression) {
         return switch (filterRequest.getOperation()) {
             case EQ -> expression.eq(filterRequest.getValue());
             case NE -> expression.ne(filterRequest.getValue());
@@ -201,11 +552,10 @@ public class PageFactoryImpl implements PageFactory {
      * Create a BooleanExpression from FilterRequest when field is Number
      *
      * @param filterRequest Filter data
-     * @param entityPath    PathBuilder base to generate BooleanExpression
+     * @param expression    QEntity field path
      * @return BooleanExpression generated
      */
-    private BooleanExpression getNumberExpression(FilterRequest filterRequest, PathBuilder entityPath) {
-        NumberPath expression = entityPath.getNumber(filterRequest.getField(), Number.class);
+    private BooleanExpression getNumberExpression(FilterRequest filterRequest, NumberPath expression) {
         Number numberValue = Double.parseDouble(filterRequest.getValue());
         return switch (filterRequest.getOperation()) {
             case EQ -> expression.eq(numberValue);
@@ -222,12 +572,11 @@ public class PageFactoryImpl implements PageFactory {
      * Create a BooleanExpression from FilterRequest when field is DateTime
      *
      * @param filterRequest Filter data
-     * @param entityPath    PathBuilder base to generate BooleanExpression
+     * @param expression    QEntity field path
      * @return BooleanExpression generated
      */
-    private BooleanExpression getDateTimeExpression(FilterRequest filterRequest, PathBuilder entityPath) {
-        DateTimePath expression = entityPath.getDateTime(filterRequest.getField(), LocalDateTime.class);
-        LocalDateTime dateTimeValue = LocalDateTime.parse(filterRequest.getValue(), DateTimeFormatter.ofPattern(DATE_TIME_PATTERN));
+    private BooleanExpression getDateTimeExpression(FilterRequest filterRequest, DateTimePath expression) {
+        LocalDateTime dateTimeValue = LocalDateTime.parse(filterRequest.getValue(), DATE_TIME_FORMATTER);
         return switch (filterRequest.getOperation()) {
             case EQ -> expression.eq(dateTimeValue);
             case NE -> expression.ne(dateTimeValue);
@@ -243,12 +592,11 @@ public class PageFactoryImpl implements PageFactory {
      * Create a BooleanExpression from FilterRequest when field is Date
      *
      * @param filterRequest Filter data
-     * @param entityPath    PathBuilder base to generate BooleanExpression
+     * @param expression    QEntity field path
      * @return BooleanExpression generated
      */
-    private BooleanExpression getDateExpression(FilterRequest filterRequest, PathBuilder entityPath) {
-        DatePath expression = entityPath.getDate(filterRequest.getField(), LocalDate.class);
-        LocalDate dateValue = LocalDate.parse(filterRequest.getValue(), DateTimeFormatter.ofPattern(DATE_PATTERN));
+    private BooleanExpression getDateExpression(FilterRequest filterRequest, DatePath expression) {
+        LocalDate dateValue = LocalDate.parse(filterRequest.getValue(), DATE_FORMATTER);
         return switch (filterRequest.getOperation()) {
             case EQ -> expression.eq(dateValue);
             case NE -> expression.ne(dateValue);
@@ -260,6 +608,136 @@ public class PageFactoryImpl implements PageFactory {
         };
     }
 
+    /**
+     * Get the fields used by cursor pagination, id is added as tiebreaker so each cursor points to exactly one row
+     *
+     * @param pageDataRequest PageDataRequest data
+     * @return sort fields plus id
+     */
+    private List<String> getCursorFields(PageDataRequest pageDataRequest) {
+        List<String> fields = new ArrayList<>();
+        if (pageDataRequest.getSort() != null) {
+            fields.addAll(pageDataRequest.getSort());
+        }
+        if (!fields.contains(ID_FIELD)) {
+            fields.add(ID_FIELD);
+        }
+        return fields;
+    }
+
+    /**
+     * Check if the rows requested have greater values than the cursor
+     *
+     * @param pageDataRequest PageDataRequest data
+     * @return true when rows after an ASC cursor or rows before a DESC cursor are requested
+     */
+    private boolean isCursorGreater(PageDataRequest pageDataRequest) {
+        return cursorSort(pageDataRequest).stream().findFirst().map(Sort.Order::isAscending).orElse(true);
+    }
+
+    /**
+     * Decode the values stored in PageDataRequest cursor
+     *
+     * @param pageDataRequest PageDataRequest data
+     * @return one value per cursor field or null if there isn't cursor
+     * @throws RagdeValidationException if both cursors are present or cursor is invalid
+     */
+    private List<String> getCursorValues(PageDataRequest pageDataRequest) throws RagdeValidationException {
+        if (pageDataRequest.getAfter() != null && pageDataRequest.getBefore() != null) {
+            throw new RagdeValidationException("Only one of 'after' or 'before' cursors could be used.");
+        }
+
+        String cursor = pageDataRequest.getAfter() != null ? pageDataRequest.getAfter() : pageDataRequest.getBefore();
+        if (cursor == null) {
+            return null;
+        }
+
+        List<String> values;
+        try {
+            values = mapper.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {
+            });
+        } catch (Exception e) {
+            throw new RagdeValidationException("Cursor '" + cursor + "' is invalid.");
+        }
+        if (values == null || values.size() != getCursorFields(pageDataRequest).size()) {
+            throw new RagdeValidationException("Cursor '" + cursor + "' doesn't match the sort values.");
+        }
+        return values;
+    }
+
+    /**
+     * Encode the cursor fields of an entity into an opaque cursor
+     *
+     * @param entity entity to be encoded
+     * @param fields cursor fields
+     * @return cursor generated
+     */
+    private String encodeCursor(Object entity, List<String> fields) {
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        List<String> values = fields.stream().map(field -> {
+            Object value = wrapper.getPropertyValue(field);
+            if (value instanceof LocalDateTime) {
+                return ((LocalDateTime) value).format(DATE_TIME_FORMATTER);
+            }
+            if (value instanceof LocalDate) {
+                return ((LocalDate) value).format(DATE_FORMATTER);
+            }
+            return value != null ? value.toString() : null;
+        }).collect(Collectors.toList());
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mapper.writeValueAsBytes(values));
+        } catch (Exception e) {
+            throw new RagdeValidationException(e.getMessage());
+        }
+    }
+
+    /**
+     * Create a cursor Predicate for a field, null values are considered lower than any other value
+     *
+     * @param field     field to compare
+     * @param value     cursor value
+     * @param operation EQ, GT or LT
+     * @param root      A root type in the from clause
+     * @param cb        Used to construct criteria queries
+     * @return Predicate generated or null if any row could match
+     */
+    private javax.persistence.criteria.Predicate getCursorPredicate(String field, String value, FilterRequest.OPERATIONS operation, Root root, CriteriaBuilder cb) {
+        if (value == null) {
+            return switch (operation) {
+                case EQ -> cb.isNull(root.get(field));
+                case GT -> cb.isNotNull(root.get(field));
+                default -> null;
+            };
+        }
+
+        javax.persistence.criteria.Predicate predicate = getPredicate(new FilterRequest(field, value, operation), parseValue(value), root, cb);
+        return operation == FilterRequest.OPERATIONS.LT && !field.equals(ID_FIELD) ? cb.or(predicate, cb.isNull(root.get(field))) : predicate;
+    }
+
+    /**
+     * Create a cursor BooleanExpression for a field, null values are considered lower than any other value
+     *
+     * @param field          field to compare
+     * @param value          cursor value
+     * @param operation      EQ, GT or LT
+     * @param entityPathBase QEntity base to generate BooleanExpression
+     * @return BooleanExpression generated or null if any row could match
+     */
+    private BooleanExpression getCursorExpression(String field, String value, FilterRequest.OPERATIONS operation, EntityPathBase entityPathBase) {
+        PathBuilder path = new PathBuilder(entityPathBase.getClass(), entityPathBase.toString()).get(field);
+        if (value == null) {
+            return switch (operation) {
+                case EQ -> path.isNull();
+                case GT -> path.isNotNull();
+                default -> null;
+            };
+        }
+
+        BooleanExpression expression = getBooleanExpression(new FilterRequest(field, value, operation), entityPathBase);
+        return operation == FilterRequest.OPERATIONS.LT && !field.equals(ID_FIELD) ? expression.or(path.isNull()) : expression;
+    }
+
     /**
      * Parse Sort Direction
      *
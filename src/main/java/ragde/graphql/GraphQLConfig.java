@@ -3,12 +3,26 @@ package ragde.graphql;
 import graphql.GraphQL;
 import graphql.execution.AsyncExecutionStrategy;
 import graphql.execution.AsyncSerialExecutionStrategy;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
 import graphql.schema.GraphQLSchema;
 import io.leangen.graphql.GraphQLSchemaGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import ragde.caches.DocumentCache;
 import ragde.exceptions.handlers.GraphQLExceptionsHandler;
+import ragde.graphql.costs.QueryCostBudget;
 import ragde.graphql.instrumentations.CustomMaxQueryDepthInstrumentation;
+import ragde.graphql.instrumentations.FetchPlanInstrumentation;
+import ragde.graphql.instrumentations.MetricsInstrumentation;
+import ragde.graphql.instrumentations.ProjectionInstrumentation;
+import ragde.graphql.instrumentations.QueryCostInstrumentation;
+import ragde.graphql.instrumentations.ReadReplicaInstrumentation;
+import ragde.graphql.metrics.GraphQLMetrics;
+import ragde.repositories.executor.FetchExecutor;
+
+import java.util.List;
 
 /**
  * Configure Custom GraphQL
@@ -18,17 +32,41 @@ public class GraphQLConfig {
 
     private final Integer MAX_DEPTH = 3;
 
+    // max cost of an operation, 0 disables the limit
+    @Value("${graphql.cost.max:0}")
+    private long MAX_COST;
+
+    // if true operation's cost is added to response's extensions
+    @Value("${graphql.cost.report:false}")
+    private boolean REPORT_COST;
+
     @Bean
     public GraphQLSchema graphQLSchema(GraphQLSchemaGenerator schemaGenerator) {
         return schemaGenerator.generate();
     }
 
     @Bean
-    public GraphQL graphQL(GraphQLSchema schema, GraphQLExceptionsHandler graphQLExceptionsHandler) {
+    public GraphQL graphQL(GraphQLSchema schema, GraphQLExceptionsHandler graphQLExceptionsHandler, GraphQLMetrics graphQLMetrics,
+                           DocumentCache documentCache, QueryCostBudget queryCostBudget, FetchExecutor fetchExecutor) {
         return GraphQL.newGraphQL(schema)
                 .queryExecutionStrategy(new AsyncExecutionStrategy(graphQLExceptionsHandler))
                 .mutationExecutionStrategy(new AsyncSerialExecutionStrategy(graphQLExceptionsHandler))
-                .instrumentation(new CustomMaxQueryDepthInstrumentation(MAX_DEPTH))
+                // repeated queries skip parse and validation
+                .preparsedDocumentProvider(documentCache)
+                .instrumentation(new ChainedInstrumentation(List.of(
+                        new CustomMaxQueryDepthInstrumentation(MAX_DEPTH),
+                        new QueryCostInstrumentation(queryCostBudget, MAX_COST, REPORT_COST),
+                        // mutations read and write in the primary data source when read replicas are configured
+                        new ReadReplicaInstrumentation(),
+                        // load the requested relationships of root queries' entities with fetch joins
+                        new FetchPlanInstrumentation(fetchExecutor),
+                        // read only the requested fields of root queries' mongo documents
+                        new ProjectionInstrumentation(),
+                        // dispatch DataLoaders registered by CustomDataLoaderRegistryFactory once per execution level
+                        new DataLoaderDispatcherInstrumentation(),
+                        // last, so its contexts are completed after the others' (execution timing includes the depth check)
+                        new MetricsInstrumentation(graphQLMetrics)
+                )))
                 .build();
     }
 }
\ No newline at end of file
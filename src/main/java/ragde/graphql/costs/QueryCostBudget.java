@@ -0,0 +1,20 @@
+package ragde.graphql.costs;
+
+public interface QueryCostBudget {
+
+    /**
+     * Check if budget is enabled
+     *
+     * @return true if users' query costs are limited
+     */
+    boolean isEnabled();
+
+    /**
+     * Consume a query cost from a user's budget, budget is refilled gradually over its window
+     *
+     * @param user user or client requesting the query
+     * @param cost query cost
+     * @return remaining budget after consuming the cost, when it's negative the cost isn't consumed and the query must be rejected
+     */
+    long consume(String user, long cost);
+}
@@ -0,0 +1,74 @@
+package ragde.graphql.costs.implementations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ragde.graphql.costs.QueryCostBudget;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class QueryCostBudgetImpl implements QueryCostBudget {
+
+    // max users tracked before dropping the ones with a full budget
+    private static final int MAX_USERS = 10000;
+
+    // max cost a user can spend in a window, 0 disables the budget
+    @Value("${graphql.cost.budget:0}")
+    private long BUDGET;
+
+    // seconds needed to refill the whole budget
+    @Value("${graphql.cost.window:60}")
+    private long WINDOW;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return BUDGET > 0 && WINDOW > 0;
+    }
+
+    @Override
+    public long consume(String user, long cost) {
+        if (!isEnabled()) {
+            return Long.MAX_VALUE;
+        }
+
+        if (buckets.size() > MAX_USERS) {
+            buckets.values().removeIf(Bucket::isFull);
+        }
+        return buckets.computeIfAbsent(user, key -> new Bucket()).consume(cost);
+    }
+
+    /**
+     * User's remaining budget, refilled at BUDGET / WINDOW per second
+     */
+    private class Bucket {
+
+        private double remaining = BUDGET;
+
+        private long refilled = System.nanoTime();
+
+        private synchronized long consume(long cost) {
+            refill();
+            if (remaining < cost) {
+                return (long) remaining - cost;
+            }
+
+            remaining -= cost;
+            return (long) remaining;
+        }
+
+        private synchronized boolean isFull() {
+            refill();
+            return remaining >= BUDGET;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            remaining = Math.min(BUDGET, remaining + (double) BUDGET * (now - refilled) / TimeUnit.SECONDS.toNanos(WINDOW));
+            refilled = now;
+        }
+    }
+}
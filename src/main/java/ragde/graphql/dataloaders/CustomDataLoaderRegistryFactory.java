@@ -0,0 +1,162 @@
+package ragde.graphql.dataloaders;
+
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ragde.models.*;
+import ragde.repositories.AuthenticationRepository;
+import ragde.repositories.PersonRepository;
+import ragde.repositories.RoleRepository;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates a new DataLoaderRegistry for each GraphQL request, so @GraphQLContext resolvers collect their keys
+ * per execution level and resolve all of them with one query instead of one query per parent row
+ */
+@Component
+public class CustomDataLoaderRegistryFactory implements DataLoaderRegistryFactory {
+
+    public static final String PERSON_AUTHENTICATIONS = "personAuthentications";
+
+    public static final String AUTH_PROVIDER_AUTHENTICATIONS = "authProviderAuthentications";
+
+    public static final String ROLE_PEOPLE = "rolePeople";
+
+    public static final String PERMISSION_ROLES = "permissionRoles";
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Override
+    public DataLoaderRegistry createDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(PERSON_AUTHENTICATIONS, DataLoader.newDataLoader(this::loadPersonAuthentications));
+        registry.register(AUTH_PROVIDER_AUTHENTICATIONS, DataLoader.newDataLoader(this::loadAuthProviderAuthentications));
+        registry.register(ROLE_PEOPLE, DataLoader.newDataLoader(this::loadRolePeople));
+        registry.register(PERMISSION_ROLES, DataLoader.newDataLoader(this::loadPermissionRoles));
+        return registry;
+    }
+
+    /**
+     * Get a registered DataLoader from the current GraphQL execution
+     *
+     * @param environment GraphQL resolution environment
+     * @param name        DataLoader name
+     * @return DataLoader or null if the execution doesn't have a DataLoaderRegistry (for example, direct calls)
+     */
+    public static <K, V> DataLoader<K, V> getDataLoader(ResolutionEnvironment environment, String name) {
+        if (environment == null || environment.dataFetchingEnvironment == null) {
+            return null;
+        }
+
+        return environment.dataFetchingEnvironment.getDataLoader(name);
+    }
+
+    /**
+     * Load the Authentications of several People with one query
+     *
+     * @param personIds People IDs
+     * @return Authentications lists in the same order than personIds
+     */
+    private CompletionStage<List<List<Authentication>>> loadPersonAuthentications(List<String> personIds) {
+        List<Person> people = personIds.stream().map(Person::new).collect(Collectors.toList());
+        Map<String, List<Authentication>> grouped = authenticationRepository.findByPersonIn(people).stream()
+                .collect(Collectors.groupingBy(a -> a.getPerson().getId()));
+
+        return CompletableFuture.completedFuture(sortByKeys(personIds, grouped));
+    }
+
+    /**
+     * Load the Authentications of several AuthProviders with one query
+     *
+     * @param authProviderIds AuthProviders IDs
+     * @return Authentications lists in the same order than authProviderIds
+     */
+    private CompletionStage<List<List<Authentication>>> loadAuthProviderAuthentications(List<String> authProviderIds) {
+        List<AuthProvider> authProviders = authProviderIds.stream().map(AuthProvider::new).collect(Collectors.toList());
+        Map<String, List<Authentication>> grouped = authenticationRepository.findByAuthProviderIn(authProviders).stream()
+                .collect(Collectors.groupingBy(a -> a.getAuthProvider().getId()));
+
+        return CompletableFuture.completedFuture(sortByKeys(authProviderIds, grouped));
+    }
+
+    /**
+     * Load the People of several Roles with one query
+     *
+     * @param roleIds Roles IDs
+     * @return People lists in the same order than roleIds
+     */
+    private CompletionStage<List<List<Person>>> loadRolePeople(List<String> roleIds) {
+        List<Role> roles = roleIds.stream().map(Role::new).collect(Collectors.toList());
+        List<Person> people = personRepository.findByRolesIn(roles);
+        Map<String, List<Person>> grouped = groupByRelated(roleIds, people, Person::getRoles);
+
+        return CompletableFuture.completedFuture(sortByKeys(roleIds, grouped));
+    }
+
+    /**
+     * Load the Roles of several Permissions with one query
+     *
+     * @param permissionIds Permissions IDs
+     * @return Roles lists in the same order than permissionIds
+     */
+    private CompletionStage<List<List<Role>>> loadPermissionRoles(List<String> permissionIds) {
+        List<Permission> permissions = permissionIds.stream().map(Permission::new).collect(Collectors.toList());
+        List<Role> roles = roleRepository.findByPermissionsIn(permissions);
+        Map<String, List<Role>> grouped = groupByRelated(permissionIds, roles, Role::getPermissions);
+
+        return CompletableFuture.completedFuture(sortByKeys(permissionIds, grouped));
+    }
+
+    /**
+     * Group a many to many relationship by the IDs of the related side, ignoring duplicated entities
+     * (SQL joins return the same row once per matched relation)
+     *
+     * @param keys     requested IDs of the related side
+     * @param entities entities returned by the query
+     * @param related  function to get the related side from an entity
+     * @return entities grouped by related ID
+     */
+    private <T extends Model, R extends Model> Map<String, List<T>> groupByRelated(List<String> keys, List<T> entities, Function<T, Collection<R>> related) {
+        Set<String> requested = new HashSet<>(keys);
+        Map<String, T> distinct = new LinkedHashMap<>();
+        entities.forEach(entity -> distinct.putIfAbsent(entity.getId(), entity));
+
+        Map<String, List<T>> grouped = new HashMap<>();
+        distinct.values().forEach(entity -> {
+            if (related.apply(entity) != null) {
+                related.apply(entity).stream()
+                        .map(Model::getId)
+                        .filter(requested::contains)
+                        .forEach(id -> grouped.computeIfAbsent(id, k -> new ArrayList<>()).add(entity));
+            }
+        });
+
+        return grouped;
+    }
+
+    /**
+     * DataLoader needs the values in the same order than the keys
+     *
+     * @param keys    requested keys
+     * @param grouped values grouped by key
+     * @return values list (an empty list when a key doesn't have values)
+     */
+    private <T> List<List<T>> sortByKeys(List<String> keys, Map<String, List<T>> grouped) {
+        return keys.stream().map(key -> grouped.getOrDefault(key, new ArrayList<>())).collect(Collectors.toList());
+    }
+}
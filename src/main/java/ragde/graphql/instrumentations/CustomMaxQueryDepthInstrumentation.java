@@ -1,27 +1,73 @@
 package ragde.graphql.instrumentations;
 
 import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.analysis.QueryTraversal;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
 import graphql.validation.ValidationError;
+import io.leangen.graphql.util.GraphQLUtils;
 
 import java.util.List;
 
 public class CustomMaxQueryDepthInstrumentation extends MaxQueryDepthInstrumentation {
 
+    private final int maxDepth;
+
     public CustomMaxQueryDepthInstrumentation(int maxDepth) {
         super(maxDepth);
+        this.maxDepth = maxDepth;
     }
 
     @Override
     public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters) {
+        // validation is skipped when the parsed document is cached, so depth is checked before executing the operation
+        return new SimpleInstrumentationContext<>();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        String operationName = executionContext.getOperationDefinition().getName();
         // GraphQL UI (/gui) send an IntrospectionQuery in order to get DOCS and SCHEMA information,
         // so if operation is IntrospectionQuery, not validate Query Depth limitation
-        if (parameters.getOperation() != null && parameters.getOperation().equals("IntrospectionQuery")) {
+        if (operationName != null && operationName.equals("IntrospectionQuery")) {
             return new SimpleInstrumentationContext<>();
         }
 
-        return super.beginValidation(parameters);
+        QueryTraversal queryTraversal = QueryTraversal.newQueryTraversal()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(operationName)
+                .variables(executionContext.getVariables())
+                .build();
+        int depth = queryTraversal.reducePreOrder((env, acc) -> Math.max(getPathLength(env), acc), 0);
+        if (depth > maxDepth) {
+            throw mkAbortException(depth, maxDepth);
+        }
+        return new SimpleInstrumentationContext<>();
+    }
+
+    /**
+     * Get the depth of a field, Relay connections' edges aren't counted so
+     * personConnection {edges {node {id}}} has the same depth as personPage {content {id}}
+     *
+     * @param env field to be measured
+     * @return field depth
+     */
+    private int getPathLength(QueryVisitorFieldEnvironment env) {
+        int length = 0;
+        while (env != null) {
+            boolean relayEdges = env.getFieldDefinition().getName().equals("edges") && GraphQLUtils.isRelayConnectionType(env.getFieldsContainer());
+            if (!relayEdges) {
+                length++;
+            }
+            env = env.getParentEnvironment();
+        }
+        return length;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package ragde.graphql.instrumentations;
+
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.relay.Edge;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import io.leangen.graphql.execution.relay.generic.GenericPage;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Slice;
+import ragde.models.Model;
+import ragde.repositories.executor.FetchExecutor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Plan root queries' fetches from their selection set, when a client asks personPage {content {name roles {name}}}
+ * every person's roles are loaded with one fetch join just after the page, instead of lazy loading them person by person
+ * (or batch by batch). Pages can't fetch join collections, otherwise Hibernate would paginate in memory
+ */
+public class FetchPlanInstrumentation extends SimpleInstrumentation {
+
+    private final FetchExecutor fetchExecutor;
+
+    public FetchPlanInstrumentation(FetchExecutor fetchExecutor) {
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        // only root queries (people, personPage, personConnection...) load entities, relationships are loaded with them
+        if (environment.getParentType() != environment.getGraphQLSchema().getQueryType()) {
+            return dataFetcher;
+        }
+
+        return env -> {
+            Object result = dataFetcher.get(env);
+            Object value = result instanceof DataFetcherResult ? ((DataFetcherResult<?>) result).getData() : result;
+            fetch(value, env.getSelectionSet());
+            return result;
+        };
+    }
+
+    /**
+     * Fetch the requested relationships of a root query's result
+     *
+     * @param value        root query's result
+     * @param selectionSet requested fields
+     */
+    private void fetch(Object value, DataFetchingFieldSelectionSet selectionSet) {
+        if (value instanceof Slice) {
+            fetch(((Slice<?>) value).getContent(), selectionSet, "content/");
+        } else if (value instanceof GenericPage) {
+            List<?> nodes = ((GenericPage<?>) value).getEdges().stream().map(Edge::getNode).collect(Collectors.toList());
+            fetch(nodes, selectionSet, "edges/node/");
+        } else if (value instanceof Collection) {
+            fetch((Collection<?>) value, selectionSet, "");
+        } else if (value instanceof Model) {
+            fetch(List.of(value), selectionSet, "");
+        }
+    }
+
+    private void fetch(Collection<?> entities, DataFetchingFieldSelectionSet selectionSet, String path) {
+        entities.stream().filter(entity -> entity instanceof Model).findFirst()
+                .ifPresent(entity -> fetch(Hibernate.getClass(entity), entities, selectionSet, path));
+    }
+
+    /**
+     * Fetch the requested relationships of the entities and then the requested relationships of the related entities
+     *
+     * @param domainClass  entities class
+     * @param entities     entities where relationships are loaded
+     * @param selectionSet requested fields
+     * @param path         entities path in the selection set
+     */
+    private void fetch(Class<?> domainClass, Collection<?> entities, DataFetchingFieldSelectionSet selectionSet, String path) {
+        fetchExecutor.getRelations(domainClass).forEach((relation, relatedClass) -> {
+            if (selectionSet.contains(path + relation)) {
+                List<Object> related = fetchExecutor.fetch(domainClass, entities, relation);
+                if (!related.isEmpty()) {
+                    fetch(relatedClass, related, selectionSet, path + relation + "/");
+                }
+            }
+        });
+    }
+}
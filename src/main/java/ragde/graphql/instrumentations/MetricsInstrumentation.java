@@ -0,0 +1,142 @@
+package ragde.graphql.instrumentations;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLType;
+import graphql.validation.ValidationError;
+import ragde.graphql.metrics.GraphQLMetrics;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Measure parse, validation and execution phases, each operation and each field fetch (including async DataLoader
+ * fetches) of a sample of executions, not sampled executions only pay the sampling decision
+ */
+public class MetricsInstrumentation extends SimpleInstrumentation {
+
+    private final GraphQLMetrics graphQLMetrics;
+
+    public MetricsInstrumentation(GraphQLMetrics graphQLMetrics) {
+        this.graphQLMetrics = graphQLMetrics;
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new MetricsState(graphQLMetrics.sample());
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters) {
+        MetricsState state = parameters.getInstrumentationState();
+        if (!state.sampled) {
+            return super.beginExecution(parameters);
+        }
+
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            boolean error = throwable != null || (result != null && !result.getErrors().isEmpty());
+            // operation is unknown when query couldn't be parsed or validated
+            String operation = state.operation != null ? state.operation : "invalid";
+            graphQLMetrics.record(GraphQLMetrics.OPERATIONS, operation, System.nanoTime() - start, error);
+        });
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters) {
+        MetricsState state = parameters.getInstrumentationState();
+        return state.sampled ? phase("parse") : super.beginParse(parameters);
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters) {
+        MetricsState state = parameters.getInstrumentationState();
+        if (!state.sampled) {
+            return super.beginValidation(parameters);
+        }
+
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((errors, throwable) ->
+                graphQLMetrics.record(GraphQLMetrics.PHASES, "validation", System.nanoTime() - start, throwable != null || (errors != null && !errors.isEmpty())));
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        MetricsState state = parameters.getInstrumentationState();
+        if (!state.sampled) {
+            return super.beginExecuteOperation(parameters);
+        }
+
+        state.operation = getOperationName(parameters.getExecutionContext().getOperationDefinition());
+        return phase("execution");
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+        MetricsState state = parameters.getInstrumentationState();
+        if (!state.sampled) {
+            return super.beginFieldFetch(parameters);
+        }
+
+        GraphQLType parentType = parameters.getEnvironment().getParentType();
+        String coordinate = parentType.getName() + "." + parameters.getField().getName();
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((value, throwable) ->
+                graphQLMetrics.record(GraphQLMetrics.FIELDS, coordinate, System.nanoTime() - start, throwable != null));
+    }
+
+    /**
+     * Measure a phase
+     *
+     * @param name phase name
+     * @param <T>  phase result type
+     * @return context that records the phase when it's completed
+     */
+    private <T> InstrumentationContext<T> phase(String name) {
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) ->
+                graphQLMetrics.record(GraphQLMetrics.PHASES, name, System.nanoTime() - start, throwable != null));
+    }
+
+    /**
+     * Get operation's name, anonymous operations are named by its type and root fields (query {ping} is "query ping")
+     *
+     * @param operation operation definition
+     * @return operation name
+     */
+    private String getOperationName(OperationDefinition operation) {
+        if (operation.getName() != null) {
+            return operation.getName();
+        }
+
+        String fields = operation.getSelectionSet().getSelections().stream()
+                .filter(selection -> selection instanceof Field)
+                .map(selection -> ((Field) selection).getName())
+                .collect(Collectors.joining(","));
+        return operation.getOperation().name().toLowerCase() + " " + fields;
+    }
+
+    /**
+     * Execution's sampling decision and operation name
+     */
+    private static class MetricsState implements InstrumentationState {
+
+        private final boolean sampled;
+
+        private volatile String operation;
+
+        private MetricsState(boolean sampled) {
+            this.sampled = sampled;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ragde.graphql.instrumentations;
+
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import ragde.repositories.executor.RequestedFields;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Publish the fields requested by root queries while they are fetched, when a client asks personPage {content {name roles {name}}}
+ * only name and roles are read from mongo (id and version are always read)
+ */
+public class ProjectionInstrumentation extends SimpleInstrumentation {
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        // only root queries (people, personPage, personConnection...) load entities, relationships are loaded with them
+        if (environment.getParentType() != environment.getGraphQLSchema().getQueryType()) {
+            return dataFetcher;
+        }
+
+        return env -> {
+            RequestedFields.set(getRequestedFields(env.getSelectionSet()));
+            try {
+                return dataFetcher.get(env);
+            } finally {
+                RequestedFields.set(null);
+            }
+        };
+    }
+
+    /**
+     * Get the entity fields of a root query selection set, entities could be the root value, a page's content or a connection's nodes.
+     * Page fields (totalElements, pageInfo...) are included too, but they don't match any entity property
+     *
+     * @param selectionSet requested fields
+     * @return requested fields names
+     */
+    private Set<String> getRequestedFields(DataFetchingFieldSelectionSet selectionSet) {
+        return selectionSet.getFields().stream().map(SelectedField::getQualifiedName)
+                .map(name -> name.startsWith("content/") ? name.substring("content/".length()) : name)
+                .map(name -> name.startsWith("edges/node/") ? name.substring("edges/node/".length()) : name)
+                .filter(name -> !name.contains("/"))
+                .collect(Collectors.toSet());
+    }
+}
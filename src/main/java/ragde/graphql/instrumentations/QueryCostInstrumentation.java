@@ -0,0 +1,199 @@
+package ragde.graphql.instrumentations;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.analysis.QueryTraversal;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ragde.graphql.costs.QueryCostBudget;
+import ragde.security.pojos.LoggedUser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Estimate operation's cost before executing it, rejecting operations more expensive than maxCost or than
+ * user's remaining budget. Each object or list field costs as many rows as its parents could load: a field with
+ * pageDataRequest loads pageDataRequest.size rows and any other list field (relationships) loads LIST_SIZE rows,
+ * so personPage(size: 100) {content {roles {name}}} costs 1 + 100 + 100 = 201
+ */
+public class QueryCostInstrumentation extends SimpleInstrumentation {
+
+    // rows expected in list fields without pageDataRequest (person.roles, role.permissions...)
+    public static final int LIST_SIZE = 10;
+
+    private final QueryCostBudget queryCostBudget;
+
+    private final long maxCost;
+
+    private final boolean report;
+
+    /**
+     * @param queryCostBudget users' budget
+     * @param maxCost         max cost of an operation, 0 disables the limit
+     * @param report          if true the cost is added to response's extensions
+     */
+    public QueryCostInstrumentation(QueryCostBudget queryCostBudget, long maxCost, boolean report) {
+        this.queryCostBudget = queryCostBudget;
+        this.maxCost = maxCost;
+        this.report = report;
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new CostState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        boolean limited = maxCost > 0 || queryCostBudget.isEnabled();
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        String operationName = executionContext.getOperationDefinition().getName();
+        // GraphQL UI (/gui) send an IntrospectionQuery in order to get DOCS and SCHEMA information, so it isn't limited
+        if ((!limited && !report) || (operationName != null && operationName.equals("IntrospectionQuery"))) {
+            return new SimpleInstrumentationContext<>();
+        }
+
+        QueryTraversal queryTraversal = QueryTraversal.newQueryTraversal()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(operationName)
+                .variables(executionContext.getVariables())
+                .build();
+        long cost = queryTraversal.reducePreOrder((env, acc) -> acc + getCost(env), 0L);
+        if (maxCost > 0 && cost > maxCost) {
+            throw new AbortExecutionException("maximum query cost exceeded " + cost + " > " + maxCost);
+        }
+
+        CostState state = parameters.getInstrumentationState();
+        state.cost = cost;
+        if (queryCostBudget.isEnabled()) {
+            long remaining = queryCostBudget.consume(getUser(), cost);
+            if (remaining < 0) {
+                throw new AbortExecutionException("query cost budget exceeded " + cost + " > " + (remaining + cost) + ", try again later");
+            }
+            state.remaining = remaining;
+        }
+        return new SimpleInstrumentationContext<>();
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+        CostState state = parameters.getInstrumentationState();
+        if (!report || state.cost == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        Map<String, Object> cost = new LinkedHashMap<>();
+        cost.put("requested", state.cost);
+        if (maxCost > 0) {
+            cost.put("maximum", maxCost);
+        }
+        if (state.remaining != null) {
+            cost.put("remaining", state.remaining);
+        }
+
+        Map<Object, Object> extensions = new LinkedHashMap<>();
+        if (executionResult.getExtensions() != null) {
+            extensions.putAll(executionResult.getExtensions());
+        }
+        extensions.put("cost", cost);
+        return CompletableFuture.completedFuture(new ExecutionResultImpl(executionResult.getData(), executionResult.getErrors(), extensions));
+    }
+
+    /**
+     * Get field's cost, the product of its parents' multipliers, scalars are loaded with their parent so they are free
+     *
+     * @param env field to be measured
+     * @return rows that could be loaded to resolve the field
+     */
+    private long getCost(QueryVisitorFieldEnvironment env) {
+        if (GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(env.getFieldDefinition().getType()))) {
+            return 0;
+        }
+
+        long cost = 1;
+        QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+        QueryVisitorFieldEnvironment child = env;
+        while (parent != null) {
+            cost = Math.multiplyExact(cost, getMultiplier(parent, child));
+            child = parent;
+            parent = parent.getParentEnvironment();
+        }
+        return cost;
+    }
+
+    /**
+     * Get how many times a field's child is resolved
+     *
+     * @param env   field to be measured
+     * @param child env's child in the measured path
+     * @return pageDataRequest.size for page's content (or connection's edges), LIST_SIZE for lists or 1 for objects
+     */
+    private long getMultiplier(QueryVisitorFieldEnvironment env, QueryVisitorFieldEnvironment child) {
+        Integer size = getPageSize(env);
+        if (size != null) {
+            return isList(child) ? size : 1;
+        }
+
+        // page's content is already counted by its page
+        if (!isList(env) || (env.getParentEnvironment() != null && getPageSize(env.getParentEnvironment()) != null)) {
+            return 1;
+        }
+        return LIST_SIZE;
+    }
+
+    private boolean isList(QueryVisitorFieldEnvironment env) {
+        return GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()));
+    }
+
+    private Integer getPageSize(QueryVisitorFieldEnvironment env) {
+        Object pageDataRequest = env.getArguments().get("pageDataRequest");
+        if (pageDataRequest instanceof Map && ((Map) pageDataRequest).get("size") instanceof Integer) {
+            return (Integer) ((Map) pageDataRequest).get("size");
+        }
+        return null;
+    }
+
+    /**
+     * Get who is requesting the operation, logged user's id or client's address for anonymous requests
+     *
+     * @return user identifier
+     */
+    private String getUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof LoggedUser && ((LoggedUser) authentication.getPrincipal()).getId() != null) {
+            return ((LoggedUser) authentication.getPrincipal()).getId();
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) requestAttributes).getRequest().getRemoteAddr();
+        }
+        return "anonymous";
+    }
+
+    /**
+     * Operation's cost and user's remaining budget
+     */
+    private static class CostState implements InstrumentationState {
+
+        private volatile Long cost;
+
+        private volatile Long remaining;
+    }
+}
@@ -0,0 +1,24 @@
+package ragde.graphql.instrumentations;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.OperationDefinition;
+import ragde.repositories.datasources.ReplicaRoutingDataSource;
+
+/**
+ * Send mutations to the primary data source from the beginning, so reads done before the first write
+ * (without transaction) don't keep a replica's connection that would be used later to write
+ */
+public class ReadReplicaInstrumentation extends SimpleInstrumentation {
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        if (parameters.getExecutionContext().getOperationDefinition().getOperation() == OperationDefinition.Operation.MUTATION) {
+            ReplicaRoutingDataSource.usePrimary();
+        }
+        return new SimpleInstrumentationContext<>();
+    }
+}
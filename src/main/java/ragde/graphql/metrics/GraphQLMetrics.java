@@ -0,0 +1,39 @@
+package ragde.graphql.metrics;
+
+import java.util.Map;
+
+/**
+ * Keeps GraphQL timings (phases, operations and fields) of a sample of executions
+ */
+public interface GraphQLMetrics {
+
+    String PHASES = "phases";
+
+    String OPERATIONS = "operations";
+
+    String FIELDS = "fields";
+
+    /**
+     * Decide if an execution must be measured
+     *
+     * @return true if execution is part of the sample
+     */
+    boolean sample();
+
+    /**
+     * Record a timing
+     *
+     * @param group timing's group (phases, operations or fields)
+     * @param name  timing's name (phase, operation name or field coordinate as Type.field)
+     * @param nanos elapsed time
+     * @param error true if it finished with errors
+     */
+    void record(String group, String name, long nanos, boolean error);
+
+    /**
+     * Get count, errors, total, mean, max and histogram (milliseconds) by group and name
+     *
+     * @return statistics map
+     */
+    Map<String, Object> getStatistics();
+}
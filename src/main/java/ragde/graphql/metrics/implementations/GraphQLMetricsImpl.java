@@ -0,0 +1,117 @@
+package ragde.graphql.metrics.implementations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ragde.graphql.metrics.GraphQLMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class GraphQLMetricsImpl implements GraphQLMetrics {
+
+    // histogram's upper bounds in milliseconds, slower timings are counted in "+Inf"
+    private static final long[] BUCKETS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    // names are chosen by clients (operation names), once a group is full new names are counted here
+    private static final String OTHER = "other";
+
+    // fraction of executions measured, 0 disables metrics
+    @Value("${graphql.metrics.sample-rate:0}")
+    private double SAMPLE_RATE;
+
+    // max distinct names by group
+    @Value("${graphql.metrics.max-names:500}")
+    private int MAX_NAMES;
+
+    private final Map<String, Map<String, Timer>> groups = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean sample() {
+        return SAMPLE_RATE > 0 && (SAMPLE_RATE >= 1 || ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE);
+    }
+
+    @Override
+    public void record(String group, String name, long nanos, boolean error) {
+        Map<String, Timer> timers = groups.computeIfAbsent(group, g -> new ConcurrentHashMap<>());
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(timers.size() < MAX_NAMES ? name : OTHER, n -> new Timer());
+        }
+        timer.record(nanos, error);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("sampleRate", SAMPLE_RATE);
+        for (String group : new String[]{PHASES, OPERATIONS, FIELDS}) {
+            Map<String, Object> timers = new TreeMap<>();
+            groups.getOrDefault(group, Map.of()).forEach((name, timer) -> timers.put(name, timer.getStatistics()));
+            statistics.put(group, timers);
+        }
+        return statistics;
+    }
+
+    /**
+     * Lock free timing accumulator, so recording doesn't block resolvers running in parallel
+     */
+    private static class Timer {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder total = new LongAdder();
+
+        private final AtomicLong max = new AtomicLong();
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length + 1];
+
+        private Timer() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos, boolean error) {
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+            if (error) {
+                errors.increment();
+            }
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKETS.length && millis >= BUCKETS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        private Map<String, Object> getStatistics() {
+            long count = this.count.sum();
+            double total = this.total.sum() / 1_000_000.0;
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                histogram.put(i < BUCKETS.length ? "<" + BUCKETS[i] : "+Inf", buckets[i].sum());
+            }
+
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("count", count);
+            statistics.put("errors", errors.sum());
+            statistics.put("totalMs", total);
+            statistics.put("meanMs", count > 0 ? total / count : 0.0);
+            statistics.put("maxMs", max.get() / 1_000_000.0);
+            statistics.put("histogram", histogram);
+            return statistics;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package ragde.models;
 import io.leangen.graphql.annotations.GraphQLIgnore;
 import io.leangen.graphql.annotations.types.GraphQLType;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -14,6 +16,8 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "auth_provider")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @GraphQLType(description = "Authentication Provider like Google or Facebook")
 public class AuthProvider extends Model {
 
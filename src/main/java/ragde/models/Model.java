@@ -5,6 +5,9 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import ragde.models.generators.StringSequenceGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -16,13 +19,17 @@ import java.time.ZoneOffset;
 public abstract class Model {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = StringSequenceGenerator.SEQUENCE_NAME)
+    @GenericGenerator(name = StringSequenceGenerator.SEQUENCE_NAME, strategy = "ragde.models.generators.StringSequenceGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = StringSequenceGenerator.SEQUENCE_NAME),
+            @Parameter(name = "increment_size", value = "" + StringSequenceGenerator.INCREMENT_SIZE)
+    })
     @Column(columnDefinition = "bigint")
     @Getter
     @Setter
     protected String id;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", updatable = false)
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
     @Getter
     private LocalDateTime createdAt;
@@ -32,6 +39,13 @@ public abstract class Model {
     @Getter
     private LocalDateTime updatedAt;
 
+    // increased by each update, updates sent with an old version are rejected
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    @Getter
+    @Setter
+    private Long version;
+
     @PrePersist
     public void createdAt() {
         this.createdAt = this.updatedAt = LocalDateTime.now(ZoneOffset.UTC);
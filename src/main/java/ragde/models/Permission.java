@@ -2,6 +2,8 @@ package ragde.models;
 
 import io.leangen.graphql.annotations.types.GraphQLType;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -13,6 +15,8 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "permission")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @GraphQLType(description = "Permission that could be included in one or more Roles")
 public class Permission extends Model {
 
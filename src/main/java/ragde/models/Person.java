@@ -16,7 +16,12 @@ import java.util.Set;
 @ToString(callSuper = true, of = {"name", "lastName"})
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "person")
+// people are usually filtered and sorted by name, email and birthday
+@Table(name = "person", indexes = {
+        @Index(name = "idx_person_last_name_name", columnList = "lastName, name"),
+        @Index(name = "idx_person_email", columnList = "email"),
+        @Index(name = "idx_person_birthday", columnList = "birthday")
+})
 @GraphQLType(description = "User's personal information")
 public class Person extends Model {
 
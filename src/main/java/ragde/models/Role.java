@@ -2,6 +2,8 @@ package ragde.models;
 
 import io.leangen.graphql.annotations.types.GraphQLType;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 
 import javax.persistence.*;
@@ -15,6 +17,8 @@ import java.util.Set;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "role")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @GraphQLType(description = "Role that could be associated with one or more users")
 public class Role extends Model {
 
@@ -35,6 +39,7 @@ public class Role extends Model {
     // in @ManyToMany the Owner Entity must use Set to notify MySQL that new relational table will have a combine Primary Key
     // if List is used instead the new relational table won't have a combine Primary key so data could be duplicated
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @DBRef // all foreign keys need @DBRef to notify Mongo about relationship and ownership
     @Getter
     @Setter
@@ -0,0 +1,34 @@
+package ragde.models.generators;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.LongType;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Generate ids from a pooled sequence (a table when database doesn't support sequences, like MySQL) as String,
+ * unlike IDENTITY ids are known before the insert so Hibernate can send inserts in JDBC batches
+ */
+public class StringSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_NAME = "model_sequence";
+
+    // ids fetched from the sequence in each round trip
+    public static final int INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        // ids are numeric in database but String in Model
+        super.configure(LongType.INSTANCE, params, serviceRegistry);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return super.generate(session, object).toString();
+    }
+}
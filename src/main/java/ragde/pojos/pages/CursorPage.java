@@ -0,0 +1,23 @@
+package ragde.pojos.pages;
+
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+import io.leangen.graphql.execution.relay.generic.GenericPage;
+
+import java.util.List;
+
+/**
+ * Relay connection returned by cursor pagination (exposed in GraphQL as {Type}Connection)
+ */
+public class CursorPage<T> extends GenericPage<T> {
+
+    /**
+     * Create an instance
+     *
+     * @param edges    page elements with their cursors
+     * @param pageInfo cursors and flags to navigate to the next or previous pages
+     */
+    public CursorPage(List<Edge<T>> edges, PageInfo pageInfo) {
+        super(edges, pageInfo);
+    }
+}
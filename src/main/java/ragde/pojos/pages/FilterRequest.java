@@ -6,14 +6,22 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import javax.validation.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
 
 /**
- * Filter Request pojo
+ * Filter Request pojo, it's a single field condition (field, value or values and operation)
+ * or a group (AND or OR operation) of nested filters
  */
 @NoArgsConstructor
 @EqualsAndHashCode
+@FilterRequest.RequiredByOperation
 @GraphQLType(description = "Pagination's Filter data")
 public class FilterRequest {
 
@@ -26,22 +34,77 @@ public class FilterRequest {
         @GraphQLEnumValue(description = "Lesser or Equal than") LET,
         @GraphQLEnumValue(description = "Contains") LIKE,
         @GraphQLEnumValue(description = "Starts with") STARTS_WITH,
-        @GraphQLEnumValue(description = "Ends with") ENDS_WITH
+        @GraphQLEnumValue(description = "Ends with") ENDS_WITH,
+        @GraphQLEnumValue(description = "Equal to any of the values") IN,
+        @GraphQLEnumValue(description = "Not Equal to any of the values") NOT_IN,
+        @GraphQLEnumValue(description = "All the nested filters") AND,
+        @GraphQLEnumValue(description = "Any of the nested filters") OR
     }
 
-    @NotNull
+    // required by all operations except AND and OR
     @Size(min = 1, max = 255)
     @Getter
     private String field;
 
-    @NotNull
+    // required by all operations except IN, NOT_IN, AND and OR
     @Getter
     private String value;
 
+    // required by IN and NOT_IN
+    @Size(min = 1, max = 1000)
+    @Getter
+    private List<String> values;
+
+    // required by AND and OR
+    @Valid
+    @Size(min = 1, max = 100)
+    @Getter
+    private List<FilterRequest> filters;
+
     @NotNull
     @Getter
     private OPERATIONS operation;
 
+    /**
+     * Validate that FilterRequest has the data its operation requires, each missing property is reported as null
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = RequiredByOperationValidator.class)
+    public @interface RequiredByOperation {
+
+        String message() default "{javax.validation.constraints.NotNull.message}";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    public static class RequiredByOperationValidator implements ConstraintValidator<RequiredByOperation, FilterRequest> {
+
+        @Override
+        public boolean isValid(FilterRequest filterRequest, ConstraintValidatorContext context) {
+            // when operation is null it's already reported, so field and value are checked as in single value operations
+            OPERATIONS operation = filterRequest.operation != null ? filterRequest.operation : OPERATIONS.EQ;
+            boolean valid = switch (operation) {
+                case AND, OR -> isPresent(filterRequest.filters, "filters", context);
+                case IN, NOT_IN -> isPresent(filterRequest.field, "field", context) & isPresent(filterRequest.values, "values", context);
+                default -> isPresent(filterRequest.field, "field", context) & isPresent(filterRequest.value, "value", context);
+            };
+            if (!valid) {
+                context.disableDefaultConstraintViolation();
+            }
+            return valid;
+        }
+
+        private boolean isPresent(Object value, String property, ConstraintValidatorContext context) {
+            if (value == null) {
+                context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate()).addPropertyNode(property).addConstraintViolation();
+            }
+            return value != null;
+        }
+    }
+
     /**
      * Create an instance
      *
@@ -54,4 +117,28 @@ public class FilterRequest {
         this.value = value;
         this.operation = operation;
     }
-}
\ No newline at end of file
+
+    /**
+     * Create an instance of a list operation
+     *
+     * @param operation operation to be performed (IN or NOT_IN)
+     * @param field     field to be filtered
+     * @param values    field values
+     */
+    public FilterRequest(OPERATIONS operation, String field, List<String> values) {
+        this.field = field;
+        this.values = values;
+        this.operation = operation;
+    }
+
+    /**
+     * Create an instance of a group
+     *
+     * @param operation operation to be performed (AND or OR)
+     * @param filters   nested filters
+     */
+    public FilterRequest(OPERATIONS operation, List<FilterRequest> filters) {
+        this.filters = filters;
+        this.operation = operation;
+    }
+}
@@ -46,6 +46,13 @@ public class PageDataRequest {
     @Getter
     private List<FilterRequest> filters;
 
+    // cursor mode, when present page is ignored and rows are located by the sort values instead of an offset
+    @Getter
+    private String after;
+
+    @Getter
+    private String before;
+
     /**
      * Create an instance
      *
@@ -62,4 +69,21 @@ public class PageDataRequest {
         this.sort = sort;
         this.filters = filters;
     }
+
+    /**
+     * Create an instance
+     *
+     * @param page      current page
+     * @param size      page size
+     * @param direction page sort direction (could be ASC or DESC)
+     * @param sort      page sort values
+     * @param filters   filters to be performed
+     * @param after     cursor of the element after which the page starts
+     * @param before    cursor of the element before which the page ends
+     */
+    public PageDataRequest(Integer page, Integer size, SORT_DIRECTION direction, List<String> sort, List<FilterRequest> filters, String after, String before) {
+        this(page, size, direction, sort, filters);
+        this.after = after;
+        this.before = before;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package ragde.pojos.pages;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * Page without total values (totalElements and totalPages), so it doesn't need a COUNT query
+ */
+public class PageSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create an instance
+     *
+     * @param content  page elements
+     * @param pageable page requested
+     * @param hasNext  if there is a next page
+     */
+    public PageSlice(List<T> content, Pageable pageable, boolean hasNext) {
+        super(content, pageable, hasNext);
+    }
+
+    @Override
+    @GraphQLQuery(name = "content", description = "Page elements")
+    public List<T> getContent() {
+        return super.getContent();
+    }
+
+    @Override
+    @GraphQLQuery(name = "number", description = "Page number")
+    public int getNumber() {
+        return super.getNumber();
+    }
+
+    @Override
+    @GraphQLQuery(name = "size", description = "Page size")
+    public int getSize() {
+        return super.getSize();
+    }
+
+    @Override
+    @GraphQLQuery(name = "numberOfElements", description = "Number of elements in this page")
+    public int getNumberOfElements() {
+        return super.getNumberOfElements();
+    }
+
+    @Override
+    @GraphQLQuery(name = "hasNext", description = "If there is a next page")
+    public boolean hasNext() {
+        return super.hasNext();
+    }
+
+    @Override
+    @GraphQLQuery(name = "hasPrevious", description = "If there is a previous page")
+    public boolean hasPrevious() {
+        return super.hasPrevious();
+    }
+}
@@ -0,0 +1,49 @@
+package ragde.pojos.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * GraphQL request body, query is optional when extensions contain a persisted query hash
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class GraphQLBody {
+
+    private String query;
+
+    private String operationName;
+
+    private Map<String, Object> variables;
+
+    private Map<String, Object> extensions;
+
+    /**
+     * Get the hash sent in extensions.persistedQuery.sha256Hash
+     *
+     * @return query's SHA-256 hash or null if it isn't a persisted query request
+     */
+    public String getPersistedQueryHash() {
+        Map<String, Object> persistedQuery = getPersistedQuery();
+        return persistedQuery != null && persistedQuery.get("sha256Hash") instanceof String ? (String) persistedQuery.get("sha256Hash") : null;
+    }
+
+    /**
+     * Get the protocol version sent in extensions.persistedQuery.version
+     *
+     * @return persisted query version or null if it isn't a persisted query request
+     */
+    public Object getPersistedQueryVersion() {
+        Map<String, Object> persistedQuery = getPersistedQuery();
+        return persistedQuery != null ? persistedQuery.get("version") : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getPersistedQuery() {
+        return extensions != null && extensions.get("persistedQuery") instanceof Map ? (Map<String, Object>) extensions.get("persistedQuery") : null;
+    }
+}
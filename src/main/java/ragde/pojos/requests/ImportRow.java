@@ -0,0 +1,34 @@
+package ragde.pojos.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * One row read from an import file, error is present when the row couldn't be parsed
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+public class ImportRow {
+
+    // position of the row in the file (header isn't counted), starting at 1
+    private final long number;
+
+    // values by column, empty values are null
+    private final Map<String, String> values;
+
+    private final String error;
+
+    /**
+     * Create a parsed row
+     *
+     * @param number position of the row in the file
+     * @param values values by column
+     */
+    public ImportRow(long number, Map<String, String> values) {
+        this(number, values, null);
+    }
+}
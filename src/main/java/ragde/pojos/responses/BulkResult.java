@@ -0,0 +1,65 @@
+package ragde.pojos.responses;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+import lombok.EqualsAndHashCode;
+import ragde.pojos.responses.error.nesteds.ValidationNestedError;
+
+import java.util.List;
+
+/**
+ * Result of one item of a bulk mutation, it has the entity when item was processed or the error when it wasn't valid
+ */
+@EqualsAndHashCode
+public class BulkResult<T> {
+
+    private final T entity;
+
+    private final String error;
+
+    private final List<ValidationNestedError> nestedErrors;
+
+    /**
+     * Create a successful result
+     *
+     * @param entity entity created, updated or deleted
+     */
+    public BulkResult(T entity) {
+        this(entity, null, null);
+    }
+
+    /**
+     * Create a failed result
+     *
+     * @param error        message displayed to users
+     * @param nestedErrors invalid fields
+     */
+    public BulkResult(String error, List<ValidationNestedError> nestedErrors) {
+        this(null, error, nestedErrors);
+    }
+
+    private BulkResult(T entity, String error, List<ValidationNestedError> nestedErrors) {
+        this.entity = entity;
+        this.error = error;
+        this.nestedErrors = nestedErrors;
+    }
+
+    @GraphQLQuery(name = "entity", description = "Entity created, updated or deleted (null when item wasn't valid)")
+    public T getEntity() {
+        return entity;
+    }
+
+    @GraphQLQuery(name = "error", description = "Why item wasn't processed (null when it was valid)")
+    public String getError() {
+        return error;
+    }
+
+    @GraphQLQuery(name = "nestedErrors", description = "Invalid fields of the item")
+    public List<ValidationNestedError> getNestedErrors() {
+        return nestedErrors;
+    }
+
+    @GraphQLQuery(name = "success", description = "If item was processed")
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
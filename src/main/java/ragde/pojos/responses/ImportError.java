@@ -0,0 +1,24 @@
+package ragde.pojos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ragde.pojos.responses.error.nesteds.ValidationNestedError;
+
+import java.util.List;
+
+/**
+ * Why a row of an import wasn't imported
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+public class ImportError {
+
+    // position of the row in the file (header isn't counted), starting at 1
+    private final long row;
+
+    private final String error;
+
+    private final List<ValidationNestedError> nestedErrors;
+}
@@ -0,0 +1,28 @@
+package ragde.pojos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Progress of an import, it's reported each time a chunk of rows is written
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+public class ImportProgress {
+
+    // rows read so far
+    private final long processed;
+
+    // rows written so far
+    private final long imported;
+
+    // rows skipped so far
+    private final long failed;
+
+    // rows skipped in the last chunk
+    private final List<ImportError> errors;
+}
@@ -1,8 +1,11 @@
 package ragde.repositories;
 
+import org.springframework.data.jpa.repository.QueryHints;
 import ragde.models.AuthProvider;
 import ragde.repositories.mysql.MySQLAuthProviderRepository;
 
+import javax.persistence.QueryHint;
+
 public interface AuthProviderRepository extends MySQLAuthProviderRepository {
 
     //generic query not depends of mongo or sql
@@ -13,5 +16,6 @@ public interface AuthProviderRepository extends MySQLAuthProviderRepository {
      * @param name value to search.
      * @return the entity with the given name or null if none found
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     AuthProvider findByName(String name);
 }
\ No newline at end of file
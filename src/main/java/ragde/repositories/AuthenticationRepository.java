@@ -4,11 +4,13 @@ import ragde.models.AuthProvider;
 import ragde.models.Authentication;
 import ragde.models.Person;
 import ragde.repositories.executor.QueryExecutor;
+import ragde.repositories.executor.UpdateExecutor;
 import ragde.repositories.mysql.MySQLAuthenticationRepository;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface AuthenticationRepository extends MySQLAuthenticationRepository, QueryExecutor<Authentication> {
+public interface AuthenticationRepository extends MySQLAuthenticationRepository, QueryExecutor<Authentication>, UpdateExecutor<Authentication> {
 
     //generic query not depends of mongo or sql
 
@@ -20,6 +22,14 @@ public interface AuthenticationRepository extends MySQLAuthenticationRepository,
      */
     Authentication findByUsername(String username);
 
+    /**
+     * Retrieves the entities with any of the usernames (used to validate several new authentications at once).
+     *
+     * @param usernames values to search.
+     * @return the entities found
+     */
+    List<Authentication> findByUsernameIn(Collection<String> usernames);
+
     /**
      * Retrieves an entity by its authProvider and person (authProvider/person relations is unique).
      *
@@ -44,4 +54,20 @@ public interface AuthenticationRepository extends MySQLAuthenticationRepository,
      * @return associated authentications list
      */
     List<Authentication> findByAuthProvider(AuthProvider authProvider);
+
+    /**
+     * Find all Authentications associated with any of the People (used to batch GraphQL relationship resolvers).
+     *
+     * @param people values to search.
+     * @return associated authentications list
+     */
+    List<Authentication> findByPersonIn(Collection<Person> people);
+
+    /**
+     * Find all Authentications associated with any of the AuthProviders (used to batch GraphQL relationship resolvers).
+     *
+     * @param authProviders values to search.
+     * @return associated authentications list
+     */
+    List<Authentication> findByAuthProviderIn(Collection<AuthProvider> authProviders);
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package ragde.repositories;
 
+import org.springframework.data.jpa.repository.QueryHints;
 import ragde.models.Permission;
 import ragde.repositories.executor.QueryExecutor;
 import ragde.repositories.mysql.MySQLPermissionRepository;
 
+import javax.persistence.QueryHint;
+
 public interface PermissionRepository extends MySQLPermissionRepository, QueryExecutor<Permission> {
 
     //generic query not depends of mongo or sql
@@ -14,5 +17,6 @@ public interface PermissionRepository extends MySQLPermissionRepository, QueryEx
      * @param name value to search.
      * @return the entity with the given name or null if none found
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Permission findByName(String name);
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 package ragde.repositories;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import ragde.models.Person;
 import ragde.models.Role;
 import ragde.repositories.executor.QueryExecutor;
+import ragde.repositories.executor.UpdateExecutor;
 import ragde.repositories.mysql.MySQLPersonRepository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface PersonRepository extends MySQLPersonRepository, QueryExecutor<Person> {
+public interface PersonRepository extends MySQLPersonRepository, QueryExecutor<Person>, UpdateExecutor<Person> {
 
     //generic query not depends of mongo or sql
 
@@ -18,4 +23,29 @@ public interface PersonRepository extends MySQLPersonRepository, QueryExecutor<P
      * @return associated people list
      */
     List<Person> findByRoles(Role role);
-}
\ No newline at end of file
+
+    /**
+     * Find all People associated with any of the Roles (used to batch GraphQL relationship resolvers).
+     *
+     * @param roles values to search.
+     * @return associated people list (with SQL a Person could be returned once per matched Role)
+     */
+    List<Person> findByRolesIn(Collection<Role> roles);
+
+    /**
+     * Find a page of the People with any of the ids (used to page the ids found by the search index).
+     *
+     * @param ids      values to search.
+     * @param pageable page, size and sort data.
+     * @return people page
+     */
+    Page<Person> findByIdIn(Collection<String> ids, Pageable pageable);
+
+    /**
+     * Find all People updated since the date (used to refresh the search index with the changes of other instances).
+     *
+     * @param updatedAt value to search (UTC).
+     * @return people created or updated at or after the date
+     */
+    List<Person> findByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
+}
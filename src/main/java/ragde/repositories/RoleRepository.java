@@ -1,13 +1,17 @@
 package ragde.repositories;
 
+import org.springframework.data.jpa.repository.QueryHints;
 import ragde.models.Permission;
 import ragde.models.Role;
 import ragde.repositories.executor.QueryExecutor;
+import ragde.repositories.executor.UpdateExecutor;
 import ragde.repositories.mysql.MySQLRoleRepository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
-public interface RoleRepository extends MySQLRoleRepository, QueryExecutor<Role> {
+public interface RoleRepository extends MySQLRoleRepository, QueryExecutor<Role>, UpdateExecutor<Role> {
 
     //generic query not depends of mongo or sql
 
@@ -17,6 +21,7 @@ public interface RoleRepository extends MySQLRoleRepository, QueryExecutor<Role>
      * @param name value to search.
      * @return the entity with the given name or null if none found
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Role findByName(String name);
 
     /**
@@ -26,4 +31,12 @@ public interface RoleRepository extends MySQLRoleRepository, QueryExecutor<Role>
      * @return associated roles list
      */
     List<Role> findByPermissions(Permission permission);
+
+    /**
+     * Find all Roles associated with any of the Permissions (used to batch GraphQL relationship resolvers).
+     *
+     * @param permissions values to search.
+     * @return associated roles list (with SQL a Role could be returned once per matched Permission)
+     */
+    List<Role> findByPermissionsIn(Collection<Permission> permissions);
 }
\ No newline at end of file
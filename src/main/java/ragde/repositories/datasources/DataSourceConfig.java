@@ -0,0 +1,78 @@
+package ragde.repositories.datasources;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configure read replicas, only when datasource.replicas.urls is defined (otherwise spring.datasource is used as usual)
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replicas.urls")
+public class DataSourceConfig {
+
+    @Value("${datasource.replicas.urls}")
+    private List<String> URLS;
+
+    // replicas use primary's credentials when they aren't defined
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String USERNAME;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String PASSWORD;
+
+    // query that returns replica's lag in seconds, empty never checks lag
+    @Value("${datasource.replicas.lag-query:}")
+    private String LAG_QUERY;
+
+    // max seconds a replica could be behind the primary
+    @Value("${datasource.replicas.max-lag:5}")
+    private long MAX_LAG;
+
+    // seconds between two lag checks of the same replica
+    @Value("${datasource.replicas.check-interval:5}")
+    private long CHECK_INTERVAL;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        DataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : URLS) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(url).username(USERNAME).password(PASSWORD).build();
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, LAG_QUERY, MAX_LAG, CHECK_INTERVAL);
+        // connection is requested when the first statement is executed, so transaction's read only flag is already known
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+        // with open-in-view the session lives during the whole request, so connection is released after each
+        // transaction and the next one is routed again
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING, PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package ragde.repositories.datasources;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Route connections between the primary data source and its read replicas:
+ * <ul>
+ * <li>write transactions use the primary, and so does the rest of the request (read your writes)</li>
+ * <li>read only transactions use a replica</li>
+ * <li>reads without transaction use a replica inside a request and the primary outside it (startup, schema creation...)</li>
+ * <li>replicas which lag is unknown or greater than max lag are skipped, the primary is used when none is available</li>
+ * <li>reads inside readLatest (e.g. pages kept by the page cache) use the primary until max lag plus check interval
+ * seconds after the last write, so they can't miss a write that a replica hasn't applied yet</li>
+ * </ul>
+ * The route is chosen when the connection is acquired, so it must be wrapped in a LazyConnectionDataSourceProxy
+ * (transaction's read only flag is known after the connection is requested)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String USE_PRIMARY = ReplicaRoutingDataSource.class.getName() + ".USE_PRIMARY";
+
+    private static final ThreadLocal<Boolean> READ_LATEST = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final String lagQuery;
+
+    private final long maxLag;
+
+    private final long checkInterval;
+
+    private final long writeWindow;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile long primaryUntil = System.nanoTime();
+
+    /**
+     * Create an instance
+     *
+     * @param primary       data source used to write
+     * @param replicas      data sources used to read
+     * @param lagQuery      query executed in a replica to get its lag in seconds (empty never checks lag)
+     * @param maxLag        max seconds a replica could be behind the primary
+     * @param checkInterval seconds between two lag checks of the same replica
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, long maxLag, long checkInterval) {
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.checkInterval = TimeUnit.SECONDS.toNanos(checkInterval);
+        // a replica is used when its lag was at most max lag in its last check, which is at most check interval old
+        this.writeWindow = TimeUnit.SECONDS.toNanos(maxLag + checkInterval);
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicas.get(i));
+            this.replicas.add(replica);
+            targetDataSources.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Send the rest of current request to the primary data source, does nothing outside a request
+     */
+    public static void usePrimary() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(USE_PRIMARY, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Execute reads that must include the last writes (results kept by a cache after an eviction), they use the
+     * primary data source while replicas could still be behind it
+     *
+     * @param reads reads to be executed
+     * @param <T>   result's type
+     * @return reads' result
+     */
+    public static <T> T readLatest(Supplier<T> reads) {
+        if (READ_LATEST.get() != null) {
+            return reads.get();
+        }
+
+        READ_LATEST.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            READ_LATEST.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null && requestAttributes.getAttribute(USE_PRIMARY, RequestAttributes.SCOPE_REQUEST) != null) {
+            return PRIMARY;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                usePrimary();
+                markWrite();
+                return PRIMARY;
+            }
+        } else if (requestAttributes == null) {
+            return PRIMARY;
+        }
+
+        if (READ_LATEST.get() != null && primaryUntil - System.nanoTime() > 0) {
+            return PRIMARY;
+        }
+
+        Replica replica = getReplica();
+        return replica != null ? replica.key : PRIMARY;
+    }
+
+    @Override
+    public void close() {
+        closeDataSource(primary);
+        replicas.forEach(replica -> closeDataSource(replica.dataSource));
+    }
+
+    /**
+     * Keep readLatest on the primary during the write window, counted again when the write transaction finishes
+     */
+    private void markWrite() {
+        primaryUntil = System.nanoTime() + writeWindow;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    primaryUntil = System.nanoTime() + writeWindow;
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the next available replica (round robin)
+     *
+     * @return replica or null if none is available
+     */
+    private Replica getReplica() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Close a data source if it's a pool
+     *
+     * @param dataSource data source to be closed
+     */
+    private void closeDataSource(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                logger.warn("Data source couldn't be closed", e);
+            }
+        }
+    }
+
+    /**
+     * Read replica and its last lag check
+     */
+    private class Replica {
+
+        private final String key;
+
+        private final DataSource dataSource;
+
+        private final AtomicBoolean checking = new AtomicBoolean();
+
+        private volatile boolean available = true;
+
+        private volatile long nextCheck = System.nanoTime();
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Check if replica could be used, lag is checked again (by only one thread) when the check interval is over
+         *
+         * @return true if replica's lag is less or equal than max lag
+         */
+        private boolean isAvailable() {
+            if (lagQuery.isEmpty() || nextCheck - System.nanoTime() > 0 || !checking.compareAndSet(false, true)) {
+                return available;
+            }
+
+            try {
+                Long lag = getLag();
+                available = lag != null && lag <= maxLag;
+                if (!available) {
+                    logger.warn("Replica " + key + " is not available, lag: " + lag);
+                }
+            } catch (SQLException e) {
+                available = false;
+                logger.warn("Replica " + key + " is not available", e);
+            } finally {
+                nextCheck = System.nanoTime() + checkInterval;
+                checking.set(false);
+            }
+            return available;
+        }
+
+        /**
+         * Execute lag query, MySQL's SHOW SLAVE STATUS returns the lag in Seconds_Behind_Master column,
+         * other queries must return it in the first column
+         *
+         * @return seconds replica is behind the primary or null if it's unknown (replication stopped)
+         * @throws SQLException if lag query fails
+         */
+        private Long getLag() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+
+                int column = 1;
+                try {
+                    column = resultSet.findColumn("Seconds_Behind_Master");
+                } catch (SQLException e) {
+                    // query doesn't come from SHOW SLAVE STATUS
+                }
+                long lag = resultSet.getLong(column);
+                return resultSet.wasNull() ? null : lag;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package ragde.repositories.datasources;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.DatabaseMetaDataCallback;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import ragde.models.*;
+import ragde.models.generators.StringSequenceGenerator;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bring existing schemas (databases without ddl-auto, like MySQL profiles) up to date with the entities before
+ * Hibernate starts, every step checks the schema first so it can run on each startup and on several instances.
+ * New schemas (tables don't exist yet) are left to Hibernate
+ */
+@Component
+public class SchemaMigrator {
+
+    @Value("${schema.migrate:true}")
+    private boolean ENABLED;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private static final List<Class<? extends Model>> ENTITIES = List.of(AuthProvider.class, Authentication.class,
+            Permission.class, Person.class, Role.class);
+
+    @PostConstruct
+    public void migrate() {
+        if (!ENABLED) {
+            return;
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> tables = ENTITIES.stream().map(entity -> entity.getAnnotation(Table.class).name())
+                .filter(this::tableExists).collect(Collectors.toList());
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        migrateSequence(jdbcTemplate, tables);
+        migrateVersion(jdbcTemplate, tables);
+    }
+
+    /**
+     * Create the table behind ids' pooled sequence (MySQL doesn't support sequences) and keep its next value above
+     * the ids that were generated before (auto increment ids or a wrong seed)
+     *
+     * @param jdbcTemplate jdbc template
+     * @param tables       existing entity tables
+     */
+    private void migrateSequence(JdbcTemplate jdbcTemplate, List<String> tables) {
+        String sequence = StringSequenceGenerator.SEQUENCE_NAME;
+        if (!tableExists(sequence)) {
+            logger.info("Creating table " + sequence);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + sequence + " (next_val BIGINT)");
+        }
+
+        // pooled optimizer hands out the increment_size - 1 ids below the value it reads and that value
+        long maxId = tables.stream().mapToLong(table -> jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class))
+                .max().orElse(0);
+        long nextValue = maxId + StringSequenceGenerator.INCREMENT_SIZE;
+        jdbcTemplate.update("INSERT INTO " + sequence + " (next_val) SELECT " + nextValue + " FROM dual WHERE NOT EXISTS (SELECT * FROM " + sequence + ")");
+        if (jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", nextValue, nextValue) > 0) {
+            logger.info("Moved " + sequence + " after the existing ids, next value " + nextValue);
+        }
+    }
+
+    /**
+     * Add the optimistic locking version column, existing rows start at version 0
+     *
+     * @param jdbcTemplate jdbc template
+     * @param tables       existing entity tables
+     */
+    private void migrateVersion(JdbcTemplate jdbcTemplate, List<String> tables) {
+        for (String table : tables) {
+            if (!columnExists(table, "version")) {
+                logger.info("Adding column " + table + ".version");
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD version BIGINT NOT NULL DEFAULT 0");
+            }
+        }
+    }
+
+    /**
+     * Check whether a table exists in the current database
+     *
+     * @param table table name
+     * @return true if it exists
+     */
+    private boolean tableExists(String table) {
+        return exists(metaData -> {
+            try (ResultSet tables = metaData.getTables(metaData.getConnection().getCatalog(), null, identifier(metaData, table), new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        });
+    }
+
+    /**
+     * Check whether a column exists in a table of the current database
+     *
+     * @param table  table name
+     * @param column column name
+     * @return true if it exists
+     */
+    private boolean columnExists(String table, String column) {
+        return exists(metaData -> {
+            try (ResultSet columns = metaData.getColumns(metaData.getConnection().getCatalog(), null, identifier(metaData, table), identifier(metaData, column))) {
+                return columns.next();
+            }
+        });
+    }
+
+    private boolean exists(DatabaseMetaDataCallback<Boolean> callback) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, callback);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Schema can't be read", e);
+        }
+    }
+
+    /**
+     * Unquoted identifiers are stored in upper case by some databases (H2)
+     */
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+
+    /**
+     * Make the entity manager factory wait for the migration
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnSchemaMigrator extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnSchemaMigrator() {
+            super("schemaMigrator");
+        }
+    }
+}
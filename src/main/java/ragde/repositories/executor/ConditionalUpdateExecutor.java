@@ -0,0 +1,41 @@
+package ragde.repositories.executor;
+
+import org.springframework.data.repository.CrudRepository;
+import ragde.exceptions.RagdeConflictException;
+import ragde.exceptions.RagdeDontFoundException;
+import ragde.exceptions.RagdeValidationException;
+import ragde.models.Model;
+
+/**
+ * Update entities with one statement conditioned by their version (optimistic locking), so they aren't read before
+ * being updated and concurrent updates aren't silently lost
+ */
+public interface ConditionalUpdateExecutor {
+
+    /**
+     * Update entity's attributes where ID and version match and increase its version (JPA or mongo depending on the repository),
+     * null collections aren't changed. JPA runs a bulk UPDATE (owned @ManyToMany attributes are replaced in their join tables) and returns a reference
+     * that is only loaded if its values are needed, mongo runs a findAndModify that returns the new document.
+     *
+     * @param repository  repository of the entity.
+     * @param domainClass entity class.
+     * @param entity      entity with ID, version and new values.
+     * @param attributes  attributes to be updated.
+     * @return updated entity.
+     * @throws RagdeDontFoundException   when entity doesn't exist.
+     * @throws RagdeValidationException when entity doesn't have version.
+     * @throws RagdeConflictException    when entity's version doesn't match.
+     */
+    <T extends Model> T update(CrudRepository<T, String> repository, Class<T> domainClass, T entity, String... attributes) throws RagdeDontFoundException, RagdeValidationException, RagdeConflictException;
+
+    /**
+     * Check the version sent to update an entity that was read before being updated (bulk updates), Hibernate
+     * checks the version it read when the entity is written.
+     *
+     * @param entity   entity with ID, version and new values.
+     * @param original entity read from data base.
+     * @throws RagdeValidationException when entity doesn't have version.
+     * @throws RagdeConflictException    when entity's version doesn't match original's version.
+     */
+    <T extends Model> void checkVersion(T entity, T original) throws RagdeValidationException, RagdeConflictException;
+}
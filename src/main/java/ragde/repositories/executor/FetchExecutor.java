@@ -0,0 +1,29 @@
+package ragde.repositories.executor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load relationships of already loaded entities with one fetch join query (JPA only)
+ */
+public interface FetchExecutor {
+
+    /**
+     * Get the relationships of an entity.
+     *
+     * @param domainClass entity class.
+     * @return relationship names with their related entity class, or an empty map if domainClass isn't a JPA entity.
+     */
+    Map<String, Class<?>> getRelations(Class<?> domainClass);
+
+    /**
+     * Load a relationship of the entities managed by JPA, entities with that relationship already loaded are skipped.
+     *
+     * @param domainClass entity class.
+     * @param entities    entities where the relationship is loaded.
+     * @param relation    relationship name.
+     * @return related entities, used to load their own relationships (empty if entities aren't managed by JPA).
+     */
+    List<Object> fetch(Class<?> domainClass, Collection<?> entities, String relation);
+}
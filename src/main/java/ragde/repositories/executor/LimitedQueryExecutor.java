@@ -0,0 +1,40 @@
+package ragde.repositories.executor;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+
+import java.util.List;
+
+/**
+ * Run limited queries without the COUNT query executed by a Spring Page
+ */
+public interface LimitedQueryExecutor {
+
+    /**
+     * Retrieves the first entities matching a Specification (JPA only).
+     *
+     * @param specification conditions to be performed (could be null).
+     * @param domainClass   entity class.
+     * @param sort          sort to be applied.
+     * @param offset        number of entities to skip.
+     * @param limit         max number of entities.
+     * @return list of entities.
+     */
+    <T> List<T> findAll(Specification<T> specification, Class<T> domainClass, Sort sort, long offset, int limit);
+
+    /**
+     * Retrieves the first entities matching a Predicate (JPA or mongo depending on the repository).
+     *
+     * @param repository     repository where the query is executed.
+     * @param predicate      conditions to be performed.
+     * @param entityPathBase QEntity base of the entity.
+     * @param sort           sort to be applied.
+     * @param offset         number of entities to skip.
+     * @param limit          max number of entities.
+     * @return list of entities.
+     */
+    <T> List<T> findAll(QuerydslPredicateExecutor<T> repository, Predicate predicate, EntityPathBase<T> entityPathBase, Sort sort, long offset, int limit);
+}
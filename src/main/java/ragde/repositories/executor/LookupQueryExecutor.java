@@ -0,0 +1,39 @@
+package ragde.repositories.executor;
+
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import ragde.models.Model;
+
+import java.util.List;
+
+/**
+ * Run mongo queries resolving @DBRef relationships in batches, mongo converter resolves each reference with its own
+ * query so a page of 100 people with roles would cost 100 extra round trips
+ */
+public interface LookupQueryExecutor {
+
+    /**
+     * Retrieves a page of entities with one aggregation pipeline ($match, $sort, $skip, $limit, $project and one $lookup per
+     * requested @DBRef relationship) plus a count query, deeper relationships are resolved with one $in query per relationship.
+     * Only the fields in RequestedFields are read, the index that better serves filter and sort is hinted and
+     * unfiltered pages are counted with collection's metadata.
+     *
+     * @param domainClass entity class.
+     * @param criteria    conditions to be performed.
+     * @param pageable    page, size and sort data.
+     * @return list of entities with metadata.
+     */
+    <T extends Model> Page<T> page(Class<T> domainClass, Criteria criteria, Pageable pageable);
+
+    /**
+     * Convert raw documents into entities, their @DBRef relationships are resolved with one $in query per relationship
+     * (relationships already embedded by a $lookup aren't queried again).
+     *
+     * @param domainClass entity class.
+     * @param documents   raw documents.
+     * @return entities in the same order as documents.
+     */
+    <T extends Model> List<T> read(Class<T> domainClass, List<Document> documents);
+}
@@ -2,7 +2,13 @@ package ragde.repositories.executor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface QueryExecutor<T> {
 
@@ -18,4 +24,28 @@ public interface QueryExecutor<T> {
      * @return list of entities with metadata.
      */
     Page<T> page(PageDataRequest pageDataRequest);
+
+    /**
+     * Retrieves all requested entities without total values (fetch size + 1 entities instead of running a COUNT query).
+     *
+     * @param pageDataRequest Page data.
+     * @return list of entities with hasNext metadata.
+     */
+    PageSlice<T> pageSlice(PageDataRequest pageDataRequest);
+
+    /**
+     * Retrieves the requested entities after or before PageDataRequest cursor (keyset pagination, without COUNT query).
+     *
+     * @param pageDataRequest Page data.
+     * @return list of entities with their cursors.
+     */
+    CursorPage<T> cursorPage(PageDataRequest pageDataRequest);
+
+    /**
+     * Read one by one all the entities matching the filters with a forward-only cursor (without loading all of them in memory).
+     *
+     * @param filters  filters to be performed (could be null).
+     * @param consumer function that receives each entity.
+     */
+    void scroll(List<FilterRequest> filters, Consumer<T> consumer);
 }
\ No newline at end of file
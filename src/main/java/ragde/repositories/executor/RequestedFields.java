@@ -0,0 +1,47 @@
+package ragde.repositories.executor;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+
+/**
+ * Fields requested by the root query being executed, executors use them to project documents
+ * (only the requested fields travel from the database). Outside a request there are no requested fields
+ */
+public final class RequestedFields {
+
+    private static final String FIELDS = RequestedFields.class.getName() + ".FIELDS";
+
+    private RequestedFields() {
+    }
+
+    /**
+     * Set the fields requested by the current root query, does nothing outside a request
+     *
+     * @param fields entity properties requested (null removes them)
+     */
+    public static void set(Set<String> fields) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return;
+        }
+
+        if (fields == null) {
+            requestAttributes.removeAttribute(FIELDS, RequestAttributes.SCOPE_REQUEST);
+        } else {
+            requestAttributes.setAttribute(FIELDS, fields, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Get the fields requested by the current root query
+     *
+     * @return entity properties requested or null if they are unknown (all fields must be loaded)
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<String> get() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null ? (Set<String>) requestAttributes.getAttribute(FIELDS, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+}
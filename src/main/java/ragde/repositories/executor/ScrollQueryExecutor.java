@@ -0,0 +1,33 @@
+package ragde.repositories.executor;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+
+import java.util.function.Consumer;
+
+/**
+ * Run queries with a forward-only cursor, so all the matching entities could be read without keeping them in memory
+ */
+public interface ScrollQueryExecutor {
+
+    /**
+     * Read one by one (sorted by id) the entities matching a Specification (JPA only), each entity is detached once consumed.
+     *
+     * @param specification conditions to be performed (could be null).
+     * @param domainClass   entity class.
+     * @param consumer      function that receives each entity.
+     */
+    <T> void scroll(Specification<T> specification, Class<T> domainClass, Consumer<T> consumer);
+
+    /**
+     * Read one by one (sorted by id) the entities matching a Predicate (JPA or mongo depending on the repository).
+     *
+     * @param repository     repository where the query is executed.
+     * @param predicate      conditions to be performed.
+     * @param entityPathBase QEntity base of the entity.
+     * @param consumer       function that receives each entity.
+     */
+    <T> void scroll(QuerydslPredicateExecutor<T> repository, Predicate predicate, EntityPathBase<T> entityPathBase, Consumer<T> consumer);
+}
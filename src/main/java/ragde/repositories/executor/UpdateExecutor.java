@@ -0,0 +1,21 @@
+package ragde.repositories.executor;
+
+import ragde.exceptions.RagdeConflictException;
+import ragde.exceptions.RagdeDontFoundException;
+import ragde.exceptions.RagdeValidationException;
+
+public interface UpdateExecutor<T> {
+
+    /**
+     * Update the entity without reading it first (one conditional UPDATE), the entity is only updated when its version
+     * is the same as the stored one (version is required).
+     *
+     * @param entity     entity with ID, version and new values.
+     * @param attributes attributes to be updated.
+     * @return updated entity.
+     * @throws RagdeValidationException when entity doesn't have version.
+     * @throws RagdeDontFoundException   when entity doesn't exist.
+     * @throws RagdeConflictException    when entity was updated by someone else.
+     */
+    T update(T entity, String... attributes) throws RagdeValidationException, RagdeDontFoundException, RagdeConflictException;
+}
@@ -0,0 +1,223 @@
+package ragde.repositories.executor.implementations;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.TransientObjectException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Component;
+import ragde.caches.PageCache;
+import ragde.exceptions.RagdeConflictException;
+import ragde.exceptions.RagdeDontFoundException;
+import ragde.exceptions.RagdeValidationException;
+import ragde.models.Model;
+import ragde.pojos.responses.error.nesteds.ValidationNestedError;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.ManagedType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+@SuppressWarnings("unchecked")
+public class ConditionalUpdateExecutorImpl implements ConditionalUpdateExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Autowired
+    private PageCache pageCache;
+
+    @Override
+    public <T extends Model> T update(CrudRepository<T, String> repository, Class<T> domainClass, T entity, String... attributes) {
+        if (entity.getId() == null) {
+            throw new RagdeDontFoundException("Data don't found.");
+        }
+        validateVersion(entity);
+
+        entity.updatedAt();
+        // bulk UPDATE and findAndModify skip Hibernate's interceptor and mongo's events, so pages are evicted here
+        pageCache.evict(domainClass);
+        if (repository instanceof MongoRepository) {
+            return updateMongo(repository, domainClass, entity, attributes);
+        }
+
+        return updateJPA(repository, domainClass, entity, attributes);
+    }
+
+    @Override
+    public <T extends Model> void checkVersion(T entity, T original) {
+        validateVersion(entity);
+        if (!entity.getVersion().equals(original.getVersion() != null ? original.getVersion() : 0L)) {
+            throw new RagdeConflictException("Data was modified by another user.");
+        }
+    }
+
+    /**
+     * Updates must send the version they were based on, otherwise concurrent updates would be silently lost
+     *
+     * @param entity entity with new values
+     * @throws RagdeValidationException when entity doesn't have version
+     */
+    private void validateVersion(Model entity) throws RagdeValidationException {
+        if (entity.getVersion() == null) {
+            throw new RagdeValidationException("Some data aren't valid.", List.of(new ValidationNestedError("version", "must not be null")));
+        }
+    }
+
+    /**
+     * Update with one bulk UPDATE, the owned collections are replaced in their join tables (null collections aren't changed)
+     *
+     * @param repository  repository of the entity
+     * @param domainClass entity class
+     * @param entity      entity with new values
+     * @param attributes  attributes to be updated
+     * @return reference of the updated entity
+     */
+    private <T extends Model> T updateJPA(CrudRepository<T, String> repository, Class<T> domainClass, T entity, String... attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(domainClass);
+        Root<T> root = update.from(domainClass);
+        ManagedType<T> type = entityManager.getMetamodel().managedType(domainClass);
+        BeanWrapper values = new BeanWrapperImpl(entity);
+        List<String> collections = new ArrayList<>();
+        for (String attribute : attributes) {
+            if (type.getAttribute(attribute).isCollection()) {
+                // omitted collections keep their rows
+                if (values.getPropertyValue(attribute) != null) {
+                    collections.add(attribute);
+                }
+            } else {
+                update.<Object, Object>set(root.get(attribute), values.getPropertyValue(attribute));
+            }
+        }
+
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(cb.coalesce(version, 0L), 1L));
+        update.set(root.get("updatedAt"), entity.getUpdatedAt());
+        update.where(cb.equal(root.get("id"), entity.getId()), cb.equal(version, entity.getVersion()));
+
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            throw notUpdated(repository, entity);
+        }
+
+        collections.forEach(attribute -> replaceCollection(domainClass, entity.getId(), attribute, (Collection<Model>) values.getPropertyValue(attribute)));
+
+        T reference = entityManager.getReference(domainClass, entity.getId());
+        if (Hibernate.isInitialized(reference)) {
+            // it was loaded before the update, so its values are old
+            entityManager.refresh(reference);
+        }
+        return reference;
+    }
+
+    /**
+     * Replace the rows of an owned @ManyToMany collection in its join table
+     *
+     * @param domainClass entity class
+     * @param id          entity's ID
+     * @param attribute   collection name
+     * @param elements    new collection elements
+     */
+    private void replaceCollection(Class<?> domainClass, String id, String attribute, Collection<Model> elements) {
+        SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) entityManager.unwrap(Session.class).getSessionFactory();
+        AbstractCollectionPersister persister = (AbstractCollectionPersister) sessionFactory.getMetamodel().collectionPersister(domainClass.getName() + "." + attribute);
+        String table = persister.getTableName();
+        String key = persister.getKeyColumnNames()[0];
+        String element = persister.getElementColumnNames()[0];
+
+        entityManager.createNativeQuery("DELETE FROM " + table + " WHERE " + key + " = ?1")
+                .setParameter(1, id)
+                .unwrap(NativeQuery.class).addSynchronizedQuerySpace(table)
+                .executeUpdate();
+        if (elements.isEmpty()) {
+            return;
+        }
+
+        // all the rows in one INSERT
+        List<Model> rows = new ArrayList<>(elements);
+        if (rows.stream().anyMatch(row -> row.getId() == null)) {
+            throw new TransientObjectException("object references an unsaved transient instance - save the transient instance before flushing: " + persister.getRole());
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(rows.size(), "(?, ?)"));
+        NativeQuery<?> insert = entityManager.createNativeQuery("INSERT INTO " + table + " (" + key + ", " + element + ") VALUES " + placeholders)
+                .unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+        for (int i = 0; i < rows.size(); i++) {
+            insert.setParameter(i * 2 + 1, id);
+            insert.setParameter(i * 2 + 2, rows.get(i).getId());
+        }
+        insert.executeUpdate();
+    }
+
+    /**
+     * Update with findAndModify
+     *
+     * @param repository  repository of the entity
+     * @param domainClass entity class
+     * @param entity      entity with new values
+     * @param attributes  attributes to be updated
+     * @return the new document
+     */
+    private <T extends Model> T updateMongo(CrudRepository<T, String> repository, Class<T> domainClass, T entity, String... attributes) {
+        Query query = Query.query(Criteria.where("id").is(entity.getId()));
+        // documents saved before versions were added don't have version, they are read as version 0
+        if (entity.getVersion() == 0) {
+            query.addCriteria(Criteria.where("version").in(0L, null));
+        } else {
+            query.addCriteria(Criteria.where("version").is(entity.getVersion()));
+        }
+
+        BeanWrapper values = new BeanWrapperImpl(entity);
+        Update update = new Update().set("updatedAt", entity.getUpdatedAt()).inc("version", 1);
+        for (String attribute : attributes) {
+            Object value = values.getPropertyValue(attribute);
+            // omitted collections keep their elements
+            if (value != null || !Collection.class.isAssignableFrom(values.getPropertyType(attribute))) {
+                update.set(attribute, value);
+            }
+        }
+
+        T updated = mongoOperations.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), domainClass);
+        if (updated == null) {
+            throw notUpdated(repository, entity);
+        }
+        return updated;
+    }
+
+    /**
+     * Get the reason why an entity wasn't updated
+     *
+     * @param repository repository of the entity
+     * @param entity     entity that wasn't updated
+     * @return RagdeDontFoundException when entity doesn't exist or RagdeConflictException when its version changed
+     */
+    private <T extends Model> RuntimeException notUpdated(CrudRepository<T, String> repository, T entity) {
+        if (!repository.existsById(entity.getId())) {
+            return new RagdeDontFoundException("Data don't found.");
+        }
+        return new RagdeConflictException("Data was modified by another user.");
+    }
+}
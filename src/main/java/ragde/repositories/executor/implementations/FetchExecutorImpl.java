@@ -0,0 +1,77 @@
+package ragde.repositories.executor.implementations;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.stereotype.Component;
+import ragde.repositories.executor.FetchExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+public class FetchExecutorImpl implements FetchExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Class<?>> getRelations(Class<?> domainClass) {
+        EntityType<?> entityType = getEntityType(domainClass);
+        if (entityType == null) {
+            return Map.of();
+        }
+
+        Map<String, Class<?>> relations = new HashMap<>();
+        entityType.getAttributes().stream()
+                .filter(Attribute::isAssociation)
+                .forEach(attribute -> relations.put(attribute.getName(), attribute instanceof PluralAttribute ?
+                        ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType() : attribute.getJavaType()));
+        return relations;
+    }
+
+    @Override
+    public List<Object> fetch(Class<?> domainClass, Collection<?> entities, String relation) {
+        EntityType<?> entityType = getEntityType(domainClass);
+        if (entityType == null || !getRelations(domainClass).containsKey(relation)) {
+            return List.of();
+        }
+
+        // mongo documents or detached entities can't be fetched
+        List<Object> managed = entities.stream().filter(entity -> entity != null && entityManager.contains(entity)).collect(Collectors.toList());
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Object> ids = managed.stream()
+                .filter(entity -> !persistenceUnitUtil.isLoaded(entity, relation))
+                .map(persistenceUnitUtil::getIdentifier)
+                .collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            // managed entities are the same instances returned by the query, so it only initializes their relationship
+            String id = entityType.getId(entityType.getIdType().getJavaType()).getName();
+            entityManager.createQuery("SELECT DISTINCT e FROM " + entityType.getName() + " e LEFT JOIN FETCH e." + relation + " WHERE e." + id + " IN :ids")
+                    .setParameter("ids", ids)
+                    .getResultList();
+        }
+
+        return managed.stream()
+                .flatMap(entity -> {
+                    Object value = new BeanWrapperImpl(entity).getPropertyValue(relation);
+                    return value instanceof Collection ? ((Collection<?>) value).stream() : Stream.of(value);
+                })
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private EntityType<?> getEntityType(Class<?> domainClass) {
+        try {
+            return entityManager.getMetamodel().entity(domainClass);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
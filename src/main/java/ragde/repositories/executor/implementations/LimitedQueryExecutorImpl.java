@@ -0,0 +1,69 @@
+package ragde.repositories.executor.implementations;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbQuery;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.stereotype.Component;
+import ragde.repositories.executor.LimitedQueryExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+@Component
+@SuppressWarnings("unchecked")
+public class LimitedQueryExecutorImpl implements LimitedQueryExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Override
+    public <T> List<T> findAll(Specification<T> specification, Class<T> domainClass, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        if (specification != null) {
+            javax.persistence.criteria.Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.select(root).orderBy(toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).setFirstResult(Math.toIntExact(offset)).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public <T> List<T> findAll(QuerydslPredicateExecutor<T> repository, Predicate predicate, EntityPathBase<T> entityPathBase, Sort sort, long offset, int limit) {
+        PathBuilder<T> entityPath = new PathBuilder<>(entityPathBase.getType(), entityPathBase.getMetadata());
+        if (repository instanceof MongoRepository) {
+            OrderSpecifier[] orders = sort.stream()
+                    .map(order -> new OrderSpecifier(order.isAscending() ? Order.ASC : Order.DESC, entityPath.getComparable(order.getProperty(), Comparable.class)))
+                    .toArray(OrderSpecifier[]::new);
+            return new SpringDataMongodbQuery<T>(mongoOperations, entityPathBase.getType()).where(predicate).orderBy(orders).offset(offset).limit(limit).fetch();
+        }
+
+        Querydsl querydsl = new Querydsl(entityManager, entityPath);
+        JPQLQuery<T> query = querydsl.createQuery(entityPathBase).select(entityPathBase).where(predicate);
+        return querydsl.applySorting(sort, query).offset(offset).limit(limit).fetch();
+    }
+}
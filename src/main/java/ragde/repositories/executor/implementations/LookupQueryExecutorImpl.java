@@ -0,0 +1,418 @@
+package ragde.repositories.executor.implementations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import ragde.models.Model;
+import ragde.repositories.executor.LookupQueryExecutor;
+import ragde.repositories.executor.RequestedFields;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@SuppressWarnings("unchecked")
+public class LookupQueryExecutorImpl implements LookupQueryExecutor {
+
+    // prefix of the fields where $lookup stages leave the referenced documents
+    private final String LOOKUP_PREFIX = "_lookup_";
+
+    private final String ID_FIELD = "_id";
+
+    // seconds collection indexes are cached before choosing page hints with them again
+    @Value("${mongo.index-refresh:300}")
+    private long INDEX_REFRESH;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    private final Map<String, CachedIndexes> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public <T extends Model> Page<T> page(Class<T> domainClass, Criteria criteria, Pageable pageable) {
+        MongoConverter converter = mongoOperations.getConverter();
+        MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(domainClass);
+        QueryMapper queryMapper = new QueryMapper(converter);
+        MongoCollection<Document> collection = mongoOperations.getCollection(mongoOperations.getCollectionName(domainClass));
+        Document filter = queryMapper.getMappedObject(criteria.getCriteriaObject(), entity);
+        Document sort = pageable.getSort().isSorted() ? queryMapper.getMappedSort(new Query().with(pageable.getSort()).getSortObject(), entity) : new Document(ID_FIELD, 1);
+        Document projection = getProjection(entity);
+        Document hint = getHint(collection.getNamespace().getCollectionName(), filter, sort);
+
+        List<Document> pipeline = new ArrayList<>();
+        if (!filter.isEmpty()) {
+            pipeline.add(new Document("$match", filter));
+        }
+        pipeline.add(new Document("$sort", sort));
+        pipeline.add(new Document("$skip", pageable.getOffset()));
+        pipeline.add(new Document("$limit", pageable.getPageSize()));
+        if (projection != null) {
+            pipeline.add(new Document("$project", projection));
+        }
+        getReferences(domainClass).stream().filter(property -> projection == null || projection.containsKey(property.getFieldName()))
+                .forEach(property -> pipeline.addAll(lookup(property)));
+
+        AggregateIterable<Document> aggregate = collection.aggregate(pipeline);
+        if (hint != null) {
+            aggregate.hint(hint);
+        }
+        List<Document> documents = aggregate.into(new ArrayList<>());
+
+        return new PageImpl<>(read(domainClass, documents), pageable, count(collection, filter, hint));
+    }
+
+    @Override
+    public <T extends Model> List<T> read(Class<T> domainClass, List<Document> documents) {
+        return read(domainClass, documents, new HashMap<>());
+    }
+
+    /**
+     * Convert raw documents into entities
+     *
+     * @param domainClass entity class
+     * @param documents   raw documents
+     * @param converted   entities already converted (by collection and id), so the same document is converted once
+     * @return entities in the same order as documents
+     */
+    private <T> List<T> read(Class<T> domainClass, List<Document> documents, Map<String, Object> converted) {
+        MongoConverter converter = mongoOperations.getConverter();
+        String collection = mongoOperations.getCollectionName(domainClass);
+
+        // related entities by id, one query per relationship for all the documents
+        Map<MongoPersistentProperty, Map<String, Object>> related = new HashMap<>();
+        for (MongoPersistentProperty property : getReferences(domainClass)) {
+            related.put(property, resolve(property, documents, converted));
+        }
+
+        List<T> entities = new ArrayList<>();
+        for (Document document : documents) {
+            String key = collection + ":" + document.get(ID_FIELD);
+            T entity = (T) converted.get(key);
+            if (entity == null) {
+                Document values = new Document(document);
+                related.keySet().forEach(property -> {
+                    values.remove(property.getFieldName());
+                    values.remove(LOOKUP_PREFIX + property.getFieldName());
+                });
+                entity = converter.read(domainClass, values);
+                setReferences(entity, document, related);
+                converted.put(key, entity);
+            }
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * Get the entities referenced by a @DBRef relationship of several documents, documents embedded by $lookup are used
+     * and the missing ones are read with one $in query
+     *
+     * @param property  @DBRef relationship
+     * @param documents raw documents
+     * @param converted entities already converted
+     * @return related entities by id
+     */
+    private Map<String, Object> resolve(MongoPersistentProperty property, List<Document> documents, Map<String, Object> converted) {
+        Class<?> relatedClass = property.getActualType();
+        String relatedCollection = mongoOperations.getCollectionName(relatedClass);
+        Map<String, Document> relatedDocuments = new LinkedHashMap<>();
+        Set<Object> missing = new LinkedHashSet<>();
+        for (Document document : documents) {
+            List<Document> embedded = document.getList(LOOKUP_PREFIX + property.getFieldName(), Document.class);
+            if (embedded != null) {
+                embedded.forEach(relatedDocument -> relatedDocuments.putIfAbsent(String.valueOf(relatedDocument.get(ID_FIELD)), relatedDocument));
+                continue;
+            }
+            getReferenceIds(document.get(property.getFieldName())).stream()
+                    .filter(id -> !converted.containsKey(relatedCollection + ":" + id))
+                    .forEach(missing::add);
+        }
+
+        missing.removeIf(id -> relatedDocuments.containsKey(String.valueOf(id)));
+        if (!missing.isEmpty()) {
+            mongoOperations.getCollection(relatedCollection).find(Filters.in(ID_FIELD, missing)).into(new ArrayList<>())
+                    .forEach(relatedDocument -> relatedDocuments.put(String.valueOf(relatedDocument.get(ID_FIELD)), relatedDocument));
+        }
+
+        Map<String, Object> entities = new HashMap<>();
+        read(relatedClass, new ArrayList<>(relatedDocuments.values()), converted);
+        // documents converted before (in this or a previous relationship) are taken from converted
+        documents.forEach(document -> getRelatedIds(property, document).forEach(id -> {
+            Object entity = converted.get(relatedCollection + ":" + id);
+            if (entity != null) {
+                entities.put(id, entity);
+            }
+        }));
+        return entities;
+    }
+
+    /**
+     * Set the @DBRef relationships of an entity
+     *
+     * @param entity   entity converted without relationships
+     * @param document raw document with the references
+     * @param related  related entities by relationship and id
+     */
+    private void setReferences(Object entity, Document document, Map<MongoPersistentProperty, Map<String, Object>> related) {
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        related.forEach((property, entities) -> {
+            if (!document.containsKey(property.getFieldName())) {
+                return;
+            }
+
+            List<Object> values = getRelatedIds(property, document).stream().map(entities::get).filter(Objects::nonNull).collect(Collectors.toList());
+            if (property.isCollectionLike()) {
+                wrapper.setPropertyValue(property.getName(), Set.class.isAssignableFrom(property.getType()) ? new HashSet<>(values) : values);
+            } else {
+                wrapper.setPropertyValue(property.getName(), values.isEmpty() ? null : values.get(0));
+            }
+        });
+    }
+
+    /**
+     * Get the ids referenced by a document relationship
+     *
+     * @param property @DBRef relationship
+     * @param document raw document
+     * @return referenced ids as String
+     */
+    private List<String> getRelatedIds(MongoPersistentProperty property, Document document) {
+        return getReferenceIds(document.get(property.getFieldName())).stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the ids of a raw reference value
+     *
+     * @param value one DBRef or a list of them (could be null)
+     * @return referenced ids
+     */
+    private List<Object> getReferenceIds(Object value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+
+        Collection<?> references = value instanceof Collection ? (Collection<?>) value : List.of(value);
+        return references.stream().map(reference -> {
+            if (reference instanceof DBRef) {
+                return ((DBRef) reference).getId();
+            }
+            return reference instanceof Document ? ((Document) reference).get("$id") : reference;
+        }).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Count the documents of a page, metadata count is used when there isn't filter (it doesn't scan the collection)
+     *
+     * @param collection entity collection
+     * @param filter     mapped filter
+     * @param hint       index used by the page query (could be null)
+     * @return total documents
+     */
+    private long count(MongoCollection<Document> collection, Document filter, Document hint) {
+        if (filter.isEmpty()) {
+            return collection.estimatedDocumentCount();
+        }
+
+        return collection.countDocuments(filter, new CountOptions().hint(hint));
+    }
+
+    /**
+     * Create the projection of the fields requested by the current root query, id and version are always included
+     *
+     * @param entity entity mapping
+     * @return projection or null if all fields must be loaded (requested fields are unknown or some of them are computed from others)
+     */
+    private Document getProjection(MongoPersistentEntity<?> entity) {
+        Set<String> fields = RequestedFields.get();
+        if (fields == null) {
+            return null;
+        }
+
+        Document projection = new Document(ID_FIELD, 1);
+        Set<String> names = new HashSet<>(fields);
+        names.add("version");
+        for (String name : names) {
+            MongoPersistentProperty property = entity.getPersistentProperty(name);
+            if (property != null) {
+                projection.append(property.getFieldName(), 1);
+            } else if (BeanUtils.getPropertyDescriptor(entity.getType(), name) != null) {
+                // a getter without field (like fullName) could read any field
+                return null;
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * Choose the index that better serves a page query following the equality, sort, range rule:
+     * index fields used by equality filters first, then the sort fields and then one range filter
+     *
+     * @param collectionName collection name
+     * @param filter         mapped filter
+     * @param sort           mapped sort
+     * @return index keys or null if no index serves the query
+     */
+    private Document getHint(String collectionName, Document filter, Document sort) {
+        Set<String> equality = new HashSet<>();
+        Set<String> range = new HashSet<>();
+        getFilterFields(filter, equality, range);
+
+        Document hint = null;
+        int bestScore = 0;
+        for (Document index : getIndexes(collectionName)) {
+            List<String> keys = new ArrayList<>(index.keySet());
+            int i = 0;
+            while (i < keys.size() && equality.contains(keys.get(i))) {
+                i++;
+            }
+            // an index serves a sort walking it forward or backward, so all sort directions must match or all must be reversed
+            Integer direction = null;
+            for (Map.Entry<String, Object> sortField : sort.entrySet()) {
+                if (i >= keys.size() || !keys.get(i).equals(sortField.getKey())) {
+                    break;
+                }
+                int fieldDirection = ((Number) sortField.getValue()).intValue() * ((Number) index.get(keys.get(i))).intValue();
+                if (direction != null && direction != fieldDirection) {
+                    break;
+                }
+                direction = fieldDirection;
+                i++;
+            }
+            if (i < keys.size() && range.contains(keys.get(i))) {
+                i++;
+            }
+            if (i > bestScore || (i == bestScore && hint != null && keys.size() < hint.size())) {
+                hint = index;
+                bestScore = i;
+            }
+        }
+        return hint;
+    }
+
+    /**
+     * Classify the fields of a mapped filter, fields inside $or, $nor... are skipped (an index prefix can't serve them)
+     *
+     * @param filter   mapped filter
+     * @param equality fields compared by equality
+     * @param range    fields compared by ranges, regex or negations
+     */
+    private void getFilterFields(Document filter, Set<String> equality, Set<String> range) {
+        filter.forEach((key, value) -> {
+            if (key.equals("$and")) {
+                ((List<?>) value).stream().filter(condition -> condition instanceof Document)
+                        .forEach(condition -> getFilterFields((Document) condition, equality, range));
+            } else if (!key.startsWith("$")) {
+                boolean operators = value instanceof Document && ((Document) value).keySet().stream().anyMatch(k -> k.startsWith("$"));
+                if (!operators && !(value instanceof Pattern)) {
+                    equality.add(key);
+                } else if (operators && (((Document) value).keySet().equals(Set.of("$eq")) || ((Document) value).keySet().equals(Set.of("$in")))) {
+                    equality.add(key);
+                } else {
+                    range.add(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the keys of the ascending or descending indexes of a collection (text, geo and hashed indexes can't be hinted for pages),
+     * they are read again after index refresh seconds so new indexes are used without restarting
+     *
+     * @param collectionName collection name
+     * @return indexes keys
+     */
+    private List<Document> getIndexes(String collectionName) {
+        CachedIndexes cached = indexes.get(collectionName);
+        if (cached == null || cached.expiration - System.nanoTime() <= 0) {
+            List<Document> keys = new ArrayList<>();
+            mongoOperations.getCollection(collectionName).listIndexes().into(new ArrayList<>()).forEach(index -> {
+                Document key = index.get("key", Document.class);
+                if (key != null && key.values().stream().allMatch(direction -> direction instanceof Number)) {
+                    keys.add(key);
+                }
+            });
+            cached = new CachedIndexes(keys, System.nanoTime() + TimeUnit.SECONDS.toNanos(INDEX_REFRESH));
+            indexes.put(collectionName, cached);
+        }
+        return cached.keys;
+    }
+
+    /**
+     * Get the @DBRef relationships of an entity
+     *
+     * @param domainClass entity class
+     * @return @DBRef properties
+     */
+    private List<MongoPersistentProperty> getReferences(Class<?> domainClass) {
+        MongoPersistentEntity<?> entity = mongoOperations.getConverter().getMappingContext().getRequiredPersistentEntity(domainClass);
+        List<MongoPersistentProperty> references = new ArrayList<>();
+        entity.doWithAssociations((org.springframework.data.mapping.Association<MongoPersistentProperty> association) -> {
+            if (association.getInverse().isDbReference()) {
+                references.add(association.getInverse());
+            }
+        });
+        return references;
+    }
+
+    /**
+     * Create the stages that embed the documents referenced by a @DBRef relationship, $lookup can't use DBRef's $id
+     * as localField so ids are extracted first with $objectToArray
+     *
+     * @param property @DBRef relationship
+     * @return $addFields, $lookup and $project stages
+     */
+    private List<Document> lookup(MongoPersistentProperty property) {
+        String field = property.getFieldName();
+        String ids = LOOKUP_PREFIX + field + "_ids";
+        // {$ref: "x", $id: id} -> [{k: "$ref", v: "x"}, {k: "$id", v: id}] -> id
+        Document refId = new Document("$arrayElemAt", List.of(new Document("$map", new Document("input", new Document("$objectToArray", "$$ref"))
+                .append("in", "$$this.v")), 1));
+        Document references = property.isCollectionLike()
+                ? new Document("$ifNull", List.of("$" + field, List.of()))
+                : new Document("$cond", List.of(new Document("$ifNull", List.of("$" + field, false)), List.of("$" + field), List.of()));
+
+        return List.of(
+                new Document("$addFields", new Document(ids, new Document("$map", new Document("input", references).append("as", "ref").append("in", refId)))),
+                new Document("$lookup", new Document("from", mongoOperations.getCollectionName(property.getActualType()))
+                        .append("localField", ids).append("foreignField", ID_FIELD).append("as", LOOKUP_PREFIX + field)),
+                new Document("$project", new Document(ids, 0))
+        );
+    }
+
+    /**
+     * Indexes keys of a collection and when they must be read again
+     */
+    private static class CachedIndexes {
+
+        private final List<Document> keys;
+
+        private final long expiration;
+
+        private CachedIndexes(List<Document> keys, long expiration) {
+            this.keys = keys;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ragde.repositories.executor.implementations;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.AbstractJPAQuery;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbQuery;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.stereotype.Component;
+import ragde.repositories.executor.ScrollQueryExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+@SuppressWarnings("unchecked")
+public class ScrollQueryExecutorImpl implements ScrollQueryExecutor {
+
+    // rows the JDBC driver brings in each round trip while the cursor is read
+    @Value("${scroll.fetch-size:500}")
+    private int FETCH_SIZE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Override
+    public <T> void scroll(Specification<T> specification, Class<T> domainClass, Consumer<T> consumer) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        if (specification != null) {
+            javax.persistence.criteria.Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.select(root).orderBy(cb.asc(root.get("id")));
+
+        try (Stream<T> stream = entityManager.createQuery(query)
+                .setHint(QueryHints.FETCH_SIZE, FETCH_SIZE)
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultStream()) {
+            stream.forEach(entity -> consume(entity, consumer));
+        }
+    }
+
+    @Override
+    public <T> void scroll(QuerydslPredicateExecutor<T> repository, Predicate predicate, EntityPathBase<T> entityPathBase, Consumer<T> consumer) {
+        PathBuilder<T> entityPath = new PathBuilder<>(entityPathBase.getType(), entityPathBase.getMetadata());
+        if (repository instanceof MongoRepository) {
+            try (CloseableIterator<T> iterator = new SpringDataMongodbQuery<T>(mongoOperations, entityPathBase.getType())
+                    .where(predicate).orderBy(entityPath.getComparable("id", Comparable.class).asc()).iterate()) {
+                iterator.forEachRemaining(consumer);
+            }
+            return;
+        }
+
+        AbstractJPAQuery<T, ?> query = (AbstractJPAQuery<T, ?>) new Querydsl(entityManager, entityPath).createQuery(entityPathBase)
+                .select(entityPathBase).where(predicate).orderBy(entityPath.getComparable("id", Comparable.class).asc());
+        query.setHint(QueryHints.FETCH_SIZE, FETCH_SIZE).setHint(QueryHints.READ_ONLY, true);
+        try (CloseableIterator<T> iterator = query.iterate()) {
+            iterator.forEachRemaining(entity -> consume(entity, consumer));
+        }
+    }
+
+    /**
+     * Pass the entity to the consumer and remove it from the persistence context, so it can be garbage collected
+     *
+     * @param entity   entity read
+     * @param consumer function that receives the entity
+     */
+    private <T> void consume(T entity, Consumer<T> consumer) {
+        consumer.accept(entity);
+        entityManager.detach(entity);
+    }
+}
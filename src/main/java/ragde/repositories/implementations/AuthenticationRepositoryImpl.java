@@ -3,16 +3,31 @@ package ragde.repositories.implementations;
 import com.querydsl.core.types.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ragde.factories.PageFactory;
 import ragde.models.Authentication;
 import ragde.models.QAuthentication;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
 import ragde.repositories.AuthenticationRepository;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
+import ragde.repositories.executor.LimitedQueryExecutor;
+import ragde.repositories.executor.LookupQueryExecutor;
 import ragde.repositories.executor.QueryExecutor;
+import ragde.repositories.executor.ScrollQueryExecutor;
+import ragde.repositories.executor.UpdateExecutor;
+import ragde.repositories.indexes.IndexAdvisor;
 
-public class AuthenticationRepositoryImpl implements QueryExecutor<Authentication> {
+import java.util.List;
+import java.util.function.Consumer;
+
+public class AuthenticationRepositoryImpl implements QueryExecutor<Authentication>, UpdateExecutor<Authentication> {
 
     @Autowired
     private AuthenticationRepository authenticationRepository;
@@ -20,9 +35,39 @@ public class AuthenticationRepositoryImpl implements QueryExecutor<Authenticatio
     @Autowired
     private PageFactory pageFactory;
 
+    @Autowired
+    private LimitedQueryExecutor limitedQueryExecutor;
+
+    @Autowired
+    private ScrollQueryExecutor scrollQueryExecutor;
+
+    @Autowired
+    private LookupQueryExecutor lookupQueryExecutor;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private ConditionalUpdateExecutor conditionalUpdateExecutor;
+
     @Override
-    @SuppressWarnings("unchecked")
     public Page<Authentication> page(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Authentication.class, pageDataRequest, () -> findPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query (filter, sort, limit and count)
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return Page of entities
+     */
+    @SuppressWarnings("unchecked")
+    private Page<Authentication> findPage(PageDataRequest pageDataRequest) {
+        if (authenticationRepository instanceof MongoRepository) {
+            // resolve @DBRef relationships with $lookup instead of one query per reference
+            return lookupQueryExecutor.page(Authentication.class, pageFactory.getCriteria(pageDataRequest.getFilters(), Authentication.class), pageFactory.pageRequest(pageDataRequest));
+        }
+
         if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(authenticationRepository instanceof JpaSpecificationExecutor)) {
             Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QAuthentication.authentication);
             if (predicate != null) {
@@ -34,4 +79,68 @@ public class AuthenticationRepositoryImpl implements QueryExecutor<Authenticatio
 
         return authenticationRepository.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), pageFactory.pageRequest(pageDataRequest));
     }
+
+    @Override
+    public PageSlice<Authentication> pageSlice(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Authentication.class, pageDataRequest, () -> findPageSlice(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query without count
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return PageSlice of entities
+     */
+    @SuppressWarnings("unchecked")
+    private PageSlice<Authentication> findPageSlice(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there is a next page without a COUNT query
+        PageRequest pageRequest = pageFactory.pageRequest(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(authenticationRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QAuthentication.authentication);
+            return pageFactory.pageSlice(limitedQueryExecutor.findAll(authenticationRepository, predicate, QAuthentication.authentication, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+        }
+
+        return pageFactory.pageSlice(limitedQueryExecutor.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), Authentication.class, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+    }
+
+    @Override
+    public CursorPage<Authentication> cursorPage(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Authentication.class, pageDataRequest, () -> findCursorPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the cursor page query
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return CursorPage of entities
+     */
+    @SuppressWarnings("unchecked")
+    private CursorPage<Authentication> findCursorPage(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there are more rows without a COUNT query
+        Sort sort = pageFactory.cursorSort(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(authenticationRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getCursorPredicate(pageDataRequest, QAuthentication.authentication);
+            return pageFactory.cursorPage(limitedQueryExecutor.findAll(authenticationRepository, predicate, QAuthentication.authentication, sort, 0, limit), pageDataRequest);
+        }
+
+        return pageFactory.cursorPage(limitedQueryExecutor.findAll(pageFactory.getCursorSpecifications(pageDataRequest), Authentication.class, sort, 0, limit), pageDataRequest);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void scroll(List<FilterRequest> filters, Consumer<Authentication> consumer) {
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(authenticationRepository instanceof JpaSpecificationExecutor)) {
+            scrollQueryExecutor.scroll(authenticationRepository, pageFactory.getPredicate(filters, QAuthentication.authentication), QAuthentication.authentication, consumer);
+            return;
+        }
+
+        scrollQueryExecutor.scroll(pageFactory.getSpecifications(filters), Authentication.class, consumer);
+    }
+
+    @Override
+    public Authentication update(Authentication authentication, String... attributes) {
+        return conditionalUpdateExecutor.update(authenticationRepository, Authentication.class, authentication, attributes);
+    }
 }
\ No newline at end of file
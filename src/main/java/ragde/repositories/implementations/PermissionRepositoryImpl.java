@@ -3,14 +3,27 @@ package ragde.repositories.implementations;
 import com.querydsl.core.types.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ragde.factories.PageFactory;
 import ragde.models.Permission;
 import ragde.models.QPermission;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
 import ragde.repositories.PermissionRepository;
+import ragde.repositories.executor.LimitedQueryExecutor;
+import ragde.repositories.executor.LookupQueryExecutor;
 import ragde.repositories.executor.QueryExecutor;
+import ragde.repositories.executor.ScrollQueryExecutor;
+import ragde.repositories.indexes.IndexAdvisor;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public class PermissionRepositoryImpl implements QueryExecutor<Permission> {
 
@@ -20,9 +33,36 @@ public class PermissionRepositoryImpl implements QueryExecutor<Permission> {
     @Autowired
     private PageFactory pageFactory;
 
+    @Autowired
+    private LimitedQueryExecutor limitedQueryExecutor;
+
+    @Autowired
+    private ScrollQueryExecutor scrollQueryExecutor;
+
+    @Autowired
+    private LookupQueryExecutor lookupQueryExecutor;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
     @Override
-    @SuppressWarnings("unchecked")
     public Page<Permission> page(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Permission.class, pageDataRequest, () -> findPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query (filter, sort, limit and count)
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return Page of entities
+     */
+    @SuppressWarnings("unchecked")
+    private Page<Permission> findPage(PageDataRequest pageDataRequest) {
+        if (permissionRepository instanceof MongoRepository) {
+            // resolve @DBRef relationships with $lookup instead of one query per reference
+            return lookupQueryExecutor.page(Permission.class, pageFactory.getCriteria(pageDataRequest.getFilters(), Permission.class), pageFactory.pageRequest(pageDataRequest));
+        }
+
         if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(permissionRepository instanceof JpaSpecificationExecutor)) {
             Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QPermission.permission);
             if (predicate != null) {
@@ -34,4 +74,63 @@ public class PermissionRepositoryImpl implements QueryExecutor<Permission> {
 
         return permissionRepository.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), pageFactory.pageRequest(pageDataRequest));
     }
+
+    @Override
+    public PageSlice<Permission> pageSlice(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Permission.class, pageDataRequest, () -> findPageSlice(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query without count
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return PageSlice of entities
+     */
+    @SuppressWarnings("unchecked")
+    private PageSlice<Permission> findPageSlice(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there is a next page without a COUNT query
+        PageRequest pageRequest = pageFactory.pageRequest(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(permissionRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QPermission.permission);
+            return pageFactory.pageSlice(limitedQueryExecutor.findAll(permissionRepository, predicate, QPermission.permission, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+        }
+
+        return pageFactory.pageSlice(limitedQueryExecutor.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), Permission.class, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+    }
+
+    @Override
+    public CursorPage<Permission> cursorPage(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Permission.class, pageDataRequest, () -> findCursorPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the cursor page query
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return CursorPage of entities
+     */
+    @SuppressWarnings("unchecked")
+    private CursorPage<Permission> findCursorPage(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there are more rows without a COUNT query
+        Sort sort = pageFactory.cursorSort(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(permissionRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getCursorPredicate(pageDataRequest, QPermission.permission);
+            return pageFactory.cursorPage(limitedQueryExecutor.findAll(permissionRepository, predicate, QPermission.permission, sort, 0, limit), pageDataRequest);
+        }
+
+        return pageFactory.cursorPage(limitedQueryExecutor.findAll(pageFactory.getCursorSpecifications(pageDataRequest), Permission.class, sort, 0, limit), pageDataRequest);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void scroll(List<FilterRequest> filters, Consumer<Permission> consumer) {
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(permissionRepository instanceof JpaSpecificationExecutor)) {
+            scrollQueryExecutor.scroll(permissionRepository, pageFactory.getPredicate(filters, QPermission.permission), QPermission.permission, consumer);
+            return;
+        }
+
+        scrollQueryExecutor.scroll(pageFactory.getSpecifications(filters), Permission.class, consumer);
+    }
 }
\ No newline at end of file
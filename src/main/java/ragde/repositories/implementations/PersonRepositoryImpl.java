@@ -3,16 +3,31 @@ package ragde.repositories.implementations;
 import com.querydsl.core.types.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ragde.factories.PageFactory;
 import ragde.models.Person;
 import ragde.models.QPerson;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
 import ragde.repositories.PersonRepository;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
+import ragde.repositories.executor.LimitedQueryExecutor;
+import ragde.repositories.executor.LookupQueryExecutor;
 import ragde.repositories.executor.QueryExecutor;
+import ragde.repositories.executor.ScrollQueryExecutor;
+import ragde.repositories.executor.UpdateExecutor;
+import ragde.repositories.indexes.IndexAdvisor;
 
-public class PersonRepositoryImpl implements QueryExecutor<Person> {
+import java.util.List;
+import java.util.function.Consumer;
+
+public class PersonRepositoryImpl implements QueryExecutor<Person>, UpdateExecutor<Person> {
 
     @Autowired
     private PersonRepository personRepository;
@@ -20,9 +35,39 @@ public class PersonRepositoryImpl implements QueryExecutor<Person> {
     @Autowired
     private PageFactory pageFactory;
 
+    @Autowired
+    private LimitedQueryExecutor limitedQueryExecutor;
+
+    @Autowired
+    private ScrollQueryExecutor scrollQueryExecutor;
+
+    @Autowired
+    private LookupQueryExecutor lookupQueryExecutor;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private ConditionalUpdateExecutor conditionalUpdateExecutor;
+
     @Override
-    @SuppressWarnings("unchecked")
     public Page<Person> page(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Person.class, pageDataRequest, () -> findPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query (filter, sort, limit and count)
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return Page of entities
+     */
+    @SuppressWarnings("unchecked")
+    private Page<Person> findPage(PageDataRequest pageDataRequest) {
+        if (personRepository instanceof MongoRepository) {
+            // resolve @DBRef relationships with $lookup instead of one query per reference
+            return lookupQueryExecutor.page(Person.class, pageFactory.getCriteria(pageDataRequest.getFilters(), Person.class), pageFactory.pageRequest(pageDataRequest));
+        }
+
         if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(personRepository instanceof JpaSpecificationExecutor)) {
             Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QPerson.person);
             if (predicate != null) {
@@ -34,4 +79,68 @@ public class PersonRepositoryImpl implements QueryExecutor<Person> {
 
         return personRepository.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), pageFactory.pageRequest(pageDataRequest));
     }
+
+    @Override
+    public PageSlice<Person> pageSlice(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Person.class, pageDataRequest, () -> findPageSlice(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query without count
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return PageSlice of entities
+     */
+    @SuppressWarnings("unchecked")
+    private PageSlice<Person> findPageSlice(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there is a next page without a COUNT query
+        PageRequest pageRequest = pageFactory.pageRequest(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(personRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QPerson.person);
+            return pageFactory.pageSlice(limitedQueryExecutor.findAll(personRepository, predicate, QPerson.person, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+        }
+
+        return pageFactory.pageSlice(limitedQueryExecutor.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), Person.class, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+    }
+
+    @Override
+    public CursorPage<Person> cursorPage(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Person.class, pageDataRequest, () -> findCursorPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the cursor page query
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return CursorPage of entities
+     */
+    @SuppressWarnings("unchecked")
+    private CursorPage<Person> findCursorPage(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there are more rows without a COUNT query
+        Sort sort = pageFactory.cursorSort(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(personRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getCursorPredicate(pageDataRequest, QPerson.person);
+            return pageFactory.cursorPage(limitedQueryExecutor.findAll(personRepository, predicate, QPerson.person, sort, 0, limit), pageDataRequest);
+        }
+
+        return pageFactory.cursorPage(limitedQueryExecutor.findAll(pageFactory.getCursorSpecifications(pageDataRequest), Person.class, sort, 0, limit), pageDataRequest);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void scroll(List<FilterRequest> filters, Consumer<Person> consumer) {
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(personRepository instanceof JpaSpecificationExecutor)) {
+            scrollQueryExecutor.scroll(personRepository, pageFactory.getPredicate(filters, QPerson.person), QPerson.person, consumer);
+            return;
+        }
+
+        scrollQueryExecutor.scroll(pageFactory.getSpecifications(filters), Person.class, consumer);
+    }
+
+    @Override
+    public Person update(Person person, String... attributes) {
+        return conditionalUpdateExecutor.update(personRepository, Person.class, person, attributes);
+    }
 }
\ No newline at end of file
@@ -3,16 +3,31 @@ package ragde.repositories.implementations;
 import com.querydsl.core.types.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ragde.factories.PageFactory;
 import ragde.models.QRole;
 import ragde.models.Role;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
 import ragde.repositories.RoleRepository;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
+import ragde.repositories.executor.LimitedQueryExecutor;
+import ragde.repositories.executor.LookupQueryExecutor;
 import ragde.repositories.executor.QueryExecutor;
+import ragde.repositories.executor.ScrollQueryExecutor;
+import ragde.repositories.executor.UpdateExecutor;
+import ragde.repositories.indexes.IndexAdvisor;
 
-public class RoleRepositoryImpl implements QueryExecutor<Role> {
+import java.util.List;
+import java.util.function.Consumer;
+
+public class RoleRepositoryImpl implements QueryExecutor<Role>, UpdateExecutor<Role> {
 
     @Autowired
     private RoleRepository roleRepository;
@@ -20,9 +35,39 @@ public class RoleRepositoryImpl implements QueryExecutor<Role> {
     @Autowired
     private PageFactory pageFactory;
 
+    @Autowired
+    private LimitedQueryExecutor limitedQueryExecutor;
+
+    @Autowired
+    private ScrollQueryExecutor scrollQueryExecutor;
+
+    @Autowired
+    private LookupQueryExecutor lookupQueryExecutor;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private ConditionalUpdateExecutor conditionalUpdateExecutor;
+
     @Override
-    @SuppressWarnings("unchecked")
     public Page<Role> page(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Role.class, pageDataRequest, () -> findPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query (filter, sort, limit and count)
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return Page of entities
+     */
+    @SuppressWarnings("unchecked")
+    private Page<Role> findPage(PageDataRequest pageDataRequest) {
+        if (roleRepository instanceof MongoRepository) {
+            // resolve @DBRef relationships with $lookup instead of one query per reference
+            return lookupQueryExecutor.page(Role.class, pageFactory.getCriteria(pageDataRequest.getFilters(), Role.class), pageFactory.pageRequest(pageDataRequest));
+        }
+
         if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(roleRepository instanceof JpaSpecificationExecutor)) {
             Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QRole.role);
             if (predicate != null) {
@@ -34,4 +79,68 @@ public class RoleRepositoryImpl implements QueryExecutor<Role> {
 
         return roleRepository.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), pageFactory.pageRequest(pageDataRequest));
     }
+
+    @Override
+    public PageSlice<Role> pageSlice(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Role.class, pageDataRequest, () -> findPageSlice(pageDataRequest));
+    }
+
+    /**
+     * Execute the page query without count
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return PageSlice of entities
+     */
+    @SuppressWarnings("unchecked")
+    private PageSlice<Role> findPageSlice(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there is a next page without a COUNT query
+        PageRequest pageRequest = pageFactory.pageRequest(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(roleRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getPredicate(pageDataRequest.getFilters(), QRole.role);
+            return pageFactory.pageSlice(limitedQueryExecutor.findAll(roleRepository, predicate, QRole.role, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+        }
+
+        return pageFactory.pageSlice(limitedQueryExecutor.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), Role.class, pageRequest.getSort(), pageRequest.getOffset(), limit), pageDataRequest);
+    }
+
+    @Override
+    public CursorPage<Role> cursorPage(PageDataRequest pageDataRequest) {
+        return indexAdvisor.measure(Role.class, pageDataRequest, () -> findCursorPage(pageDataRequest));
+    }
+
+    /**
+     * Execute the cursor page query
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return CursorPage of entities
+     */
+    @SuppressWarnings("unchecked")
+    private CursorPage<Role> findCursorPage(PageDataRequest pageDataRequest) {
+        // fetch one extra row to know if there are more rows without a COUNT query
+        Sort sort = pageFactory.cursorSort(pageDataRequest);
+        int limit = pageDataRequest.getSize() + 1;
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(roleRepository instanceof JpaSpecificationExecutor)) {
+            Predicate predicate = pageFactory.getCursorPredicate(pageDataRequest, QRole.role);
+            return pageFactory.cursorPage(limitedQueryExecutor.findAll(roleRepository, predicate, QRole.role, sort, 0, limit), pageDataRequest);
+        }
+
+        return pageFactory.cursorPage(limitedQueryExecutor.findAll(pageFactory.getCursorSpecifications(pageDataRequest), Role.class, sort, 0, limit), pageDataRequest);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void scroll(List<FilterRequest> filters, Consumer<Role> consumer) {
+        if (DEFAULT_EXECUTOR == QuerydslPredicateExecutor.class || !(roleRepository instanceof JpaSpecificationExecutor)) {
+            scrollQueryExecutor.scroll(roleRepository, pageFactory.getPredicate(filters, QRole.role), QRole.role, consumer);
+            return;
+        }
+
+        scrollQueryExecutor.scroll(pageFactory.getSpecifications(filters), Role.class, consumer);
+    }
+
+    @Override
+    public Role update(Role role, String... attributes) {
+        return conditionalUpdateExecutor.update(roleRepository, Role.class, role, attributes);
+    }
 }
\ No newline at end of file
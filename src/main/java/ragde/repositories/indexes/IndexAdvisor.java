@@ -0,0 +1,39 @@
+package ragde.repositories.indexes;
+
+import ragde.models.Model;
+import ragde.pojos.pages.PageDataRequest;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the shapes (entity, filtered fields and operations, sort) of the page queries executed, reports the slow ones that
+ * no index serves with the index that would serve them, and creates declared and configured indexes when application starts
+ */
+public interface IndexAdvisor {
+
+    /**
+     * Execute a page query recording its shape and timing
+     *
+     * @param domainClass     entity class
+     * @param pageDataRequest filter, sort and limit data
+     * @param query           function that executes the page query
+     * @param <T>             query result type
+     * @return query result
+     */
+    <T> T measure(Class<? extends Model> domainClass, PageDataRequest pageDataRequest, Supplier<T> query);
+
+    /**
+     * Create the indexes declared in entities (@Table indexes) and the configured ones (index-advisor.indexes)
+     * that don't exist yet, in MySQL or Mongo depending on entity's repository
+     */
+    void createIndexes();
+
+    /**
+     * Get count, mean, max, slow executions, covering status and suggested index by entity and query shape,
+     * plus the existing indexes by entity
+     *
+     * @return report map
+     */
+    Map<String, Object> getReport();
+}
@@ -0,0 +1,563 @@
+package ragde.repositories.indexes.implementations;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Component;
+import ragde.models.*;
+import ragde.pojos.pages.FilterRequest;
+import ragde.pojos.pages.PageDataRequest;
+import ragde.repositories.*;
+import ragde.repositories.indexes.IndexAdvisor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class IndexAdvisorImpl implements IndexAdvisor {
+
+    // operations that could use an index by equality (the index columns after them keep their order)
+    private static final Set<FilterRequest.OPERATIONS> EQUALITY = EnumSet.of(FilterRequest.OPERATIONS.EQ, FilterRequest.OPERATIONS.IN);
+
+    // operations that could use an index by range, LIKE and ENDS_WITH (%value%, %value) always scan
+    private static final Set<FilterRequest.OPERATIONS> RANGE = EnumSet.of(FilterRequest.OPERATIONS.NE, FilterRequest.OPERATIONS.GT,
+            FilterRequest.OPERATIONS.GET, FilterRequest.OPERATIONS.LT, FilterRequest.OPERATIONS.LET, FilterRequest.OPERATIONS.STARTS_WITH,
+            FilterRequest.OPERATIONS.NOT_IN);
+
+    // MySQL's max identifier length
+    private static final int MAX_INDEX_NAME = 64;
+
+    // page queries slower than this (milliseconds) that no index serves are reported as slow
+    @Value("${index-advisor.slow-ms:100}")
+    private long SLOW_MS;
+
+    // max query shapes kept, executions of new shapes aren't recorded once it's reached
+    @Value("${index-advisor.max-shapes:500}")
+    private int MAX_SHAPES;
+
+    // create declared and configured indexes when application starts
+    @Value("${index-advisor.auto-create:false}")
+    private boolean AUTO_CREATE;
+
+    // extra indexes with the same format as the report's suggestions, e.g. Person(lastName,name);Person(email)
+    @Value("${index-advisor.indexes:}")
+    private String INDEXES;
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+
+    // executions not recorded because shapes was full
+    private final LongAdder dropped = new LongAdder();
+
+    // existing indexes (as entity properties) by entity, read once and again after creating indexes
+    private final Map<Class<?>, List<List<String>>> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T measure(Class<? extends Model> domainClass, PageDataRequest pageDataRequest, Supplier<T> query) {
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            record(domainClass, pageDataRequest, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!AUTO_CREATE) {
+            return;
+        }
+
+        Map<Class<?>, List<List<String>>> configured = getConfiguredIndexes();
+        for (EntityType<?> entityType : entityManager.getMetamodel().getEntities()) {
+            Class<?> domainClass = entityType.getJavaType();
+            try {
+                if (isMongo(domainClass)) {
+                    createMongoIndexes(domainClass, configured.getOrDefault(domainClass, List.of()));
+                } else {
+                    createJPAIndexes(domainClass, configured.getOrDefault(domainClass, List.of()));
+                }
+            } catch (Exception e) {
+                logger.warn("Indexes of " + domainClass.getSimpleName() + " couldn't be created", e);
+            } finally {
+                indexes.remove(domainClass);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getReport() {
+        Map<String, List<Map<String, Object>>> queries = new TreeMap<>();
+        shapes.values().stream().sorted(Comparator.comparingLong(Shape::getTotal).reversed())
+                .forEach(shape -> queries.computeIfAbsent(shape.domainClass.getSimpleName(), k -> new ArrayList<>()).add(shape.getStatistics()));
+
+        Map<String, List<String>> existing = new TreeMap<>();
+        shapes.values().stream().map(shape -> shape.domainClass).distinct()
+                .forEach(domainClass -> existing.put(domainClass.getSimpleName(), getIndexes(domainClass).stream().map(index -> String.join(",", index)).collect(Collectors.toList())));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("slowMs", SLOW_MS);
+        report.put("droppedQueries", dropped.sum());
+        report.put("queries", queries);
+        report.put("indexes", existing);
+        return report;
+    }
+
+    /**
+     * Record the timing of a page query, the first slow execution of a shape that no index serves is logged.
+     * Shapes come from clients' requests, so new shapes are dropped once there are MAX_SHAPES
+     *
+     * @param domainClass     entity class
+     * @param pageDataRequest filter, sort and limit data
+     * @param nanos           elapsed time
+     */
+    private void record(Class<? extends Model> domainClass, PageDataRequest pageDataRequest, long nanos) {
+        Shape newShape = new Shape(domainClass, pageDataRequest);
+        Shape shape = shapes.get(newShape.key);
+        if (shape == null) {
+            if (shapes.size() >= MAX_SHAPES) {
+                dropped.increment();
+                return;
+            }
+            shape = shapes.computeIfAbsent(newShape.key, k -> newShape);
+        }
+        boolean slow = TimeUnit.NANOSECONDS.toMillis(nanos) >= SLOW_MS;
+        shape.record(nanos, slow);
+        if (slow && !shape.isCovered() && shape.warned.compareAndSet(false, true)) {
+            String suggestion = shape.getSuggestion();
+            logger.warn("Slow page query without index: " + shape.key + ", suggested index: " + (suggestion != null ? suggestion : "none (LIKE and ENDS_WITH can't use indexes)"));
+        }
+    }
+
+    /**
+     * Get the existing indexes of an entity as lists of entity properties (id is always indexed)
+     *
+     * @param domainClass entity class
+     * @return indexes
+     */
+    private List<List<String>> getIndexes(Class<?> domainClass) {
+        return indexes.computeIfAbsent(domainClass, c -> {
+            List<List<String>> entityIndexes = new ArrayList<>();
+            entityIndexes.add(List.of("id"));
+            try {
+                if (isMongo(domainClass)) {
+                    Map<String, String> properties = getMongoFields(domainClass).entrySet().stream()
+                            .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey, (p1, p2) -> p1));
+                    mongoOperations.indexOps(domainClass).getIndexInfo().forEach(index -> entityIndexes.add(index.getIndexFields().stream()
+                            .map(IndexField::getKey).map(field -> properties.getOrDefault(field, field)).collect(Collectors.toList())));
+                } else {
+                    Map<String, String> properties = getColumns(domainClass).entrySet().stream()
+                            .collect(Collectors.toMap(e -> e.getValue().toLowerCase(), Map.Entry::getKey, (p1, p2) -> p1));
+                    getJPAIndexes(domainClass).forEach(index -> entityIndexes.add(index.stream()
+                            .map(column -> properties.getOrDefault(column.toLowerCase(), column)).collect(Collectors.toList())));
+                }
+            } catch (Exception e) {
+                logger.warn("Indexes of " + domainClass.getSimpleName() + " couldn't be read", e);
+            }
+            return entityIndexes;
+        });
+    }
+
+    /**
+     * Create the missing declared and configured indexes of an entity in the relational database,
+     * Hibernate only creates declared indexes when it generates the schema
+     *
+     * @param domainClass entity class
+     * @param configured  configured indexes (entity properties)
+     * @throws SQLException if indexes can't be read or created
+     */
+    private void createJPAIndexes(Class<?> domainClass, List<List<String>> configured) throws SQLException {
+        Map<String, String> columns = getColumns(domainClass);
+        List<List<String>> required = new ArrayList<>();
+        getDeclaredIndexes(domainClass).forEach(index -> required.add(index.stream().map(property -> getColumn(columns, property)).collect(Collectors.toList())));
+        configured.forEach(index -> required.add(index.stream().map(property -> getColumn(columns, property)).collect(Collectors.toList())));
+
+        List<List<String>> existing = getJPAIndexes(domainClass);
+        String table = getPersister(domainClass).getTableName();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (List<String> index : required) {
+                if (!isCovered(existing, index)) {
+                    String name = ("idx_" + table + "_" + String.join("_", index)).toLowerCase();
+                    name = name.length() > MAX_INDEX_NAME ? name.substring(0, MAX_INDEX_NAME) : name;
+                    statement.execute("CREATE INDEX " + name + " ON " + table + " (" + String.join(", ", index) + ")");
+                    existing.add(index);
+                    logger.info("Index " + name + " created");
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the missing declared and configured indexes of an entity in mongo (ensureIndex doesn't recreate existing ones)
+     *
+     * @param domainClass entity class
+     * @param configured  configured indexes (entity properties)
+     */
+    private void createMongoIndexes(Class<?> domainClass, List<List<String>> configured) {
+        Map<String, String> fields = getMongoFields(domainClass);
+        List<List<String>> required = new ArrayList<>(getDeclaredIndexes(domainClass));
+        required.addAll(configured);
+
+        for (List<String> index : required) {
+            Index mongoIndex = new Index();
+            index.forEach(property -> mongoIndex.on(fields.getOrDefault(property, property), Sort.Direction.ASC));
+            mongoOperations.indexOps(domainClass).ensureIndex(mongoIndex);
+        }
+    }
+
+    /**
+     * Get the existing indexes of an entity's table from database metadata
+     *
+     * @param domainClass entity class
+     * @return indexes as lists of columns
+     * @throws SQLException if metadata can't be read
+     */
+    private List<List<String>> getJPAIndexes(Class<?> domainClass) throws SQLException {
+        String table = getPersister(domainClass).getTableName();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // identifiers could be stored in upper (H2) or lower case (MySQL on Linux)
+            for (String name : new LinkedHashSet<>(List.of(table, table.toUpperCase(), table.toLowerCase()))) {
+                Map<String, TreeMap<Short, String>> tableIndexes = new LinkedHashMap<>();
+                try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), null, name, false, false)) {
+                    while (resultSet.next()) {
+                        String indexName = resultSet.getString("INDEX_NAME");
+                        String column = resultSet.getString("COLUMN_NAME");
+                        if (indexName != null && column != null) {
+                            tableIndexes.computeIfAbsent(indexName, k -> new TreeMap<>()).put(resultSet.getShort("ORDINAL_POSITION"), column.toLowerCase());
+                        }
+                    }
+                }
+                if (!tableIndexes.isEmpty()) {
+                    return tableIndexes.values().stream().map(index -> new ArrayList<>(index.values())).collect(Collectors.toList());
+                }
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Get the indexes declared in entity's @Table annotation, their column lists use logical names (entity properties)
+     *
+     * @param domainClass entity class
+     * @return indexes as lists of entity properties
+     */
+    private List<List<String>> getDeclaredIndexes(Class<?> domainClass) {
+        Table table = domainClass.getAnnotation(Table.class);
+        if (table == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(table.indexes()).map(index -> Arrays.stream(index.columnList().split(","))
+                .map(column -> column.trim().split("\\s+")[0]).collect(Collectors.toList())).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the configured indexes grouped by entity
+     *
+     * @return indexes as lists of entity properties
+     */
+    private Map<Class<?>, List<List<String>>> getConfiguredIndexes() {
+        Map<String, Class<?>> entities = entityManager.getMetamodel().getEntities().stream()
+                .collect(Collectors.toMap(EntityType::getName, EntityType::getJavaType));
+        Map<Class<?>, List<List<String>>> configured = new HashMap<>();
+        for (String definition : INDEXES.split(";")) {
+            definition = definition.trim();
+            int open = definition.indexOf('(');
+            if (definition.isEmpty()) {
+                continue;
+            }
+            Class<?> domainClass = open > 0 && definition.endsWith(")") ? entities.get(definition.substring(0, open).trim()) : null;
+            if (domainClass == null) {
+                logger.warn("Invalid index definition: " + definition);
+                continue;
+            }
+            List<String> properties = Arrays.stream(definition.substring(open + 1, definition.length() - 1).split(","))
+                    .map(String::trim).filter(property -> !property.isEmpty()).collect(Collectors.toList());
+            configured.computeIfAbsent(domainClass, k -> new ArrayList<>()).add(properties);
+        }
+        return configured;
+    }
+
+    /**
+     * Check if an index is already served by another one (same columns or a longer index starting with them)
+     *
+     * @param existing existing indexes
+     * @param index    index to be checked
+     * @return true if some existing index starts with index columns
+     */
+    private boolean isCovered(List<List<String>> existing, List<String> index) {
+        return existing.stream().anyMatch(e -> e.size() >= index.size() && e.subList(0, index.size()).equals(index));
+    }
+
+    /**
+     * Get the single column properties of an entity and their columns (id included)
+     *
+     * @param domainClass entity class
+     * @return columns by property
+     */
+    private Map<String, String> getColumns(Class<?> domainClass) {
+        AbstractEntityPersister persister = getPersister(domainClass);
+        Map<String, String> columns = new HashMap<>();
+        columns.put(persister.getIdentifierPropertyName(), persister.getIdentifierColumnNames()[0]);
+        for (String property : persister.getPropertyNames()) {
+            String[] propertyColumns = persister.getPropertyColumnNames(property);
+            if (propertyColumns.length == 1) {
+                columns.put(property, propertyColumns[0]);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Get the column of an index property
+     *
+     * @param columns  columns by property
+     * @param property entity property
+     * @return column name
+     * @throws IllegalArgumentException if property isn't a single column property
+     */
+    private String getColumn(Map<String, String> columns, String property) {
+        String column = columns.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Invalid index property: " + property);
+        }
+        return column.toLowerCase();
+    }
+
+    /**
+     * Get the mongo fields of an entity's properties
+     *
+     * @param domainClass entity class
+     * @return fields by property
+     */
+    private Map<String, String> getMongoFields(Class<?> domainClass) {
+        MongoPersistentEntity<?> entity = mongoOperations.getConverter().getMappingContext().getRequiredPersistentEntity(domainClass);
+        Map<String, String> fields = new HashMap<>();
+        for (MongoPersistentProperty property : entity) {
+            fields.put(property.getName(), property.getFieldName());
+        }
+        return fields;
+    }
+
+    private AbstractEntityPersister getPersister(Class<?> domainClass) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        return (AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(domainClass);
+    }
+
+    /**
+     * Check if an entity is stored in mongo (mongo repositories are beans even when entity's repository extends the MySQL one)
+     *
+     * @param domainClass entity class
+     * @return true if entity's repository is a MongoRepository
+     */
+    private boolean isMongo(Class<?> domainClass) {
+        Map<Class<?>, Object> repositories = Map.of(Person.class, personRepository, Role.class, roleRepository, Permission.class, permissionRepository,
+                Authentication.class, authenticationRepository, AuthProvider.class, authProviderRepository);
+        return repositories.get(domainClass) instanceof MongoRepository;
+    }
+
+    /**
+     * Page query shape and its timings
+     */
+    private class Shape {
+
+        private final Class<? extends Model> domainClass;
+
+        private final String key;
+
+        // filtered fields by equality, sorted so the suggestion doesn't depend on filters' order
+        private final SortedSet<String> equality = new TreeSet<>();
+
+        private final SortedSet<String> range = new TreeSet<>();
+
+        private final boolean scan;
+
+        private final List<String> sort = new ArrayList<>();
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder slow = new LongAdder();
+
+        private final LongAdder total = new LongAdder();
+
+        private final AtomicLong max = new AtomicLong();
+
+        private final AtomicBoolean warned = new AtomicBoolean();
+
+        private Shape(Class<? extends Model> domainClass, PageDataRequest pageDataRequest) {
+            this.domainClass = domainClass;
+            List<String> filters = new ArrayList<>();
+            this.scan = addFilters(Optional.ofNullable(pageDataRequest.getFilters()).orElse(List.of()), filters);
+            range.removeAll(equality);
+
+            String direction = pageDataRequest.getDirection() != null ? pageDataRequest.getDirection().name() : PageDataRequest.SORT_DIRECTION.ASC.name();
+            List<String> sortFields = pageDataRequest.getSort() != null && !pageDataRequest.getSort().isEmpty() ? pageDataRequest.getSort() : List.of("id");
+            sortFields.forEach(field -> sort.add(field + " " + direction));
+            this.key = domainClass.getSimpleName() + filters + " sort " + sort;
+        }
+
+        /**
+         * Classify the filtered fields and describe them in the shape key, AND groups are flattened
+         * and OR groups only describe their filters (an index prefix can't serve them)
+         *
+         * @param filterRequests filters to be classified
+         * @param filters        sorted filters descriptions
+         * @return true if some filter needs a scan
+         */
+        private boolean addFilters(List<FilterRequest> filterRequests, List<String> filters) {
+            boolean scan = false;
+            for (FilterRequest filter : filterRequests) {
+                if (filter.getOperation() == FilterRequest.OPERATIONS.AND) {
+                    scan |= addFilters(filter.getFilters(), filters);
+                } else if (filter.getOperation() == FilterRequest.OPERATIONS.OR) {
+                    filters.add(FilterRequest.OPERATIONS.OR + " " + describe(filter.getFilters()));
+                    scan = true;
+                } else {
+                    filters.add(filter.getOperation() + " " + filter.getField());
+                    if (EQUALITY.contains(filter.getOperation())) {
+                        equality.add(filter.getField());
+                    } else if (RANGE.contains(filter.getOperation())) {
+                        range.add(filter.getField());
+                    } else {
+                        scan = true;
+                    }
+                }
+            }
+            Collections.sort(filters);
+            return scan;
+        }
+
+        /**
+         * Describe filters without classifying their fields
+         *
+         * @param filterRequests filters to be described
+         * @return sorted filters descriptions
+         */
+        private List<String> describe(List<FilterRequest> filterRequests) {
+            List<String> filters = new ArrayList<>();
+            for (FilterRequest filter : filterRequests) {
+                boolean group = filter.getOperation() == FilterRequest.OPERATIONS.AND || filter.getOperation() == FilterRequest.OPERATIONS.OR;
+                filters.add(filter.getOperation() + " " + (group ? describe(filter.getFilters()) : filter.getField()));
+            }
+            Collections.sort(filters);
+            return filters;
+        }
+
+        private void record(long nanos, boolean slow) {
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+            if (slow) {
+                this.slow.increment();
+            }
+        }
+
+        private long getTotal() {
+            return total.sum();
+        }
+
+        /**
+         * Check if some existing index serves the query: it starts with a filtered field or,
+         * when the query isn't filtered, with the first sort field
+         *
+         * @return true if query is served by an index
+         */
+        private boolean isCovered() {
+            if (equality.isEmpty() && range.isEmpty() && scan) {
+                return false;
+            }
+
+            String firstSort = sort.get(0).split(" ")[0];
+            return getIndexes(domainClass).stream().map(index -> index.get(0)).anyMatch(column -> equality.isEmpty() && range.isEmpty()
+                    ? column.equals(firstSort) : equality.contains(column) || range.contains(column));
+        }
+
+        /**
+         * Create the index that would better serve the query: equality fields, then sort fields and then one range field
+         *
+         * @return index definition like Person(lastName,name) or null if no index could serve the query
+         */
+        private String getSuggestion() {
+            LinkedHashSet<String> fields = new LinkedHashSet<>(equality);
+            sort.stream().map(field -> field.split(" ")[0]).forEach(fields::add);
+            if (!range.isEmpty()) {
+                fields.add(range.first());
+            }
+            if (equality.isEmpty() && range.isEmpty() && scan) {
+                return null;
+            }
+            return domainClass.getSimpleName() + "(" + String.join(",", fields) + ")";
+        }
+
+        private Map<String, Object> getStatistics() {
+            long count = this.count.sum();
+            double total = this.total.sum() / 1_000_000.0;
+            boolean covered = isCovered();
+
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("query", key);
+            statistics.put("count", count);
+            statistics.put("meanMs", count > 0 ? total / count : 0.0);
+            statistics.put("maxMs", max.get() / 1_000_000.0);
+            statistics.put("slow", slow.sum());
+            statistics.put("covered", covered);
+            statistics.put("suggestedIndex", covered ? null : getSuggestion());
+            return statistics;
+        }
+    }
+}
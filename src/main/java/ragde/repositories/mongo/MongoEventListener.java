@@ -1,13 +1,21 @@
 package ragde.repositories.mongo;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
 import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
 import org.springframework.stereotype.Component;
+import ragde.caches.PageCache;
 import ragde.models.Model;
 
 @Component
 public class MongoEventListener extends AbstractMongoEventListener<Model> {
 
+    @Autowired
+    private PageCache pageCache;
+
     /**
      * MongoRepository doesn't trigger @PrePersist or @PreUpdate, so this Listener is crested to update CreatedAt and UpdatedAt
      */
@@ -16,8 +24,36 @@ public class MongoEventListener extends AbstractMongoEventListener<Model> {
         Model model = event.getSource();
         if (model.getId() != null) {
             model.updatedAt();
+            // documents read and saved again (bulk updates) were checked against their version, so it's increased
+            model.setVersion(model.getVersion() != null ? model.getVersion() + 1 : 1L);
         } else {
             model.createdAt();
+            model.setVersion(0L);
+        }
+    }
+
+    /**
+     * Documents saved before versions were added don't have version, they are updated as version 0
+     */
+    @Override
+    public void onAfterConvert(AfterConvertEvent<Model> event) {
+        if (event.getSource().getVersion() == null) {
+            event.getSource().setVersion(0L);
+        }
+    }
+
+    /**
+     * Every saved document evicts the cached pages of its entity, so no writer can leave stale pages
+     */
+    @Override
+    public void onAfterSave(AfterSaveEvent<Model> event) {
+        pageCache.evict(event.getSource().getClass());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Model> event) {
+        if (event.getType() != null) {
+            pageCache.evict(event.getType());
         }
     }
-}
\ No newline at end of file
+}
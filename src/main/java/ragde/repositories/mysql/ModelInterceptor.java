@@ -0,0 +1,76 @@
+package ragde.repositories.mysql;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Hibernate;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import ragde.caches.PageCache;
+import ragde.models.Model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+@Component
+public class ModelInterceptor extends EmptyInterceptor implements HibernatePropertiesCustomizer {
+
+    private static final long serialVersionUID = 1L;
+
+    @Autowired
+    private transient PageCache pageCache;
+
+    /**
+     * Hibernate takes versioned entities without version as new ones, but relationships are sent only with their IDs
+     * (person: {roles: [{id: "1"}]}), so an entity is only new when it doesn't have ID
+     */
+    @Override
+    public Boolean isTransient(Object entity) {
+        if (entity instanceof Model) {
+            return ((Model) entity).getId() == null;
+        }
+        return null;
+    }
+
+    /**
+     * Every insert, update and delete flushed by Hibernate evicts the cached pages of its entity (once the transaction
+     * is committed), so writers outside the services (OAuth sign-up, imports...) can't leave stale pages
+     */
+    @Override
+    public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        evict(entity);
+        return false;
+    }
+
+    @Override
+    public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState, String[] propertyNames, Type[] types) {
+        evict(entity);
+        return false;
+    }
+
+    @Override
+    public void onDelete(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        evict(entity);
+    }
+
+    @Override
+    public void onCollectionUpdate(Object collection, Serializable key) {
+        if (collection instanceof PersistentCollection) {
+            evict(((PersistentCollection) collection).getOwner());
+        }
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evict(Object entity) {
+        if (entity instanceof Model) {
+            pageCache.evict((Class<? extends Model>) Hibernate.getClass(entity));
+        }
+    }
+}
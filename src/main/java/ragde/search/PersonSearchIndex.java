@@ -0,0 +1,56 @@
+package ragde.search;
+
+import ragde.models.Person;
+import ragde.pojos.pages.FilterRequest;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In memory n-gram index over people's name, lastName and email, it resolves LIKE, STARTS_WITH and ENDS_WITH filters
+ * without scanning the database (those patterns can't use a B-tree index)
+ */
+public interface PersonSearchIndex {
+
+    /**
+     * Find the ids of the people matching all the filters
+     *
+     * @param filters filters to be performed
+     * @return matching ids or null if index can't resolve the filters (disabled, not built yet, filters over other fields or
+     * operations, or more matches than search.max-ids), then filters must be performed by the database
+     */
+    Set<String> search(Collection<FilterRequest> filters);
+
+    /**
+     * Add or replace people in the index, when there is an active transaction they are indexed once it's committed
+     *
+     * @param people people saved or updated
+     */
+    void index(Collection<Person> people);
+
+    /**
+     * Remove people from the index, when there is an active transaction they are removed once it's committed
+     *
+     * @param ids ids of the people deleted
+     */
+    void remove(Collection<String> ids);
+
+    /**
+     * Build the index again reading all people from the database, changes done while it's built aren't lost
+     */
+    void rebuild();
+
+    /**
+     * Index again the people updated in the database since the last rebuild or refresh (changes done by other instances),
+     * people deleted by other instances are kept until the next rebuild (their ids aren't found when the page is read)
+     */
+    void refresh();
+
+    /**
+     * Get people, grams, postings and estimated memory of the index, plus searches, fallbacks, last rebuild timing and last sync
+     *
+     * @return statistics map
+     */
+    Map<String, Object> getStatistics();
+}
@@ -0,0 +1,391 @@
+package ragde.search.implementations;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ragde.models.Person;
+import ragde.pojos.pages.FilterRequest;
+import ragde.repositories.PersonRepository;
+import ragde.search.PersonSearchIndex;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+@Component
+public class PersonSearchIndexImpl implements PersonSearchIndex {
+
+    // indexed fields, their position is used in values and posting keys
+    private static final List<String> FIELDS = List.of("name", "lastName", "email");
+
+    private static final Set<FilterRequest.OPERATIONS> OPERATIONS = EnumSet.of(FilterRequest.OPERATIONS.LIKE,
+            FilterRequest.OPERATIONS.STARTS_WITH, FilterRequest.OPERATIONS.ENDS_WITH);
+
+    private static final int GRAM_SIZE = 3;
+
+    // approximated sizes (64 bits JVM with compressed references) used to estimate index memory
+    private static final long STRING_BYTES = 40;
+
+    private static final long MAP_ENTRY_BYTES = 48;
+
+    private static final long ARRAY_BYTES = 16 + 4L * FIELDS.size();
+
+    private static final long SET_BYTES = 64;
+
+    // index people and resolve filters with it, false always uses the database
+    @Value("${search.enabled:false}")
+    private boolean ENABLED;
+
+    // match ignoring case, it must be true when database collation ignores case (MySQL's default)
+    @Value("${search.ignore-case:false}")
+    private boolean IGNORE_CASE;
+
+    // searches with more matches are performed by the database, a long id list would be slower than the LIKE scan
+    @Value("${search.max-ids:1000}")
+    private int MAX_IDS;
+
+    // changes done by other instances are read after updated people since last sync, overlap covers clocks' skew
+    // and transactions committed after their updatedAt was set
+    @Value("${search.refresh-overlap-ms:60000}")
+    private long REFRESH_OVERLAP_MS;
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private volatile Index current = new Index();
+
+    // false until the first rebuild, an empty index can't answer searches
+    private volatile boolean ready;
+
+    // changes done while a rebuild is running, they are applied again to the new index
+    private List<Consumer<Index>> pending;
+
+    private final Object rebuildLock = new Object();
+
+    private final LongAdder searches = new LongAdder();
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    private volatile long lastRebuildMs;
+
+    // time (UTC as updatedAt) when last rebuild or refresh started reading
+    private volatile LocalDateTime lastSync;
+
+    @Override
+    public Set<String> search(Collection<FilterRequest> filters) {
+        if (!ENABLED || !ready || filters == null || filters.isEmpty()) {
+            return null;
+        }
+
+        for (FilterRequest filter : filters) {
+            String value = filter.getValue();
+            // % and _ are LIKE wildcards, the index only matches literal values (IN lists and AND, OR groups go to the database too)
+            if (!OPERATIONS.contains(filter.getOperation()) || filter.getField() == null || !FIELDS.contains(filter.getField()) || value == null || value.isEmpty()
+                    || value.contains("%") || value.contains("_")) {
+                return null;
+            }
+        }
+
+        Index index = current;
+        Set<String> result = null;
+        for (FilterRequest filter : filters) {
+            int field = FIELDS.indexOf(filter.getField());
+            String value = normalize(filter.getValue());
+            Collection<String> candidates = result != null ? result : index.getCandidates(field, value);
+            Set<String> matches = new HashSet<>();
+            for (String id : candidates) {
+                String[] values = index.values.get(id);
+                if (values != null && matches(values[field], filter.getOperation(), value)) {
+                    matches.add(id);
+                }
+            }
+            result = matches;
+        }
+
+        searches.increment();
+        if (result.size() > MAX_IDS) {
+            fallbacks.increment();
+            return null;
+        }
+        return result;
+    }
+
+    @Override
+    public void index(Collection<Person> people) {
+        if (!ENABLED) {
+            return;
+        }
+
+        // values are copied now, entities could change before the transaction is committed
+        Map<String, String[]> values = new HashMap<>();
+        people.stream().filter(person -> person != null && person.getId() != null).forEach(person -> values.put(person.getId(), getValues(person)));
+        afterCommit(() -> apply(index -> values.forEach(index::put)));
+    }
+
+    @Override
+    public void remove(Collection<String> ids) {
+        if (!ENABLED) {
+            return;
+        }
+
+        List<String> removed = new ArrayList<>(ids);
+        afterCommit(() -> apply(index -> removed.forEach(index::remove)));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.rebuild-ms:3600000}", fixedDelayString = "${search.rebuild-ms:3600000}")
+    public void rebuild() {
+        if (!ENABLED) {
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+
+            LocalDateTime sync = LocalDateTime.now(ZoneOffset.UTC);
+            Index index = new Index();
+            try {
+                transactionTemplate.executeWithoutResult(status -> personRepository.scroll(null, person -> index.put(person.getId(), getValues(person))));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                logger.warn("Person search index couldn't be built", e);
+                return;
+            }
+
+            synchronized (this) {
+                pending.forEach(change -> change.accept(index));
+                pending = null;
+                current = index;
+                ready = true;
+            }
+            lastSync = sync;
+            lastRebuildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${search.refresh-ms:30000}", fixedDelayString = "${search.refresh-ms:30000}")
+    public void refresh() {
+        if (!ENABLED || !ready) {
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            LocalDateTime sync = LocalDateTime.now(ZoneOffset.UTC);
+            Map<String, String[]> values = new HashMap<>();
+            try {
+                personRepository.findByUpdatedAtGreaterThanEqual(lastSync.minusNanos(TimeUnit.MILLISECONDS.toNanos(REFRESH_OVERLAP_MS)))
+                        .forEach(person -> values.put(person.getId(), getValues(person)));
+            } catch (RuntimeException e) {
+                logger.warn("Person search index couldn't be refreshed", e);
+                return;
+            }
+
+            apply(index -> values.forEach(index::put));
+            lastSync = sync;
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Index index = current;
+        long bytes = 0;
+        for (Map.Entry<String, String[]> entry : index.values.entrySet()) {
+            bytes += MAP_ENTRY_BYTES + STRING_BYTES + entry.getKey().length() + ARRAY_BYTES;
+            for (String value : entry.getValue()) {
+                bytes += value != null ? STRING_BYTES + value.length() : 0;
+            }
+        }
+        long postings = 0;
+        for (Map.Entry<String, Set<String>> entry : index.postings.entrySet()) {
+            // ids are shared with values, each posting only costs its set entry
+            int size = entry.getValue().size();
+            postings += size;
+            bytes += MAP_ENTRY_BYTES + STRING_BYTES + entry.getKey().length() + SET_BYTES + MAP_ENTRY_BYTES * size;
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", ENABLED);
+        statistics.put("ready", ready);
+        statistics.put("people", index.values.size());
+        statistics.put("grams", index.postings.size());
+        statistics.put("postings", postings);
+        statistics.put("estimatedBytes", bytes);
+        statistics.put("searches", searches.sum());
+        statistics.put("fallbacks", fallbacks.sum());
+        statistics.put("lastRebuildMs", lastRebuildMs);
+        statistics.put("lastSync", lastSync);
+        return statistics;
+    }
+
+    /**
+     * Apply a change to the index, changes are serialized and kept while a rebuild is running
+     *
+     * @param change function that changes an index
+     */
+    private synchronized void apply(Consumer<Index> change) {
+        change.accept(current);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    /**
+     * Run an action when current transaction is committed or immediately if there isn't transaction
+     *
+     * @param action action to be executed
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Get the normalized values of the indexed fields
+     *
+     * @param person person to be indexed
+     * @return values in FIELDS order (null when field is null)
+     */
+    private String[] getValues(Person person) {
+        return new String[]{normalize(person.getName()), normalize(person.getLastName()), normalize(person.getEmail())};
+    }
+
+    private String normalize(String value) {
+        return value != null && IGNORE_CASE ? value.toLowerCase(Locale.ROOT) : value;
+    }
+
+    /**
+     * Check a value as the database would do with the LIKE pattern
+     *
+     * @param value     indexed value
+     * @param operation LIKE, STARTS_WITH or ENDS_WITH
+     * @param search    searched value
+     * @return true if value matches
+     */
+    private boolean matches(String value, FilterRequest.OPERATIONS operation, String search) {
+        if (value == null) {
+            return false;
+        }
+
+        return switch (operation) {
+            case STARTS_WITH -> value.startsWith(search);
+            case ENDS_WITH -> value.endsWith(search);
+            default -> value.contains(search);
+        };
+    }
+
+    /**
+     * Indexed values by id and ids by field gram, a search takes the ids of one of its grams
+     * and checks them against their values
+     */
+    private static class Index {
+
+        private final Map<String, String[]> values = new ConcurrentHashMap<>();
+
+        private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+        private void put(String id, String[] newValues) {
+            remove(id);
+            values.put(id, newValues);
+            for (int field = 0; field < newValues.length; field++) {
+                for (String gram : getGrams(field, newValues[field])) {
+                    postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+                }
+            }
+        }
+
+        private void remove(String id) {
+            String[] oldValues = values.remove(id);
+            if (oldValues == null) {
+                return;
+            }
+
+            for (int field = 0; field < oldValues.length; field++) {
+                for (String gram : getGrams(field, oldValues[field])) {
+                    Set<String> ids = postings.get(gram);
+                    if (ids != null) {
+                        ids.remove(id);
+                        if (ids.isEmpty()) {
+                            postings.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get the ids that could match a value, values shorter than a gram could be anywhere so all ids are candidates
+         *
+         * @param field field position
+         * @param value normalized value
+         * @return candidate ids
+         */
+        private Collection<String> getCandidates(int field, String value) {
+            if (value.length() < GRAM_SIZE) {
+                return values.keySet();
+            }
+
+            Set<String> smallest = null;
+            for (String gram : getGrams(field, value)) {
+                Set<String> ids = postings.get(gram);
+                if (ids == null) {
+                    return Set.of();
+                }
+                if (smallest == null || ids.size() < smallest.size()) {
+                    smallest = ids;
+                }
+            }
+            return smallest;
+        }
+
+        /**
+         * Get the grams of a field value, prefixed by field position so fields don't share postings
+         *
+         * @param field field position
+         * @param value normalized value
+         * @return distinct grams
+         */
+        private Set<String> getGrams(int field, String value) {
+            if (value == null || value.length() < GRAM_SIZE) {
+                return Set.of();
+            }
+
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+                grams.add(field + value.substring(i, i + GRAM_SIZE));
+            }
+            return grams;
+        }
+    }
+}
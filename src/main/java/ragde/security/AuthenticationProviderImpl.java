@@ -7,6 +7,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import ragde.caches.AuthenticationCache;
 import ragde.security.pojos.LoggedUser;
 import ragde.security.services.TokenService;
 
@@ -23,14 +24,32 @@ public class AuthenticationProviderImpl implements AuthenticationProvider {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         try {
             String token = (String) authentication.getPrincipal();
-            LoggedUser user = tokenService.getLoggedUser(token);
-            user.setPermissions(user.getPermissions() != null ? user.getPermissions() : Collections.emptySet());
-            List<GrantedAuthority> authorities = user.getPermissions().stream().map(p -> (GrantedAuthority) () -> "ROLE_" + p).collect(Collectors.toList());
-            return new UsernamePasswordAuthenticationToken(user, null, authorities);
+            if (!authenticationCache.isEnabled()) {
+                LoggedUser user = tokenService.getLoggedUser(token);
+                user.setToken(token);
+                return getAuthentication(user);
+            }
+
+            Authentication cached = authenticationCache.get(token);
+            if (cached == null) {
+                LoggedUser user = tokenService.getLoggedUser(token);
+                cached = getAuthentication(user);
+                authenticationCache.put(token, cached, user.getExpiration());
+            }
+
+            // principal could be modified during the request (ping sets its token), so each request gets its own copy
+            LoggedUser user = (LoggedUser) cached.getPrincipal();
+            LoggedUser copy = new LoggedUser(user.getId(), user.getFullName(), user.getImage(), user.getRole(), user.getPermissions());
+            copy.setExpiration(user.getExpiration());
+            copy.setToken(token);
+            return new UsernamePasswordAuthenticationToken(copy, null, cached.getAuthorities());
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -41,4 +60,16 @@ public class AuthenticationProviderImpl implements AuthenticationProvider {
     public boolean supports(Class<?> authentication) {
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Build an Authentication with user's permissions as authorities
+     *
+     * @param user user info from token
+     * @return Authentication
+     */
+    private Authentication getAuthentication(LoggedUser user) {
+        user.setPermissions(user.getPermissions() != null ? user.getPermissions() : Collections.emptySet());
+        List<GrantedAuthority> authorities = user.getPermissions().stream().map(p -> (GrantedAuthority) () -> "ROLE_" + p).collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(user, null, authorities);
+    }
+}
@@ -39,6 +39,9 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     public static final List<String> ALLOWED_ORIGINS = List.of(
             "http://localhost:8080", "http://localhost:9000");
 
+    // diagnostics expose internal statistics, so they are only for who can manage roles and permissions
+    public static final String ADMIN_PERMISSION = "CREATE_ROLES";
+
     @Autowired
     private AuthenticationEntryPoint authenticationEntryPoint;
 
@@ -69,6 +72,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers(HttpMethod.GET, "/swagger-ui.html", "/swagger-ui/**", "/v3/**").permitAll()
                 .antMatchers(HttpMethod.GET, "/h2-console/**").permitAll()
                 .antMatchers(HttpMethod.GET, "/oauth/**").permitAll()
+                .antMatchers(HttpMethod.GET, "/info/page-cache", "/info/authentication-cache", "/info/document-cache",
+                        "/info/graphql", "/info/indexes", "/info/search").hasRole(ADMIN_PERMISSION)
                 .antMatchers(HttpMethod.GET, "/info/**").permitAll()
                 .antMatchers(HttpMethod.GET, "/gui").permitAll()
                 .antMatchers(HttpMethod.POST, "/graphql").permitAll()
@@ -48,9 +48,7 @@ public class FacebookCtrl {
         if (code != null) {
             AccessGrant accessGrant = facebookProvider.getAccessGrant(getCallback(request), code);
             LoggedUser loggedUser = oAuthService.parseFacebookUser(new FacebookTemplate(accessGrant.getAccessToken()));
-            String token = tokenService.createToken(loggedUser);
-            loggedUser = tokenService.getLoggedUser(token);
-            loggedUser.setToken(token);
+            loggedUser = tokenService.createLoggedUser(loggedUser);
 
             template.convertAndSend("/oauth/response/" + state, Map.of("loggedUser", loggedUser));
         }
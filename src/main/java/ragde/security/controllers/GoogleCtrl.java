@@ -47,9 +47,7 @@ public class GoogleCtrl {
     public RedirectView callback(@RequestParam String code, @RequestParam String state, HttpServletRequest request) throws IOException {
         AccessGrant accessGrant = googleProvider.getAccessGrant(getCallback(request), code);
         LoggedUser loggedUser = oAuthService.parseGoogleUser(new GoogleTemplate(accessGrant.getAccessToken()));
-        String token = tokenService.createToken(loggedUser);
-        loggedUser = tokenService.getLoggedUser(token);
-        loggedUser.setToken(token);
+        loggedUser = tokenService.createLoggedUser(loggedUser);
 
         template.convertAndSend("/oauth/response/" + state, Map.of("loggedUser", loggedUser));
         return new RedirectView(getRootPath(request) + "/autoclose.html");
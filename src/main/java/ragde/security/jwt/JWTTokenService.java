@@ -1,9 +1,11 @@
 package ragde.security.jwt;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -11,8 +13,11 @@ import ragde.security.pojos.LoggedUser;
 import ragde.security.services.SecurityService;
 import ragde.security.services.TokenService;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.util.Date;
+import java.security.Key;
+import java.util.*;
 
 @Service
 public class JWTTokenService implements TokenService {
@@ -23,26 +28,59 @@ public class JWTTokenService implements TokenService {
     @Value("${jwt.expiration}")
     private Integer expirationTime;
 
+    // codec used to write new tokens (compact or json), tokens written by any codec could be read
+    @Value("${jwt.codec:compact}")
+    private String codecName;
+
     @Autowired
-    private ObjectMapper mapper;
+    private Map<String, TokenCodec> codecs;
 
     @Autowired
     private SecurityService securityService;
 
+    private Key key;
+
+    private JwtParser parser;
+
+    private TokenCodec codec;
+
+    @PostConstruct
+    public void init() {
+        // jjwt decodes a String secret on every call, so the key is built once (secret is still read as base64)
+        key = new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS512.getJcaName());
+        // a parser creates its own ObjectMapper, so one parser is shared (parsing doesn't change its state)
+        parser = Jwts.parser().setSigningKey(key);
+        codec = codecs.get(codecName + "TokenCodec");
+        if (codec == null) {
+            throw new IllegalStateException("JWT codec '" + codecName + "' doesn't exist.");
+        }
+    }
+
     @Override
     public String createToken(LoggedUser loggedUser) throws JsonProcessingException {
         if (loggedUser == null || loggedUser.getToken() != null) {
             return null;
         }
 
-        String json = mapper.writeValueAsString(loggedUser);
+        return buildToken(loggedUser, new Date(System.currentTimeMillis() + expirationTime));
+    }
 
-        String token = Jwts.builder()
-                .setSubject(json)
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(SignatureAlgorithm.HS512, secret)
-                .compact();
-        return token;
+    @Override
+    public LoggedUser createLoggedUser(LoggedUser loggedUser) throws JsonProcessingException {
+        if (loggedUser == null || loggedUser.getToken() != null) {
+            return null;
+        }
+
+        // JWT keeps expiration in seconds
+        Date expiration = new Date((System.currentTimeMillis() + expirationTime) / 1000 * 1000);
+        String token = buildToken(loggedUser, expiration);
+
+        // same values as the token's claims, so there is no need to verify and decode it
+        Set<String> permissions = loggedUser.getPermissions() != null ? new HashSet<>(loggedUser.getPermissions()) : null;
+        LoggedUser tokenUser = new LoggedUser(loggedUser.getId(), loggedUser.getFullName(), loggedUser.getImage(), loggedUser.getRole(), permissions);
+        tokenUser.setExpiration(expiration);
+        tokenUser.setToken(token);
+        return tokenUser;
     }
 
     @Override
@@ -53,15 +91,35 @@ public class JWTTokenService implements TokenService {
 
     @Override
     public LoggedUser getLoggedUser(String token) throws IOException {
-        String userString = Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-        if (userString != null) {
-            return mapper.readValue(userString, LoggedUser.class);
-        } else {
-            return null;
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        // try the current codec first, others are only needed for tokens created before a codec change
+        LoggedUser loggedUser = codec.decode(claims);
+        Iterator<TokenCodec> iterator = codecs.values().iterator();
+        while (loggedUser == null && iterator.hasNext()) {
+            TokenCodec other = iterator.next();
+            loggedUser = other != codec ? other.decode(claims) : null;
         }
+
+        if (loggedUser != null) {
+            loggedUser.setExpiration(claims.getExpiration());
+        }
+        return loggedUser;
+    }
+
+    /**
+     * Signs a token with user's info as subject
+     *
+     * @param loggedUser loggedUser entity.
+     * @param expiration token's expiration time.
+     * @return generated token.
+     * @throws JsonProcessingException if token is not generated.
+     */
+    private String buildToken(LoggedUser loggedUser, Date expiration) throws JsonProcessingException {
+        return Jwts.builder()
+                .setClaims(new HashMap<>(codec.encode(loggedUser)))
+                .setExpiration(expiration)
+                .signWith(SignatureAlgorithm.HS512, key)
+                .compact();
     }
-}
\ No newline at end of file
+}
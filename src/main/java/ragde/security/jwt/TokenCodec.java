@@ -0,0 +1,32 @@
+package ragde.security.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.jsonwebtoken.Claims;
+import ragde.security.pojos.LoggedUser;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Deals with the way user's info is written in tokens
+ */
+public interface TokenCodec {
+
+    /**
+     * Writes user's info as token's claims
+     *
+     * @param loggedUser loggedUser entity.
+     * @return token's claims.
+     * @throws JsonProcessingException if claims are not generated.
+     */
+    Map<String, Object> encode(LoggedUser loggedUser) throws JsonProcessingException;
+
+    /**
+     * Reads user's info from token's claims
+     *
+     * @param claims token's claims.
+     * @return LoggedUser entity or null if claims weren't written by this codec.
+     * @throws IOException if claims invalid.
+     */
+    LoggedUser decode(Claims claims) throws IOException;
+}
@@ -0,0 +1,58 @@
+package ragde.security.jwt.implementations;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+import ragde.security.jwt.TokenCodec;
+import ragde.security.pojos.LoggedUser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Writes each LoggedUser value as a short named claim, null values are omitted
+ */
+@Component
+public class CompactTokenCodec implements TokenCodec {
+
+    private static final String ID = "id";
+
+    private static final String FULL_NAME = "fn";
+
+    private static final String IMAGE = "im";
+
+    private static final String ROLE = "rl";
+
+    private static final String PERMISSIONS = "pm";
+
+    @Override
+    public Map<String, Object> encode(LoggedUser loggedUser) {
+        Map<String, Object> claims = new HashMap<>();
+        // id is always present, so these claims could be told apart from other codecs
+        claims.put(ID, loggedUser.getId());
+        put(claims, FULL_NAME, loggedUser.getFullName());
+        put(claims, IMAGE, loggedUser.getImage());
+        put(claims, ROLE, loggedUser.getRole());
+        put(claims, PERMISSIONS, loggedUser.getPermissions());
+        return claims;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public LoggedUser decode(Claims claims) {
+        if (!claims.containsKey(ID)) {
+            return null;
+        }
+
+        Collection<?> permissions = claims.get(PERMISSIONS, Collection.class);
+        return new LoggedUser(claims.get(ID, String.class), claims.get(FULL_NAME, String.class), claims.get(IMAGE, String.class),
+                claims.get(ROLE, String.class), permissions != null ? new HashSet<>((Collection<String>) permissions) : null);
+    }
+
+    private void put(Map<String, Object> claims, String name, Object value) {
+        if (value != null) {
+            claims.put(name, value);
+        }
+    }
+}
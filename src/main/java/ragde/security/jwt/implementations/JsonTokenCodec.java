@@ -0,0 +1,35 @@
+package ragde.security.jwt.implementations;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ragde.security.jwt.TokenCodec;
+import ragde.security.pojos.LoggedUser;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes the whole LoggedUser as a JSON subject (tokens created before compact claims)
+ */
+@Component
+public class JsonTokenCodec implements TokenCodec {
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Override
+    public Map<String, Object> encode(LoggedUser loggedUser) throws JsonProcessingException {
+        return Map.of(Claims.SUBJECT, mapper.writeValueAsString(loggedUser));
+    }
+
+    @Override
+    public LoggedUser decode(Claims claims) throws IOException {
+        if (claims.getSubject() == null) {
+            return null;
+        }
+        return mapper.readValue(claims.getSubject(), LoggedUser.class);
+    }
+}
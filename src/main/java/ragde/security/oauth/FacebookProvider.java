@@ -4,30 +4,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.social.facebook.connect.FacebookConnectionFactory;
 import org.springframework.social.oauth2.AccessGrant;
 import org.springframework.social.oauth2.GrantType;
-import org.springframework.social.oauth2.OAuth2Operations;
 import org.springframework.social.oauth2.OAuth2Parameters;
 import org.springframework.stereotype.Component;
-import ragde.models.AuthProvider;
-import ragde.repositories.AuthProviderRepository;
+import ragde.caches.ProviderConfigCache;
+import ragde.security.pojos.ProviderConfig;
 
 @Component
 public class FacebookProvider implements OAuthProvider {
 
-    private static OAuth2Operations oAuthOperations;
-
-    private static AuthProvider authProvider;
-
     @Autowired
-    private AuthProviderRepository authProviderRepository;
+    private ProviderConfigCache providerConfigCache;
 
     @Override
     public String getApiKey() {
-        return getAuthProvider().getAuthKey();
+        return getProviderConfig().getAuthKey();
     }
 
     @Override
     public String getApiSecret() {
-        return getAuthProvider().getAuthSecret();
+        return getProviderConfig().getAuthSecret();
     }
 
     @Override
@@ -39,28 +34,15 @@ public class FacebookProvider implements OAuthProvider {
         //oAuth2Parameters.setScope("email,user_birthday,user_gender");
         oAuth2Parameters.setScope("email");
         oAuth2Parameters.setState(state);
-        return getOAuthOperations().buildAuthorizeUrl(GrantType.AUTHORIZATION_CODE, oAuth2Parameters);
+        return getProviderConfig().getOAuthOperations().buildAuthorizeUrl(GrantType.AUTHORIZATION_CODE, oAuth2Parameters);
     }
 
     @Override
     public AccessGrant getAccessGrant(String callback, String authorizationCode) {
-        return getOAuthOperations().exchangeForAccess(authorizationCode, callback, null);
-    }
-
-    private OAuth2Operations getOAuthOperations() {
-        if (oAuthOperations == null) {
-            FacebookConnectionFactory connectionFactory = new FacebookConnectionFactory(getApiKey(), getApiSecret());
-            oAuthOperations = connectionFactory.getOAuthOperations();
-        }
-
-        return oAuthOperations;
+        return getProviderConfig().getOAuthOperations().exchangeForAccess(authorizationCode, callback, null);
     }
 
-    private AuthProvider getAuthProvider() {
-        if (authProvider == null) {
-            authProvider = authProviderRepository.findByName("FACEBOOK");
-        }
-
-        return authProvider;
+    private ProviderConfig getProviderConfig() {
+        return providerConfigCache.get("FACEBOOK", authProvider -> new FacebookConnectionFactory(authProvider.getAuthKey(), authProvider.getAuthSecret()));
     }
 }
\ No newline at end of file
@@ -4,30 +4,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.social.google.connect.GoogleConnectionFactory;
 import org.springframework.social.oauth2.AccessGrant;
 import org.springframework.social.oauth2.GrantType;
-import org.springframework.social.oauth2.OAuth2Operations;
 import org.springframework.social.oauth2.OAuth2Parameters;
 import org.springframework.stereotype.Component;
-import ragde.models.AuthProvider;
-import ragde.repositories.AuthProviderRepository;
+import ragde.caches.ProviderConfigCache;
+import ragde.security.pojos.ProviderConfig;
 
 @Component
 public class GoogleProvider implements OAuthProvider {
 
-    private static OAuth2Operations oAuthOperations;
-
-    private static AuthProvider authProvider;
-
     @Autowired
-    private AuthProviderRepository authProviderRepository;
+    private ProviderConfigCache providerConfigCache;
 
     @Override
     public String getApiKey() {
-        return getAuthProvider().getAuthKey();
+        return getProviderConfig().getAuthKey();
     }
 
     @Override
     public String getApiSecret() {
-        return getAuthProvider().getAuthSecret();
+        return getProviderConfig().getAuthSecret();
     }
 
     @Override
@@ -36,28 +31,15 @@ public class GoogleProvider implements OAuthProvider {
         oAuth2Parameters.setRedirectUri(callback);
         oAuth2Parameters.setScope("https://www.googleapis.com/auth/userinfo.profile https://www.googleapis.com/auth/userinfo.email");
         oAuth2Parameters.setState(state);
-        return getOAuthOperations().buildAuthorizeUrl(GrantType.AUTHORIZATION_CODE, oAuth2Parameters);
+        return getProviderConfig().getOAuthOperations().buildAuthorizeUrl(GrantType.AUTHORIZATION_CODE, oAuth2Parameters);
     }
 
     @Override
     public AccessGrant getAccessGrant(String callback, String authorizationCode) {
-        return getOAuthOperations().exchangeForAccess(authorizationCode, callback, null);
-    }
-
-    private OAuth2Operations getOAuthOperations() {
-        if (oAuthOperations == null) {
-            GoogleConnectionFactory connectionFactory = new GoogleConnectionFactory(getApiKey(), getApiSecret());
-            oAuthOperations = connectionFactory.getOAuthOperations();
-        }
-
-        return oAuthOperations;
+        return getProviderConfig().getOAuthOperations().exchangeForAccess(authorizationCode, callback, null);
     }
 
-    private AuthProvider getAuthProvider() {
-        if (authProvider == null) {
-            authProvider = authProviderRepository.findByName("GOOGLE");
-        }
-
-        return authProvider;
+    private ProviderConfig getProviderConfig() {
+        return providerConfigCache.get("GOOGLE", authProvider -> new GoogleConnectionFactory(authProvider.getAuthKey(), authProvider.getAuthSecret()));
     }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package ragde.security.pojos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.leangen.graphql.annotations.GraphQLIgnore;
 import io.leangen.graphql.annotations.types.GraphQLType;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Date;
 import java.util.Set;
 
 /**
@@ -36,6 +39,11 @@ public class LoggedUser {
     @Setter
     private Set<String> permissions;
 
+    // token's expiration time, it isn't part of the token's subject
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private Date expiration;
+
     /**
      * Create an instance
      *
@@ -62,4 +70,10 @@ public class LoggedUser {
         this.role = role;
         this.permissions = permissions;
     }
-}
\ No newline at end of file
+
+    @JsonIgnore
+    @GraphQLIgnore
+    public Date getExpiration() {
+        return expiration;
+    }
+}
@@ -0,0 +1,32 @@
+package ragde.security.pojos;
+
+import lombok.Getter;
+import org.springframework.social.oauth2.OAuth2Operations;
+
+/**
+ * OAuth Provider's keys and the operations built with them
+ */
+public class ProviderConfig {
+
+    @Getter
+    private final String authKey;
+
+    @Getter
+    private final String authSecret;
+
+    @Getter
+    private final OAuth2Operations oAuthOperations;
+
+    /**
+     * Create an instance
+     *
+     * @param authKey         provider's Api Key
+     * @param authSecret      provider's Api Secret
+     * @param oAuthOperations operations built with authKey and authSecret
+     */
+    public ProviderConfig(String authKey, String authSecret, OAuth2Operations oAuthOperations) {
+        this.authKey = authKey;
+        this.authSecret = authSecret;
+        this.oAuthOperations = oAuthOperations;
+    }
+}
@@ -19,6 +19,15 @@ public interface TokenService {
      */
     String createToken(LoggedUser loggedUser) throws JsonProcessingException;
 
+    /**
+     * Creates user's token and gets the user info it contains without parsing it again
+     *
+     * @param loggedUser loggedUser entity.
+     * @return LoggedUser entity as getLoggedUser returns it for the generated token, including the token, or null if token is not generated.
+     * @throws JsonProcessingException if token is not generated.
+     */
+    LoggedUser createLoggedUser(LoggedUser loggedUser) throws JsonProcessingException;
+
     /**
      * Refreshes token's expiration time
      *
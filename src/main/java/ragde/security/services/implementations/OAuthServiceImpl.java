@@ -15,6 +15,7 @@ import ragde.repositories.AuthProviderRepository;
 import ragde.repositories.AuthenticationRepository;
 import ragde.repositories.PersonRepository;
 import ragde.repositories.RoleRepository;
+import ragde.search.PersonSearchIndex;
 import ragde.security.factories.LoggedUserFactory;
 import ragde.security.pojos.LoggedUser;
 import ragde.security.services.OAuthService;
@@ -24,6 +25,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
 @Service
@@ -44,6 +46,9 @@ public class OAuthServiceImpl implements OAuthService {
     @Autowired
     private LoggedUserFactory loggedUserFactory;
 
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
     @Override
     @Transactional
     public LoggedUser parseFacebookUser(FacebookTemplate template) {
@@ -157,6 +162,8 @@ public class OAuthServiceImpl implements OAuthService {
         Role role = roleRepository.findByName("USER");
         Person person = new Person(firstName, lastName, birthday, civilStatus, sex, email, Set.of(role));
 
-        return personRepository.save(person);
+        Person saved = personRepository.save(person);
+        personSearchIndex.index(List.of(saved));
+        return saved;
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import io.leangen.graphql.annotations.GraphQLQuery;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,13 @@ import java.io.IOException;
 @Service
 public class SecurityServiceImpl implements SecurityService {
 
+    @Value("${jwt.expiration}")
+    private Integer expirationTime;
+
+    // fraction of token's lifetime that must pass before ping creates a new token (0 creates a new token on every ping)
+    @Value("${jwt.renewal:0}")
+    private Double renewal;
+
     @Autowired
     private AuthenticationRepository authenticationRepository;
 
@@ -52,9 +60,7 @@ public class SecurityServiceImpl implements SecurityService {
         }
 
         LoggedUser loggedUser = loggedUserFactory.loggedUser(authentication.getPerson());
-        String token = tokenService.createToken(loggedUser);
-        loggedUser = tokenService.getLoggedUser(token);
-        loggedUser.setToken(token);
+        loggedUser = tokenService.createLoggedUser(loggedUser);
 
         return loggedUser;
     }
@@ -62,16 +68,15 @@ public class SecurityServiceImpl implements SecurityService {
     @Override
     @GraphQLQuery(name = "changeRole", description = "Switch to another user's role")
     public LoggedUser changeRole(@GraphQLNonNull @GraphQLArgument(name = "roleId", description = "New Role's ID") String roleId) throws IOException {
-        LoggedUser loggedUser = getLoggedUser();
+        // only the principal is needed, so a token isn't created as ping does
+        LoggedUser loggedUser = getPrincipal();
         if (loggedUser == null) {
             throw new RagdeValidationException("There isn't any logged user.");
         }
 
         Person person = personRepository.findById(loggedUser.getId()).orElse(null);
         loggedUser = loggedUserFactory.loggedUser(person, roleId);
-        String token = tokenService.createToken(loggedUser);
-        loggedUser = tokenService.getLoggedUser(token);
-        loggedUser.setToken(token);
+        loggedUser = tokenService.createLoggedUser(loggedUser);
 
         return loggedUser;
     }
@@ -80,8 +85,13 @@ public class SecurityServiceImpl implements SecurityService {
     @GraphQLQuery(name = "ping", description = "Ping with server to refresh token")
     public LoggedUser getLoggedUser() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            LoggedUser loggedUser = (LoggedUser) authentication.getPrincipal();
+            LoggedUser loggedUser = getPrincipal();
+            if (loggedUser == null || !isRenewable(loggedUser)) {
+                // keep the requested token
+                return loggedUser;
+            }
+
+            loggedUser.setToken(null);
             String newToken = tokenService.createToken(loggedUser);
             loggedUser.setToken(newToken);
             return loggedUser;
@@ -94,4 +104,32 @@ public class SecurityServiceImpl implements SecurityService {
     public String hashValue(String value) {
         return DigestUtils.sha512Hex(value);
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the user authenticated in the current context
+     *
+     * @return LoggedUser entity or null if there isn't any logged user
+     */
+    private LoggedUser getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof LoggedUser)) {
+            return null;
+        }
+        return (LoggedUser) authentication.getPrincipal();
+    }
+
+    /**
+     * Checks if user's token has passed the renewal fraction of its lifetime
+     *
+     * @param loggedUser user with the requested token
+     * @return true if a new token must be created
+     */
+    private boolean isRenewable(LoggedUser loggedUser) {
+        if (loggedUser.getToken() == null || loggedUser.getExpiration() == null) {
+            return true;
+        }
+
+        long remaining = loggedUser.getExpiration().getTime() - System.currentTimeMillis();
+        return remaining <= expirationTime * (1 - renewal);
+    }
+}
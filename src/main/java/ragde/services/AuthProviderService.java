@@ -1,10 +1,15 @@
 package ragde.services;
 
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.springframework.validation.annotation.Validated;
 import ragde.models.AuthProvider;
 import ragde.models.Authentication;
 
+import javax.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+@Validated
 public interface AuthProviderService {
 
     /**
@@ -14,11 +19,20 @@ public interface AuthProviderService {
      */
     List<AuthProvider> findAll();
 
+    /**
+     * Update an entity, OAuth providers use its new keys once it's committed.
+     *
+     * @param entity entity to be updated.
+     * @return the entity updated.
+     */
+    AuthProvider update(@Valid AuthProvider entity);
+
     /**
      * GraphQL function to load Provider's Authentications (only needed with mongo or jpa which doesn't implement bi-directional relationship)
      *
      * @param authProvider provider where related data is loaded
+     * @param environment  GraphQL resolution environment used to batch the load with a DataLoader
      * @return Provider's Authentications list
      */
-    List<Authentication> getAuthentications(AuthProvider authProvider);
+    CompletableFuture<List<Authentication>> getAuthentications(AuthProvider authProvider, ResolutionEnvironment environment);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ragde.services;
+
+import ragde.pojos.requests.ImportRow;
+import ragde.pojos.responses.ImportProgress;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface ImportService {
+
+    /**
+     * Import people from rows with Person's values (name, lastName, birthday, civilStatus, sex and email), rows with username
+     * and password also create the person's LOCAL authentication. Rows are validated in parallel and written in chunks,
+     * each chunk in its own transaction, invalid rows are skipped.
+     *
+     * @param rows     rows to be imported, next rows aren't read until the previous chunk is written.
+     * @param progress function that receives the progress each time a chunk is written.
+     */
+    void importPeople(Iterator<ImportRow> rows, Consumer<ImportProgress> progress);
+}
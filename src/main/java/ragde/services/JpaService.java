@@ -3,10 +3,15 @@ package ragde.services;
 import org.springframework.data.domain.Page;
 import org.springframework.validation.annotation.Validated;
 import ragde.models.Model;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Basic operations for all JPA services
@@ -53,6 +58,30 @@ public interface JpaService<T extends Model> {
      */
     T delete(String id);
 
+    /**
+     * Create several entities in one transaction, invalid entities are skipped.
+     *
+     * @param entities entities to be created.
+     * @return one result by entity (the entity created or why it wasn't valid) in the same order.
+     */
+    List<BulkResult<T>> saveAll(List<T> entities);
+
+    /**
+     * Update several entities in one transaction, invalid entities are skipped.
+     *
+     * @param entities entities to be updated.
+     * @return one result by entity (the entity updated or why it wasn't valid) in the same order.
+     */
+    List<BulkResult<T>> updateAll(List<T> entities);
+
+    /**
+     * Delete several entities in one transaction, entities that can't be deleted are skipped.
+     *
+     * @param ids entities ids to be deleted.
+     * @return one result by id (the entity deleted or why it couldn't be deleted) in the same order.
+     */
+    List<BulkResult<T>> deleteAll(List<String> ids);
+
     /**
      * Retrieves all requested entities.
      *
@@ -60,4 +89,28 @@ public interface JpaService<T extends Model> {
      * @return list of entities with metadata.
      */
     Page<T> page(@Valid PageDataRequest pageDataRequest);
+
+    /**
+     * Retrieves all requested entities without total values.
+     *
+     * @param pageDataRequest Page data.
+     * @return list of entities with hasNext metadata.
+     */
+    PageSlice<T> pageSlice(@Valid PageDataRequest pageDataRequest);
+
+    /**
+     * Retrieves the requested entities after or before a cursor.
+     *
+     * @param pageDataRequest Page data with after or before cursor.
+     * @return list of entities with their cursors.
+     */
+    CursorPage<T> cursorPage(@Valid PageDataRequest pageDataRequest);
+
+    /**
+     * Read one by one all entities matching the filters, entities aren't kept in memory once consumed.
+     *
+     * @param filters  filters to be performed (could be null).
+     * @param consumer function that receives each entity.
+     */
+    void export(@Valid List<FilterRequest> filters, Consumer<T> consumer);
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package ragde.services;
 
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import ragde.models.Permission;
 import ragde.models.Role;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PermissionService extends JpaService<Permission> {
 
@@ -18,8 +20,9 @@ public interface PermissionService extends JpaService<Permission> {
     /**
      * GraphQL function to load Permission's Roles (only needed with mongo or jpa which doesn't implement bi-directional relationship)
      *
-     * @param permission permission where related data is loaded
+     * @param permission  permission where related data is loaded
+     * @param environment GraphQL resolution environment used to batch the load with a DataLoader
      * @return Permission's Roles list
      */
-    List<Role> getRoles(Permission permission);
+    CompletableFuture<List<Role>> getRoles(Permission permission, ResolutionEnvironment environment);
 }
\ No newline at end of file
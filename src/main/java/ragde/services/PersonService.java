@@ -1,17 +1,29 @@
 package ragde.services;
 
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import ragde.exceptions.RagdeValidationException;
 import ragde.models.Authentication;
 import ragde.models.Person;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PersonService extends JpaService<Person> {
 
     /**
      * GraphQL function to load Person's Authentications (only needed with mongo or jpa which doesn't implement bi-directional relationship)
      *
-     * @param person person where related data is loaded
+     * @param person      person where related data is loaded
+     * @param environment GraphQL resolution environment used to batch the load with a DataLoader
      * @return Person's Authentications list
      */
-    List<Authentication> getAuthentications(Person person);
-}
\ No newline at end of file
+    CompletableFuture<List<Authentication>> getAuthentications(Person person, ResolutionEnvironment environment);
+
+    /**
+     * Validates data integrity that bean validation doesn't cover (allowed civil status and sex values)
+     *
+     * @param person entity to be validated
+     * @throws RagdeValidationException if some value isn't allowed
+     */
+    void validateData(Person person) throws RagdeValidationException;
+}
@@ -1,9 +1,11 @@
 package ragde.services;
 
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import ragde.models.Person;
 import ragde.models.Role;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface RoleService extends JpaService<Role> {
 
@@ -18,8 +20,9 @@ public interface RoleService extends JpaService<Role> {
     /**
      * GraphQL function to load Role's People (only needed with mongo or jpa which doesn't implement bi-directional relationship)
      *
-     * @param role role where related data is loaded
+     * @param role        role where related data is loaded
+     * @param environment GraphQL resolution environment used to batch the load with a DataLoader
      * @return Role's People list
      */
-    List<Person> getPeople(Role role);
+    CompletableFuture<List<Person>> getPeople(Role role, ResolutionEnvironment environment);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ragde.services.executor;
+
+import ragde.models.Model;
+import ragde.pojos.responses.BulkResult;
+
+import java.util.List;
+import java.util.function.Function;
+
+public interface BulkExecutor {
+
+    /**
+     * Validate all items and write the valid ones at once in the current transaction, invalid items are skipped.
+     * No statement is sent while items are validated, so the write is flushed at the end in JDBC batches
+     *
+     * @param items     entities or ids requested
+     * @param validator function that validates an item and returns the entity to be written, it throws RagdeException when item isn't valid
+     * @param writer    function that writes the valid entities and returns them in the same order
+     * @param <I>       item type
+     * @param <T>       entity type
+     * @return one result by item in the same order
+     */
+    <I, T extends Model> List<BulkResult<T>> execute(List<I> items, Function<I, T> validator, Function<List<T>, List<T>> writer);
+}
@@ -0,0 +1,92 @@
+package ragde.services.executor.implementations;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ragde.exceptions.RagdeException;
+import ragde.exceptions.RagdeValidationException;
+import ragde.models.Model;
+import ragde.pojos.responses.BulkResult;
+import ragde.pojos.responses.error.nesteds.NestedError;
+import ragde.pojos.responses.error.nesteds.ValidationNestedError;
+import ragde.services.executor.BulkExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class BulkExecutorImpl implements BulkExecutor {
+
+    // max items of one bulk mutation
+    @Value("${bulk.max-size:1000}")
+    private int MAX_SIZE;
+
+    @Autowired
+    private Validator beanValidator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <I, T extends Model> List<BulkResult<T>> execute(List<I> items, Function<I, T> validator, Function<List<T>, List<T>> writer) {
+        if (items.size() > MAX_SIZE) {
+            throw new RagdeValidationException("Bulk mutations allow up to " + MAX_SIZE + " items.");
+        }
+
+        // null means the item at that position is valid
+        List<BulkResult<T>> errors = new ArrayList<>();
+        List<T> entities = new ArrayList<>();
+        for (I item : items) {
+            try {
+                validateConstraints(item);
+                entities.add(validator.apply(item));
+                errors.add(null);
+            } catch (RagdeException e) {
+                errors.add(new BulkResult<>(e.getMessage(), getValidationErrors(e.getNestedErrors())));
+            }
+        }
+
+        Iterator<T> written = (entities.isEmpty() ? entities : writer.apply(entities)).iterator();
+        entityManager.flush();
+        return errors.stream().map(error -> error != null ? error : new BulkResult<>(written.next())).collect(Collectors.toList());
+    }
+
+    /**
+     * Validate entity's constraints (the same as @Valid in single mutations), ids aren't validated
+     *
+     * @param item entity or id requested
+     * @throws RagdeValidationException if some constraint is violated
+     */
+    private void validateConstraints(Object item) throws RagdeValidationException {
+        if (item == null) {
+            throw new RagdeValidationException("Item can't be null.");
+        }
+
+        if (item instanceof Model) {
+            List<NestedError> nestedErrors = beanValidator.validate(item).stream()
+                    .map(violation -> new ValidationNestedError(violation.getPropertyPath().toString(), violation.getMessage()))
+                    .collect(Collectors.toList());
+            if (!nestedErrors.isEmpty()) {
+                throw new RagdeValidationException("Some data aren't valid.", nestedErrors);
+            }
+        }
+    }
+
+    /**
+     * Keep field's errors
+     *
+     * @param nestedErrors exception's nested errors
+     * @return validation errors or null if there aren't
+     */
+    private List<ValidationNestedError> getValidationErrors(List<NestedError> nestedErrors) {
+        if (nestedErrors == null) {
+            return null;
+        }
+
+        return nestedErrors.stream().filter(ValidationNestedError.class::isInstance).map(ValidationNestedError.class::cast).collect(Collectors.toList());
+    }
+}
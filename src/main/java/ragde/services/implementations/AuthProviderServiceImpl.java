@@ -1,11 +1,18 @@
 package ragde.services.implementations;
 
-import io.leangen.graphql.annotations.GraphQLContext;
-import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.annotations.*;
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ragde.caches.ProviderConfigCache;
+import ragde.caches.SecondLevelCache;
+import ragde.exceptions.RagdeDontFoundException;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.AuthProvider;
 import ragde.models.Authentication;
 import ragde.repositories.AuthProviderRepository;
@@ -13,6 +20,7 @@ import ragde.repositories.AuthenticationRepository;
 import ragde.services.AuthProviderService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @GraphQLApi
 @Service
@@ -24,6 +32,12 @@ public class AuthProviderServiceImpl implements AuthProviderService {
     @Autowired
     private AuthenticationRepository authenticationRepository;
 
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private ProviderConfigCache providerConfigCache;
+
     @Override
     @PreAuthorize("hasRole('CREATE_USERS')")
     @GraphQLQuery(name = "authProviders", description = "Find all authentication providers")
@@ -31,14 +45,36 @@ public class AuthProviderServiceImpl implements AuthProviderService {
         return authProviderRepository.findAll();
     }
 
+    @Override
+    @Transactional
+    // it changes the OAuth client key and secret of the application, so only admins can do it
+    @PreAuthorize("hasRole(T(ragde.security.WebSecurityConfig).ADMIN_PERMISSION)")
+    @GraphQLMutation(name = "updateAuthProvider", description = "Update an authentication provider")
+    public AuthProvider update(@GraphQLNonNull @GraphQLArgument(name = "authProvider", description = "Provider's new values") AuthProvider authProvider) {
+        AuthProvider original = authProviderRepository.findById(authProvider.getId()).orElseThrow(() -> new RagdeDontFoundException("Data don't found."));
+        original.setDescription(authProvider.getDescription());
+        original.setAuthKey(authProvider.getAuthKey());
+        original.setAuthSecret(authProvider.getAuthSecret());
+
+        secondLevelCache.evict(AuthProvider.class);
+        providerConfigCache.evict(original.getName());
+        return authProviderRepository.save(original);
+    }
+
     @Override
     @PreAuthorize("hasRole('CREATE_USERS')")
     @GraphQLQuery(name = "authentications", description = "Authentications where this Provider is present")
-    public List<Authentication> getAuthentications(@GraphQLContext AuthProvider authProvider) {
+    public CompletableFuture<List<Authentication>> getAuthentications(@GraphQLContext AuthProvider authProvider, @GraphQLEnvironment ResolutionEnvironment environment) {
+        // batch the load when the relation isn't loaded yet (null with mongo, lazy collection with jpa)
+        DataLoader<String, List<Authentication>> dataLoader = CustomDataLoaderRegistryFactory.getDataLoader(environment, CustomDataLoaderRegistryFactory.AUTH_PROVIDER_AUTHENTICATIONS);
+        if (dataLoader != null && authProvider.getId() != null && (authProvider.getAuthentications() == null || !Hibernate.isInitialized(authProvider.getAuthentications()))) {
+            return dataLoader.load(authProvider.getId());
+        }
+
         if (authProvider.getAuthentications() == null) {
             authProvider.setAuthentications(authenticationRepository.findByAuthProvider(authProvider));
         }
 
-        return authProvider.getAuthentications();
+        return CompletableFuture.completedFuture(authProvider.getAuthentications());
     }
 }
\ No newline at end of file
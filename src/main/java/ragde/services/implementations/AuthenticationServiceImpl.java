@@ -7,18 +7,28 @@ import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ragde.caches.PageCache;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
 import ragde.models.AuthProvider;
 import ragde.models.Authentication;
 import ragde.models.Person;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.repositories.AuthProviderRepository;
 import ragde.repositories.AuthenticationRepository;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
 import ragde.security.services.SecurityService;
 import ragde.services.AuthenticationService;
+import ragde.services.executor.BulkExecutor;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @GraphQLApi
 @Service
@@ -33,6 +43,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Autowired
     private SecurityService securityService;
 
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private BulkExecutor bulkExecutor;
+
+    @Autowired
+    private ConditionalUpdateExecutor conditionalUpdateExecutor;
+
     @Override
     @PreAuthorize("hasRole('VIEW_USERS')")
     @GraphQLQuery(name = "authentications", description = "Find all authentications")
@@ -67,22 +86,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @PreAuthorize("hasRole('CREATE_USERS')")
     @GraphQLMutation(name = "createAuthentication", description = "Create a new authentication")
     public Authentication save(@GraphQLNonNull @GraphQLArgument(name = "authentication", description = "New authentication") Authentication authentication) {
-        if (authentication.getPassword() == null) {
-            throw new RagdeValidationException("Password can't not be null.");
-        }
-
-        if (findByUsername(authentication.getUsername()) != null) {
-            throw new RagdeValidationException("Username '" + authentication.getUsername() + "' is already used by another user.");
-        }
-
         // this service only can save with "LOCAL" Provider
-        authentication.setAuthProvider(authProviderRepository.findByName("LOCAL"));
-        Authentication duplicated = findByAuthProviderAndPerson(authentication.getAuthProvider(), authentication.getPerson());
-        if (duplicated != null) {
-            throw new RagdeValidationException("'" + duplicated.getPerson().getFullName() + "' already has an Authorization with provider '" + duplicated.getAuthProvider().getName() + "'.");
-        }
-
-        authentication.setPassword(securityService.hashValue(authentication.getPassword()));
+        validateNew(authentication, authProviderRepository.findByName("LOCAL"));
         return authenticationRepository.save(authentication);
     }
 
@@ -91,13 +96,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @PreAuthorize("hasRole('CREATE_USERS')")
     @GraphQLMutation(name = "updateAuthentication", description = "Update an authentication")
     public Authentication update(@GraphQLNonNull @GraphQLArgument(name = "authentication", description = "Authentication's new values") Authentication authentication) {
-        if (authentication.getPassword() == null) {
-            throw new RagdeValidationException("Password can't not be null.");
-        }
-
-        Authentication original = findById(authentication.getId());
-        original.setPassword(securityService.hashValue(authentication.getPassword()));
-        return authenticationRepository.save(original);
+        validatePassword(authentication);
+        authentication.setPassword(securityService.hashValue(authentication.getPassword()));
+        return authenticationRepository.update(authentication, "password");
     }
 
     @Override
@@ -110,10 +111,144 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         return authentication;
     }
 
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_USERS')")
+    @GraphQLMutation(name = "createAuthentications", description = "Create several authentications in one transaction")
+    public List<BulkResult<Authentication>> saveAll(@GraphQLNonNull @GraphQLArgument(name = "authentications", description = "New authentications") List<Authentication> authentications) {
+        // this service only can save with "LOCAL" Provider, usernames and people must be unique inside the request too
+        AuthProvider local = authProviderRepository.findByName("LOCAL");
+        Set<String> usernames = new HashSet<>();
+        Set<String> people = new HashSet<>();
+        List<BulkResult<Authentication>> results = bulkExecutor.execute(authentications, authentication -> {
+            validatePassword(authentication);
+            if (!usernames.add(authentication.getUsername())) {
+                throw new RagdeValidationException("Username '" + authentication.getUsername() + "' is already used by another user.");
+            }
+
+            if (authentication.getPerson() != null && !people.add(authentication.getPerson().getId())) {
+                throw new RagdeValidationException("Person '" + authentication.getPerson().getId() + "' already has an Authorization with provider 'LOCAL'.");
+            }
+
+            validateNew(authentication, local);
+            return authentication;
+        }, authenticationRepository::saveAll);
+
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_USERS')")
+    @GraphQLMutation(name = "updateAuthentications", description = "Update several authentications in one transaction")
+    public List<BulkResult<Authentication>> updateAll(@GraphQLNonNull @GraphQLArgument(name = "authentications", description = "Authentications' new values") List<Authentication> authentications) {
+        Map<String, Authentication> originals = findAllById(authentications.stream().filter(Objects::nonNull).map(Authentication::getId).collect(Collectors.toList()));
+        List<BulkResult<Authentication>> results = bulkExecutor.execute(authentications, authentication -> {
+            validatePassword(authentication);
+            Authentication original = originals.get(authentication.getId());
+            if (original == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+            conditionalUpdateExecutor.checkVersion(authentication, original);
+
+            original.setPassword(securityService.hashValue(authentication.getPassword()));
+            return original;
+        }, authenticationRepository::saveAll);
+
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('REMOVE_USERS')")
+    @GraphQLMutation(name = "deleteAuthentications", description = "Delete several authentications in one transaction")
+    public List<BulkResult<Authentication>> deleteAll(@GraphQLNonNull @GraphQLArgument(name = "ids", description = "Authentications' IDs") List<@GraphQLId String> ids) {
+        Map<String, Authentication> originals = findAllById(ids);
+        List<BulkResult<Authentication>> results = bulkExecutor.execute(ids, id -> {
+            Authentication authentication = originals.get(id);
+            if (authentication == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+
+            return authentication;
+        }, authentications -> {
+            authenticationRepository.deleteAll(authentications);
+            return authentications;
+        });
+
+        return results;
+    }
+
     @Override
     @PreAuthorize("hasRole('VIEW_USERS')")
     @GraphQLQuery(name = "authenticationPage", description = "Page all authentications")
     public Page<Authentication> page(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
-        return authenticationRepository.page(pageDataRequest);
+        return pageCache.page(Authentication.class, pageDataRequest, () -> authenticationRepository.page(pageDataRequest), authenticationRepository::findAllById);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('VIEW_USERS')")
+    @GraphQLQuery(name = "authenticationSlice", description = "Page all authentications without total values")
+    public PageSlice<Authentication> pageSlice(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
+        return authenticationRepository.pageSlice(pageDataRequest);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('VIEW_USERS')")
+    @GraphQLQuery(name = "authenticationConnection", description = "Page all authentications by cursor")
+    public CursorPage<Authentication> cursorPage(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit, sort and cursor data") PageDataRequest pageDataRequest) {
+        return authenticationRepository.cursorPage(pageDataRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('VIEW_USERS')")
+    public void export(List<FilterRequest> filters, Consumer<Authentication> consumer) {
+        authenticationRepository.scroll(filters, consumer);
+    }
+
+    /**
+     * Find several authentications with one query
+     *
+     * @param ids authentications' ids
+     * @return authentications found by id
+     */
+    private Map<String, Authentication> findAllById(List<String> ids) {
+        return authenticationRepository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Authentication::getId, Function.identity()));
+    }
+
+    /**
+     * Validates that authentication has a password
+     *
+     * @param authentication entity to be saved
+     * @throws RagdeValidationException
+     */
+    private void validatePassword(Authentication authentication) throws RagdeValidationException {
+        if (authentication.getPassword() == null) {
+            throw new RagdeValidationException("Password can't not be null.");
+        }
+    }
+
+    /**
+     * Validates a new authentication and prepares it to be saved with its provider and hashed password
+     *
+     * @param authentication entity to be created
+     * @param authProvider   authentication's provider
+     * @throws RagdeValidationException
+     */
+    private void validateNew(Authentication authentication, AuthProvider authProvider) throws RagdeValidationException {
+        validatePassword(authentication);
+        if (findByUsername(authentication.getUsername()) != null) {
+            throw new RagdeValidationException("Username '" + authentication.getUsername() + "' is already used by another user.");
+        }
+
+        authentication.setAuthProvider(authProvider);
+        Authentication duplicated = findByAuthProviderAndPerson(authentication.getAuthProvider(), authentication.getPerson());
+        if (duplicated != null) {
+            throw new RagdeValidationException("'" + duplicated.getPerson().getFullName() + "' already has an Authorization with provider '" + duplicated.getAuthProvider().getName() + "'.");
+        }
+
+        authentication.setPassword(securityService.hashValue(authentication.getPassword()));
     }
-}
\ No newline at end of file
+}
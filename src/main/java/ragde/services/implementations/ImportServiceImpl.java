@@ -0,0 +1,313 @@
+package ragde.services.implementations;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ragde.exceptions.RagdeValidationException;
+import ragde.models.AuthProvider;
+import ragde.models.Authentication;
+import ragde.models.Person;
+import ragde.pojos.requests.ImportRow;
+import ragde.pojos.responses.ImportError;
+import ragde.pojos.responses.ImportProgress;
+import ragde.pojos.responses.error.nesteds.ValidationNestedError;
+import ragde.repositories.AuthProviderRepository;
+import ragde.repositories.AuthenticationRepository;
+import ragde.repositories.PersonRepository;
+import ragde.search.PersonSearchIndex;
+import ragde.security.services.SecurityService;
+import ragde.services.ImportService;
+import ragde.services.PersonService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.validation.Validator;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    // rows validated and written together, at most two chunks are in memory (one is validated while the other is written)
+    @Value("${import.chunk-size:500}")
+    private int CHUNK_SIZE;
+
+    // threads that validate rows and hash passwords
+    @Value("${import.threads:4}")
+    private int THREADS;
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
+    @Autowired
+    private Validator beanValidator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        workers = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('CREATE_USERS')")
+    public void importPeople(Iterator<ImportRow> rows, Consumer<ImportProgress> progress) {
+        AuthProvider local = authProviderRepository.findByName("LOCAL");
+        // usernames imported so far, they must be unique inside the file too
+        Set<String> usernames = new HashSet<>();
+        long processed = 0;
+        long failed = 0;
+
+        List<ImportRow> chunk = readChunk(rows);
+        CompletableFuture<List<ImportItem>> validating = validate(chunk, local);
+        while (!chunk.isEmpty()) {
+            List<ImportItem> items = validating.join();
+            // next chunk is validated while this one is written, the request isn't read further until it's done
+            chunk = readChunk(rows);
+            validating = validate(chunk, local);
+
+            List<ImportError> errors = write(items, usernames);
+            processed += items.size();
+            failed += errors.size();
+            progress.accept(new ImportProgress(processed, processed - failed, failed, errors));
+        }
+
+        if (processed == 0) {
+            progress.accept(new ImportProgress(0, 0, 0, Collections.emptyList()));
+        }
+    }
+
+    /**
+     * Read the next rows
+     *
+     * @param rows rows to be imported
+     * @return up to CHUNK_SIZE rows, empty when there aren't more rows
+     */
+    private List<ImportRow> readChunk(Iterator<ImportRow> rows) {
+        List<ImportRow> chunk = new ArrayList<>();
+        while (chunk.size() < CHUNK_SIZE && rows.hasNext()) {
+            chunk.add(rows.next());
+        }
+        return chunk;
+    }
+
+    /**
+     * Validate the rows in the worker pool
+     *
+     * @param chunk rows to be validated
+     * @param local LOCAL provider
+     * @return items in the same order as the rows
+     */
+    private CompletableFuture<List<ImportItem>> validate(List<ImportRow> chunk, AuthProvider local) {
+        List<CompletableFuture<ImportItem>> items = chunk.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> prepare(row, local), workers))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(items.toArray(new CompletableFuture[0]))
+                .thenApply(done -> items.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    /**
+     * Create the entities of a row and validate them (it doesn't use data base), the password is hashed when the row is valid
+     *
+     * @param row   row to be imported
+     * @param local LOCAL provider
+     * @return item with the entities or the error
+     */
+    private ImportItem prepare(ImportRow row, AuthProvider local) {
+        if (row.getError() != null) {
+            return new ImportItem(row, new ImportError(row.getNumber(), row.getError(), null));
+        }
+
+        Map<String, String> values = row.getValues();
+        List<ValidationNestedError> nestedErrors = new ArrayList<>();
+        Person person = new Person();
+        person.setName(values.get("name"));
+        person.setLastName(values.get("lastName"));
+        person.setBirthday(parse(values.get("birthday"), LocalDate::parse, "birthday", "must be a date (yyyy-MM-dd)", nestedErrors));
+        person.setCivilStatus(parse(values.get("civilStatus"), Integer::valueOf, "civilStatus", "must be a number", nestedErrors));
+        person.setSex(values.get("sex"));
+        person.setEmail(values.get("email"));
+        addConstraintErrors(person, nestedErrors);
+        try {
+            personService.validateData(person);
+        } catch (RagdeValidationException e) {
+            if (e.getNestedErrors() != null) {
+                e.getNestedErrors().stream().filter(ValidationNestedError.class::isInstance).map(ValidationNestedError.class::cast).forEach(nestedErrors::add);
+            }
+        }
+
+        Authentication authentication = null;
+        if (values.get("username") != null || values.get("password") != null) {
+            authentication = new Authentication(values.get("username"), values.get("password"), local, person);
+            if (authentication.getPassword() == null) {
+                nestedErrors.add(new ValidationNestedError("password", "must not be null"));
+            }
+            addConstraintErrors(authentication, nestedErrors);
+        }
+
+        if (!nestedErrors.isEmpty()) {
+            return new ImportItem(row, new ImportError(row.getNumber(), "Some data aren't valid.", nestedErrors));
+        }
+
+        if (authentication != null) {
+            authentication.setPassword(securityService.hashValue(authentication.getPassword()));
+        }
+        return new ImportItem(row, person, authentication);
+    }
+
+    /**
+     * Write the valid items in one transaction, usernames are validated against data base and the previous rows
+     *
+     * @param items     chunk items
+     * @param usernames usernames imported so far
+     * @return errors of the items that weren't written, in the same order as the rows
+     */
+    private List<ImportError> write(List<ImportItem> items, Set<String> usernames) {
+        Set<String> used = authenticationRepository.findByUsernameIn(items.stream().filter(item -> item.authentication != null)
+                .map(item -> item.authentication.getUsername()).collect(Collectors.toList())).stream()
+                .map(Authentication::getUsername).collect(Collectors.toSet());
+
+        Map<ImportItem, ImportError> errors = new LinkedHashMap<>();
+        List<ImportItem> valid = new ArrayList<>();
+        Set<String> chunkUsernames = new HashSet<>();
+        for (ImportItem item : items) {
+            if (item.error == null && item.authentication != null) {
+                String username = item.authentication.getUsername();
+                if (used.contains(username) || usernames.contains(username) || !chunkUsernames.add(username)) {
+                    item.error = new ImportError(item.row.getNumber(), "Username '" + username + "' is already used by another user.", null);
+                }
+            }
+
+            if (item.error != null) {
+                errors.put(item, item.error);
+            } else {
+                valid.add(item);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                personRepository.saveAll(valid.stream().map(item -> item.person).collect(Collectors.toList()));
+                authenticationRepository.saveAll(valid.stream().map(item -> item.authentication).filter(Objects::nonNull).collect(Collectors.toList()));
+                entityManager.flush();
+            });
+            usernames.addAll(chunkUsernames);
+            personSearchIndex.index(valid.stream().map(item -> item.person).collect(Collectors.toList()));
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            // the whole chunk is rolled back
+            logger.warn("Import chunk of " + valid.size() + " rows couldn't be written", e);
+            valid.forEach(item -> errors.put(item, new ImportError(item.row.getNumber(), "Row couldn't be written.", null)));
+        } finally {
+            // written entities aren't needed anymore
+            entityManager.clear();
+        }
+
+        return items.stream().filter(errors::containsKey).map(errors::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Parse a value, a nested error is added when it can't be parsed
+     *
+     * @param value        value to be parsed
+     * @param parser       function that parses the value
+     * @param field        field name
+     * @param message      error message
+     * @param nestedErrors errors found
+     * @return value parsed or null if it's null or invalid
+     */
+    private <T> T parse(String value, Function<String, T> parser, String field, String message, List<ValidationNestedError> nestedErrors) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return parser.apply(value);
+        } catch (DateTimeException | IllegalArgumentException e) {
+            nestedErrors.add(new ValidationNestedError(field, message));
+            return null;
+        }
+    }
+
+    /**
+     * Add entity's constraint violations, fields with an error already found are skipped
+     *
+     * @param entity       entity to be validated
+     * @param nestedErrors errors found
+     */
+    private void addConstraintErrors(Object entity, List<ValidationNestedError> nestedErrors) {
+        Set<String> fields = nestedErrors.stream().map(ValidationNestedError::getField).collect(Collectors.toSet());
+        beanValidator.validate(entity).stream()
+                .filter(violation -> !fields.contains(violation.getPropertyPath().toString()))
+                .map(violation -> new ValidationNestedError(violation.getPropertyPath().toString(), violation.getMessage()))
+                .forEach(nestedErrors::add);
+    }
+
+    /**
+     * Entities created from a row or the reason why the row isn't valid
+     */
+    private static class ImportItem {
+
+        private final ImportRow row;
+
+        private final Person person;
+
+        private final Authentication authentication;
+
+        private ImportError error;
+
+        ImportItem(ImportRow row, Person person, Authentication authentication) {
+            this.row = row;
+            this.person = person;
+            this.authentication = authentication;
+        }
+
+        ImportItem(ImportRow row, ImportError error) {
+            this(row, null, null);
+            this.error = error;
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package ragde.services.implementations;
 
 import io.leangen.graphql.annotations.*;
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ragde.caches.PageCache;
+import ragde.caches.SecondLevelCache;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.Permission;
 import ragde.models.Role;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.repositories.PermissionRepository;
 import ragde.repositories.RoleRepository;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
 import ragde.services.PermissionService;
+import ragde.services.executor.BulkExecutor;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @GraphQLApi
 @Service
@@ -28,6 +44,18 @@ public class PermissionServiceImpl implements PermissionService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private BulkExecutor bulkExecutor;
+
+    @Autowired
+    private ConditionalUpdateExecutor conditionalUpdateExecutor;
+
     @Override
     @PreAuthorize("hasRole('VIEW_ROLES')")
     @GraphQLQuery(name = "permissions", description = "Find all permissions")
@@ -54,10 +82,9 @@ public class PermissionServiceImpl implements PermissionService {
     @PreAuthorize("hasRole('CREATE_ROLES')")
     @GraphQLMutation(name = "createPermission", description = "Create a new permission")
     public Permission save(@GraphQLNonNull @GraphQLArgument(name = "permission", description = "New permission") Permission permission) {
-        if (findByName(permission.getName()) != null) {
-            throw new RagdeValidationException("Permission name '" + permission.getName() + "' is already used.");
-        }
+        validateName(permission);
 
+        secondLevelCache.evict(Permission.class);
         return permissionRepository.save(permission);
     }
 
@@ -67,8 +94,10 @@ public class PermissionServiceImpl implements PermissionService {
     @GraphQLMutation(name = "updatePermission", description = "Update a permission")
     public Permission update(@GraphQLNonNull @GraphQLArgument(name = "permission", description = "Permission's new values") Permission permission) {
         Permission original = findById(permission.getId());
-        original.setDescription(permission.getDescription());
+        conditionalUpdateExecutor.checkVersion(permission, original);
+        setValues(original, permission);
 
+        secondLevelCache.evict(Permission.class);
         return permissionRepository.save(original);
     }
 
@@ -78,29 +107,164 @@ public class PermissionServiceImpl implements PermissionService {
     @GraphQLMutation(name = "deletePermission", description = "Delete a permission")
     public Permission delete(@GraphQLId @GraphQLNonNull @GraphQLArgument(name = "id", description = "Permission's ID") String id) {
         Permission permission = findById(id);
-        if (permission.getRoles() != null && !permission.getRoles().isEmpty()) {
-            throw new RagdeValidationException("There are some roles using the Permission '" + permission.getName() + "'.");
-        }
+        validateDelete(permission);
 
         permissionRepository.delete(permission);
+        secondLevelCache.evict(Permission.class);
         return permission;
     }
 
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_ROLES')")
+    @GraphQLMutation(name = "createPermissions", description = "Create several permissions in one transaction")
+    public List<BulkResult<Permission>> saveAll(@GraphQLNonNull @GraphQLArgument(name = "permissions", description = "New permissions") List<Permission> permissions) {
+        // names must be unique inside the request too
+        Set<String> names = new HashSet<>();
+        List<BulkResult<Permission>> results = bulkExecutor.execute(permissions, permission -> {
+            if (!names.add(permission.getName())) {
+                throw new RagdeValidationException("Permission name '" + permission.getName() + "' is already used.");
+            }
+
+            validateName(permission);
+            return permission;
+        }, permissionRepository::saveAll);
+
+        secondLevelCache.evict(Permission.class);
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_ROLES')")
+    @GraphQLMutation(name = "updatePermissions", description = "Update several permissions in one transaction")
+    public List<BulkResult<Permission>> updateAll(@GraphQLNonNull @GraphQLArgument(name = "permissions", description = "Permissions' new values") List<Permission> permissions) {
+        Map<String, Permission> originals = findAllById(permissions.stream().filter(Objects::nonNull).map(Permission::getId).collect(Collectors.toList()));
+        List<BulkResult<Permission>> results = bulkExecutor.execute(permissions, permission -> {
+            Permission original = originals.get(permission.getId());
+            if (original == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+            conditionalUpdateExecutor.checkVersion(permission, original);
+
+            setValues(original, permission);
+            return original;
+        }, permissionRepository::saveAll);
+
+        secondLevelCache.evict(Permission.class);
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('REMOVE_ROLES')")
+    @GraphQLMutation(name = "deletePermissions", description = "Delete several permissions in one transaction")
+    public List<BulkResult<Permission>> deleteAll(@GraphQLNonNull @GraphQLArgument(name = "ids", description = "Permissions' IDs") List<@GraphQLId String> ids) {
+        Map<String, Permission> originals = findAllById(ids);
+        List<BulkResult<Permission>> results = bulkExecutor.execute(ids, id -> {
+            Permission permission = originals.get(id);
+            if (permission == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+
+            validateDelete(permission);
+            return permission;
+        }, permissions -> {
+            permissionRepository.deleteAll(permissions);
+            return permissions;
+        });
+
+        secondLevelCache.evict(Permission.class);
+        return results;
+    }
+
     @Override
     @PreAuthorize("hasRole('VIEW_ROLES')")
     @GraphQLQuery(name = "permissionPage", description = "Page all permissions")
     public Page<Permission> page(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
-        return permissionRepository.page(pageDataRequest);
+        return pageCache.page(Permission.class, pageDataRequest, () -> permissionRepository.page(pageDataRequest), permissionRepository::findAllById);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('VIEW_ROLES')")
+    @GraphQLQuery(name = "permissionSlice", description = "Page all permissions without total values")
+    public PageSlice<Permission> pageSlice(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
+        return permissionRepository.pageSlice(pageDataRequest);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('VIEW_ROLES')")
+    @GraphQLQuery(name = "permissionConnection", description = "Page all permissions by cursor")
+    public CursorPage<Permission> cursorPage(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit, sort and cursor data") PageDataRequest pageDataRequest) {
+        return permissionRepository.cursorPage(pageDataRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('VIEW_ROLES')")
+    public void export(List<FilterRequest> filters, Consumer<Permission> consumer) {
+        permissionRepository.scroll(filters, consumer);
     }
 
     @Override
     @PreAuthorize("hasRole('VIEW_ROLES')")
     @GraphQLQuery(name = "roles", description = "Roles where this Permission is present")
-    public List<Role> getRoles(@GraphQLContext Permission permission) {
+    public CompletableFuture<List<Role>> getRoles(@GraphQLContext Permission permission, @GraphQLEnvironment ResolutionEnvironment environment) {
+        // batch the load when the relation isn't loaded yet (null with mongo, lazy collection with jpa)
+        DataLoader<String, List<Role>> dataLoader = CustomDataLoaderRegistryFactory.getDataLoader(environment, CustomDataLoaderRegistryFactory.PERMISSION_ROLES);
+        if (dataLoader != null && permission.getId() != null && (permission.getRoles() == null || !Hibernate.isInitialized(permission.getRoles()))) {
+            return dataLoader.load(permission.getId());
+        }
+
         if (permission.getRoles() == null) {
             permission.setRoles(roleRepository.findByPermissions(permission));
         }
 
-        return permission.getRoles();
+        return CompletableFuture.completedFuture(permission.getRoles());
+    }
+
+    /**
+     * Find several permissions with one query
+     *
+     * @param ids permissions' ids
+     * @return permissions found by id
+     */
+    private Map<String, Permission> findAllById(List<String> ids) {
+        return permissionRepository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Permission::getId, Function.identity()));
+    }
+
+    /**
+     * Validates that permission's name isn't used
+     *
+     * @param permission entity to be created
+     * @throws RagdeValidationException
+     */
+    private void validateName(Permission permission) throws RagdeValidationException {
+        if (findByName(permission.getName()) != null) {
+            throw new RagdeValidationException("Permission name '" + permission.getName() + "' is already used.");
+        }
+    }
+
+    /**
+     * Copy the values that could be updated
+     *
+     * @param original entity to be updated
+     * @param permission new values
+     */
+    private void setValues(Permission original, Permission permission) {
+        original.setDescription(permission.getDescription());
+    }
+
+    /**
+     * Validates that a permission could be deleted
+     *
+     * @param permission entity to be deleted
+     * @throws RagdeValidationException
+     */
+    private void validateDelete(Permission permission) throws RagdeValidationException {
+        if (permission.getRoles() != null && !permission.getRoles().isEmpty()) {
+            throw new RagdeValidationException("There are some roles using the Permission '" + permission.getName() + "'.");
+        }
     }
-}
\ No newline at end of file
+}
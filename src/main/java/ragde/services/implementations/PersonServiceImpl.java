@@ -1,27 +1,43 @@
 package ragde.services.implementations;
 
 import io.leangen.graphql.annotations.*;
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ragde.caches.PageCache;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
+import ragde.factories.PageFactory;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.Authentication;
 import ragde.models.Person;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.pojos.responses.error.nesteds.NestedError;
 import ragde.pojos.responses.error.nesteds.ValidationNestedError;
 import ragde.repositories.AuthenticationRepository;
 import ragde.repositories.PersonRepository;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
+import ragde.search.PersonSearchIndex;
 import ragde.services.PersonService;
+import ragde.services.executor.BulkExecutor;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @GraphQLApi
 @Service
@@ -33,6 +49,21 @@ public class PersonServiceImpl implements PersonService {
     @Autowired
     private AuthenticationRepository authenticationRepository;
 
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private BulkExecutor bulkExecutor;
+
+    @Autowired
+    private ConditionalUpdateExecutor conditionalUpdateExecutor;
+
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
+    @Autowired
+    private PageFactory pageFactory;
+
     @Override
     @PreAuthorize("hasRole('VIEW_USERS')")
     @GraphQLQuery(name = "people", description = "Find all people")
@@ -53,7 +84,9 @@ public class PersonServiceImpl implements PersonService {
     @GraphQLMutation(name = "createPerson", description = "Create a new person")
     public Person save(@GraphQLNonNull @GraphQLArgument(name = "person", description = "New person") Person person) {
         validateData(person);
-        return personRepository.save(person);
+        Person saved = personRepository.save(person);
+        personSearchIndex.index(List.of(saved));
+        return saved;
     }
 
     @Override
@@ -63,16 +96,14 @@ public class PersonServiceImpl implements PersonService {
     public Person update(@GraphQLNonNull @GraphQLArgument(name = "person", description = "Person's new values") Person person) {
         validateData(person);
 
-        Person original = findById(person.getId());
-        original.setName(person.getName());
-        original.setLastName(person.getLastName());
-        original.setBirthday(person.getBirthday());
-        original.setCivilStatus(person.getCivilStatus());
-        original.setSex(person.getSex());
-        original.setEmail(person.getEmail());
-        original.setRoles(person.getRoles());
-
-        return personRepository.save(original);
+        Person updated = personRepository.update(person, "name", "lastName", "birthday", "civilStatus", "sex", "email", "roles");
+        // updated could be a reference, reading its values would select the person
+        Person indexed = new Person(updated.getId());
+        indexed.setName(person.getName());
+        indexed.setLastName(person.getLastName());
+        indexed.setEmail(person.getEmail());
+        personSearchIndex.index(List.of(indexed));
+        return updated;
     }
 
     @Override
@@ -81,39 +112,103 @@ public class PersonServiceImpl implements PersonService {
     @GraphQLMutation(name = "deletePerson", description = "Delete a person")
     public Person delete(@GraphQLId @GraphQLNonNull @GraphQLArgument(name = "id", description = "Person's ID") String id) {
         Person person = findById(id);
-        if (person.getAuthentications() != null && !person.getAuthentications().isEmpty()) {
-            throw new RagdeValidationException("Person '" + person.getFullName() + "' has one or more authentications associated.");
-        }
+        validateDelete(person);
         personRepository.delete(person);
+        personSearchIndex.remove(List.of(person.getId()));
         person.setRoles(null);
         return person;
     }
 
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_USERS')")
+    @GraphQLMutation(name = "createPeople", description = "Create several people in one transaction")
+    public List<BulkResult<Person>> saveAll(@GraphQLNonNull @GraphQLArgument(name = "people", description = "New people") List<Person> people) {
+        List<BulkResult<Person>> results = bulkExecutor.execute(people, person -> {
+            validateData(person);
+            return person;
+        }, personRepository::saveAll);
+
+        personSearchIndex.index(getEntities(results));
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_USERS')")
+    @GraphQLMutation(name = "updatePeople", description = "Update several people in one transaction")
+    public List<BulkResult<Person>> updateAll(@GraphQLNonNull @GraphQLArgument(name = "people", description = "People's new values") List<Person> people) {
+        Map<String, Person> originals = findAllById(people.stream().filter(Objects::nonNull).map(Person::getId).collect(Collectors.toList()));
+        List<BulkResult<Person>> results = bulkExecutor.execute(people, person -> {
+            validateData(person);
+            Person original = originals.get(person.getId());
+            if (original == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+            conditionalUpdateExecutor.checkVersion(person, original);
+
+            setValues(original, person);
+            return original;
+        }, personRepository::saveAll);
+
+        personSearchIndex.index(getEntities(results));
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('REMOVE_USERS')")
+    @GraphQLMutation(name = "deletePeople", description = "Delete several people in one transaction")
+    public List<BulkResult<Person>> deleteAll(@GraphQLNonNull @GraphQLArgument(name = "ids", description = "People's IDs") List<@GraphQLId String> ids) {
+        Map<String, Person> originals = findAllById(ids);
+        List<BulkResult<Person>> results = bulkExecutor.execute(ids, id -> {
+            Person person = originals.get(id);
+            if (person == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+
+            validateDelete(person);
+            return person;
+        }, people -> {
+            personRepository.deleteAll(people);
+            people.forEach(person -> person.setRoles(null));
+            return people;
+        });
+
+        personSearchIndex.remove(getEntities(results).stream().map(Person::getId).collect(Collectors.toList()));
+        return results;
+    }
+
     @Override
     @PreAuthorize("hasRole('VIEW_USERS')")
     @GraphQLQuery(name = "personPage", description = "Page all people")
     public Page<Person> page(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
-        return personRepository.page(pageDataRequest);
+        return pageCache.page(Person.class, pageDataRequest, () -> searchPage(pageDataRequest), personRepository::findAllById);
     }
 
     @Override
     @PreAuthorize("hasRole('VIEW_USERS')")
-    @GraphQLQuery(name = "authentications", description = "Authentications where this Person is present")
-    public List<Authentication> getAuthentications(@GraphQLContext Person person) {
-        if (person.getAuthentications() == null) {
-            person.setAuthentications(authenticationRepository.findByPerson(person));
-        }
+    @GraphQLQuery(name = "personSlice", description = "Page all people without total values")
+    public PageSlice<Person> pageSlice(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
+        return personRepository.pageSlice(pageDataRequest);
+    }
 
-        return person.getAuthentications();
+    @Override
+    @PreAuthorize("hasRole('VIEW_USERS')")
+    @GraphQLQuery(name = "personConnection", description = "Page all people by cursor")
+    public CursorPage<Person> cursorPage(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit, sort and cursor data") PageDataRequest pageDataRequest) {
+        return personRepository.cursorPage(pageDataRequest);
     }
 
-    /**
-     * Validates data integrity
-     *
-     * @param person entity to be validated
-     * @throws RagdeValidationException
-     */
-    private void validateData(Person person) throws RagdeValidationException {
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('VIEW_USERS')")
+    public void export(List<FilterRequest> filters, Consumer<Person> consumer) {
+        personRepository.scroll(filters, consumer);
+    }
+
+    @Override
+    public void validateData(Person person) throws RagdeValidationException {
         List<NestedError> nestedErrors = new ArrayList<>();
         nestedErrors.add(validateCivilStatus(person.getCivilStatus()));
         nestedErrors.add(validateSex(person.getSex()));
@@ -125,6 +220,95 @@ public class PersonServiceImpl implements PersonService {
         }
     }
 
+    @Override
+    @PreAuthorize("hasRole('VIEW_USERS')")
+    @GraphQLQuery(name = "authentications", description = "Authentications where this Person is present")
+    public CompletableFuture<List<Authentication>> getAuthentications(@GraphQLContext Person person, @GraphQLEnvironment ResolutionEnvironment environment) {
+        // batch the load when the relation isn't loaded yet (null with mongo, lazy collection with jpa)
+        DataLoader<String, List<Authentication>> dataLoader = CustomDataLoaderRegistryFactory.getDataLoader(environment, CustomDataLoaderRegistryFactory.PERSON_AUTHENTICATIONS);
+        if (dataLoader != null && person.getId() != null && (person.getAuthentications() == null || !Hibernate.isInitialized(person.getAuthentications()))) {
+            return dataLoader.load(person.getId());
+        }
+
+        if (person.getAuthentications() == null) {
+            person.setAuthentications(authenticationRepository.findByPerson(person));
+        }
+
+        return CompletableFuture.completedFuture(person.getAuthentications());
+    }
+
+    /**
+     * Execute the page query, LIKE, STARTS_WITH and ENDS_WITH filters over name, lastName and email are resolved
+     * by the search index and then only the matching ids are paged by the database
+     *
+     * @param pageDataRequest filter, limit and sort data
+     * @return people page
+     */
+    private Page<Person> searchPage(PageDataRequest pageDataRequest) {
+        Set<String> ids = personSearchIndex.search(pageDataRequest.getFilters());
+        if (ids == null) {
+            return personRepository.page(pageDataRequest);
+        }
+
+        PageRequest pageRequest = pageFactory.pageRequest(pageDataRequest);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageRequest, 0);
+        }
+        return personRepository.findByIdIn(ids, pageRequest);
+    }
+
+    /**
+     * Get the entities processed by a bulk mutation
+     *
+     * @param results bulk results
+     * @return entities of the successful results
+     */
+    private List<Person> getEntities(List<BulkResult<Person>> results) {
+        return results.stream().filter(BulkResult::isSuccess).map(BulkResult::getEntity).collect(Collectors.toList());
+    }
+
+    /**
+     * Find several people with one query
+     *
+     * @param ids people's ids
+     * @return people found by id
+     */
+    private Map<String, Person> findAllById(List<String> ids) {
+        return personRepository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+    }
+
+    /**
+     * Copy the values that could be updated
+     *
+     * @param original entity to be updated
+     * @param person   new values
+     */
+    private void setValues(Person original, Person person) {
+        original.setName(person.getName());
+        original.setLastName(person.getLastName());
+        original.setBirthday(person.getBirthday());
+        original.setCivilStatus(person.getCivilStatus());
+        original.setSex(person.getSex());
+        original.setEmail(person.getEmail());
+        // omitted collections keep their elements, as in single updates
+        if (person.getRoles() != null) {
+            original.setRoles(person.getRoles());
+        }
+    }
+
+    /**
+     * Validates that a person could be deleted
+     *
+     * @param person entity to be deleted
+     * @throws RagdeValidationException
+     */
+    private void validateDelete(Person person) throws RagdeValidationException {
+        if (person.getAuthentications() != null && !person.getAuthentications().isEmpty()) {
+            throw new RagdeValidationException("Person '" + person.getFullName() + "' has one or more authentications associated.");
+        }
+    }
+
     /**
      * Validates if civil status is an allowed value
      *
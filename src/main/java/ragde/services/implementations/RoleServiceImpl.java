@@ -1,22 +1,38 @@
 package ragde.services.implementations;
 
 import io.leangen.graphql.annotations.*;
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ragde.caches.PageCache;
+import ragde.caches.SecondLevelCache;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.Person;
 import ragde.models.Role;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.repositories.PersonRepository;
 import ragde.repositories.RoleRepository;
+import ragde.repositories.executor.ConditionalUpdateExecutor;
 import ragde.services.RoleService;
+import ragde.services.executor.BulkExecutor;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @GraphQLApi
 @Service
@@ -28,6 +44,18 @@ public class RoleServiceImpl implements RoleService {
     @Autowired
     private PersonRepository personRepository;
 
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private BulkExecutor bulkExecutor;
+
+    @Autowired
+    private ConditionalUpdateExecutor conditionalUpdateExecutor;
+
     @Override
     @PreAuthorize("hasRole('VIEW_ROLES')")
     @GraphQLQuery(name = "roles", description = "Find all roles")
@@ -54,10 +82,9 @@ public class RoleServiceImpl implements RoleService {
     @PreAuthorize("hasRole('CREATE_ROLES')")
     @GraphQLMutation(name = "createRole", description = "Create a new role")
     public Role save(@GraphQLNonNull @GraphQLArgument(name = "role", description = "New role") Role role) {
-        if (findByName(role.getName()) != null) {
-            throw new RagdeValidationException("Role name '" + role.getName() + "' is already used.");
-        }
+        validateName(role);
 
+        secondLevelCache.evict(Role.class);
         return roleRepository.save(role);
     }
 
@@ -66,11 +93,10 @@ public class RoleServiceImpl implements RoleService {
     @PreAuthorize("hasRole('CREATE_ROLES')")
     @GraphQLMutation(name = "updateRole", description = "Update a role")
     public Role update(@GraphQLNonNull @GraphQLArgument(name = "role", description = "Role's new values") Role role) {
-        Role original = findById(role.getId());
-        original.setDescription(role.getDescription());
-        original.setPermissions(role.getPermissions());
+        Role updated = roleRepository.update(role, "description", "permissions");
 
-        return roleRepository.save(original);
+        secondLevelCache.evict(Role.class);
+        return updated;
     }
 
     @Override
@@ -79,30 +105,170 @@ public class RoleServiceImpl implements RoleService {
     @GraphQLMutation(name = "deleteRole", description = "Delete a role")
     public Role delete(@GraphQLId @GraphQLNonNull @GraphQLArgument(name = "id", description = "Role's ID") String id) {
         Role role = findById(id);
-        if (role.getPeople() != null && !role.getPeople().isEmpty()) {
-            throw new RagdeValidationException("There are some people using the Role '" + role.getName() + "'.");
-        }
+        validateDelete(role);
 
         roleRepository.delete(role);
+        secondLevelCache.evict(Role.class);
         role.setPermissions(null);
         return role;
     }
 
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_ROLES')")
+    @GraphQLMutation(name = "createRoles", description = "Create several roles in one transaction")
+    public List<BulkResult<Role>> saveAll(@GraphQLNonNull @GraphQLArgument(name = "roles", description = "New roles") List<Role> roles) {
+        // names must be unique inside the request too
+        Set<String> names = new HashSet<>();
+        List<BulkResult<Role>> results = bulkExecutor.execute(roles, role -> {
+            if (!names.add(role.getName())) {
+                throw new RagdeValidationException("Role name '" + role.getName() + "' is already used.");
+            }
+
+            validateName(role);
+            return role;
+        }, roleRepository::saveAll);
+
+        secondLevelCache.evict(Role.class);
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('CREATE_ROLES')")
+    @GraphQLMutation(name = "updateRoles", description = "Update several roles in one transaction")
+    public List<BulkResult<Role>> updateAll(@GraphQLNonNull @GraphQLArgument(name = "roles", description = "Roles' new values") List<Role> roles) {
+        Map<String, Role> originals = findAllById(roles.stream().filter(Objects::nonNull).map(Role::getId).collect(Collectors.toList()));
+        List<BulkResult<Role>> results = bulkExecutor.execute(roles, role -> {
+            Role original = originals.get(role.getId());
+            if (original == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+            conditionalUpdateExecutor.checkVersion(role, original);
+
+            setValues(original, role);
+            return original;
+        }, roleRepository::saveAll);
+
+        secondLevelCache.evict(Role.class);
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('REMOVE_ROLES')")
+    @GraphQLMutation(name = "deleteRoles", description = "Delete several roles in one transaction")
+    public List<BulkResult<Role>> deleteAll(@GraphQLNonNull @GraphQLArgument(name = "ids", description = "Roles' IDs") List<@GraphQLId String> ids) {
+        Map<String, Role> originals = findAllById(ids);
+        List<BulkResult<Role>> results = bulkExecutor.execute(ids, id -> {
+            Role role = originals.get(id);
+            if (role == null) {
+                throw new RagdeDontFoundException("Data don't found.");
+            }
+
+            validateDelete(role);
+            return role;
+        }, roles -> {
+            roleRepository.deleteAll(roles);
+            roles.forEach(role -> role.setPermissions(null));
+            return roles;
+        });
+
+        secondLevelCache.evict(Role.class);
+        return results;
+    }
+
     @Override
     @PreAuthorize("hasRole('VIEW_ROLES')")
     @GraphQLQuery(name = "rolePage", description = "Page all roles")
     public Page<Role> page(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
-        return roleRepository.page(pageDataRequest);
+        return pageCache.page(Role.class, pageDataRequest, () -> roleRepository.page(pageDataRequest), roleRepository::findAllById);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('VIEW_ROLES')")
+    @GraphQLQuery(name = "roleSlice", description = "Page all roles without total values")
+    public PageSlice<Role> pageSlice(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit and sort data") PageDataRequest pageDataRequest) {
+        return roleRepository.pageSlice(pageDataRequest);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('VIEW_ROLES')")
+    @GraphQLQuery(name = "roleConnection", description = "Page all roles by cursor")
+    public CursorPage<Role> cursorPage(@GraphQLNonNull @GraphQLArgument(name = "pageDataRequest", description = "Filter, limit, sort and cursor data") PageDataRequest pageDataRequest) {
+        return roleRepository.cursorPage(pageDataRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('VIEW_ROLES')")
+    public void export(List<FilterRequest> filters, Consumer<Role> consumer) {
+        roleRepository.scroll(filters, consumer);
     }
 
     @Override
     @PreAuthorize("hasRole('VIEW_ROLES') and hasRole('VIEW_USERS')")
     @GraphQLQuery(name = "people", description = "People where this Role is present")
-    public List<Person> getPeople(@GraphQLContext Role role) {
+    public CompletableFuture<List<Person>> getPeople(@GraphQLContext Role role, @GraphQLEnvironment ResolutionEnvironment environment) {
+        // batch the load when the relation isn't loaded yet (null with mongo, lazy collection with jpa)
+        DataLoader<String, List<Person>> dataLoader = CustomDataLoaderRegistryFactory.getDataLoader(environment, CustomDataLoaderRegistryFactory.ROLE_PEOPLE);
+        if (dataLoader != null && role.getId() != null && (role.getPeople() == null || !Hibernate.isInitialized(role.getPeople()))) {
+            return dataLoader.load(role.getId());
+        }
+
         if (role.getPeople() == null) {
             role.setPeople(personRepository.findByRoles(role));
         }
 
-        return role.getPeople();
+        return CompletableFuture.completedFuture(role.getPeople());
+    }
+
+    /**
+     * Find several roles with one query
+     *
+     * @param ids roles' ids
+     * @return roles found by id
+     */
+    private Map<String, Role> findAllById(List<String> ids) {
+        return roleRepository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Role::getId, Function.identity()));
+    }
+
+    /**
+     * Validates that role's name isn't used
+     *
+     * @param role entity to be created
+     * @throws RagdeValidationException
+     */
+    private void validateName(Role role) throws RagdeValidationException {
+        if (findByName(role.getName()) != null) {
+            throw new RagdeValidationException("Role name '" + role.getName() + "' is already used.");
+        }
+    }
+
+    /**
+     * Copy the values that could be updated
+     *
+     * @param original entity to be updated
+     * @param role     new values
+     */
+    private void setValues(Role original, Role role) {
+        original.setDescription(role.getDescription());
+        // omitted collections keep their elements, as in single updates
+        if (role.getPermissions() != null) {
+            original.setPermissions(role.getPermissions());
+        }
+    }
+
+    /**
+     * Validates that a role could be deleted
+     *
+     * @param role entity to be deleted
+     * @throws RagdeValidationException
+     */
+    private void validateDelete(Role role) throws RagdeValidationException {
+        if (role.getPeople() != null && !role.getPeople().isEmpty()) {
+            throw new RagdeValidationException("There are some people using the Role '" + role.getName() + "'.");
+        }
     }
-}
\ No newline at end of file
+}
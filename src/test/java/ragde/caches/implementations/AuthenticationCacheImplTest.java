@@ -0,0 +1,125 @@
+package ragde.caches.implementations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ragde.caches.AuthenticationCache;
+import ragde.security.pojos.LoggedUser;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"authentication-cache.max-size=2", "authentication-cache.ttl=60"})
+public class AuthenticationCacheImplTest {
+
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
+    private final Date EXPIRATION = new Date(System.currentTimeMillis() + 60000);
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(authenticationCache, "MAX_SIZE", 2);
+        ReflectionTestUtils.setField(authenticationCache, "TTL", 60L);
+        ReflectionTestUtils.setField(authenticationCache, "hits", new AtomicLong());
+        ReflectionTestUtils.setField(authenticationCache, "misses", new AtomicLong());
+        ((Map<?, ?>) ReflectionTestUtils.getField(authenticationCache, "authentications")).clear();
+    }
+
+    /**
+     * Should not cache when cache is disabled
+     */
+    @Test
+    public void getDisabled() {
+        ReflectionTestUtils.setField(authenticationCache, "MAX_SIZE", 0);
+        authenticationCache.put("token", new UsernamePasswordAuthenticationToken(new LoggedUser(), null), EXPIRATION);
+
+        final Authentication authenticationResult = authenticationCache.get("token");
+
+        assertNull(authenticationResult);
+        assertFalse(authenticationCache.isEnabled());
+        assertEquals(Map.of("hits", 0L, "misses", 0L, "size", 0L), authenticationCache.getStatistics());
+    }
+
+    /**
+     * Should return null when token isn't cached
+     */
+    @Test
+    public void getMiss() {
+        final Authentication authenticationResult = authenticationCache.get("token");
+
+        assertNull(authenticationResult);
+        assertTrue(authenticationCache.isEnabled());
+        assertEquals(Map.of("hits", 0L, "misses", 1L, "size", 0L), authenticationCache.getStatistics());
+    }
+
+    /**
+     * Should return the cached Authentication when token is cached
+     */
+    @Test
+    public void getHit() {
+        final Authentication authentication = new UsernamePasswordAuthenticationToken(new LoggedUser(), null);
+        authenticationCache.put("token", authentication, EXPIRATION);
+
+        final Authentication authenticationResult = authenticationCache.get("token");
+
+        assertSame(authentication, authenticationResult);
+        assertNull(authenticationCache.get("other"));
+        assertEquals(Map.of("hits", 1L, "misses", 1L, "size", 1L), authenticationCache.getStatistics());
+    }
+
+    /**
+     * Should return null when token is expired
+     */
+    @Test
+    public void getTokenExpired() {
+        authenticationCache.put("token", new UsernamePasswordAuthenticationToken(new LoggedUser(), null), new Date(System.currentTimeMillis() - 1000));
+
+        final Authentication authenticationResult = authenticationCache.get("token");
+
+        assertNull(authenticationResult);
+        assertEquals(Map.of("hits", 0L, "misses", 1L, "size", 0L), authenticationCache.getStatistics());
+    }
+
+    /**
+     * Should cache only during ttl when token hasn't expiration
+     */
+    @Test
+    public void getWithoutExpiration() {
+        final Authentication authentication = new UsernamePasswordAuthenticationToken(new LoggedUser(), null);
+        authenticationCache.put("token", authentication, null);
+
+        final Authentication authenticationResult = authenticationCache.get("token");
+
+        assertSame(authentication, authenticationResult);
+    }
+
+    /**
+     * Should remove the least recently used token when max size is exceeded
+     */
+    @Test
+    public void getMaxSize() {
+        final Authentication authentication1 = new UsernamePasswordAuthenticationToken(new LoggedUser(), null);
+        final Authentication authentication2 = new UsernamePasswordAuthenticationToken(new LoggedUser(), null);
+        final Authentication authentication3 = new UsernamePasswordAuthenticationToken(new LoggedUser(), null);
+        authenticationCache.put("token1", authentication1, EXPIRATION);
+        authenticationCache.put("token2", authentication2, EXPIRATION);
+        authenticationCache.get("token1");
+        authenticationCache.put("token3", authentication3, EXPIRATION);
+
+        assertSame(authentication1, authenticationCache.get("token1"));
+        assertNull(authenticationCache.get("token2"));
+        assertSame(authentication3, authenticationCache.get("token3"));
+        assertEquals(Map.of("hits", 3L, "misses", 1L, "size", 2L), authenticationCache.getStatistics());
+    }
+}
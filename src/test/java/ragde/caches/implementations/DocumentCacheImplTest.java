@@ -0,0 +1,141 @@
+package ragde.caches.implementations;
+
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ragde.caches.DocumentCache;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "document-cache.max-size=2")
+public class DocumentCacheImplTest {
+
+    @Autowired
+    private DocumentCache documentCache;
+
+    private final AtomicInteger computed = new AtomicInteger();
+
+    private final Function<String, PreparsedDocumentEntry> compute = query -> {
+        computed.incrementAndGet();
+        return new PreparsedDocumentEntry(new Document(List.of()));
+    };
+
+    @BeforeEach
+    public void setup() {
+        ((Map) ReflectionTestUtils.getField(documentCache, "documents")).clear();
+        ((Map) ReflectionTestUtils.getField(documentCache, "queries")).clear();
+        ReflectionTestUtils.setField(documentCache, "hits", new AtomicLong());
+        ReflectionTestUtils.setField(documentCache, "misses", new AtomicLong());
+        ReflectionTestUtils.setField(documentCache, "MAX_SIZE", 2);
+    }
+
+    /**
+     * Should parse every time when cache is disabled
+     */
+    @Test
+    public void getDisabled() {
+        ReflectionTestUtils.setField(documentCache, "MAX_SIZE", 0);
+
+        final PreparsedDocumentEntry entry1 = documentCache.get("{ping {id}}", compute);
+        final PreparsedDocumentEntry entry2 = documentCache.get("{ping {id}}", compute);
+
+        assertNotSame(entry1, entry2);
+        assertEquals(2, computed.get());
+        assertEquals(Map.of("hits", 0L, "misses", 0L, "size", 0L, "persistedQueries", 0L), documentCache.getStatistics());
+    }
+
+    /**
+     * Should parse only the first time a query is requested
+     */
+    @Test
+    public void get() {
+        final PreparsedDocumentEntry entry1 = documentCache.get("{ping {id}}", compute);
+        final PreparsedDocumentEntry entry2 = documentCache.get("{ping {id}}", compute);
+        final PreparsedDocumentEntry entry3 = documentCache.get("{ping {token}}", compute);
+
+        assertSame(entry1, entry2);
+        assertNotSame(entry1, entry3);
+        assertEquals(2, computed.get());
+        assertEquals(Map.of("hits", 1L, "misses", 2L, "size", 2L, "persistedQueries", 0L), documentCache.getStatistics());
+    }
+
+    /**
+     * Should cache parse errors too
+     */
+    @Test
+    public void getErrors() {
+        final Function<String, PreparsedDocumentEntry> computeErrors = query -> {
+            computed.incrementAndGet();
+            return new PreparsedDocumentEntry(List.of());
+        };
+
+        documentCache.get("{ping {", computeErrors);
+        documentCache.get("{ping {", computeErrors);
+
+        assertEquals(1, computed.get());
+    }
+
+    /**
+     * Should evict the least recently used document
+     */
+    @Test
+    public void getEvict() {
+        documentCache.get("{query1}", compute);
+        documentCache.get("{query2}", compute);
+        documentCache.get("{query1}", compute);
+        documentCache.get("{query3}", compute);
+        documentCache.get("{query1}", compute);
+        documentCache.get("{query2}", compute);
+
+        final Map<String, PreparsedDocumentEntry> documents = (Map) ReflectionTestUtils.getField(documentCache, "documents");
+
+        assertEquals(4, computed.get());
+        assertEquals(2, documents.size());
+    }
+
+    /**
+     * Should not persist queries when cache is disabled
+     */
+    @Test
+    public void putQueryDisabled() {
+        ReflectionTestUtils.setField(documentCache, "MAX_SIZE", 0);
+
+        documentCache.putQuery("hash", "{ping {id}}");
+
+        assertNull(documentCache.getQuery("hash"));
+    }
+
+    /**
+     * Should persist queries and evict the least recently used
+     */
+    @Test
+    public void putQuery() {
+        documentCache.putQuery("hash1", "{query1}");
+        documentCache.putQuery("hash2", "{query2}");
+        documentCache.getQuery("hash1");
+        documentCache.putQuery("hash3", "{query3}");
+
+        final Map<String, String> queriesExpected = new LinkedHashMap<>(Map.of("hash1", "{query1}", "hash3", "{query3}"));
+        final Map<String, String> queriesResult = (Map) ReflectionTestUtils.getField(documentCache, "queries");
+
+        assertEquals(queriesExpected, queriesResult);
+        assertEquals("{query1}", documentCache.getQuery("hash1"));
+        assertNull(documentCache.getQuery("hash2"));
+        assertNull(documentCache.getQuery("unknown"));
+        assertEquals(2L, documentCache.getStatistics().get("persistedQueries"));
+    }
+}
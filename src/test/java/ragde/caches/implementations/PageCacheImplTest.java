@@ -0,0 +1,253 @@
+package ragde.caches.implementations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ragde.caches.PageCache;
+import ragde.models.Person;
+import ragde.models.Role;
+import ragde.pojos.pages.PageDataRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"page-cache.max-size=2", "page-cache.ttl=60"})
+public class PageCacheImplTest {
+
+    @Autowired
+    private PageCache pageCache;
+
+    private AtomicInteger loads;
+
+    private List<List<String>> finds;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(pageCache, "regions", new ConcurrentHashMap<>());
+        ReflectionTestUtils.setField(pageCache, "MAX_SIZE", 2);
+        loads = new AtomicInteger();
+        finds = new ArrayList<>();
+    }
+
+    /**
+     * Should load the page every time when cache is disabled
+     */
+    @Test
+    public void pageDisabled() {
+        ReflectionTestUtils.setField(pageCache, "MAX_SIZE", 0);
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final Page<Person> pageMocked = new PageImpl<>(List.of(new Person("ID1"), new Person("ID2")), PageRequest.of(0, 2), 5);
+
+        final Page<Person> pageResult1 = pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+        final Page<Person> pageResult2 = pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+
+        assertSame(pageMocked, pageResult1);
+        assertSame(pageMocked, pageResult2);
+        assertEquals(2, loads.get());
+        assertTrue(finds.isEmpty());
+        assertTrue(pageCache.getStatistics().isEmpty());
+    }
+
+    /**
+     * Should load the page when it isn't cached
+     */
+    @Test
+    public void pageMiss() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final Page<Person> pageMocked = new PageImpl<>(List.of(new Person("ID1"), new Person("ID2")), PageRequest.of(0, 2), 5);
+
+        final Page<Person> pageResult = pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+
+        assertSame(pageMocked, pageResult);
+        assertEquals(1, loads.get());
+        assertTrue(finds.isEmpty());
+        assertEquals(Map.of("Person", Map.of("hits", 0L, "misses", 1L, "evictions", 0L, "size", 1L)), pageCache.getStatistics());
+    }
+
+    /**
+     * Should find the cached ids and keep their order when page is cached
+     */
+    @Test
+    public void pageHit() {
+        final Page<Person> pageMocked = new PageImpl<>(List.of(new Person("ID1"), new Person("ID2")), PageRequest.of(1, 2), 5);
+        final List<Person> people = List.of(new Person("ID2"), new Person("ID1"));
+
+        pageCache.page(Person.class, new PageDataRequest(1, 2, null, null, null), loader(pageMocked), finder(people));
+        final Page<Person> pageResult = pageCache.page(Person.class, new PageDataRequest(1, 2, null, null, null), loader(pageMocked), finder(people));
+
+        assertNotSame(pageMocked, pageResult);
+        assertEquals(pageMocked.getContent(), pageResult.getContent());
+        assertSame(people.get(1), pageResult.getContent().get(0));
+        assertSame(people.get(0), pageResult.getContent().get(1));
+        assertEquals(5, pageResult.getTotalElements());
+        assertEquals(3, pageResult.getTotalPages());
+        assertEquals(1, pageResult.getNumber());
+        assertEquals(1, loads.get());
+        assertEquals(List.of(List.of("ID1", "ID2")), finds);
+        assertEquals(Map.of("Person", Map.of("hits", 1L, "misses", 1L, "evictions", 0L, "size", 1L)), pageCache.getStatistics());
+    }
+
+    /**
+     * Should not find anything when cached page is empty
+     */
+    @Test
+    public void pageHitEmpty() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(3, 2, null, null, null);
+        final Page<Person> pageMocked = new PageImpl<>(List.of(), PageRequest.of(3, 2), 5);
+
+        pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+        final Page<Person> pageResult = pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+
+        assertTrue(pageResult.getContent().isEmpty());
+        assertEquals(5, pageResult.getTotalElements());
+        assertEquals(1, loads.get());
+        assertTrue(finds.isEmpty());
+    }
+
+    /**
+     * Should load the page again when some cached entity doesn't exist anymore
+     */
+    @Test
+    public void pageHitMissingEntity() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final Page<Person> pageMocked = new PageImpl<>(List.of(new Person("ID1"), new Person("ID2")), PageRequest.of(0, 2), 5);
+
+        pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+        final Page<Person> pageResult = pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of(new Person("ID2"))));
+
+        assertSame(pageMocked, pageResult);
+        assertEquals(2, loads.get());
+        assertEquals(1, finds.size());
+        assertEquals(Map.of("Person", Map.of("hits", 0L, "misses", 2L, "evictions", 0L, "size", 1L)), pageCache.getStatistics());
+    }
+
+    /**
+     * Should keep a region by entity
+     */
+    @Test
+    public void pageRegions() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final Page<Person> peopleMocked = new PageImpl<>(List.of(new Person("ID1")), PageRequest.of(0, 2), 1);
+        final Page<Role> rolesMocked = new PageImpl<>(List.of(new Role("ID1")), PageRequest.of(0, 2), 1);
+
+        pageCache.page(Person.class, pageDataRequest, loader(peopleMocked), finder(List.of()));
+        final Page<Role> rolesResult = pageCache.page(Role.class, pageDataRequest, loader(rolesMocked), finder(List.of()));
+        pageCache.evict(Role.class);
+
+        assertSame(rolesMocked, rolesResult);
+        assertEquals(2, loads.get());
+        assertEquals(Map.of(
+                "Person", Map.of("hits", 0L, "misses", 1L, "evictions", 0L, "size", 1L),
+                "Role", Map.of("hits", 0L, "misses", 1L, "evictions", 1L, "size", 0L)
+        ), pageCache.getStatistics());
+    }
+
+    /**
+     * Should remove the least recently used page when max size is exceeded
+     */
+    @Test
+    public void pageMaxSize() {
+        final Page<Person> pageMocked = new PageImpl<>(List.of(), PageRequest.of(0, 2), 0);
+
+        pageCache.page(Person.class, new PageDataRequest(0, 2, null, null, null), loader(pageMocked), finder(List.of()));
+        pageCache.page(Person.class, new PageDataRequest(1, 2, null, null, null), loader(pageMocked), finder(List.of()));
+        pageCache.page(Person.class, new PageDataRequest(0, 2, null, null, null), loader(pageMocked), finder(List.of()));
+        pageCache.page(Person.class, new PageDataRequest(2, 2, null, null, null), loader(pageMocked), finder(List.of()));
+        pageCache.page(Person.class, new PageDataRequest(0, 2, null, null, null), loader(pageMocked), finder(List.of()));
+        pageCache.page(Person.class, new PageDataRequest(1, 2, null, null, null), loader(pageMocked), finder(List.of()));
+
+        assertEquals(4, loads.get());
+        assertEquals(Map.of("Person", Map.of("hits", 2L, "misses", 4L, "evictions", 0L, "size", 2L)), pageCache.getStatistics());
+    }
+
+    /**
+     * Should load the page again after evict
+     */
+    @Test
+    public void evict() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final Page<Person> pageMocked = new PageImpl<>(List.of(new Person("ID1")), PageRequest.of(0, 2), 1);
+
+        pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+        pageCache.evict(Person.class);
+        final Page<Person> pageResult = pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+
+        assertSame(pageMocked, pageResult);
+        assertEquals(2, loads.get());
+        assertTrue(finds.isEmpty());
+        assertEquals(Map.of("Person", Map.of("hits", 0L, "misses", 2L, "evictions", 1L, "size", 1L)), pageCache.getStatistics());
+    }
+
+    /**
+     * Should evict once the transaction is committed
+     */
+    @Test
+    public void evictTransaction() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final Page<Person> pageMocked = new PageImpl<>(List.of(new Person("ID1")), PageRequest.of(0, 2), 1);
+        pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of(new Person("ID1"))));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pageCache.evict(Person.class);
+            assertEquals(Map.of("Person", Map.of("hits", 0L, "misses", 1L, "evictions", 0L, "size", 1L)), pageCache.getStatistics());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(Map.of("Person", Map.of("hits", 0L, "misses", 1L, "evictions", 1L, "size", 0L)), pageCache.getStatistics());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Should not cache a page loaded while an evict happened
+     */
+    @Test
+    public void evictWhileLoading() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final Page<Person> pageMocked = new PageImpl<>(List.of(new Person("ID1")), PageRequest.of(0, 2), 1);
+        final Supplier<Page<Person>> evictLoader = () -> {
+            pageCache.evict(Person.class);
+            return loader(pageMocked).get();
+        };
+
+        final Page<Person> pageResult = pageCache.page(Person.class, pageDataRequest, evictLoader, finder(List.of()));
+        pageCache.page(Person.class, pageDataRequest, loader(pageMocked), finder(List.of()));
+
+        assertSame(pageMocked, pageResult);
+        assertEquals(2, loads.get());
+        assertTrue(finds.isEmpty());
+        assertEquals(Map.of("Person", Map.of("hits", 0L, "misses", 2L, "evictions", 1L, "size", 1L)), pageCache.getStatistics());
+    }
+
+    private <T> Supplier<Page<T>> loader(Page<T> page) {
+        return () -> {
+            loads.incrementAndGet();
+            return page;
+        };
+    }
+
+    private <T> Function<List<String>, List<T>> finder(List<T> entities) {
+        return ids -> {
+            finds.add(ids);
+            return entities;
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package ragde.caches.implementations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.social.google.connect.GoogleConnectionFactory;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import ragde.caches.ProviderConfigCache;
+import ragde.exceptions.RagdeDontFoundException;
+import ragde.models.AuthProvider;
+import ragde.repositories.AuthProviderRepository;
+import ragde.security.pojos.ProviderConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class ProviderConfigCacheImplTest {
+
+    @Autowired
+    private ProviderConfigCache providerConfigCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private AuthProviderRepository authProviderRepository;
+
+    @BeforeEach
+    public void setup() {
+        ((Map<?, ?>) ReflectionTestUtils.getField(providerConfigCache, "configs")).clear();
+        given(authProviderRepository.findByName("GOOGLE")).willReturn(new AuthProvider("GOOGLE", "D", "AK1", "AS1"));
+    }
+
+    /**
+     * Should load the provider only once
+     */
+    @Test
+    public void get() {
+        final ProviderConfig configResult = getConfig();
+        final ProviderConfig configResult2 = getConfig();
+
+        assertSame(configResult, configResult2);
+        assertEquals("AK1", configResult.getAuthKey());
+        assertEquals("AS1", configResult.getAuthSecret());
+        assertNotNull(configResult.getOAuthOperations());
+        verify(authProviderRepository, times(1)).findByName("GOOGLE");
+    }
+
+    /**
+     * Should load the provider only once when it's requested concurrently
+     */
+    @Test
+    public void getConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<ProviderConfig>> futures = IntStream.range(0, 8).mapToObj(i -> executor.submit(() -> {
+                start.await();
+                return getConfig();
+            })).collect(Collectors.toList());
+            start.countDown();
+
+            final ProviderConfig configResult = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ProviderConfig> future : futures) {
+                assertSame(configResult, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(authProviderRepository, times(1)).findByName("GOOGLE");
+    }
+
+    /**
+     * Should throw RagdeDontFoundException and not cache when provider doesn't exist
+     */
+    @Test
+    public void getDontFound() {
+        given(authProviderRepository.findByName("GOOGLE")).willReturn(null);
+
+        assertThrows(RagdeDontFoundException.class, this::getConfig);
+        assertThrows(RagdeDontFoundException.class, this::getConfig);
+        verify(authProviderRepository, times(2)).findByName("GOOGLE");
+    }
+
+    /**
+     * Should load the provider again after evicting it
+     */
+    @Test
+    public void evict() {
+        final ProviderConfig configResult = getConfig();
+        given(authProviderRepository.findByName("GOOGLE")).willReturn(new AuthProvider("GOOGLE", "D", "AK2", "AS2"));
+
+        providerConfigCache.evict("GOOGLE");
+        final ProviderConfig configResult2 = getConfig();
+
+        assertNotSame(configResult, configResult2);
+        assertEquals("AK2", configResult2.getAuthKey());
+        assertEquals("AS2", configResult2.getAuthSecret());
+        verify(authProviderRepository, times(2)).findByName("GOOGLE");
+    }
+
+    /**
+     * Should evict the provider when transaction is committed
+     */
+    @Test
+    public void evictAfterCommit() {
+        final ProviderConfig configResult = getConfig();
+
+        transactionTemplate.execute(status -> {
+            providerConfigCache.evict("GOOGLE");
+            assertSame(configResult, getConfig());
+            return null;
+        });
+
+        assertNotSame(configResult, getConfig());
+    }
+
+    /**
+     * Should not evict the provider when transaction is rolled back
+     */
+    @Test
+    public void evictRollback() {
+        final ProviderConfig configResult = getConfig();
+
+        transactionTemplate.execute(status -> {
+            providerConfigCache.evict("GOOGLE");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertSame(configResult, getConfig());
+    }
+
+    private ProviderConfig getConfig() {
+        return providerConfigCache.get("GOOGLE", authProvider -> new GoogleConnectionFactory(authProvider.getAuthKey(), authProvider.getAuthSecret()));
+    }
+}
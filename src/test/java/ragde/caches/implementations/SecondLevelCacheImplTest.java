@@ -0,0 +1,163 @@
+package ragde.caches.implementations;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+import ragde.caches.SecondLevelCache;
+import ragde.integration_test.IntegrationTest;
+import ragde.models.AuthProvider;
+import ragde.models.Permission;
+import ragde.models.Role;
+import ragde.repositories.*;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class SecondLevelCacheImplTest {
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private Cache cache;
+
+    private Statistics statistics;
+
+    private Role role;
+
+    @BeforeEach
+    public void setup() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+        // other test contexts share the same database, so cached values could be old
+        cache.evictAllRegions();
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+
+        List<Permission> permissions = permissionRepository.saveAll(List.of(new Permission("P1", "D1"), new Permission("P2", "D2")));
+        role = roleRepository.save(new Role("R1", "D1", Set.of(permissions.get(0), permissions.get(1))));
+        authProviderRepository.save(new AuthProvider("FACEBOOK", "D1", "A1", "S1"));
+        statistics.clear();
+    }
+
+    /**
+     * Should cache reference entities and their relations
+     */
+    @Test
+    public void cacheEntities() {
+        transactionTemplate.execute(status -> roleRepository.findById(role.getId()).orElseThrow().getPermissions().size());
+        long misses = statistics.getSecondLevelCacheMissCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        transactionTemplate.execute(status -> roleRepository.findById(role.getId()).orElseThrow().getPermissions().size());
+
+        assertEquals(misses, statistics.getSecondLevelCacheMissCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hits);
+        assertTrue(cache.containsEntity(Role.class, role.getId()));
+    }
+
+    /**
+     * Should cache findByName queries
+     */
+    @Test
+    public void cacheFindByName() {
+        assertEquals("R1", roleRepository.findByName("R1").getName());
+        assertEquals("P1", permissionRepository.findByName("P1").getName());
+        assertEquals("FACEBOOK", authProviderRepository.findByName("FACEBOOK").getName());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(3, statistics.getQueryCachePutCount());
+
+        assertEquals("R1", roleRepository.findByName("R1").getName());
+        assertEquals("P1", permissionRepository.findByName("P1").getName());
+        assertEquals("FACEBOOK", authProviderRepository.findByName("FACEBOOK").getName());
+        assertEquals(3, statistics.getQueryCacheHitCount());
+        assertEquals(3, statistics.getQueryCachePutCount());
+    }
+
+    /**
+     * Should evict the entity, the collections holding it and the cached queries
+     */
+    @Test
+    public void evict() {
+        transactionTemplate.execute(status -> roleRepository.findById(role.getId()).orElseThrow().getPermissions().size());
+        roleRepository.findByName("R1");
+        String permissionId = role.getPermissions().iterator().next().getId();
+        assertTrue(cache.containsEntity(Permission.class, permissionId));
+        assertTrue(cache.containsCollection(Role.class.getName() + ".permissions", role.getId()));
+
+        secondLevelCache.evict(Permission.class);
+
+        assertFalse(cache.containsEntity(Permission.class, permissionId));
+        assertFalse(cache.containsCollection(Role.class.getName() + ".permissions", role.getId()));
+        assertTrue(cache.containsEntity(Role.class, role.getId()));
+        roleRepository.findByName("R1");
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Should evict the entity when transaction is committed
+     */
+    @Test
+    public void evictAfterCommit() {
+        transactionTemplate.execute(status -> roleRepository.findById(role.getId()).orElseThrow().getPermissions().size());
+
+        transactionTemplate.execute(status -> {
+            secondLevelCache.evict(Role.class);
+            assertTrue(cache.containsEntity(Role.class, role.getId()));
+            return null;
+        });
+
+        assertFalse(cache.containsEntity(Role.class, role.getId()));
+    }
+
+    /**
+     * Should not evict the entity when transaction is rolled back
+     */
+    @Test
+    public void evictRollback() {
+        transactionTemplate.execute(status -> roleRepository.findById(role.getId()).orElseThrow().getPermissions().size());
+
+        transactionTemplate.execute(status -> {
+            secondLevelCache.evict(Role.class);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertTrue(cache.containsEntity(Role.class, role.getId()));
+    }
+}
@@ -12,10 +12,19 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ragde.caches.AuthenticationCache;
+import ragde.caches.DocumentCache;
+import ragde.caches.PageCache;
+import ragde.graphql.metrics.GraphQLMetrics;
+import ragde.repositories.indexes.IndexAdvisor;
+import ragde.search.PersonSearchIndex;
+import ragde.security.WebSecurityConfig;
 import ragde.security.pojos.LoggedUser;
 import ragde.security.services.TokenService;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -31,16 +40,38 @@ public class InfoCtrlTest {
 
     private final String VALID_TOKEN = "valid";
 
+    private final String ADMIN_TOKEN = "admin";
+
     @Autowired
     private MockMvc mvc;
 
     @MockBean
     private TokenService tokenService;
 
+    @MockBean
+    private PageCache pageCache;
+
+    @MockBean
+    private AuthenticationCache authenticationCache;
+
+    @MockBean
+    private DocumentCache documentCache;
+
+    @MockBean
+    private GraphQLMetrics graphQLMetrics;
+
+    @MockBean
+    private IndexAdvisor indexAdvisor;
+
+    @MockBean
+    private PersonSearchIndex personSearchIndex;
+
     @BeforeEach
     public void setup() throws Exception {
         given(tokenService.getLoggedUser(INVALID_TOKEN)).willThrow(new IOException());
         given(tokenService.getLoggedUser(VALID_TOKEN)).willReturn(new LoggedUser());
+        given(tokenService.getLoggedUser(ADMIN_TOKEN)).willReturn(
+                new LoggedUser("ID", "FN", null, "R", Set.of(WebSecurityConfig.ADMIN_PERMISSION)));
     }
 
     /**
@@ -156,4 +187,340 @@ public class InfoCtrlTest {
         assertEquals(bodyExpected, bodyResult);
         verify(tokenService, times(1)).getLoggedUser(VALID_TOKEN);
     }
-}
\ No newline at end of file
+
+    /**
+     * Should return an UNAUTHORIZED error response when not token
+     */
+    @Test
+    public void pageCacheNotToken() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/page-cache")
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isUnauthorized());
+
+        verify(pageCache, never()).getStatistics();
+        verify(tokenService, never()).getLoggedUser(any());
+    }
+
+    /**
+     * Should return a FORBIDDEN error response when not permissions
+     */
+    @Test
+    public void pageCacheNotPermission() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/page-cache")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isForbidden());
+
+        verify(pageCache, never()).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(VALID_TOKEN);
+    }
+
+    /**
+     * Should return page cache statistics when admin
+     */
+    @Test
+    public void pageCacheAdmin() throws Exception {
+        given(pageCache.getStatistics()).willReturn(Map.of("Person", Map.of("hits", 2L)));
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/page-cache")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyExpected = "{\"Person\":{\"hits\":2}}";
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotSame(bodyExpected, bodyResult);
+        assertEquals(bodyExpected, bodyResult);
+        verify(pageCache, times(1)).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(ADMIN_TOKEN);
+    }
+
+    /**
+     * Should return an UNAUTHORIZED error response when not token
+     */
+    @Test
+    public void authenticationCacheNotToken() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/authentication-cache")
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isUnauthorized());
+
+        verify(authenticationCache, never()).getStatistics();
+        verify(tokenService, never()).getLoggedUser(any());
+    }
+
+    /**
+     * Should return a FORBIDDEN error response when not permissions
+     */
+    @Test
+    public void authenticationCacheNotPermission() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/authentication-cache")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isForbidden());
+
+        verify(authenticationCache, never()).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(VALID_TOKEN);
+    }
+
+    /**
+     * Should return authentication cache statistics when admin
+     */
+    @Test
+    public void authenticationCacheAdmin() throws Exception {
+        given(authenticationCache.getStatistics()).willReturn(Map.of("hits", 3L));
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/authentication-cache")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyExpected = "{\"hits\":3}";
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotSame(bodyExpected, bodyResult);
+        assertEquals(bodyExpected, bodyResult);
+        verify(authenticationCache, times(1)).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(ADMIN_TOKEN);
+    }
+
+    /**
+     * Should return an UNAUTHORIZED error response when not token
+     */
+    @Test
+    public void documentCacheNotToken() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/document-cache")
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isUnauthorized());
+
+        verify(documentCache, never()).getStatistics();
+        verify(tokenService, never()).getLoggedUser(any());
+    }
+
+    /**
+     * Should return a FORBIDDEN error response when not permissions
+     */
+    @Test
+    public void documentCacheNotPermission() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/document-cache")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isForbidden());
+
+        verify(documentCache, never()).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(VALID_TOKEN);
+    }
+
+    /**
+     * Should return document cache statistics when admin
+     */
+    @Test
+    public void documentCacheAdmin() throws Exception {
+        given(documentCache.getStatistics()).willReturn(Map.of("hits", 5L));
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/document-cache")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyExpected = "{\"hits\":5}";
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotSame(bodyExpected, bodyResult);
+        assertEquals(bodyExpected, bodyResult);
+        verify(documentCache, times(1)).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(ADMIN_TOKEN);
+    }
+
+    /**
+     * Should return an UNAUTHORIZED error response when not token
+     */
+    @Test
+    public void graphQLNotToken() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/graphql")
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isUnauthorized());
+
+        verify(graphQLMetrics, never()).getStatistics();
+        verify(tokenService, never()).getLoggedUser(any());
+    }
+
+    /**
+     * Should return a FORBIDDEN error response when not permissions
+     */
+    @Test
+    public void graphQLNotPermission() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/graphql")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isForbidden());
+
+        verify(graphQLMetrics, never()).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(VALID_TOKEN);
+    }
+
+    /**
+     * Should return GraphQL metrics when admin
+     */
+    @Test
+    public void graphQLAdmin() throws Exception {
+        given(graphQLMetrics.getStatistics()).willReturn(Map.of("sampleRate", 0.5));
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/graphql")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyExpected = "{\"sampleRate\":0.5}";
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotSame(bodyExpected, bodyResult);
+        assertEquals(bodyExpected, bodyResult);
+        verify(graphQLMetrics, times(1)).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(ADMIN_TOKEN);
+    }
+
+    /**
+     * Should return an UNAUTHORIZED error response when not token
+     */
+    @Test
+    public void indexesNotToken() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/indexes")
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isUnauthorized());
+
+        verify(indexAdvisor, never()).getReport();
+        verify(tokenService, never()).getLoggedUser(any());
+    }
+
+    /**
+     * Should return a FORBIDDEN error response when not permissions
+     */
+    @Test
+    public void indexesNotPermission() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/indexes")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isForbidden());
+
+        verify(indexAdvisor, never()).getReport();
+        verify(tokenService, times(1)).getLoggedUser(VALID_TOKEN);
+    }
+
+    /**
+     * Should return index advisor report when admin
+     */
+    @Test
+    public void indexesAdmin() throws Exception {
+        given(indexAdvisor.getReport()).willReturn(Map.of("slowMs", 100));
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/indexes")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyExpected = "{\"slowMs\":100}";
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotSame(bodyExpected, bodyResult);
+        assertEquals(bodyExpected, bodyResult);
+        verify(indexAdvisor, times(1)).getReport();
+        verify(tokenService, times(1)).getLoggedUser(ADMIN_TOKEN);
+    }
+
+    /**
+     * Should return an UNAUTHORIZED error response when not token
+     */
+    @Test
+    public void searchNotToken() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/search")
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isUnauthorized());
+
+        verify(personSearchIndex, never()).getStatistics();
+        verify(tokenService, never()).getLoggedUser(any());
+    }
+
+    /**
+     * Should return a FORBIDDEN error response when not permissions
+     */
+    @Test
+    public void searchNotPermission() throws Exception {
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/search")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        mvc.perform(builder)
+                .andExpect(status().isForbidden());
+
+        verify(personSearchIndex, never()).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(VALID_TOKEN);
+    }
+
+    /**
+     * Should return person search index statistics when admin
+     */
+    @Test
+    public void searchAdmin() throws Exception {
+        given(personSearchIndex.getStatistics()).willReturn(Map.of("people", 10));
+        final MockHttpServletRequestBuilder builder =
+                MockMvcRequestBuilders.get("/info/search")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyExpected = "{\"people\":10}";
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotSame(bodyExpected, bodyResult);
+        assertEquals(bodyExpected, bodyResult);
+        verify(personSearchIndex, times(1)).getStatistics();
+        verify(tokenService, times(1)).getLoggedUser(ADMIN_TOKEN);
+    }
+}
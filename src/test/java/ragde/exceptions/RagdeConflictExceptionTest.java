@@ -0,0 +1,21 @@
+package ragde.exceptions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RagdeConflictExceptionTest {
+
+    /**
+     * Should create basic constructor
+     */
+    @Test
+    public void constructorBasic() {
+        final String MESSAGE = "test";
+        final RagdeException exception = new RagdeConflictException(MESSAGE);
+
+        assertSame(MESSAGE, exception.getMessage());
+        assertNull(exception.getNestedErrors());
+    }
+}
\ No newline at end of file
@@ -84,6 +84,24 @@ public class RagdeExceptionTest {
         assertEquals(response.getError(), extensionsResult.get("error"));
     }
 
+    /**
+     * Should get Extensions with ConflictException
+     */
+    @Test
+    public void getConflictExceptionExtensions() {
+        final String MESSAGE = "test";
+        final String DEV_MESSAGE = "dev test";
+        final RagdeException exception = new RagdeConflictException(MESSAGE);
+        exception.setDevMessage(DEV_MESSAGE);
+        final ErrorResponse response = new ErrorResponse(MESSAGE, DEV_MESSAGE, null);
+
+        final Map<String, Object> extensionsResult = exception.getExtensions();
+
+        assertEquals(HttpStatus.CONFLICT, extensionsResult.get("errorType"));
+        assertEquals(409, extensionsResult.get("errorCode"));
+        assertEquals(response.getError(), extensionsResult.get("error"));
+    }
+
     /**
      * Should get Extensions with AuthenticationException
      */
@@ -10,9 +10,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ragde.exceptions.*;
+import ragde.models.Person;
 import ragde.pojos.responses.error.nesteds.NestedError;
 import ragde.pojos.responses.error.nesteds.ValidationNestedError;
 
@@ -113,6 +115,32 @@ public class GraphQLExceptionsHandlerTest {
         });
     }
 
+    /**
+     * Should create a RagdeConflictException
+     */
+    @Test
+    public void acceptRagdeConflictException() {
+        final List<Object> path = List.of("test 1", "test 2");
+        final ExecutionContext executionContextMock = mock(ExecutionContext.class);
+        final ExecutionPath pathMock = mock(ExecutionPath.class);
+        final Throwable exception = new ObjectOptimisticLockingFailureException(Person.class, "ID");
+        final DataFetcherExceptionHandlerParameters handlerParameters = new DataFetcherExceptionHandlerParameters(executionContextMock, null, null, null, null, pathMock, exception);
+        final RagdeException exceptionExpected = new RagdeConflictException("Data was modified by another user.");
+        exceptionExpected.setPath(path);
+        exceptionExpected.setDevMessage(exception.getMessage());
+        when(pathMock.toList()).thenReturn(path);
+
+        graphQLExceptionsHandler.accept(handlerParameters);
+
+        verify(executionContextMock, times(1)).addError(captor.capture());
+        captor.getAllValues().forEach(value -> {
+            assertNotSame(exceptionExpected, value);
+            assertEquals(exceptionExpected, value);
+            assertEquals(exceptionExpected.getMessage(), value.getMessage());
+            assertEquals(exceptionExpected.getClass().getName(), value.getClass().getName());
+        });
+    }
+
     /**
      * Should create a RagdeValidationException
      */
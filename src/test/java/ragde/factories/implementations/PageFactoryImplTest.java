@@ -1,6 +1,7 @@
 package ragde.factories.implementations;
 
 import com.querydsl.core.types.Predicate;
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,14 +9,24 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.exceptions.RagdeValidationException;
 import ragde.factories.PageFactory;
+import ragde.models.Person;
 import ragde.models.QPerson;
+import ragde.pojos.pages.CursorPage;
 import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -151,4 +162,351 @@ public class PageFactoryImplTest {
 
         assertEquals(predicateExpected, predicate.toString());
     }
+
+    /**
+     * Should get the same Predicate when QEntity paths are already resolved
+     */
+    @Test
+    public void getPredicateTwice() {
+        final String predicateExpected = "person.civilStatus = 1.0 && person.birthday > 2010-11-23";
+        final List<FilterRequest> filtersRequest = List.of(
+                new FilterRequest("civilStatus", "1", FilterRequest.OPERATIONS.EQ),
+                new FilterRequest("birthday", "2010-11-23", FilterRequest.OPERATIONS.GT)
+        );
+
+        assertEquals(predicateExpected, pageFactory.getPredicate(filtersRequest, QPerson.person).toString());
+        assertEquals(predicateExpected, pageFactory.getPredicate(filtersRequest, QPerson.person).toString());
+    }
+
+    /**
+     * Should throw RagdeValidationException every time when field is invalid
+     */
+    @Test
+    public void getPredicateInvalidField() {
+        final List<FilterRequest> filtersRequest = List.of(new FilterRequest("invalid", "1", FilterRequest.OPERATIONS.EQ));
+
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getPredicate(filtersRequest, QPerson.person));
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getPredicate(filtersRequest, QPerson.person));
+    }
+
+    /**
+     * Should get a single Predicate with groups and list operations
+     */
+    @Test
+    public void getPredicateGroups() {
+        final String predicateExpected = "(person.name = value1 || person.civilStatus in [1, 2]) && person.birthday not in [2010-11-23, 2010-11-24]";
+        final List<FilterRequest> filtersRequest = List.of(
+                new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(
+                        new FilterRequest("name", "value1", FilterRequest.OPERATIONS.EQ),
+                        new FilterRequest(FilterRequest.OPERATIONS.IN, "civilStatus", List.of("1", "2"))
+                )),
+                new FilterRequest(FilterRequest.OPERATIONS.NOT_IN, "birthday", List.of("2010-11-23", "2010-11-24"))
+        );
+
+        final Predicate predicate = pageFactory.getPredicate(filtersRequest, QPerson.person);
+
+        assertEquals(predicateExpected, predicate.toString());
+    }
+
+    /**
+     * Should throw RagdeValidationException when operation required data is missing
+     */
+    @Test
+    public void getPredicateMissingData() {
+        final RagdeValidationException groupException = assertThrows(RagdeValidationException.class,
+                () -> pageFactory.getPredicate(List.of(new FilterRequest(FilterRequest.OPERATIONS.AND, null)), QPerson.person));
+        final RagdeValidationException inException = assertThrows(RagdeValidationException.class,
+                () -> pageFactory.getPredicate(List.of(new FilterRequest(FilterRequest.OPERATIONS.NOT_IN, "name", List.of())), QPerson.person));
+        final RagdeValidationException valueException = assertThrows(RagdeValidationException.class,
+                () -> pageFactory.getPredicate(List.of(new FilterRequest(FilterRequest.OPERATIONS.EQ, "name", List.of("1"))), QPerson.person));
+
+        assertEquals("AND operation requires nested filters.", groupException.getMessage());
+        assertEquals("NOT_IN operation requires field and values.", inException.getMessage());
+        assertEquals("EQ operation requires field and value.", valueException.getMessage());
+    }
+
+    /**
+     * Should get empty Criteria when filters are null
+     */
+    @Test
+    public void getCriteriaWhenFiltersNull() {
+        final Criteria criteria = pageFactory.getCriteria(null, Person.class);
+
+        assertEquals(new Document(), criteria.getCriteriaObject());
+    }
+
+    /**
+     * Should get Criteria when success
+     */
+    @Test
+    public void getCriteria() {
+        final Document criteriaExpected = new Document("$and", List.of(
+                new Document("name", "value1"),
+                new Document("createdAt", new Document("$gte", LocalDateTime.of(2002, 4, 20, 12, 30, 52))),
+                new Document("birthday", new Document("$ne", LocalDate.of(2010, 11, 23))),
+                new Document("civilStatus", new Document("$lt", 1.0))
+        ));
+        final List<FilterRequest> filtersRequest = List.of(
+                new FilterRequest("name", "value1", FilterRequest.OPERATIONS.EQ),
+                new FilterRequest("createdAt", "2002-04-20T12:30:52Z", FilterRequest.OPERATIONS.GET),
+                new FilterRequest("birthday", "2010-11-23", FilterRequest.OPERATIONS.NE),
+                new FilterRequest("civilStatus", "1", FilterRequest.OPERATIONS.LT)
+        );
+
+        final Criteria criteria = pageFactory.getCriteria(filtersRequest, Person.class);
+
+        assertEquals(criteriaExpected, criteria.getCriteriaObject());
+    }
+
+    /**
+     * Should get Criteria with groups and list operations
+     */
+    @Test
+    public void getCriteriaGroups() {
+        final Document criteriaExpected = new Document("$and", List.of(
+                new Document("$or", List.of(
+                        new Document("name", "value1"),
+                        new Document("civilStatus", new Document("$in", List.of(1.0, 2.0)))
+                )),
+                new Document("birthday", new Document("$nin", List.of(LocalDate.of(2010, 11, 23), LocalDate.of(2010, 11, 24))))
+        ));
+        final List<FilterRequest> filtersRequest = List.of(
+                new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(
+                        new FilterRequest("name", "value1", FilterRequest.OPERATIONS.EQ),
+                        new FilterRequest(FilterRequest.OPERATIONS.IN, "civilStatus", List.of("1", "2"))
+                )),
+                new FilterRequest(FilterRequest.OPERATIONS.NOT_IN, "birthday", List.of("2010-11-23", "2010-11-24"))
+        );
+
+        final Criteria criteria = pageFactory.getCriteria(filtersRequest, Person.class);
+
+        assertEquals(criteriaExpected, criteria.getCriteriaObject());
+    }
+
+    /**
+     * Should get regex Criteria escaping the value
+     */
+    @Test
+    public void getCriteriaRegex() {
+        final List<FilterRequest> filtersRequest = List.of(
+                new FilterRequest("name", "a.b", FilterRequest.OPERATIONS.STARTS_WITH),
+                new FilterRequest("lastName", "c", FilterRequest.OPERATIONS.ENDS_WITH),
+                new FilterRequest("email", "d", FilterRequest.OPERATIONS.LIKE)
+        );
+
+        final List<Document> criteria = pageFactory.getCriteria(filtersRequest, Person.class).getCriteriaObject().getList("$and", Document.class);
+
+        assertEquals("^\\Qa.b\\E", ((Pattern) criteria.get(0).get("name")).pattern());
+        assertEquals("\\Qc\\E$", ((Pattern) criteria.get(1).get("lastName")).pattern());
+        assertEquals("\\Qd\\E", ((Pattern) criteria.get(2).get("email")).pattern());
+    }
+
+    /**
+     * Should throw RagdeValidationException when like operation is used with a not String field
+     */
+    @Test
+    public void getCriteriaLikeNumber() {
+        final List<FilterRequest> filtersRequest = List.of(new FilterRequest("civilStatus", "1", FilterRequest.OPERATIONS.LIKE));
+
+        final RagdeValidationException exception = assertThrows(RagdeValidationException.class, () -> pageFactory.getCriteria(filtersRequest, Person.class));
+
+        assertEquals("Number type doesn't allow like operations.", exception.getMessage());
+    }
+
+    /**
+     * Should throw RagdeValidationException every time when field is invalid
+     */
+    @Test
+    public void getCriteriaInvalidField() {
+        final List<FilterRequest> filtersRequest = List.of(new FilterRequest("invalid", "1", FilterRequest.OPERATIONS.EQ));
+
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getCriteria(filtersRequest, Person.class));
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getCriteria(filtersRequest, Person.class));
+    }
+
+    /**
+     * Should use id as cursor sort when sort list is null
+     */
+    @Test
+    public void cursorSortWhenSortListNull() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, PageDataRequest.SORT_DIRECTION.DESC, null, null);
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), pageFactory.cursorSort(pageDataRequest));
+    }
+
+    /**
+     * Should add id as tiebreaker to cursor sort
+     */
+    @Test
+    public void cursorSortWhenSortList() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, PageDataRequest.SORT_DIRECTION.DESC, List.of("sort1", "sort2"), null);
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "sort1", "sort2", "id"), pageFactory.cursorSort(pageDataRequest));
+    }
+
+    /**
+     * Should reverse cursor sort when before cursor is present
+     */
+    @Test
+    public void cursorSortWhenBefore() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, PageDataRequest.SORT_DIRECTION.DESC, List.of("id", "sort1"), null, null, "cursor");
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "id", "sort1"), pageFactory.cursorSort(pageDataRequest));
+    }
+
+    /**
+     * Should get filters Predicate when cursor is not present
+     */
+    @Test
+    public void getCursorPredicateWithoutCursor() {
+        final String predicateExpected = "person.name = value1";
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, null, null, List.of(new FilterRequest("name", "value1", FilterRequest.OPERATIONS.EQ)));
+
+        final Predicate predicate = pageFactory.getCursorPredicate(pageDataRequest, QPerson.person);
+
+        assertEquals(predicateExpected, predicate.toString());
+    }
+
+    /**
+     * Should get keyset Predicate when after cursor is present
+     */
+    @Test
+    public void getCursorPredicateAfter() {
+        final String predicateExpected = "true = true && (person.name > value1 || person.name = value1 && person.id > 5)";
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, PageDataRequest.SORT_DIRECTION.ASC, List.of("name"), null, cursor("[\"value1\",\"5\"]"), null);
+
+        final Predicate predicate = pageFactory.getCursorPredicate(pageDataRequest, QPerson.person);
+
+        assertEquals(predicateExpected, predicate.toString());
+    }
+
+    /**
+     * Should get keyset Predicate with null values when before cursor is present
+     */
+    @Test
+    public void getCursorPredicateBeforeNull() {
+        final String predicateExpected = "true = true && (person.email is not null || person.email is null && person.id > 5)";
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, PageDataRequest.SORT_DIRECTION.DESC, List.of("email"), null, null, cursor("[null,\"5\"]"));
+
+        final Predicate predicate = pageFactory.getCursorPredicate(pageDataRequest, QPerson.person);
+
+        assertEquals(predicateExpected, predicate.toString());
+    }
+
+    /**
+     * Should throw RagdeValidationException when cursor is invalid
+     */
+    @Test
+    public void getCursorPredicateInvalidCursor() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, null, null, null, "invalid", null);
+
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getCursorPredicate(pageDataRequest, QPerson.person));
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getCursorSpecifications(pageDataRequest));
+    }
+
+    /**
+     * Should throw RagdeValidationException when cursor doesn't match the sort values
+     */
+    @Test
+    public void getCursorPredicateCursorNotMatch() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, null, List.of("name"), null, cursor("[\"5\"]"), null);
+
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getCursorPredicate(pageDataRequest, QPerson.person));
+    }
+
+    /**
+     * Should throw RagdeValidationException when after and before are present
+     */
+    @Test
+    public void getCursorSpecificationsBothCursors() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 5, null, null, null, cursor("[\"5\"]"), cursor("[\"6\"]"));
+
+        assertThrows(RagdeValidationException.class, () -> pageFactory.getCursorSpecifications(pageDataRequest));
+    }
+
+    /**
+     * Should create a CursorPage removing the extra element
+     */
+    @Test
+    public void cursorPageAfter() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, PageDataRequest.SORT_DIRECTION.ASC, List.of("birthday"), null, cursor("[\"2000-01-01\",\"1\"]"), null);
+        final List<Person> people = List.of(person("2", LocalDate.of(2000, 1, 2)), person("3", LocalDate.of(2000, 1, 3)), person("4", LocalDate.of(2000, 1, 4)));
+
+        final CursorPage<Person> cursorPage = pageFactory.cursorPage(people, pageDataRequest);
+
+        assertEquals(List.of("2", "3"), cursorPage.getEdges().stream().map(e -> e.getNode().getId()).collect(Collectors.toList()));
+        assertEquals(cursor("[\"2000-01-02\",\"2\"]"), cursorPage.getPageInfo().getStartCursor().getValue());
+        assertEquals(cursor("[\"2000-01-03\",\"3\"]"), cursorPage.getPageInfo().getEndCursor().getValue());
+        assertTrue(cursorPage.getPageInfo().isHasPreviousPage());
+        assertTrue(cursorPage.getPageInfo().isHasNextPage());
+    }
+
+    /**
+     * Should create a CursorPage in original order when before cursor is present
+     */
+    @Test
+    public void cursorPageBefore() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null, null, cursor("[\"4\"]"));
+        final List<Person> people = List.of(person("3", null), person("2", null));
+
+        final CursorPage<Person> cursorPage = pageFactory.cursorPage(people, pageDataRequest);
+
+        assertEquals(List.of("2", "3"), cursorPage.getEdges().stream().map(e -> e.getNode().getId()).collect(Collectors.toList()));
+        assertFalse(cursorPage.getPageInfo().isHasPreviousPage());
+        assertTrue(cursorPage.getPageInfo().isHasNextPage());
+    }
+
+    /**
+     * Should create a PageSlice removing the extra element
+     */
+    @Test
+    public void pageSliceHasNext() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(1, 2, null, null, null);
+        final List<Person> people = List.of(new Person("3"), new Person("4"), new Person("5"));
+
+        final PageSlice<Person> pageSlice = pageFactory.pageSlice(people, pageDataRequest);
+
+        assertEquals(List.of(new Person("3"), new Person("4")), pageSlice.getContent());
+        assertEquals(PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "id")), pageSlice.getPageable());
+        assertTrue(pageSlice.hasNext());
+        assertTrue(pageSlice.hasPrevious());
+    }
+
+    /**
+     * Should create a PageSlice without next page
+     */
+    @Test
+    public void pageSliceLast() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final List<Person> people = List.of(new Person("1"), new Person("2"));
+
+        final PageSlice<Person> pageSlice = pageFactory.pageSlice(people, pageDataRequest);
+
+        assertEquals(people, pageSlice.getContent());
+        assertFalse(pageSlice.hasNext());
+        assertFalse(pageSlice.hasPrevious());
+    }
+
+    /**
+     * Create a cursor from its json values
+     *
+     * @param json cursor values
+     * @return cursor
+     */
+    private String cursor(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes());
+    }
+
+    /**
+     * Create a Person with id and birthday
+     *
+     * @param id       person id
+     * @param birthday person birthday
+     * @return Person
+     */
+    private Person person(String id, LocalDate birthday) {
+        final Person person = new Person(id);
+        person.setBirthday(birthday);
+        return person;
+    }
 }
\ No newline at end of file
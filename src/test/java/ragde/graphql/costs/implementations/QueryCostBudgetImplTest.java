@@ -0,0 +1,78 @@
+package ragde.graphql.costs.implementations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ragde.graphql.costs.QueryCostBudget;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"graphql.cost.budget=100", "graphql.cost.window=3600"})
+public class QueryCostBudgetImplTest {
+
+    @Autowired
+    private QueryCostBudget queryCostBudget;
+
+    @BeforeEach
+    public void setup() {
+        ((Map) ReflectionTestUtils.getField(queryCostBudget, "buckets")).clear();
+        ReflectionTestUtils.setField(queryCostBudget, "BUDGET", 100L);
+        ReflectionTestUtils.setField(queryCostBudget, "WINDOW", 3600L);
+    }
+
+    /**
+     * Should not limit costs when budget is disabled
+     */
+    @Test
+    public void consumeDisabled() {
+        ReflectionTestUtils.setField(queryCostBudget, "BUDGET", 0L);
+
+        assertFalse(queryCostBudget.isEnabled());
+        assertEquals(Long.MAX_VALUE, queryCostBudget.consume("user", 1000));
+        assertTrue(((Map) ReflectionTestUtils.getField(queryCostBudget, "buckets")).isEmpty());
+    }
+
+    /**
+     * Should consume costs by user
+     */
+    @Test
+    public void consume() {
+        assertTrue(queryCostBudget.isEnabled());
+        assertEquals(70, queryCostBudget.consume("user1", 30));
+        assertEquals(10, queryCostBudget.consume("user1", 60));
+        assertEquals(99, queryCostBudget.consume("user2", 1));
+        assertEquals(0, queryCostBudget.consume("user1", 10));
+    }
+
+    /**
+     * Should reject costs greater than remaining budget without consuming them
+     */
+    @Test
+    public void consumeExceeded() {
+        assertEquals(20, queryCostBudget.consume("user", 80));
+        assertEquals(-30, queryCostBudget.consume("user", 50));
+        assertEquals(-81, queryCostBudget.consume("user", 101));
+        assertEquals(0, queryCostBudget.consume("user", 20));
+    }
+
+    /**
+     * Should refill budget over its window
+     */
+    @Test
+    public void consumeRefill() throws Exception {
+        ReflectionTestUtils.setField(queryCostBudget, "WINDOW", 1L);
+
+        assertEquals(0, queryCostBudget.consume("user", 100));
+        Thread.sleep(200);
+        final long remaining = queryCostBudget.consume("user", 10);
+
+        assertTrue(remaining >= 10 && remaining <= 90);
+    }
+}
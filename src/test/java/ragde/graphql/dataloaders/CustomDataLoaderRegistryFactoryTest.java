@@ -0,0 +1,140 @@
+package ragde.graphql.dataloaders;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.models.*;
+import ragde.repositories.AuthenticationRepository;
+import ragde.repositories.PersonRepository;
+import ragde.repositories.RoleRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class CustomDataLoaderRegistryFactoryTest {
+
+    @Autowired
+    private CustomDataLoaderRegistryFactory customDataLoaderRegistryFactory;
+
+    @MockBean
+    private AuthenticationRepository authenticationRepository;
+
+    @MockBean
+    private PersonRepository personRepository;
+
+    @MockBean
+    private RoleRepository roleRepository;
+
+    /**
+     * Should create a new registry with all DataLoaders
+     */
+    @Test
+    public void createDataLoaderRegistry() {
+        final DataLoaderRegistry registry1 = customDataLoaderRegistryFactory.createDataLoaderRegistry();
+        final DataLoaderRegistry registry2 = customDataLoaderRegistryFactory.createDataLoaderRegistry();
+
+        assertNotSame(registry1, registry2);
+        assertEquals(Set.of(CustomDataLoaderRegistryFactory.PERSON_AUTHENTICATIONS, CustomDataLoaderRegistryFactory.AUTH_PROVIDER_AUTHENTICATIONS,
+                CustomDataLoaderRegistryFactory.ROLE_PEOPLE, CustomDataLoaderRegistryFactory.PERMISSION_ROLES), registry1.getKeys());
+    }
+
+    /**
+     * Should load all People's Authentications with one query
+     */
+    @Test
+    public void loadPersonAuthentications() {
+        final Authentication authentication1 = new Authentication("A1", null, null, new Person("P1"));
+        final Authentication authentication2 = new Authentication("A2", null, null, new Person("P2"));
+        final Authentication authentication3 = new Authentication("A3", null, null, new Person("P1"));
+        given(authenticationRepository.findByPersonIn(any())).willReturn(List.of(authentication1, authentication2, authentication3));
+
+        final DataLoader<String, List<Authentication>> dataLoader = customDataLoaderRegistryFactory.createDataLoaderRegistry()
+                .getDataLoader(CustomDataLoaderRegistryFactory.PERSON_AUTHENTICATIONS);
+        final CompletableFuture<List<Authentication>> result1 = dataLoader.load("P1");
+        final CompletableFuture<List<Authentication>> result2 = dataLoader.load("P2");
+        final CompletableFuture<List<Authentication>> result3 = dataLoader.load("P3");
+        dataLoader.dispatchAndJoin();
+
+        assertEquals(List.of(authentication1, authentication3), result1.join());
+        assertEquals(List.of(authentication2), result2.join());
+        assertEquals(List.of(), result3.join());
+        verify(authenticationRepository, times(1)).findByPersonIn(List.of(new Person("P1"), new Person("P2"), new Person("P3")));
+    }
+
+    /**
+     * Should load all AuthProviders' Authentications with one query
+     */
+    @Test
+    public void loadAuthProviderAuthentications() {
+        final Authentication authentication1 = new Authentication("A1", null, new AuthProvider("AP1"), null);
+        final Authentication authentication2 = new Authentication("A2", null, new AuthProvider("AP2"), null);
+        given(authenticationRepository.findByAuthProviderIn(any())).willReturn(List.of(authentication1, authentication2));
+
+        final DataLoader<String, List<Authentication>> dataLoader = customDataLoaderRegistryFactory.createDataLoaderRegistry()
+                .getDataLoader(CustomDataLoaderRegistryFactory.AUTH_PROVIDER_AUTHENTICATIONS);
+        final CompletableFuture<List<Authentication>> result1 = dataLoader.load("AP1");
+        final CompletableFuture<List<Authentication>> result2 = dataLoader.load("AP2");
+        dataLoader.dispatchAndJoin();
+
+        assertEquals(List.of(authentication1), result1.join());
+        assertEquals(List.of(authentication2), result2.join());
+        verify(authenticationRepository, times(1)).findByAuthProviderIn(List.of(new AuthProvider("AP1"), new AuthProvider("AP2")));
+    }
+
+    /**
+     * Should load all Roles' People with one query ignoring duplicated rows
+     */
+    @Test
+    public void loadRolePeople() {
+        final Person person1 = new Person("P1");
+        person1.setRoles(Set.of(new Role("R1"), new Role("R2"), new Role("R3")));
+        final Person person2 = new Person("P2");
+        person2.setRoles(Set.of(new Role("R2")));
+        given(personRepository.findByRolesIn(any())).willReturn(List.of(person1, person2, person1));
+
+        final DataLoader<String, List<Person>> dataLoader = customDataLoaderRegistryFactory.createDataLoaderRegistry()
+                .getDataLoader(CustomDataLoaderRegistryFactory.ROLE_PEOPLE);
+        final CompletableFuture<List<Person>> result1 = dataLoader.load("R1");
+        final CompletableFuture<List<Person>> result2 = dataLoader.load("R2");
+        dataLoader.dispatchAndJoin();
+
+        assertEquals(List.of(person1), result1.join());
+        assertEquals(List.of(person1, person2), result2.join());
+        verify(personRepository, times(1)).findByRolesIn(List.of(new Role("R1"), new Role("R2")));
+    }
+
+    /**
+     * Should load all Permissions' Roles with one query
+     */
+    @Test
+    public void loadPermissionRoles() {
+        final Role role1 = new Role("R1");
+        role1.setPermissions(Set.of(new Permission("P1")));
+        final Role role2 = new Role("R2");
+        given(roleRepository.findByPermissionsIn(any())).willReturn(List.of(role1, role2));
+
+        final DataLoader<String, List<Role>> dataLoader = customDataLoaderRegistryFactory.createDataLoaderRegistry()
+                .getDataLoader(CustomDataLoaderRegistryFactory.PERMISSION_ROLES);
+        final CompletableFuture<List<Role>> result1 = dataLoader.load("P1");
+        final CompletableFuture<List<Role>> result2 = dataLoader.load("P2");
+        dataLoader.dispatchAndJoin();
+
+        assertEquals(List.of(role1), result1.join());
+        assertEquals(List.of(), result2.join());
+        verify(roleRepository, times(1)).findByPermissionsIn(List.of(new Permission("P1"), new Permission("P2")));
+    }
+}
@@ -0,0 +1,89 @@
+package ragde.graphql.instrumentations;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.graphql.costs.QueryCostBudget;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class QueryCostInstrumentationTest {
+
+    @Autowired
+    private GraphQLSchema graphQLSchema;
+
+    @MockBean
+    private QueryCostBudget queryCostBudget;
+
+    /**
+     * Should not compute cost when it isn't limited nor reported
+     */
+    @Test
+    public void costDisabled() {
+        final ExecutionResult result = execute(new QueryCostInstrumentation(queryCostBudget, 0, false),
+                "query {personPage(pageDataRequest: {page: 0, size: 5}) {content {roles {permissions {name}}}}}");
+
+        assertNull(result.getExtensions());
+        verify(queryCostBudget, times(1)).isEnabled();
+        verify(queryCostBudget, never()).consume(anyString(), anyLong());
+    }
+
+    /**
+     * Should multiply relationships by LIST_SIZE
+     */
+    @Test
+    public void costRelationships() {
+        final ExecutionResult result = execute(new QueryCostInstrumentation(queryCostBudget, 0, true),
+                "query {personPage(pageDataRequest: {page: 0, size: 5}) {totalElements content {name roles {permissions {name}}}}}");
+
+        // personPage + content + roles of 5 people + permissions of 5 * LIST_SIZE roles
+        assertEquals(Map.of("cost", Map.of("requested", 1L + 5 + 5 + 5 * QueryCostInstrumentation.LIST_SIZE)), result.getExtensions());
+        verify(queryCostBudget, never()).consume(anyString(), anyLong());
+    }
+
+    /**
+     * Should not count IntrospectionQuery
+     */
+    @Test
+    public void costIntrospection() {
+        final ExecutionResult result = execute(new QueryCostInstrumentation(queryCostBudget, 1, true),
+                "query IntrospectionQuery {__schema {types {name fields {name}}}}");
+
+        assertTrue(result.getErrors().isEmpty());
+        assertNull(result.getExtensions());
+    }
+
+    /**
+     * Should consume cost from user's budget
+     */
+    @Test
+    public void costBudget() {
+        given(queryCostBudget.isEnabled()).willReturn(true);
+        given(queryCostBudget.consume(anyString(), anyLong())).willReturn(4L);
+
+        final ExecutionResult result = execute(new QueryCostInstrumentation(queryCostBudget, 10, true),
+                "query {rolePage(pageDataRequest: {page: 0, size: 5}) {content {name}}}");
+
+        assertEquals(Map.of("cost", Map.of("requested", 6L, "maximum", 10L, "remaining", 4L)), result.getExtensions());
+        // anonymous requests are limited by client address
+        verify(queryCostBudget, times(1)).consume("127.0.0.1", 6L);
+    }
+
+    private ExecutionResult execute(QueryCostInstrumentation instrumentation, String query) {
+        return GraphQL.newGraphQL(graphQLSchema).instrumentation(instrumentation).build().execute(query);
+    }
+}
@@ -0,0 +1,128 @@
+package ragde.graphql.metrics.implementations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ragde.graphql.metrics.GraphQLMetrics;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@SuppressWarnings("unchecked")
+public class GraphQLMetricsImplTest {
+
+    @Autowired
+    private GraphQLMetrics graphQLMetrics;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(graphQLMetrics, "groups", new ConcurrentHashMap<>());
+        ReflectionTestUtils.setField(graphQLMetrics, "SAMPLE_RATE", 0.0);
+        ReflectionTestUtils.setField(graphQLMetrics, "MAX_NAMES", 500);
+    }
+
+    /**
+     * Should not sample when sample rate is 0
+     */
+    @Test
+    public void sampleDisabled() {
+        assertTrue(IntStream.range(0, 100).noneMatch(i -> graphQLMetrics.sample()));
+    }
+
+    /**
+     * Should sample every execution when sample rate is 1
+     */
+    @Test
+    public void sampleAll() {
+        ReflectionTestUtils.setField(graphQLMetrics, "SAMPLE_RATE", 1.0);
+
+        assertTrue(IntStream.range(0, 100).allMatch(i -> graphQLMetrics.sample()));
+    }
+
+    /**
+     * Should sample some executions when sample rate is between 0 and 1
+     */
+    @Test
+    public void samplePartial() {
+        ReflectionTestUtils.setField(graphQLMetrics, "SAMPLE_RATE", 0.5);
+
+        final long sampled = IntStream.range(0, 10000).filter(i -> graphQLMetrics.sample()).count();
+
+        assertTrue(sampled > 4000 && sampled < 6000);
+    }
+
+    /**
+     * Should return empty groups when nothing is recorded
+     */
+    @Test
+    public void getStatisticsEmpty() {
+        final Map<String, Object> statisticsExpected = Map.of("sampleRate", 0.0, "phases", Map.of(), "operations", Map.of(), "fields", Map.of());
+
+        final Map<String, Object> statisticsResult = graphQLMetrics.getStatistics();
+
+        assertEquals(statisticsExpected, statisticsResult);
+    }
+
+    /**
+     * Should accumulate count, errors, total, max and histogram by name
+     */
+    @Test
+    public void record() {
+        graphQLMetrics.record(GraphQLMetrics.FIELDS, "Query.person", TimeUnit.MICROSECONDS.toNanos(500), false);
+        graphQLMetrics.record(GraphQLMetrics.FIELDS, "Query.person", TimeUnit.MILLISECONDS.toNanos(30), true);
+        graphQLMetrics.record(GraphQLMetrics.FIELDS, "Query.person", TimeUnit.SECONDS.toNanos(6), false);
+        graphQLMetrics.record(GraphQLMetrics.FIELDS, "Person.roles", TimeUnit.MILLISECONDS.toNanos(5), false);
+        graphQLMetrics.record(GraphQLMetrics.PHASES, "parse", TimeUnit.MILLISECONDS.toNanos(1), false);
+
+        final Map<String, Object> statisticsResult = graphQLMetrics.getStatistics();
+        final Map<String, Map<String, Object>> fields = (Map) statisticsResult.get("fields");
+        final Map<String, Object> person = fields.get("Query.person");
+        final Map<String, Long> histogram = (Map) person.get("histogram");
+
+        assertEquals(2, fields.size());
+        assertEquals(3L, person.get("count"));
+        assertEquals(1L, person.get("errors"));
+        assertEquals(6030.5, person.get("totalMs"));
+        assertEquals(2010.1666666666667, person.get("meanMs"));
+        assertEquals(6000.0, person.get("maxMs"));
+        assertEquals(Map.ofEntries(Map.entry("<1", 1L), Map.entry("<5", 0L), Map.entry("<10", 0L), Map.entry("<25", 0L),
+                Map.entry("<50", 1L), Map.entry("<100", 0L), Map.entry("<250", 0L), Map.entry("<500", 0L), Map.entry("<1000", 0L),
+                Map.entry("<2500", 0L), Map.entry("<5000", 0L), Map.entry("+Inf", 1L)), histogram);
+        assertEquals(1L, ((Map<String, Long>) fields.get("Person.roles").get("histogram")).get("<10"));
+        assertEquals(1L, ((Map<String, Map<String, Long>>) ((Map) statisticsResult.get("phases")).get("parse")).get("histogram").get("<5"));
+        assertEquals(Map.of(), statisticsResult.get("operations"));
+    }
+
+    /**
+     * Should count new names as other once the group is full
+     */
+    @Test
+    public void recordMaxNames() {
+        ReflectionTestUtils.setField(graphQLMetrics, "MAX_NAMES", 2);
+
+        graphQLMetrics.record(GraphQLMetrics.OPERATIONS, "query A", 1, false);
+        graphQLMetrics.record(GraphQLMetrics.OPERATIONS, "query B", 1, false);
+        graphQLMetrics.record(GraphQLMetrics.OPERATIONS, "query C", 1, false);
+        graphQLMetrics.record(GraphQLMetrics.OPERATIONS, "query D", 1, true);
+        graphQLMetrics.record(GraphQLMetrics.OPERATIONS, "query A", 1, false);
+
+        final Map<String, Map<String, Object>> operations = (Map) graphQLMetrics.getStatistics().get("operations");
+
+        assertEquals(Set.of("query A", "query B", "other"), operations.keySet());
+        assertEquals(2L, operations.get("query A").get("count"));
+        assertEquals(1L, operations.get("query B").get("count"));
+        assertEquals(2L, operations.get("other").get("count"));
+        assertEquals(1L, operations.get("other").get("errors"));
+    }
+}
@@ -5,15 +5,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import ragde.caches.ProviderConfigCache;
 import ragde.models.AuthProvider;
 import ragde.models.Authentication;
 import ragde.models.Person;
 import ragde.repositories.*;
+import ragde.security.WebSecurityConfig;
+import ragde.security.oauth.OAuthProvider;
 import ragde.security.pojos.LoggedUser;
 import ragde.security.services.TokenService;
 
@@ -56,6 +60,13 @@ public class AuthProviderIntegrationTest {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    @Qualifier("googleProvider")
+    private OAuthProvider googleProvider;
+
+    @Autowired
+    private ProviderConfigCache providerConfigCache;
+
     private List<AuthProvider> dbAuthProviders;
 
     private List<Authentication> dbAuthentication;
@@ -64,10 +75,14 @@ public class AuthProviderIntegrationTest {
 
     private final String CREATE_USERS_TOKEN = "create";
 
+    private final String ADMIN_TOKEN = "admin";
+
     @BeforeEach
     public void setup() throws Exception {
         given(tokenService.getLoggedUser(CREATE_USERS_TOKEN)).willReturn(
                 new LoggedUser(null, null, null, null, Set.of("CREATE_USERS")));
+        given(tokenService.getLoggedUser(ADMIN_TOKEN)).willReturn(
+                new LoggedUser(null, null, null, null, Set.of(WebSecurityConfig.ADMIN_PERMISSION)));
 
         integrationTest = new IntegrationTest(mvc, mapper, tokenService);
         IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
@@ -76,9 +91,12 @@ public class AuthProviderIntegrationTest {
                 new AuthProvider("N1", "D1", "AK1", "AS1"),
                 new AuthProvider("N2", "D2", "AK2", "AS2"),
                 new AuthProvider("N3", "D3", "AK3", "AS3"),
-                new AuthProvider("N4", "D4", "AK4", "AS4")
+                new AuthProvider("N4", "D4", "AK4", "AS4"),
+                new AuthProvider("GOOGLE", "D5", "AK5", "AS5")
         );
         authProviderRepository.saveAll(dbAuthProviders);
+        // providers were replaced without calling AuthProviderService
+        providerConfigCache.evict("GOOGLE");
 
         final Person person = personRepository.save(new Person("N", "LN", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, Collections.emptySet()));
         final Person person2 = personRepository.save(new Person("N2", "LN2", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, Collections.emptySet()));
@@ -115,7 +133,7 @@ public class AuthProviderIntegrationTest {
         final List<Map> authentications = (List) authProviders.get(3).get("authentications");
 
         assertNull(mapResult.get("errors"));
-        assertEquals(4, authProviders.size());
+        assertEquals(5, authProviders.size());
         assertEquals("N1", authProviders.get(0).get("name"));
         assertEquals("N2", authProviders.get(1).get("name"));
         assertEquals("N3", authProviders.get(2).get("name"));
@@ -123,4 +141,36 @@ public class AuthProviderIntegrationTest {
         assertEquals("A1", authentications.get(0).get("username"));
         assertEquals("A2", authentications.get(1).get("username"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Should update the provider and its OAuth configuration
+     */
+    @Test
+    public void updateAuthProvider() throws Exception {
+        assertEquals("AK5", googleProvider.getApiKey());
+
+        final String query = "mutation {updateAuthProvider(authProvider: {id: \"" + dbAuthProviders.get(4).getId() + "\" name: \"N5\" description: \"Desc\" authKey: \"NEW_KEY\" authSecret: \"NEW_SECRET\"}) {id name description}}";
+        final Map mapResult = integrationTest.performGraphQL(query, ADMIN_TOKEN);
+        final Map<String, Map> data = (Map) mapResult.get("data");
+        final Map authProvider = data.get("updateAuthProvider");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals("GOOGLE", authProvider.get("name"));
+        assertEquals("Desc", authProvider.get("description"));
+        assertEquals("NEW_KEY", googleProvider.getApiKey());
+        assertEquals("NEW_SECRET", googleProvider.getApiSecret());
+    }
+
+    /**
+     * Should return an access denied error response when user can create users but isn't admin
+     */
+    @Test
+    public void updateAuthProviderNotAdmin() throws Exception {
+        final String query = "mutation {updateAuthProvider(authProvider: {id: \"" + dbAuthProviders.get(4).getId() + "\" name: \"N5\" description: \"Desc\" authKey: \"NEW_KEY\" authSecret: \"NEW_SECRET\"}) {id name description}}";
+        final Map data = integrationTest.failGraphQLAccessDenied(query, CREATE_USERS_TOKEN);
+
+        assertNull(data.get("updateAuthProvider"));
+        assertEquals("AK5", googleProvider.getApiKey());
+        assertEquals("AK5", authProviderRepository.findById(dbAuthProviders.get(4).getId()).get().getAuthKey());
+    }
+}
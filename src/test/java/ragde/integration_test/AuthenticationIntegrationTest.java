@@ -544,7 +544,7 @@ public class AuthenticationIntegrationTest {
      */
     @Test
     public void updateAuthenticationNotFound() throws Exception {
-        final String query = "mutation {updateAuthentication(authentication: {id: \"12345\" username: \"user4\" password: \"123\" authProvider: {} person: {}}) {id username}}";
+        final String query = "mutation {updateAuthentication(authentication: {id: \"12345\" version: 0 username: \"user4\" password: \"123\" authProvider: {} person: {}}) {id username}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -566,7 +566,7 @@ public class AuthenticationIntegrationTest {
      */
     @Test
     public void updateAuthentication() throws Exception {
-        final String query = "mutation {updateAuthentication(authentication: {id: \"" + dbAuthentications.get(1).getId() + "\" username: \"user4\" password: \"ABC\" authProvider: {} person: {}}) {id username}}";
+        final String query = "mutation {updateAuthentication(authentication: {id: \"" + dbAuthentications.get(1).getId() + "\" version: 0 username: \"user4\" password: \"ABC\" authProvider: {} person: {}}) {id username}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map authentication = data.get("updateAuthentication");
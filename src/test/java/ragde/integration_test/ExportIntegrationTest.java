@@ -0,0 +1,183 @@
+package ragde.integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ragde.models.*;
+import ragde.pojos.pages.FilterRequest;
+import ragde.repositories.*;
+import ragde.security.services.TokenService;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@SuppressWarnings("unchecked")
+public class ExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private List<Person> dbPeople;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        new IntegrationTest(mvc, mapper, tokenService);
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+
+        final List<Role> roles = roleRepository.saveAll(List.of(new Role("R1", "D1", null)));
+        dbPeople = personRepository.saveAll(List.of(
+                new Person("N1", "LN1", LocalDate.of(1990, 1, 2), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, "a@a.com", Set.of(roles.get(0))),
+                new Person("N2", "Last, \"Name\"", LocalDate.of(1991, 3, 4), Person.CIVIL_STATUS.MARRIED, Person.SEX.F, null, null),
+                new Person("Other", "LN3", LocalDate.of(1992, 5, 6), Person.CIVIL_STATUS.SINGLE, Person.SEX.F, null, null)
+        ));
+        final AuthProvider provider = authProviderRepository.save(new AuthProvider("LOCAL", "Local", null, null));
+        authenticationRepository.save(new Authentication("user", "secret", provider, dbPeople.get(0)));
+    }
+
+    /**
+     * Should return 401 when token isn't sent
+     */
+    @Test
+    public void exportNotToken() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/export/people"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Should return 403 when user doesn't have permission
+     */
+    @Test
+    public void exportAccessDenied() throws Exception {
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/export/people")
+                .header("Authorization", "Bearer " + IntegrationTest.NOT_PERMISSION_TOKEN))
+                .andExpect(status().isForbidden())
+                .andReturn().getResponse();
+
+        final Map mapResult = mapper.readValue(response.getContentAsString(), HashMap.class);
+        final Map error = (Map) mapResult.get("error");
+
+        assertEquals("Access is denied.", error.get("message"));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    /**
+     * Should write one JSON object per person matching the filters
+     */
+    @Test
+    public void exportNDJSON() throws Exception {
+        final String filters = mapper.writeValueAsString(List.of(new FilterRequest("name", "N", FilterRequest.OPERATIONS.STARTS_WITH)));
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/export/people")
+                .content(filters).contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final String[] lines = response.getContentAsString().split("\n");
+        final Map first = mapper.readValue(lines[0], HashMap.class);
+        final Map second = mapper.readValue(lines[1], HashMap.class);
+
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getContentType());
+        assertEquals("attachment; filename=\"people.ndjson\"", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals(2, lines.length);
+        assertEquals(dbPeople.get(0).getId(), first.get("id"));
+        assertEquals("N1", first.get("name"));
+        assertEquals("1990-01-02", first.get("birthday"));
+        assertEquals(1, first.get("civilStatus"));
+        assertEquals("a@a.com", first.get("email"));
+        assertNotNull(first.get("createdAt"));
+        assertFalse(first.containsKey("roles"));
+        assertEquals("Last, \"Name\"", second.get("lastName"));
+        assertNull(second.get("email"));
+    }
+
+    /**
+     * Should write a CSV header and one line per role even without filters
+     */
+    @Test
+    public void exportCSV() throws Exception {
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/export/people").param("format", "CSV")
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final String[] lines = response.getContentAsString().split("\n");
+
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        assertEquals("id,createdAt,updatedAt,version,name,lastName,birthday,civilStatus,sex,email", lines[0]);
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith(dbPeople.get(0).getId() + ","));
+        assertTrue(lines[1].endsWith(",N1,LN1,1990-01-02,1,M,a@a.com"));
+        assertTrue(lines[2].endsWith(",N2,\"Last, \"\"Name\"\"\",1991-03-04,2,F,"));
+    }
+
+    /**
+     * Should write only the header when there aren't rows
+     */
+    @Test
+    public void exportCSVEmpty() throws Exception {
+        final String filters = mapper.writeValueAsString(List.of(new FilterRequest("name", "Nobody", FilterRequest.OPERATIONS.EQ)));
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/export/roles").param("format", "CSV")
+                .content(filters).contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertEquals("attachment; filename=\"roles.csv\"", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals("id,createdAt,updatedAt,version,name,description\n", response.getContentAsString());
+    }
+
+    /**
+     * Should not write values hidden from GraphQL
+     */
+    @Test
+    public void exportAuthentications() throws Exception {
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/export/authentications")
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final Map row = mapper.readValue(response.getContentAsString().trim(), HashMap.class);
+
+        assertEquals("user", row.get("username"));
+        assertFalse(row.containsKey("password"));
+        assertFalse(row.containsKey("person"));
+    }
+}
@@ -0,0 +1,126 @@
+package ragde.integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import ragde.models.Permission;
+import ragde.models.Person;
+import ragde.models.Role;
+import ragde.repositories.*;
+import ragde.repositories.executor.FetchExecutor;
+import ragde.security.services.TokenService;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@SuppressWarnings("unchecked")
+public class FetchPlanIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @SpyBean
+    private FetchExecutor fetchExecutor;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private IntegrationTest integrationTest;
+
+    private List<Person> dbPeople;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        integrationTest = new IntegrationTest(mvc, mapper, tokenService);
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+
+        final List<Permission> permissions = permissionRepository.saveAll(List.of(new Permission("P1", "D1")));
+        final List<Role> roles = roleRepository.saveAll(List.of(
+                new Role("R1", "D1", Collections.emptySet()),
+                new Role("R2", "D2", new HashSet<>(permissions))
+        ));
+        dbPeople = personRepository.saveAll(List.of(
+                new Person("N1", "LN1", LocalDate.now(), 1, "A", null, Collections.emptySet()),
+                new Person("N2", "LN2", LocalDate.now(), 2, "B", null, Set.of(roles.get(1)))
+        ));
+        clearInvocations(fetchExecutor);
+    }
+
+    /**
+     * Should load requested relationships of all entities at once
+     */
+    @Test
+    public void fetchRelationships() throws Exception {
+        final String query = "query {people {name roles {name}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, IntegrationTest.ALL_PERMISSIONS_TOKEN);
+        final Map<String, List<Map>> data = (Map) mapResult.get("data");
+
+        final List<Map> peopleExpected = List.of(
+                Map.of("name", "N1", "roles", List.of()),
+                Map.of("name", "N2", "roles", List.of(Map.of("name", "R2")))
+        );
+
+        assertEquals(peopleExpected, data.get("people"));
+        verify(fetchExecutor, times(1)).fetch(eq(Person.class), anyCollection(), eq("roles"));
+        verify(fetchExecutor, never()).fetch(any(), anyCollection(), eq("authentications"));
+    }
+
+    /**
+     * Should load requested relationships of a single entity
+     */
+    @Test
+    public void fetchEntity() throws Exception {
+        final String query = "query {person(id: \"" + dbPeople.get(1).getId() + "\") {name roles {name}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, IntegrationTest.ALL_PERMISSIONS_TOKEN);
+        final Map<String, Map> data = (Map) mapResult.get("data");
+
+        assertEquals(Map.of("name", "N2", "roles", List.of(Map.of("name", "R2"))), data.get("person"));
+        verify(fetchExecutor, times(1)).fetch(eq(Person.class), anyCollection(), eq("roles"));
+    }
+
+    /**
+     * Should not load relationships when only scalars are requested
+     */
+    @Test
+    public void fetchScalars() throws Exception {
+        final String query = "query {personPage(pageDataRequest: {page: 0, size: 5}) {content {name}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, IntegrationTest.ALL_PERMISSIONS_TOKEN);
+        final Map<String, Map<String, List>> data = (Map) mapResult.get("data");
+
+        assertEquals(List.of(Map.of("name", "N1"), Map.of("name", "N2")), data.get("personPage").get("content"));
+        verify(fetchExecutor, never()).fetch(any(), anyCollection(), anyString());
+    }
+}
@@ -0,0 +1,97 @@
+package ragde.integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ragde.graphql.metrics.GraphQLMetrics;
+import ragde.security.services.TokenService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "graphql.metrics.sample-rate=1")
+@AutoConfigureMockMvc
+@SuppressWarnings("unchecked")
+public class GraphQLMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private GraphQLMetrics graphQLMetrics;
+
+    @MockBean
+    private TokenService tokenService;
+
+    private IntegrationTest integrationTest;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        integrationTest = new IntegrationTest(mvc, mapper, tokenService);
+        ReflectionTestUtils.setField(graphQLMetrics, "groups", new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Should measure phases, operation and fields
+     */
+    @Test
+    public void metrics() throws Exception {
+        final String query = "query {rolePage(pageDataRequest: {page: 0, size: 2}) {totalElements content {id}}}";
+        integrationTest.performGraphQL(query, IntegrationTest.ALL_PERMISSIONS_TOKEN);
+
+        final Map<String, Map<String, Map<String, Object>>> metrics = getMetrics();
+
+        assertEquals(1.0, metrics.get("sampleRate"));
+        assertEquals(1, metrics.get("phases").get("parse").get("count"));
+        assertEquals(1, metrics.get("phases").get("validation").get("count"));
+        assertEquals(1, metrics.get("phases").get("execution").get("count"));
+        assertEquals(1, metrics.get("operations").get("query rolePage").get("count"));
+        assertEquals(0, metrics.get("operations").get("query rolePage").get("errors"));
+        assertEquals(1, metrics.get("fields").get("Query.rolePage").get("count"));
+        assertEquals(0, metrics.get("fields").get("Query.rolePage").get("errors"));
+        assertTrue(metrics.get("fields").keySet().stream().anyMatch(field -> field.endsWith(".totalElements")));
+    }
+
+    /**
+     * Should count errors
+     */
+    @Test
+    public void metricsErrors() throws Exception {
+        final String query = "query RolePageQuery {rolePage(pageDataRequest: {page: 0, size: 2}) {totalElements}}";
+        integrationTest.failGraphQLAccessDenied(query, IntegrationTest.NOT_PERMISSION_TOKEN);
+
+        final Map<String, Map<String, Map<String, Object>>> metrics = getMetrics();
+
+        assertEquals(1, metrics.get("operations").get("RolePageQuery").get("count"));
+        assertEquals(1, metrics.get("operations").get("RolePageQuery").get("errors"));
+        assertEquals(1, metrics.get("fields").get("Query.rolePage").get("count"));
+        assertEquals(1, metrics.get("fields").get("Query.rolePage").get("errors"));
+    }
+
+    private Map getMetrics() throws Exception {
+        final String body = mvc.perform(MockMvcRequestBuilders.get("/info/graphql")
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readValue(body, HashMap.class);
+    }
+}
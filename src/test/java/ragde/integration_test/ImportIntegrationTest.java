@@ -0,0 +1,220 @@
+package ragde.integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ragde.models.AuthProvider;
+import ragde.models.Authentication;
+import ragde.models.Person;
+import ragde.repositories.*;
+import ragde.security.services.TokenService;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"import.chunk-size=2"})
+@AutoConfigureMockMvc
+@SuppressWarnings("unchecked")
+public class ImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @SpyBean
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        new IntegrationTest(mvc, mapper, tokenService);
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+
+        final Person person = personRepository.save(new Person("N1", "LN1", LocalDate.of(1990, 1, 2), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null));
+        final AuthProvider provider = authProviderRepository.save(new AuthProvider("LOCAL", "Local", null, null));
+        authenticationRepository.save(new Authentication("user", "secret", provider, person));
+    }
+
+    /**
+     * Should return 401 when token isn't sent
+     */
+    @Test
+    public void importNotToken() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/import/people").content(""))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Should return 403 when user doesn't have permission
+     */
+    @Test
+    public void importAccessDenied() throws Exception {
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/import/people")
+                .content("{\"name\":\"N2\",\"lastName\":\"LN2\",\"birthday\":\"1991-03-04\",\"civilStatus\":\"1\",\"sex\":\"F\"}")
+                .header("Authorization", "Bearer " + IntegrationTest.NOT_PERMISSION_TOKEN))
+                .andExpect(status().isForbidden())
+                .andReturn().getResponse();
+
+        final Map mapResult = mapper.readValue(response.getContentAsString(), HashMap.class);
+        final Map error = (Map) mapResult.get("error");
+
+        assertEquals("Access is denied.", error.get("message"));
+        assertEquals(1, personRepository.count());
+    }
+
+    /**
+     * Should report progress by chunk and skip invalid rows
+     */
+    @Test
+    public void importNDJSON() throws Exception {
+        final String content = String.join("\n",
+                "{\"name\":\"N2\",\"lastName\":\"LN2\",\"birthday\":\"1991-03-04\",\"civilStatus\":\"1\",\"sex\":\"F\",\"username\":\"user2\",\"password\":\"pass2\"}",
+                "not json",
+                "{\"name\":\"N3\",\"lastName\":\"LN3\",\"birthday\":\"03/04/1991\",\"civilStatus\":\"1\",\"sex\":\"F\"}",
+                "{\"name\":\"N4\",\"lastName\":\"LN4\",\"birthday\":\"1992-05-06\",\"civilStatus\":\"2\",\"sex\":\"M\"}",
+                "{\"name\":\"N5\",\"lastName\":\"LN5\",\"birthday\":\"1993-07-08\",\"civilStatus\":\"1\",\"sex\":\"M\",\"username\":\"user\",\"password\":\"pass5\"}");
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/import/people")
+                .content(content)
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final String[] lines = response.getContentAsString().split("\n");
+        final Map first = mapper.readValue(lines[0], HashMap.class);
+        final Map second = mapper.readValue(lines[1], HashMap.class);
+        final Map third = mapper.readValue(lines[2], HashMap.class);
+
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getContentType());
+        assertEquals(3, lines.length);
+        assertEquals(2, first.get("processed"));
+        assertEquals(1, first.get("imported"));
+        assertEquals(1, first.get("failed"));
+        assertEquals(2, ((Map) ((List) first.get("errors")).get(0)).get("row"));
+        assertEquals("Row isn't a valid JSON object.", ((Map) ((List) first.get("errors")).get(0)).get("error"));
+        assertEquals(4, second.get("processed"));
+        assertEquals(2, second.get("imported"));
+        assertEquals(2, second.get("failed"));
+        final Map dateError = (Map) ((List) second.get("errors")).get(0);
+        assertEquals(3, dateError.get("row"));
+        assertEquals("Some data aren't valid.", dateError.get("error"));
+        assertEquals("birthday", ((Map) ((List) dateError.get("nestedErrors")).get(0)).get("field"));
+        assertEquals(5, third.get("processed"));
+        assertEquals(2, third.get("imported"));
+        assertEquals(3, third.get("failed"));
+        assertEquals("Username 'user' is already used by another user.", ((Map) ((List) third.get("errors")).get(0)).get("error"));
+        assertEquals(3, personRepository.count());
+        assertEquals(2, authenticationRepository.count());
+        final Authentication authentication = authenticationRepository.findByUsername("user2");
+        assertEquals(authProviderRepository.findByName("LOCAL").getId(), authentication.getAuthProvider().getId());
+        assertNotEquals("pass2", authentication.getPassword());
+    }
+
+    /**
+     * Should read CSV rows using the header as field names
+     */
+    @Test
+    public void importCSV() throws Exception {
+        final String content = "name,lastName,birthday,civilStatus,sex,email,username,password\n" +
+                "N2,\"Last, \"\"Name\"\"\",1991-03-04,1,F,,user2,pass2\n" +
+                "N3,LN3,1992-05-06,1,F,,user2,pass3\n" +
+                "N4,LN4,1993-07-08,1,X,,,\n";
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/import/people?format=CSV")
+                .content(content)
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final String[] lines = response.getContentAsString().split("\n");
+        final Map first = mapper.readValue(lines[0], HashMap.class);
+        final Map last = mapper.readValue(lines[1], HashMap.class);
+
+        assertEquals(2, lines.length);
+        assertEquals(1, first.get("imported"));
+        assertEquals(2, ((Map) ((List) first.get("errors")).get(0)).get("row"));
+        assertEquals("Username 'user2' is already used by another user.", ((Map) ((List) first.get("errors")).get(0)).get("error"));
+        assertEquals(3, last.get("processed"));
+        assertEquals(1, last.get("imported"));
+        assertEquals(2, last.get("failed"));
+        assertEquals(2, personRepository.count());
+        assertTrue(personRepository.findAll().stream().anyMatch(p -> p.getLastName().equals("Last, \"Name\"")));
+    }
+
+    /**
+     * Should report every row of the chunk as failed when the chunk couldn't be written
+     */
+    @Test
+    public void importWriteFails() throws Exception {
+        doThrow(new TransactionSystemException("Could not commit JPA transaction")).when(transactionTemplate).executeWithoutResult(any());
+        final String content = String.join("\n",
+                "{\"name\":\"N2\",\"lastName\":\"LN2\",\"birthday\":\"1991-03-04\",\"civilStatus\":\"1\",\"sex\":\"F\",\"username\":\"user2\",\"password\":\"pass2\"}",
+                "{\"name\":\"N3\",\"lastName\":\"LN3\",\"birthday\":\"1991-03-04\",\"civilStatus\":\"1\",\"sex\":\"X\"}");
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/import/people")
+                .content(content)
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final Map progress = mapper.readValue(response.getContentAsString(), HashMap.class);
+        final List<Map> errors = (List) progress.get("errors");
+
+        assertEquals(2, progress.get("processed"));
+        assertEquals(0, progress.get("imported"));
+        assertEquals(2, progress.get("failed"));
+        assertEquals("Row couldn't be written.", errors.get(0).get("error"));
+        assertEquals("Some data aren't valid.", errors.get(1).get("error"));
+        assertEquals("sex", ((Map) ((List) errors.get(1).get("nestedErrors")).get(0)).get("field"));
+        assertEquals(1, personRepository.count());
+    }
+
+    /**
+     * Should report an empty progress when there aren't rows
+     */
+    @Test
+    public void importEmpty() throws Exception {
+        final MockHttpServletResponse response = mvc.perform(MockMvcRequestBuilders.post("/import/people")
+                .content("")
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final Map progress = mapper.readValue(response.getContentAsString(), HashMap.class);
+
+        assertEquals(0, progress.get("processed"));
+        assertEquals(1, personRepository.count());
+    }
+}
@@ -0,0 +1,172 @@
+package ragde.integration_test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.social.google.api.impl.GoogleTemplate;
+import org.springframework.social.google.api.oauth2.OAuth2Operations;
+import org.springframework.social.google.api.oauth2.UserInfo;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ragde.caches.PageCache;
+import ragde.models.*;
+import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.responses.BulkResult;
+import ragde.repositories.*;
+import ragde.security.pojos.LoggedUser;
+import ragde.security.services.OAuthService;
+import ragde.services.PersonService;
+import ragde.services.RoleService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"page-cache.max-size=10", "page-cache.ttl=60"})
+public class PageCacheIntegrationTest {
+
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private OAuthService oAuthService;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private final PageDataRequest pageDataRequest = new PageDataRequest(0, 10, null, null, null);
+
+    @BeforeEach
+    public void setup() {
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+        ReflectionTestUtils.setField(pageCache, "regions", new ConcurrentHashMap<>());
+        final Role role = roleRepository.save(new Role("USER", "User", null));
+        authProviderRepository.save(new AuthProvider("GOOGLE", "Google", "id", "secret"));
+        personRepository.save(new Person("Name", "Last Name", LocalDate.of(1990, 1, 1), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, Set.of(role)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+    }
+
+    /**
+     * Should show the person and authentication created by an OAuth sign-up in pages cached before it
+     */
+    @Test
+    public void oAuthSignUp() {
+        assertEquals(1, personPage().getTotalElements());
+        assertEquals(0, authenticationPage().getTotalElements());
+        assertEquals(1, personPage().getTotalElements());
+        assertEquals(1L, pageCache.getStatistics().get("Person").get("hits"));
+
+        final UserInfo profile = Mockito.mock(UserInfo.class);
+        given(profile.getId()).willReturn("GOOGLE_ID");
+        given(profile.getGivenName()).willReturn("Google");
+        given(profile.getFamilyName()).willReturn("User");
+        given(profile.getPicture()).willReturn("image");
+        final OAuth2Operations oAuth2Operations = Mockito.mock(OAuth2Operations.class);
+        given(oAuth2Operations.getUserinfo()).willReturn(profile);
+        final GoogleTemplate template = Mockito.mock(GoogleTemplate.class);
+        given(template.oauth2Operations()).willReturn(oAuth2Operations);
+        oAuthService.parseGoogleUser(template);
+
+        final Page<Person> people = personPage();
+        final Page<Authentication> authentications = authenticationPage();
+        assertEquals(2, people.getTotalElements());
+        assertTrue(people.getContent().stream().map(Person::getName).collect(Collectors.toList()).contains("Google"));
+        assertEquals(1, authentications.getTotalElements());
+        assertEquals("GOOGLE_ID", authentications.getContent().get(0).getUsername());
+    }
+
+    /**
+     * Should evict cached pages when entities are saved and deleted directly through the repositories
+     */
+    @Test
+    public void repositoryWrites() {
+        assertEquals(1, personPage().getTotalElements());
+
+        final Person saved = personRepository.save(new Person("Other", "Last Name", LocalDate.of(1990, 1, 1), Person.CIVIL_STATUS.SINGLE, Person.SEX.F, null, null));
+        assertEquals(2, personPage().getTotalElements());
+
+        personRepository.delete(saved);
+        assertEquals(1, personPage().getTotalElements());
+    }
+
+    /**
+     * Should evict cached pages when entities are created, updated and deleted by bulk mutations
+     */
+    @Test
+    public void bulkWrites() {
+        final LoggedUser user = new LoggedUser();
+        user.setPermissions(Set.of("VIEW_ROLES", "CREATE_ROLES", "REMOVE_ROLES", "VIEW_USERS", "CREATE_USERS", "REMOVE_USERS"));
+        final List<GrantedAuthority> authorities = user.getPermissions().stream().map(p -> (GrantedAuthority) () -> "ROLE_" + p).collect(Collectors.toList());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, authorities));
+        assertEquals(1, personService.page(pageDataRequest).getTotalElements());
+        assertEquals(1, roleService.page(pageDataRequest).getTotalElements());
+
+        final List<Person> people = personService.saveAll(List.of(
+                new Person("N1", "L1", LocalDate.of(1990, 1, 1), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null),
+                new Person("N2", "L2", LocalDate.of(1990, 1, 1), Person.CIVIL_STATUS.SINGLE, Person.SEX.F, null, null)))
+                .stream().map(BulkResult::getEntity).collect(Collectors.toList());
+        final List<Role> roles = roleService.saveAll(List.of(new Role("R1", "D1", null), new Role("R2", "D2", null)))
+                .stream().map(BulkResult::getEntity).collect(Collectors.toList());
+        assertEquals(3, personService.page(pageDataRequest).getTotalElements());
+        assertEquals(3, roleService.page(pageDataRequest).getTotalElements());
+
+        people.get(0).setLastName("U1");
+        roles.get(0).setDescription("U1");
+        personService.updateAll(List.of(people.get(0)));
+        roleService.updateAll(List.of(roles.get(0)));
+        assertTrue(personService.page(pageDataRequest).getContent().stream().anyMatch(person -> "U1".equals(person.getLastName())));
+        assertTrue(roleService.page(pageDataRequest).getContent().stream().anyMatch(role -> "U1".equals(role.getDescription())));
+
+        personService.deleteAll(people.stream().map(Person::getId).collect(Collectors.toList()));
+        roleService.deleteAll(roles.stream().map(Role::getId).collect(Collectors.toList()));
+        assertEquals(1, personService.page(pageDataRequest).getTotalElements());
+        assertEquals(1, roleService.page(pageDataRequest).getTotalElements());
+        assertEquals(4L, pageCache.getStatistics().get("Person").get("misses"));
+        assertEquals(4L, pageCache.getStatistics().get("Role").get("misses"));
+    }
+
+    private Page<Person> personPage() {
+        return pageCache.page(Person.class, pageDataRequest, () -> personRepository.page(pageDataRequest), personRepository::findAllById);
+    }
+
+    private Page<Authentication> authenticationPage() {
+        return pageCache.page(Authentication.class, pageDataRequest, () -> authenticationRepository.page(pageDataRequest), authenticationRepository::findAllById);
+    }
+}
@@ -0,0 +1,173 @@
+package ragde.integration_test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.factories.PageFactory;
+import ragde.models.Person;
+import ragde.models.QPerson;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
+import ragde.pojos.pages.PageDataRequest;
+import ragde.repositories.*;
+import ragde.repositories.executor.LimitedQueryExecutor;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@SuppressWarnings("unchecked")
+public class PageFactoryCursorTest {
+
+    private final Integer SIZE = 3;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private PageFactory pageFactory;
+
+    @Autowired
+    private LimitedQueryExecutor limitedQueryExecutor;
+
+    @BeforeEach
+    public void setup() {
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        final LocalDate dateTime1 = LocalDate.parse("1986-04-08", formatter);
+        final LocalDate dateTime2 = LocalDate.parse("1986-04-09", formatter);
+        final LocalDate dateTime3 = LocalDate.parse("1987-02-02", formatter);
+
+        final List<Person> people = List.of(
+                new Person("3", "last name 1", dateTime3, 3, Person.SEX.M, null, null),
+                new Person("5", "last name 2", dateTime1, 1, Person.SEX.F, "aa2@a.com", null),
+                new Person("5", "alast name 2", dateTime3, 12, Person.SEX.F, "aa2@a.com", null),
+                new Person("5", "alast name 2", dateTime3, 3, Person.SEX.F, "aa2@a.com", null),
+                new Person("5", "alast name 2", dateTime3, 3, Person.SEX.F, null, null),
+                new Person("5", "alast name 2", dateTime3, 3, Person.SEX.M, "aa1@a.com", null),
+                new Person("5", "alast name 2", dateTime2, 105, Person.SEX.F, "aa2@a.com", null),
+                new Person(" 12", "last name 3", dateTime1, 12, Person.SEX.M, "aa3@a.com", null),
+                new Person(" ", "last name 3", dateTime3, 12, Person.SEX.M, "aa3@a.com", null),
+                new Person("12", "last name 3", dateTime1, 12, Person.SEX.M, null, null),
+                new Person("12 ", "last name 3", dateTime1, 12, Person.SEX.M, "aa3@a.com", null)
+        );
+        personRepository.saveAll(people);
+    }
+
+    /**
+     * Should walk all pages sorted by id with Specifications and Predicate
+     */
+    @Test
+    public void cursorWithoutSort() {
+        testCursor(null, null, null);
+    }
+
+    /**
+     * Should walk all pages sorted ASC with Specifications and Predicate
+     */
+    @Test
+    public void cursorSortAsc() {
+        testCursor(PageDataRequest.SORT_DIRECTION.ASC, List.of("name", "birthday", "civilStatus"), null);
+    }
+
+    /**
+     * Should walk all pages sorted DESC with Specifications and Predicate
+     */
+    @Test
+    public void cursorSortDesc() {
+        testCursor(PageDataRequest.SORT_DIRECTION.DESC, List.of("lastName", "birthday", "name"), null);
+    }
+
+    /**
+     * Should walk all pages sorted by a nullable field with Specifications and Predicate
+     */
+    @Test
+    public void cursorSortNullValues() {
+        testCursor(PageDataRequest.SORT_DIRECTION.ASC, List.of("email", "sex"), null);
+        testCursor(PageDataRequest.SORT_DIRECTION.DESC, List.of("email", "sex"), null);
+    }
+
+    /**
+     * Should walk all filtered pages with Specifications and Predicate
+     */
+    @Test
+    public void cursorWithFilters() {
+        testCursor(PageDataRequest.SORT_DIRECTION.DESC, List.of("civilStatus"), List.of(new FilterRequest("lastName", "last", FilterRequest.OPERATIONS.STARTS_WITH)));
+    }
+
+    /**
+     * Walk all pages forward with after cursor and backward with before cursor and compare them with offset pagination
+     *
+     * @param direction sort direction
+     * @param sort      sort fields
+     * @param filters   filters to be performed
+     */
+    private void testCursor(PageDataRequest.SORT_DIRECTION direction, List<String> sort, List<FilterRequest> filters) {
+        final Page<Person> offsetPage = personRepository.findAll(pageFactory.getSpecifications(filters), PageRequest.of(0, 100, pageFactory.cursorSort(new PageDataRequest(0, 100, direction, sort, filters))));
+        final List<String> expected = offsetPage.getContent().stream().map(Person::getId).collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+
+        final Function<PageDataRequest, CursorPage<Person>> specifications = pageDataRequest -> pageFactory.cursorPage(limitedQueryExecutor.findAll(
+                pageFactory.getCursorSpecifications(pageDataRequest), Person.class, pageFactory.cursorSort(pageDataRequest), 0, pageDataRequest.getSize() + 1), pageDataRequest);
+        final Function<PageDataRequest, CursorPage<Person>> predicate = pageDataRequest -> pageFactory.cursorPage(limitedQueryExecutor.findAll(
+                personRepository, pageFactory.getCursorPredicate(pageDataRequest, QPerson.person), QPerson.person, pageFactory.cursorSort(pageDataRequest), 0, pageDataRequest.getSize() + 1), pageDataRequest);
+        final Function<PageDataRequest, CursorPage<Person>> repository = pageDataRequest -> personRepository.cursorPage(pageDataRequest);
+
+        for (Function<PageDataRequest, CursorPage<Person>> executor : List.of(specifications, predicate, repository)) {
+            final List<String> forward = new ArrayList<>();
+            CursorPage<Person> page = executor.apply(new PageDataRequest(0, SIZE, direction, sort, filters));
+            assertFalse(page.getPageInfo().isHasPreviousPage());
+            forward.addAll(ids(page));
+            while (page.getPageInfo().isHasNextPage()) {
+                page = executor.apply(new PageDataRequest(0, SIZE, direction, sort, filters, page.getPageInfo().getEndCursor().getValue(), null));
+                assertTrue(page.getPageInfo().isHasPreviousPage());
+                forward.addAll(ids(page));
+            }
+            assertEquals(expected, forward);
+
+            final List<String> backward = new ArrayList<>();
+            while (page.getPageInfo().isHasPreviousPage()) {
+                page = executor.apply(new PageDataRequest(0, SIZE, direction, sort, filters, null, page.getPageInfo().getStartCursor().getValue()));
+                assertTrue(page.getPageInfo().isHasNextPage());
+                backward.addAll(0, ids(page));
+            }
+            assertEquals(expected.subList(0, backward.size()), backward);
+            assertEquals(expected.size() - (expected.size() - 1) / SIZE * SIZE, expected.size() - backward.size());
+        }
+    }
+
+    /**
+     * Get ids of a CursorPage
+     *
+     * @param page page with people
+     * @return ids list
+     */
+    private List<String> ids(CursorPage<Person> page) {
+        return page.getEdges().stream().map(e -> e.getNode().getId()).collect(Collectors.toList());
+    }
+}
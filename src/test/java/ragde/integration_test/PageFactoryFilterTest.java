@@ -669,6 +669,113 @@ public class PageFactoryFilterTest {
         assertThrows(RagdeValidationException.class, () -> personRepository.findAll(pageFactory.getPredicate(pageDataRequest.getFilters(), QPerson.person), pageFactory.pageRequest(pageDataRequest)));
     }
 
+    /**
+     * Should evaluate IN filter with String, number and Date using Specifications and Predicate
+     */
+    @Test
+    public void inFilter() {
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.IN, "name", List.of("5", "12")));
+        List<Person> peopleExpected = List.of(
+                new Person("5", "alast name 2", dateTime3, 5, Person.SEX.F, "a2@a.com", null),
+                new Person("12", "last name 3", dateTime1, 12, Person.SEX.M, "a3@a.com", null)
+        );
+        testSpecifications(peopleExpected);
+        testPredicate(peopleExpected);
+
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.IN, "birthday", List.of(TEST_BIRTHDAY1, TEST_BIRTHDAY2)));
+        peopleExpected = List.of(new Person("12", "last name 3", dateTime1, 12, Person.SEX.M, "a3@a.com", null));
+        testSpecifications(peopleExpected);
+        testPredicate(peopleExpected);
+
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.IN, "civilStatus", List.of("3", "6")));
+        testSpecifications(Collections.emptyList());
+        testPredicate(Collections.emptyList());
+    }
+
+    /**
+     * Should evaluate NOT_IN filter with String and number using Specifications and Predicate
+     */
+    @Test
+    public void notInFilter() {
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.NOT_IN, "civilStatus", List.of("12", "3")));
+        List<Person> peopleExpected = List.of(
+                new Person("5", "alast name 2", dateTime3, 5, Person.SEX.F, "a2@a.com", null),
+                new Person("3", "last name 1", dateTime2, 6, Person.SEX.M, null, null)
+        );
+        testSpecifications(peopleExpected);
+        testPredicate(peopleExpected);
+
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.NOT_IN, "name", List.of("5")));
+        peopleExpected = List.of(new Person("3", "last name 1", dateTime2, 6, Person.SEX.M, null, null));
+        testSpecifications(peopleExpected);
+        testPredicate(peopleExpected);
+    }
+
+    /**
+     * Should evaluate OR group joined by AND with the rest of filters using Specifications and Predicate
+     */
+    @Test
+    public void orFilter() {
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(
+                new FilterRequest("name", "5", FilterRequest.OPERATIONS.EQ),
+                new FilterRequest("civilStatus", "3", FilterRequest.OPERATIONS.EQ)
+        )));
+        List<Person> peopleExpected = List.of(
+                new Person("5", "alast name 2", dateTime3, 5, Person.SEX.F, "a2@a.com", null),
+                new Person("3", "last name 1", dateTime1, 3, Person.SEX.M, null, null)
+        );
+        testSpecifications(peopleExpected);
+        testPredicate(peopleExpected);
+
+        pageDataRequest.getFilters().add(new FilterRequest("birthday", TEST_BIRTHDAY1, FilterRequest.OPERATIONS.EQ));
+        peopleExpected = List.of(new Person("3", "last name 1", dateTime1, 3, Person.SEX.M, null, null));
+        testSpecifications(peopleExpected);
+        testPredicate(peopleExpected);
+    }
+
+    /**
+     * Should evaluate AND group nested in OR group using Specifications and Predicate
+     */
+    @Test
+    public void nestedGroupsFilter() {
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(
+                new FilterRequest(FilterRequest.OPERATIONS.AND, List.of(
+                        new FilterRequest("name", "3", FilterRequest.OPERATIONS.EQ),
+                        new FilterRequest("birthday", TEST_BIRTHDAY2, FilterRequest.OPERATIONS.EQ)
+                )),
+                new FilterRequest("email", "3@a.com", FilterRequest.OPERATIONS.ENDS_WITH)
+        )));
+        final List<Person> peopleExpected = List.of(
+                new Person("3", "last name 1", dateTime2, 6, Person.SEX.M, null, null),
+                new Person("3", "last name 11", dateTime2, 12, Person.SEX.M, null, null),
+                new Person("12", "last name 3", dateTime1, 12, Person.SEX.M, "a3@a.com", null)
+        );
+        testSpecifications(peopleExpected);
+        testPredicate(peopleExpected);
+    }
+
+    /**
+     * Should throw RagdeValidationException when group doesn't have filters using Specifications and Predicate
+     */
+    @Test
+    public void groupWithoutFilters() {
+        pageDataRequest.getFilters().add(new FilterRequest(FilterRequest.OPERATIONS.OR, List.of()));
+
+        assertThrows(RagdeValidationException.class, () -> personRepository.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), pageFactory.pageRequest(pageDataRequest)));
+        assertThrows(RagdeValidationException.class, () -> personRepository.findAll(pageFactory.getPredicate(pageDataRequest.getFilters(), QPerson.person), pageFactory.pageRequest(pageDataRequest)));
+    }
+
+    /**
+     * Should throw RagdeValidationException when IN doesn't have values using Specifications and Predicate
+     */
+    @Test
+    public void inWithoutValues() {
+        pageDataRequest.getFilters().add(new FilterRequest("name", "5", FilterRequest.OPERATIONS.IN));
+
+        assertThrows(RagdeValidationException.class, () -> personRepository.findAll(pageFactory.getSpecifications(pageDataRequest.getFilters()), pageFactory.pageRequest(pageDataRequest)));
+        assertThrows(RagdeValidationException.class, () -> personRepository.findAll(pageFactory.getPredicate(pageDataRequest.getFilters(), QPerson.person), pageFactory.pageRequest(pageDataRequest)));
+    }
+
     /**
      * test Specifications
      *
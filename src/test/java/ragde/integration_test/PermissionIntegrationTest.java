@@ -16,6 +16,7 @@ import ragde.repositories.*;
 import ragde.security.pojos.LoggedUser;
 import ragde.security.services.TokenService;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -311,7 +312,7 @@ public class PermissionIntegrationTest {
      */
     @Test
     public void updatePermissionNotFound() throws Exception {
-        final String query = "mutation {updatePermission(permission: {id: \"123456\" name: \"N3\" description: \"Desc\"}) {id name}}";
+        final String query = "mutation {updatePermission(permission: {id: \"123456\" version: 0 name: \"N3\" description: \"Desc\"}) {id name}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -335,7 +336,7 @@ public class PermissionIntegrationTest {
      */
     @Test
     public void updatePermission() throws Exception {
-        final String query = "mutation {updatePermission(permission: {id: \"" + dbPermissions.get(1).getId() + "\" name: \"N3\" description: \"Desc\"}) {id name description}}";
+        final String query = "mutation {updatePermission(permission: {id: \"" + dbPermissions.get(1).getId() + "\" version: 0 name: \"N3\" description: \"Desc\"}) {id name description}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map permission = data.get("updatePermission");
@@ -425,6 +426,116 @@ public class PermissionIntegrationTest {
         assertEquals(permissionRepository.count(), 1);
     }
 
+    /**
+     * Should return a result by item, skipping the invalid ones
+     */
+    @Test
+    public void createPermissions() throws Exception {
+        final String query = "mutation {createPermissions(permissions: [{name: \"N3\" description: \"D3\"}, {name: \"N\" description: \"D\"}, " +
+                "{name: \"N3\" description: \"D4\"}, {name: \"\" description: \"D5\"}, {name: \"N6\" description: \"D6\"}]) " +
+                "{success error nestedErrors{field message} entity{id name}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
+        final Map<String, List<Map>> data = (Map) mapResult.get("data");
+        final List<Map> results = data.get("createPermissions");
+        final List<Map> nestedErrors = (List) results.get(3).get("nestedErrors");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals(5, results.size());
+        assertEquals(true, results.get(0).get("success"));
+        assertEquals("N3", ((Map) results.get(0).get("entity")).get("name"));
+        assertEquals("Permission name 'N' is already used.", results.get(1).get("error"));
+        assertEquals("Permission name 'N3' is already used.", results.get(2).get("error"));
+        assertEquals(false, results.get(3).get("success"));
+        assertNull(results.get(3).get("entity"));
+        assertEquals("Some data aren't valid.", results.get(3).get("error"));
+        assertEquals("name", nestedErrors.get(0).get("field"));
+        assertEquals("N6", ((Map) results.get(4).get("entity")).get("name"));
+
+        // inserted in data base
+        assertEquals(permissionRepository.count(), 4);
+    }
+
+    /**
+     * Should return a success response
+     */
+    @Test
+    public void updatePermissions() throws Exception {
+        final String query = "mutation {updatePermissions(permissions: [{id: \"" + dbPermissions.get(0).getId() + "\" version: 0 name: \"N\" description: \"U1\"}, " +
+                "{id: \"123456\" version: 0 name: \"N\" description: \"U2\"}, {id: \"" + dbPermissions.get(1).getId() + "\" version: 0 name: \"N2\" description: \"U3\"}]) " +
+                "{success error entity{id description}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
+        final Map<String, List<Map>> data = (Map) mapResult.get("data");
+        final List<Map> results = data.get("updatePermissions");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals("U1", ((Map) results.get(0).get("entity")).get("description"));
+        assertEquals("Data don't found.", results.get(1).get("error"));
+        assertEquals("U3", ((Map) results.get(2).get("entity")).get("description"));
+
+        // updated in data base
+        assertEquals("U1", permissionRepository.findById(dbPermissions.get(0).getId()).get().getDescription());
+        assertEquals("U3", permissionRepository.findById(dbPermissions.get(1).getId()).get().getDescription());
+    }
+
+    /**
+     * Should update only the permissions sent with their current version
+     */
+    @Test
+    public void updatePermissionsVersion() throws Exception {
+        final String query = "mutation {updatePermissions(permissions: [{id: \"" + dbPermissions.get(0).getId() + "\" version: 1 name: \"N\" description: \"U1\"}, " +
+                "{id: \"" + dbPermissions.get(1).getId() + "\" name: \"N2\" description: \"U2\"}, {id: \"" + dbPermissions.get(1).getId() + "\" version: 0 name: \"N2\" description: \"U3\"}]) " +
+                "{success error nestedErrors{field} entity{id description version}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
+        final Map<String, List<Map>> data = (Map) mapResult.get("data");
+        final List<Map> results = data.get("updatePermissions");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals("Data was modified by another user.", results.get(0).get("error"));
+        assertEquals("Some data aren't valid.", results.get(1).get("error"));
+        assertEquals("version", ((Map) ((List) results.get(1).get("nestedErrors")).get(0)).get("field"));
+        assertEquals("U3", ((Map) results.get(2).get("entity")).get("description"));
+
+        // updated in data base
+        assertEquals(0L, permissionRepository.findById(dbPermissions.get(0).getId()).get().getVersion());
+        assertEquals("U3", permissionRepository.findById(dbPermissions.get(1).getId()).get().getDescription());
+        assertEquals(1L, permissionRepository.findById(dbPermissions.get(1).getId()).get().getVersion());
+    }
+
+    /**
+     * Should delete only the permissions that aren't used
+     */
+    @Test
+    public void deletePermissions() throws Exception {
+        final String query = "mutation {deletePermissions(ids: [" + dbPermissions.get(0).getId() + ", " + dbPermissions.get(1).getId() + "]) {success error entity{id name}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, REMOVE_ROLES_TOKEN);
+        final Map<String, List<Map>> data = (Map) mapResult.get("data");
+        final List<Map> results = data.get("deletePermissions");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals("N", ((Map) results.get(0).get("entity")).get("name"));
+        assertEquals("There are some roles using the Permission 'N2'.", results.get(1).get("error"));
+
+        // deleted in data base
+        assertEquals(permissionRepository.count(), 1);
+    }
+
+    /**
+     * Should return an error response when there are too many items
+     */
+    @Test
+    public void deletePermissionsTooMany() throws Exception {
+        final String ids = String.join(", ", Collections.nCopies(1001, dbPermissions.get(0).getId()));
+        final String query = "mutation {deletePermissions(ids: [" + ids + "]) {success}}";
+        final Map mapResult = integrationTest.performGraphQL(query, REMOVE_ROLES_TOKEN);
+        final List<Map> errors = (List) mapResult.get("errors");
+        final Map extensions = (Map) errors.get(0).get("extensions");
+        final Map error = (Map) extensions.get("error");
+
+        assertEquals(400, extensions.get("errorCode"));
+        assertEquals("Bulk mutations allow up to 1000 items.", error.get("message"));
+        assertEquals(permissionRepository.count(), 2);
+    }
+
     /**
      * Should return an error response
      */
@@ -0,0 +1,190 @@
+package ragde.integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ragde.caches.DocumentCache;
+import ragde.controllers.GraphQLCtrl;
+import ragde.models.Role;
+import ragde.repositories.*;
+import ragde.security.services.TokenService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "document-cache.max-size=10")
+@AutoConfigureMockMvc
+@SuppressWarnings("unchecked")
+public class PersistedQueryIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private DocumentCache documentCache;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @MockBean
+    private TokenService tokenService;
+
+    private final String QUERY = "query {rolePage(pageDataRequest: {page: 0, size: 2}) {totalElements content {name}}}";
+
+    @BeforeEach
+    public void setup() throws Exception {
+        new IntegrationTest(mvc, mapper, tokenService);
+        ((Map) ReflectionTestUtils.getField(documentCache, "documents")).clear();
+        ((Map) ReflectionTestUtils.getField(documentCache, "queries")).clear();
+        ReflectionTestUtils.setField(documentCache, "hits", new AtomicLong());
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+        roleRepository.save(new Role("R1", "Role 1", null));
+    }
+
+    /**
+     * Should fail when hash isn't persisted
+     */
+    @Test
+    public void persistedQueryNotFound() throws Exception {
+        final Map result = perform(Map.of("extensions", persistedQuery(1, DigestUtils.sha256Hex(QUERY))));
+
+        assertError(GraphQLCtrl.PERSISTED_QUERY_NOT_FOUND, result);
+    }
+
+    /**
+     * Should fail when version isn't supported
+     */
+    @Test
+    public void persistedQueryNotSupported() throws Exception {
+        final Map result = perform(Map.of("query", QUERY, "extensions", persistedQuery(2, DigestUtils.sha256Hex(QUERY))));
+
+        assertError(GraphQLCtrl.PERSISTED_QUERY_NOT_SUPPORTED, result);
+        assertNull(documentCache.getQuery(DigestUtils.sha256Hex(QUERY)));
+    }
+
+    /**
+     * Should fail when hash doesn't match query
+     */
+    @Test
+    public void persistedQueryInvalidHash() throws Exception {
+        final Map result = perform(Map.of("query", QUERY, "extensions", persistedQuery(1, DigestUtils.sha256Hex("other"))));
+
+        assertError(GraphQLCtrl.PERSISTED_QUERY_INVALID_HASH, result);
+        assertNull(documentCache.getQuery(DigestUtils.sha256Hex("other")));
+    }
+
+    /**
+     * Should persist the query and execute it later only with its hash
+     */
+    @Test
+    public void persistedQuery() throws Exception {
+        final String hash = DigestUtils.sha256Hex(QUERY);
+        final Map dataExpected = Map.of("rolePage", Map.of("totalElements", 1, "content", List.of(Map.of("name", "R1"))));
+
+        final Map result1 = perform(Map.of("query", QUERY, "extensions", persistedQuery(1, hash.toUpperCase())));
+        final Map result2 = perform(Map.of("extensions", persistedQuery(1, hash)));
+
+        assertEquals(Map.of("data", dataExpected), result1);
+        assertEquals(Map.of("data", dataExpected), result2);
+        assertEquals(QUERY, documentCache.getQuery(hash));
+        assertEquals(1L, documentCache.getStatistics().get("hits"));
+    }
+
+    /**
+     * Should check query depth of each operation even when its document is cached
+     */
+    @Test
+    public void maxDepthCachedDocument() throws Exception {
+        final String query = "query Shallow {rolePage(pageDataRequest: {page: 0, size: 2}) {content {name}}} " +
+                "query Deep {rolePage(pageDataRequest: {page: 0, size: 2}) {content {permissions {name}}}}";
+
+        final Map result1 = perform(Map.of("query", query, "operationName", "Shallow"));
+        final Map result2 = perform(Map.of("query", query, "operationName", "Deep"));
+        final List<Map> errors = (List) result2.get("errors");
+
+        assertNull(result1.get("errors"));
+        assertNull(result2.get("data"));
+        assertEquals("maximum query depth exceeded 4 > 3", errors.get(0).get("message"));
+        assertEquals(1L, documentCache.getStatistics().get("hits"));
+    }
+
+    /**
+     * Should execute queries sent as application/graphql
+     */
+    @Test
+    public void graphQLContentType() throws Exception {
+        final MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.post(IntegrationTest.GRAPH_QL_PATH)
+                .content(QUERY)
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN)
+                .contentType("application/graphql");
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        final Map dataExpected = Map.of("rolePage", Map.of("totalElements", 1, "content", List.of(Map.of("name", "R1"))));
+
+        assertEquals(Map.of("data", dataExpected), mapper.readValue(bodyResult, HashMap.class));
+    }
+
+    private Map<String, Object> persistedQuery(int version, String hash) {
+        return Map.of("persistedQuery", Map.of("version", version, "sha256Hash", hash));
+    }
+
+    private Map perform(Map<String, Object> body) throws Exception {
+        final MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.post(IntegrationTest.GRAPH_QL_PATH)
+                .content(new JSONObject(body).toString())
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return mapper.readValue(bodyResult, HashMap.class);
+    }
+
+    private void assertError(String message, Map result) {
+        final List<Map> errors = (List) result.get("errors");
+        final Map<String, Object> extensions = (Map) errors.get(0).get("extensions");
+
+        assertNull(result.get("data"));
+        assertEquals(message, errors.get(0).get("message"));
+        assertEquals("BAD_REQUEST", extensions.get("errorType"));
+        assertEquals(400, extensions.get("errorCode"));
+    }
+}
@@ -239,7 +239,7 @@ public class PersonIntegrationTest {
         assertNull(data.get("createPerson"));
         assertEquals("INTERNAL_SERVER_ERROR", extensions.get("errorType"));
         assertEquals(500, extensions.get("errorCode"));
-        assertTrue(extensions.get("error").get("devMessage").contains("could not execute statement"));
+        assertTrue(extensions.get("error").get("devMessage").contains("could not execute batch"));
 
         // not inserted in data base
         assertEquals(personRepository.count(), 3);
@@ -385,7 +385,7 @@ public class PersonIntegrationTest {
      */
     @Test
     public void updatePersonNotFound() throws Exception {
-        final String query = "mutation {updatePerson(person: {id: \"12345\" name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 1 sex: \"M\"}) {id fullName}}";
+        final String query = "mutation {updatePerson(person: {id: \"12345\" version: 0 name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 1 sex: \"M\"}) {id fullName}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -405,7 +405,7 @@ public class PersonIntegrationTest {
      */
     @Test
     public void updatePersonInvalidRoleID() throws Exception {
-        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 1 sex: \"M\" roles: [{id: \"invalid\"}]}) {id fullName}}";
+        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" version: 0 name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 1 sex: \"M\" roles: [{id: \"invalid\"}]}) {id fullName}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -414,7 +414,7 @@ public class PersonIntegrationTest {
         assertNull(data.get("updatePerson"));
         assertEquals("INTERNAL_SERVER_ERROR", extensions.get("errorType"));
         assertEquals(500, extensions.get("errorCode"));
-        assertTrue(extensions.get("error").get("devMessage").contains("could not extract ResultSet"));
+        assertTrue(extensions.get("error").get("devMessage").contains("could not execute statement"));
 
         // not updated in data base
         validatePeopleNotEdited();
@@ -425,7 +425,7 @@ public class PersonIntegrationTest {
      */
     @Test
     public void updatePersonNotRoleID() throws Exception {
-        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 1 sex: \"M\" roles: [{name: \"invalid\"}]}) {id fullName}}";
+        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" version: 0 name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 1 sex: \"M\" roles: [{name: \"invalid\"}]}) {id fullName}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -441,11 +441,11 @@ public class PersonIntegrationTest {
     }
 
     /**
-     * Should return a success response
+     * Should return a success response and keep person's roles when they aren't sent
      */
     @Test
     public void updatePersonNullRoles() throws Exception {
-        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\" email: \"eee@eee.com\"}) {id fullName birthday civilStatus sex email roles {id}}}";
+        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(1).getId() + "\" version: 0 name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\" email: \"eee@eee.com\"}) {id fullName birthday civilStatus sex email roles {id}}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map person = data.get("updatePerson");
@@ -456,7 +456,7 @@ public class PersonIntegrationTest {
         assertEquals(2, person.get("civilStatus"));
         assertEquals("M", person.get("sex"));
         assertEquals("eee@eee.com", person.get("email"));
-        assertNull(person.get("roles"));
+        assertEquals(List.of(Map.of("id", dbRoles.get(1).getId())), person.get("roles"));
 
         // updated in data base
         validatePeopleEdited();
@@ -467,7 +467,7 @@ public class PersonIntegrationTest {
      */
     @Test
     public void updatePersonEmptyRoles() throws Exception {
-        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\" email: \"eee@eee.com\" roles: []}) {id fullName birthday civilStatus sex email roles {id}}}";
+        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" version: 0 name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\" email: \"eee@eee.com\" roles: []}) {id fullName birthday civilStatus sex email roles {id}}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map person = data.get("updatePerson");
@@ -490,7 +490,7 @@ public class PersonIntegrationTest {
      */
     @Test
     public void updatePerson() throws Exception {
-        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\" email: \"eee@eee.com\" roles: [{id: \"" + dbRoles.get(1).getId() + "\"}]}) {id fullName birthday civilStatus sex email roles {id}}}";
+        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" version: 0 name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\" email: \"eee@eee.com\" roles: [{id: \"" + dbRoles.get(1).getId() + "\"}]}) {id fullName birthday civilStatus sex email roles {id}}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map person = data.get("updatePerson");
@@ -509,6 +509,69 @@ public class PersonIntegrationTest {
         validatePeopleEdited();
     }
 
+    /**
+     * Should return a success response and increase the version
+     */
+    @Test
+    public void updatePersonVersion() throws Exception {
+        final Person original = dbPeople.get(0);
+        final String query = "mutation {updatePerson(person: {id: \"" + original.getId() + "\" version: " + original.getVersion() + " name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\"}) {id fullName version}}";
+        final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
+        final Map<String, Map> data = (Map) mapResult.get("data");
+        final Map person = data.get("updatePerson");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals("N4 LN4", person.get("fullName"));
+        assertEquals(original.getVersion() + 1, ((Number) person.get("version")).longValue());
+        assertEquals(original.getVersion() + 1, personRepository.findById(original.getId()).get().getVersion());
+
+        // updated in data base
+        validatePeopleEdited();
+    }
+
+    /**
+     * Should return a 409 error response when person was updated by someone else
+     */
+    @Test
+    public void updatePersonConflict() throws Exception {
+        final Person original = dbPeople.get(0);
+        final String query = "mutation {updatePerson(person: {id: \"" + original.getId() + "\" version: " + (original.getVersion() + 1) + " name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\"}) {id fullName}}";
+        final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
+        final Map data = (Map) mapResult.get("data");
+        final List<Map> errors = (List) mapResult.get("errors");
+        final Map extensions = (Map) errors.get(0).get("extensions");
+        final Map error = (Map) extensions.get("error");
+
+        assertNull(data.get("updatePerson"));
+        assertEquals("CONFLICT", extensions.get("errorType"));
+        assertEquals(409, extensions.get("errorCode"));
+        assertEquals("Data was modified by another user.", error.get("message"));
+        assertEquals("N1", personRepository.findById(original.getId()).get().getName());
+        assertEquals(original.getVersion(), personRepository.findById(original.getId()).get().getVersion());
+    }
+
+    /**
+     * Should return a 400 error response when version isn't sent
+     */
+    @Test
+    public void updatePersonNotVersion() throws Exception {
+        final String query = "mutation {updatePerson(person: {id: \"" + dbPeople.get(0).getId() + "\" name: \"N4\" lastName: \"LN4\" birthday: \"2050-08-28\" civilStatus: 2 sex: \"M\"}) {id fullName}}";
+        final Map mapResult = integrationTest.performGraphQL(query, CREATE_USERS_TOKEN);
+        final Map data = (Map) mapResult.get("data");
+        final List<Map> errors = (List) mapResult.get("errors");
+        final Map extensions = (Map) errors.get(0).get("extensions");
+        final Map error = (Map) extensions.get("error");
+        final List<Map> nestedErrors = (List) error.get("nestedErrors");
+
+        assertNull(data.get("updatePerson"));
+        assertEquals(400, extensions.get("errorCode"));
+        assertEquals("Some data aren't valid.", error.get("message"));
+        assertEquals("version", nestedErrors.get(0).get("field"));
+
+        // not updated in data base
+        validatePeopleNotEdited();
+    }
+
     /**
      * Should return an error response
      */
@@ -633,6 +696,57 @@ public class PersonIntegrationTest {
         assertEquals(1, people.size());
     }
 
+    /**
+     * Should return a success response with cursors
+     */
+    @Test
+    public void personConnection() throws Exception {
+        final String query = "query {personConnection(pageDataRequest: {page: 0, size: 2}) {pageInfo{hasNextPage hasPreviousPage} edges{cursor node{id}}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, VIEW_USERS_TOKEN);
+        final Map<String, Map> data = (Map) mapResult.get("data");
+        final Map personConnection = data.get("personConnection");
+        final Map pageInfo = (Map) personConnection.get("pageInfo");
+        final List edges = (List) personConnection.get("edges");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals(true, pageInfo.get("hasNextPage"));
+        assertEquals(false, pageInfo.get("hasPreviousPage"));
+        assertEquals(2, edges.size());
+    }
+
+    /**
+     * Should return a success response without total values
+     */
+    @Test
+    public void personSlice() throws Exception {
+        final String query = "query {personSlice(pageDataRequest: {page: 1, size: 1}) {hasNext hasPrevious content{id}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, VIEW_USERS_TOKEN);
+        final Map<String, Map> data = (Map) mapResult.get("data");
+        final Map personSlice = data.get("personSlice");
+        final List people = (List) personSlice.get("content");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals(true, personSlice.get("hasNext"));
+        assertEquals(true, personSlice.get("hasPrevious"));
+        assertEquals(1, people.size());
+    }
+
+    /**
+     * Should return the last page without total values
+     */
+    @Test
+    public void personSliceLast() throws Exception {
+        final String query = "query {personSlice(pageDataRequest: {page: 1, size: 2}) {hasNext content{id}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, VIEW_USERS_TOKEN);
+        final Map<String, Map> data = (Map) mapResult.get("data");
+        final Map personSlice = data.get("personSlice");
+        final List people = (List) personSlice.get("content");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals(false, personSlice.get("hasNext"));
+        assertEquals(1, people.size());
+    }
+
     private void validatePeopleEdited() {
         final List<Person> newDBPeople = personRepository.findAll();
         newDBPeople.forEach(p -> {
@@ -0,0 +1,122 @@
+package ragde.integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ragde.graphql.costs.QueryCostBudget;
+import ragde.security.services.TokenService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"graphql.cost.max=250", "graphql.cost.budget=300", "graphql.cost.window=3600", "graphql.cost.report=true"})
+@AutoConfigureMockMvc
+@SuppressWarnings("unchecked")
+public class QueryCostIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private QueryCostBudget queryCostBudget;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        new IntegrationTest(mvc, mapper, tokenService);
+        ((Map) ReflectionTestUtils.getField(queryCostBudget, "buckets")).clear();
+    }
+
+    /**
+     * Should report operation's cost in extensions
+     */
+    @Test
+    public void costReported() throws Exception {
+        final Map result = perform("query {rolePage(pageDataRequest: {page: 0, size: 2}) {totalElements content {name}}}");
+
+        assertNull(result.get("errors"));
+        assertEquals(Map.of("cost", Map.of("requested", 3, "maximum", 250, "remaining", 297)), result.get("extensions"));
+    }
+
+    /**
+     * Should count connection's edges as pageDataRequest.size rows and its pageInfo as one
+     */
+    @Test
+    public void costConnection() throws Exception {
+        final Map result = perform("query {personConnection(pageDataRequest: {page: 0, size: 5}) {pageInfo {hasNextPage} edges {node {name}}}}");
+
+        final Map<String, Map<String, Object>> extensions = (Map) result.get("extensions");
+
+        assertNull(result.get("errors"));
+        assertEquals(12, extensions.get("cost").get("requested"));
+    }
+
+    /**
+     * Should reject operations more expensive than max cost
+     */
+    @Test
+    public void costExceeded() throws Exception {
+        final Map result = perform("query {rolePage(pageDataRequest: {page: 0, size: 300}) {content {name}}}");
+
+        assertError("maximum query cost exceeded 301 > 250", result);
+        assertEquals(300, queryCostBudget.consume("ID", 0));
+    }
+
+    /**
+     * Should reject operations more expensive than user's remaining budget
+     */
+    @Test
+    public void budgetExceeded() throws Exception {
+        final String query = "query {rolePage(pageDataRequest: {page: 0, size: 200}) {content {name}}}";
+
+        final Map result1 = perform(query);
+        final Map result2 = perform(query);
+
+        assertNull(result1.get("errors"));
+        assertEquals(99, ((Map<String, Map<String, Object>>) result1.get("extensions")).get("cost").get("remaining"));
+        assertError("query cost budget exceeded 201 > 99, try again later", result2);
+    }
+
+    private Map perform(String query) throws Exception {
+        final MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.post(IntegrationTest.GRAPH_QL_PATH)
+                .content(new JSONObject(Map.of("query", query)).toString())
+                .header("Authorization", "Bearer " + IntegrationTest.ALL_PERMISSIONS_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        final String bodyResult = mvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return mapper.readValue(bodyResult, HashMap.class);
+    }
+
+    private void assertError(String message, Map result) {
+        final List<Map> errors = (List) result.get("errors");
+
+        assertNull(result.get("data"));
+        assertNull(result.get("extensions"));
+        assertEquals(message, errors.get(0).get("message"));
+    }
+}
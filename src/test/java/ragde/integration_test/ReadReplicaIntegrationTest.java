@@ -0,0 +1,141 @@
+package ragde.integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import ragde.models.Permission;
+import ragde.models.Role;
+import ragde.repositories.*;
+import ragde.repositories.datasources.ReplicaRoutingDataSource;
+import ragde.security.pojos.LoggedUser;
+import ragde.security.services.TokenService;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "datasource.replicas.urls=jdbc:h2:mem:ragde_replica",
+        "datasource.replicas.lag-query=SELECT seconds FROM replica_lag",
+        "datasource.replicas.max-lag=5",
+        "datasource.replicas.check-interval=0"
+})
+@AutoConfigureMockMvc
+@SuppressWarnings("unchecked")
+public class ReadReplicaIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private IntegrationTest integrationTest;
+
+    private JdbcTemplate replica;
+
+    private Permission permission;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        integrationTest = new IntegrationTest(mvc, mapper, tokenService);
+        routingDataSource = (ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+        permissionRepository.saveAll(List.of(new Permission("P1", "D1"), new Permission("P2", "D2")));
+
+        // copy primary into replica, later changes are only done in primary (replica is behind it)
+        final JdbcTemplate primary = new JdbcTemplate(routingDataSource.getResolvedDataSources().get("primary"));
+        replica = new JdbcTemplate(routingDataSource.getResolvedDataSources().get("replica-0"));
+        final List<String> script = primary.queryForList("SCRIPT", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+        replica.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        replica.execute("INSERT INTO replica_lag VALUES (0)");
+
+        permission = permissionRepository.save(new Permission("P3", "D3"));
+        roleRepository.save(new Role("R1", "D1", Set.of(permission)));
+    }
+
+    /**
+     * Should read from replica
+     */
+    @Test
+    public void queryReadsReplica() throws Exception {
+        final String query = "query {permissions {name}}";
+        final Map mapResult = integrationTest.performGraphQL(query, IntegrationTest.ALL_PERMISSIONS_TOKEN);
+        final Map<String, List<Map>> data = (Map) mapResult.get("data");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals(List.of("P1", "P2"), data.get("permissions").stream().map(p -> p.get("name")).collect(Collectors.toList()));
+    }
+
+    /**
+     * Should read from primary when replica has too much lag
+     */
+    @Test
+    public void queryReadsPrimaryWhenLag() throws Exception {
+        replica.update("UPDATE replica_lag SET seconds = 6");
+
+        final String query = "query {permissions {name}}";
+        final Map mapResult = integrationTest.performGraphQL(query, IntegrationTest.ALL_PERMISSIONS_TOKEN);
+        final Map<String, List<Map>> data = (Map) mapResult.get("data");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals(List.of("P1", "P2", "P3"), data.get("permissions").stream().map(p -> p.get("name")).collect(Collectors.toList()));
+    }
+
+    /**
+     * Should read and write in primary during a mutation
+     */
+    @Test
+    public void mutationUsesPrimary() throws Exception {
+        final String query = "mutation {updatePermission(permission: {id: \"" + permission.getId() + "\" version: 0 name: \"P3\" description: \"New\"}) {name description roles {name}}}";
+        final Map mapResult = integrationTest.performGraphQL(query, IntegrationTest.ALL_PERMISSIONS_TOKEN);
+        final Map<String, Map> data = (Map) mapResult.get("data");
+        final Map permissionResult = data.get("updatePermission");
+
+        assertNull(mapResult.get("errors"));
+        assertEquals("New", permissionResult.get("description"));
+        assertEquals(List.of(Map.of("name", "R1")), permissionResult.get("roles"));
+        assertEquals("New", permissionRepository.findById(permission.getId()).orElseThrow().getDescription());
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM permission WHERE description = 'New'", Long.class));
+    }
+}
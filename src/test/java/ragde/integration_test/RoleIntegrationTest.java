@@ -269,7 +269,7 @@ public class RoleIntegrationTest {
         assertNull(data.get("createRole"));
         assertEquals("INTERNAL_SERVER_ERROR", extensions.get("errorType"));
         assertEquals(500, extensions.get("errorCode"));
-        assertTrue(extensions.get("error").get("devMessage").contains("could not execute statement"));
+        assertTrue(extensions.get("error").get("devMessage").contains("could not execute batch"));
 
         // not inserted in data base
         assertEquals(roleRepository.count(), 3);
@@ -387,7 +387,7 @@ public class RoleIntegrationTest {
      */
     @Test
     public void updateRoleNotFound() throws Exception {
-        final String query = "mutation {updateRole(role: {id: \"123456\" name: \"N3\" description: \"Desc\"}) {id name}}";
+        final String query = "mutation {updateRole(role: {id: \"123456\" version: 0 name: \"N3\" description: \"Desc\"}) {id name}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -407,7 +407,7 @@ public class RoleIntegrationTest {
      */
     @Test
     public void updateRoleInvalidPermissionID() throws Exception {
-        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" name: \"R3\" description: \"Desc\" permissions: [{id: \"invalid\"}]}) {id name}}";
+        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" version: 0 name: \"R3\" description: \"Desc\" permissions: [{id: \"invalid\"}]}) {id name}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -416,7 +416,7 @@ public class RoleIntegrationTest {
         assertNull(data.get("updateRole"));
         assertEquals("INTERNAL_SERVER_ERROR", extensions.get("errorType"));
         assertEquals(500, extensions.get("errorCode"));
-        assertTrue(extensions.get("error").get("devMessage").contains("could not extract ResultSet"));
+        assertTrue(extensions.get("error").get("devMessage").contains("could not execute statement"));
 
         // not updated in data base
         validateRolesNotEdited();
@@ -427,7 +427,7 @@ public class RoleIntegrationTest {
      */
     @Test
     public void updateRoleNotPermissionID() throws Exception {
-        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" name: \"R3\" description: \"Desc\" permissions: [{name: \"invalid\"}]}) {id name}}";
+        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" version: 0 name: \"R3\" description: \"Desc\" permissions: [{name: \"invalid\"}]}) {id name}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map data = (Map) mapResult.get("data");
         final List<Map> errors = (List) mapResult.get("errors");
@@ -443,11 +443,11 @@ public class RoleIntegrationTest {
     }
 
     /**
-     * Should return a success response
+     * Should return a success response and keep role's permissions when they aren't sent
      */
     @Test
     public void updateRoleNullPermissions() throws Exception {
-        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" name: \"R3\" description: \"Desc\"}) {id name description permissions {id}}}";
+        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" version: 0 name: \"R3\" description: \"Desc\"}) {id name description permissions {id}}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map role = data.get("updateRole");
@@ -455,7 +455,7 @@ public class RoleIntegrationTest {
         assertNull(mapResult.get("errors"));
         assertEquals("R2", role.get("name"));
         assertEquals("Desc", role.get("description"));
-        assertNull(role.get("permissions"));
+        assertEquals(List.of(Map.of("id", dbPermissions.get(1).getId())), role.get("permissions"));
 
         // updated in data base
         validateRolesEdited();
@@ -466,7 +466,7 @@ public class RoleIntegrationTest {
      */
     @Test
     public void updateRoleEmptyPermissions() throws Exception {
-        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" name: \"R3\" description: \"Desc\" permissions: []}) {id name description permissions {id}}}";
+        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" version: 0 name: \"R3\" description: \"Desc\" permissions: []}) {id name description permissions {id}}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map role = data.get("updateRole");
@@ -486,7 +486,7 @@ public class RoleIntegrationTest {
      */
     @Test
     public void updateRole() throws Exception {
-        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" name: \"R3\" description: \"Desc\" permissions: [{id: \"" + dbPermissions.get(0).getId() + "\"}]}) {id name description permissions {id}}}";
+        final String query = "mutation {updateRole(role: {id: \"" + dbRoles.get(1).getId() + "\" version: 0 name: \"R3\" description: \"Desc\" permissions: [{id: \"" + dbPermissions.get(0).getId() + "\"}]}) {id name description permissions {id}}}";
         final Map mapResult = integrationTest.performGraphQL(query, CREATE_ROLES_TOKEN);
         final Map<String, Map> data = (Map) mapResult.get("data");
         final Map role = data.get("updateRole");
@@ -94,8 +94,10 @@ public class SecurityIntegrationTest {
                 new LoggedUser("123", null, null, null, Set.of("VIEW_ROLES")));
         given(tokenService.getLoggedUser(CHANGE_ROLE_TOKEN)).willReturn(
                 new LoggedUser(dbPeople.get(1).getId(), null, null, null, Set.of("VIEW_ROLES")));
+        final LoggedUser tokenUser = new LoggedUser("mockID", "mockRole");
+        tokenUser.setToken(TOKEN);
+        given(tokenService.createLoggedUser(any(LoggedUser.class))).willReturn(tokenUser);
         given(tokenService.createToken(any(LoggedUser.class))).willReturn(TOKEN);
-        given(tokenService.getLoggedUser(TOKEN)).willReturn(new LoggedUser("mockID", "mockRole"));
     }
 
     /**
@@ -22,6 +22,8 @@ public class FilterRequestTest {
 
         assertNull(filterRequest.getField());
         assertNull(filterRequest.getValue());
+        assertNull(filterRequest.getValues());
+        assertNull(filterRequest.getFilters());
         assertNull(filterRequest.getOperation());
     }
 
@@ -40,6 +42,39 @@ public class FilterRequestTest {
         assertSame(OPERATION, filterRequest.getOperation());
     }
 
+    /**
+     * Should create list constructor
+     */
+    @Test
+    public void constructorList() {
+        final String FIELD = "test";
+        final List<String> VALUES = List.of("value1", "value2");
+        final FilterRequest.OPERATIONS OPERATION = FilterRequest.OPERATIONS.IN;
+        final FilterRequest filterRequest = new FilterRequest(OPERATION, FIELD, VALUES);
+
+        assertSame(FIELD, filterRequest.getField());
+        assertNull(filterRequest.getValue());
+        assertSame(VALUES, filterRequest.getValues());
+        assertNull(filterRequest.getFilters());
+        assertSame(OPERATION, filterRequest.getOperation());
+    }
+
+    /**
+     * Should create group constructor
+     */
+    @Test
+    public void constructorGroup() {
+        final List<FilterRequest> FILTERS = List.of(new FilterRequest("test", "value", FilterRequest.OPERATIONS.EQ));
+        final FilterRequest.OPERATIONS OPERATION = FilterRequest.OPERATIONS.OR;
+        final FilterRequest filterRequest = new FilterRequest(OPERATION, FILTERS);
+
+        assertNull(filterRequest.getField());
+        assertNull(filterRequest.getValue());
+        assertNull(filterRequest.getValues());
+        assertSame(FILTERS, filterRequest.getFilters());
+        assertSame(OPERATION, filterRequest.getOperation());
+    }
+
     /**
      * Should equals instances
      */
@@ -110,6 +145,21 @@ public class FilterRequestTest {
         assertEquals(filterRequestNull1, filterRequestNull2);
     }
 
+    /**
+     * Should fail equals due values and filters
+     */
+    @Test
+    public void noEqualsValuesAndFilters() {
+        final FilterRequest filterRequest1 = new FilterRequest(FilterRequest.OPERATIONS.IN, "Field1", List.of("value"));
+        final FilterRequest filterRequest2 = new FilterRequest(FilterRequest.OPERATIONS.IN, "Field1", List.of("value2"));
+        final FilterRequest group1 = new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(filterRequest1));
+        final FilterRequest group2 = new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(filterRequest2));
+
+        assertNotEquals(filterRequest1, filterRequest2);
+        assertNotEquals(group1, group2);
+        assertEquals(group1, new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(filterRequest1)));
+    }
+
     /**
      * Should get 3 errors when parameters null
      */
@@ -159,6 +209,47 @@ public class FilterRequestTest {
         assertEquals(nestedErrorsExpected, nestedErrorsResult);
     }
 
+    /**
+     * Should get errors when data required by list operations, groups and single value operations is null
+     */
+    @Test
+    public void validateWhenRequiredByOperation() {
+        final FilterRequest f = new FilterRequest(FilterRequest.OPERATIONS.AND, List.of(
+                new FilterRequest(FilterRequest.OPERATIONS.NOT_IN, "A", null),
+                new FilterRequest(FilterRequest.OPERATIONS.OR, null),
+                new FilterRequest(FilterRequest.OPERATIONS.EQ, "A", List.of("B"))
+        ));
+        final List<NestedError> nestedErrorsExpected = List.of(
+                new ValidationNestedError("filters[0].values", "must not be null"),
+                new ValidationNestedError("filters[1].filters", "must not be null"),
+                new ValidationNestedError("filters[2].value", "must not be null")
+        );
+        final List<NestedError> nestedErrorsResult = IntegrationTest.getValidationErrors(f);
+
+        assertNotSame(nestedErrorsExpected, nestedErrorsResult);
+        assertEquals(nestedErrorsExpected, nestedErrorsResult);
+    }
+
+    /**
+     * Should get errors when values and filters are empty and when nested filters are invalid
+     */
+    @Test
+    public void validateListAndGroup() {
+        final FilterRequest f = new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(
+                new FilterRequest(FilterRequest.OPERATIONS.IN, "", Collections.emptyList()),
+                new FilterRequest(FilterRequest.OPERATIONS.AND, Collections.emptyList())
+        ));
+        final List<NestedError> nestedErrorsExpected = List.of(
+                new ValidationNestedError("filters[0].field", "size must be between 1 and 255"),
+                new ValidationNestedError("filters[0].values", "size must be between 1 and 1000"),
+                new ValidationNestedError("filters[1].filters", "size must be between 1 and 100")
+        );
+        final List<NestedError> nestedErrorsResult = IntegrationTest.getValidationErrors(f);
+
+        assertNotSame(nestedErrorsExpected, nestedErrorsResult);
+        assertEquals(nestedErrorsExpected, nestedErrorsResult);
+    }
+
     /**
      * Should get 0 error when correct
      */
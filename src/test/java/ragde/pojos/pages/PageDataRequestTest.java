@@ -37,6 +37,8 @@ public class PageDataRequestTest {
         assertNull(pageDataRequest.getDirection());
         assertNull(pageDataRequest.getSort());
         assertNull(pageDataRequest.getFilters());
+        assertNull(pageDataRequest.getAfter());
+        assertNull(pageDataRequest.getBefore());
     }
 
     /**
@@ -56,6 +58,31 @@ public class PageDataRequestTest {
         assertSame(DIRECTION, pageDataRequest.getDirection());
         assertSame(SORT, pageDataRequest.getSort());
         assertSame(FILTERS, pageDataRequest.getFilters());
+        assertNull(pageDataRequest.getAfter());
+        assertNull(pageDataRequest.getBefore());
+    }
+
+    /**
+     * Should create cursor constructor
+     */
+    @Test
+    public void constructorCursor() {
+        final Integer PAGE = 1;
+        final Integer SIZE = 2;
+        final PageDataRequest.SORT_DIRECTION DIRECTION = PageDataRequest.SORT_DIRECTION.ASC;
+        final List<String> SORT = List.of("S1", "S2");
+        final List<FilterRequest> FILTERS = List.of(new FilterRequest("FR1", null, null), new FilterRequest("FR2", null, null));
+        final String AFTER = "A";
+        final String BEFORE = "B";
+        final PageDataRequest pageDataRequest = new PageDataRequest(PAGE, SIZE, DIRECTION, SORT, FILTERS, AFTER, BEFORE);
+
+        assertSame(PAGE, pageDataRequest.getPage());
+        assertSame(SIZE, pageDataRequest.getSize());
+        assertSame(DIRECTION, pageDataRequest.getDirection());
+        assertSame(SORT, pageDataRequest.getSort());
+        assertSame(FILTERS, pageDataRequest.getFilters());
+        assertSame(AFTER, pageDataRequest.getAfter());
+        assertSame(BEFORE, pageDataRequest.getBefore());
     }
 
     /**
@@ -178,6 +205,22 @@ public class PageDataRequestTest {
         assertNotEquals(pageDataRequestNull, pageDataRequest1);
     }
 
+    /**
+     * Should fail equals due cursors
+     */
+    @Test
+    public void noEqualsCursors() {
+        final PageDataRequest pageDataRequest1 = new PageDataRequest(1, 2, PageDataRequest.SORT_DIRECTION.ASC, List.of("A"), null, "C1", null);
+        final PageDataRequest pageDataRequest2 = new PageDataRequest(1, 2, PageDataRequest.SORT_DIRECTION.ASC, List.of("A"), null, "C2", null);
+        final PageDataRequest pageDataRequest3 = new PageDataRequest(1, 2, PageDataRequest.SORT_DIRECTION.ASC, List.of("A"), null, null, "C1");
+        final PageDataRequest pageDataRequestNull = new PageDataRequest(1, 2, PageDataRequest.SORT_DIRECTION.ASC, List.of("A"), null);
+
+        assertNotEquals(pageDataRequest1, pageDataRequest2);
+        assertNotEquals(pageDataRequest1, pageDataRequest3);
+        assertNotEquals(pageDataRequest1, pageDataRequestNull);
+        assertNotEquals(pageDataRequestNull, pageDataRequest1);
+    }
+
     /**
      * Should be equals
      */
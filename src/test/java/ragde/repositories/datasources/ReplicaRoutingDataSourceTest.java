@@ -0,0 +1,220 @@
+package ragde.repositories.datasources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = createDataSource("routing_primary");
+
+    private final DataSource replica1 = createDataSource("routing_replica1");
+
+    private final DataSource replica2 = createDataSource("routing_replica2");
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setup() {
+        List.of(replica1, replica2).forEach(replica -> {
+            final JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+            replicaTemplate.execute("DROP TABLE IF EXISTS replica_lag");
+            replicaTemplate.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+            replicaTemplate.execute("INSERT INTO replica_lag VALUES (0)");
+        });
+        createRouting("SELECT seconds FROM replica_lag");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Should use primary in write transactions
+     */
+    @Test
+    public void writeTransaction() {
+        final String databaseResult = transactionTemplate.execute(status -> getDatabase());
+
+        assertEquals("ROUTING_PRIMARY", databaseResult);
+    }
+
+    /**
+     * Should use replicas (round robin) in read only transactions
+     */
+    @Test
+    public void readOnlyTransaction() {
+        transactionTemplate.setReadOnly(true);
+
+        final Set<String> databasesResult = IntStream.range(0, 4).mapToObj(i -> transactionTemplate.execute(status -> getDatabase())).collect(Collectors.toSet());
+
+        assertEquals(Set.of("ROUTING_REPLICA1", "ROUTING_REPLICA2"), databasesResult);
+    }
+
+    /**
+     * Should use primary without transaction outside a request
+     */
+    @Test
+    public void withoutTransactionOutsideRequest() {
+        assertEquals("ROUTING_PRIMARY", getDatabase());
+    }
+
+    /**
+     * Should use replicas without transaction inside a request
+     */
+    @Test
+    public void withoutTransactionInsideRequest() {
+        startRequest();
+
+        assertTrue(getDatabase().startsWith("ROUTING_REPLICA"));
+    }
+
+    /**
+     * Should use primary during the rest of the request after a write transaction
+     */
+    @Test
+    public void readYourWrites() {
+        startRequest();
+        transactionTemplate.execute(status -> getDatabase());
+
+        assertEquals("ROUTING_PRIMARY", getDatabase());
+        transactionTemplate.setReadOnly(true);
+        assertEquals("ROUTING_PRIMARY", transactionTemplate.execute(status -> getDatabase()));
+
+        // new request
+        startRequest();
+        assertTrue(getDatabase().startsWith("ROUTING_REPLICA"));
+    }
+
+    /**
+     * Should use primary during the rest of the request after usePrimary is called
+     */
+    @Test
+    public void usePrimary() {
+        ReplicaRoutingDataSource.usePrimary();
+        startRequest();
+        ReplicaRoutingDataSource.usePrimary();
+        transactionTemplate.setReadOnly(true);
+
+        assertEquals("ROUTING_PRIMARY", getDatabase());
+        assertEquals("ROUTING_PRIMARY", transactionTemplate.execute(status -> getDatabase()));
+    }
+
+    /**
+     * Should skip replicas with too much lag or unknown lag
+     */
+    @Test
+    public void lag() {
+        transactionTemplate.setReadOnly(true);
+        new JdbcTemplate(replica1).update("UPDATE replica_lag SET seconds = 6");
+
+        final Set<String> databasesResult = IntStream.range(0, 4).mapToObj(i -> transactionTemplate.execute(status -> getDatabase())).collect(Collectors.toSet());
+        assertEquals(Set.of("ROUTING_REPLICA2"), databasesResult);
+
+        new JdbcTemplate(replica2).update("UPDATE replica_lag SET seconds = NULL");
+        assertEquals("ROUTING_PRIMARY", transactionTemplate.execute(status -> getDatabase()));
+
+        new JdbcTemplate(replica1).update("UPDATE replica_lag SET seconds = 5");
+        assertEquals("ROUTING_REPLICA1", transactionTemplate.execute(status -> getDatabase()));
+    }
+
+    /**
+     * Should skip replicas when lag query fails
+     */
+    @Test
+    public void lagQueryFails() {
+        createRouting("SELECT seconds FROM unknown_table");
+        transactionTemplate.setReadOnly(true);
+
+        assertEquals("ROUTING_PRIMARY", transactionTemplate.execute(status -> getDatabase()));
+    }
+
+    /**
+     * Should not check lag when lag query is empty
+     */
+    @Test
+    public void lagQueryEmpty() {
+        createRouting("");
+        transactionTemplate.setReadOnly(true);
+        new JdbcTemplate(replica1).update("UPDATE replica_lag SET seconds = NULL");
+        new JdbcTemplate(replica2).update("UPDATE replica_lag SET seconds = NULL");
+
+        assertTrue(transactionTemplate.execute(status -> getDatabase()).startsWith("ROUTING_REPLICA"));
+    }
+
+    /**
+     * Should keep lag until check interval is over
+     */
+    @Test
+    public void checkInterval() {
+        final ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), "SELECT seconds FROM replica_lag", 5, 60);
+        jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(routingDataSource));
+        startRequest();
+
+        assertEquals("ROUTING_REPLICA1", getDatabase());
+        new JdbcTemplate(replica1).update("UPDATE replica_lag SET seconds = 6");
+        assertEquals("ROUTING_REPLICA1", getDatabase());
+    }
+
+    /**
+     * Should use primary in readLatest until max lag plus check interval after the last write
+     */
+    @Test
+    public void readLatest() {
+        startRequest();
+        assertTrue(ReplicaRoutingDataSource.readLatest(this::getDatabase).startsWith("ROUTING_REPLICA"));
+
+        transactionTemplate.execute(status -> getDatabase());
+
+        // new request
+        startRequest();
+        assertEquals("ROUTING_PRIMARY", ReplicaRoutingDataSource.readLatest(this::getDatabase));
+        assertEquals("ROUTING_PRIMARY", ReplicaRoutingDataSource.readLatest(() -> ReplicaRoutingDataSource.readLatest(this::getDatabase)));
+        assertTrue(getDatabase().startsWith("ROUTING_REPLICA"));
+
+        // write window is over
+        ReflectionTestUtils.setField(routingDataSource, "primaryUntil", System.nanoTime());
+        assertTrue(ReplicaRoutingDataSource.readLatest(this::getDatabase).startsWith("ROUTING_REPLICA"));
+    }
+
+    private void createRouting(String lagQuery) {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), lagQuery, 5, 0);
+        final DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private String getDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private static DataSource createDataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,126 @@
+package ragde.repositories.datasources;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaMigratorTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:schema_migrator;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    private SchemaMigrator schemaMigrator;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        schemaMigrator = new SchemaMigrator();
+        ReflectionTestUtils.setField(schemaMigrator, "dataSource", dataSource);
+        ReflectionTestUtils.setField(schemaMigrator, "ENABLED", true);
+    }
+
+    /**
+     * Should leave new schemas to Hibernate
+     */
+    @Test
+    public void migrateNewSchema() {
+        schemaMigrator.migrate();
+
+        assertEquals(0, countTables("MODEL_SEQUENCE"));
+    }
+
+    /**
+     * Should do nothing when it's disabled
+     */
+    @Test
+    public void migrateDisabled() {
+        createTables();
+        ReflectionTestUtils.setField(schemaMigrator, "ENABLED", false);
+
+        schemaMigrator.migrate();
+
+        assertEquals(0, countTables("MODEL_SEQUENCE"));
+    }
+
+    /**
+     * Should create the sequence table after the existing ids, running it again changes nothing
+     */
+    @Test
+    public void migrateSequence() {
+        createTables();
+
+        schemaMigrator.migrate();
+        schemaMigrator.migrate();
+
+        assertEquals(List.of(170L), jdbcTemplate.queryForList("SELECT next_val FROM model_sequence", Long.class));
+    }
+
+    /**
+     * Should move a sequence seeded below the existing ids and keep one that is already after them
+     */
+    @Test
+    public void migrateSequenceSeed() {
+        createTables();
+        jdbcTemplate.execute("CREATE TABLE model_sequence (next_val BIGINT)");
+        jdbcTemplate.execute("INSERT INTO model_sequence VALUES (10)");
+
+        schemaMigrator.migrate();
+        assertEquals(List.of(170L), jdbcTemplate.queryForList("SELECT next_val FROM model_sequence", Long.class));
+
+        jdbcTemplate.execute("UPDATE model_sequence SET next_val = 500");
+        schemaMigrator.migrate();
+        assertEquals(List.of(500L), jdbcTemplate.queryForList("SELECT next_val FROM model_sequence", Long.class));
+    }
+
+    /**
+     * Should add version column with version 0 to existing rows, running it again changes nothing
+     */
+    @Test
+    public void migrateVersion() {
+        createTables();
+
+        schemaMigrator.migrate();
+        schemaMigrator.migrate();
+
+        assertEquals(List.of(0L), jdbcTemplate.queryForList("SELECT version FROM person", Long.class));
+        assertEquals(List.of(0L), jdbcTemplate.queryForList("SELECT version FROM role", Long.class));
+        jdbcTemplate.execute("INSERT INTO person (id, name) VALUES (8, 'new person')");
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM person WHERE id = 8", Long.class));
+    }
+
+    /**
+     * Should keep version column of tables that already have it
+     */
+    @Test
+    public void migrateVersionExisting() {
+        createTables();
+        jdbcTemplate.execute("ALTER TABLE person ADD version BIGINT");
+        jdbcTemplate.execute("UPDATE person SET version = 3");
+
+        schemaMigrator.migrate();
+
+        assertEquals(List.of(3L), jdbcTemplate.queryForList("SELECT version FROM person", Long.class));
+    }
+
+    /**
+     * Create person and role tables as they were with auto increment ids
+     */
+    private void createTables() {
+        jdbcTemplate.execute("CREATE TABLE person (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE role (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("INSERT INTO person (id, name) VALUES (7, 'person')");
+        jdbcTemplate.execute("INSERT INTO role (id, name) VALUES (120, 'role')");
+    }
+
+    private int countTables(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables WHERE table_name = ?", Integer.class, table);
+    }
+}
@@ -0,0 +1,53 @@
+package ragde.repositories.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RequestedFieldsTest {
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Should get the fields set in the current request
+     */
+    @Test
+    public void setInRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        RequestedFields.set(Set.of("name", "roles"));
+
+        assertEquals(Set.of("name", "roles"), RequestedFields.get());
+    }
+
+    /**
+     * Should remove the fields when null is set
+     */
+    @Test
+    public void setNullInRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        RequestedFields.set(Set.of("name"));
+        RequestedFields.set(null);
+
+        assertNull(RequestedFields.get());
+    }
+
+    /**
+     * Should ignore the fields outside a request
+     */
+    @Test
+    public void setOutsideRequest() {
+        RequestedFields.set(Set.of("name"));
+
+        assertNull(RequestedFields.get());
+    }
+}
@@ -0,0 +1,113 @@
+package ragde.repositories.executor.implementations;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import ragde.integration_test.IntegrationTest;
+import ragde.models.*;
+import ragde.repositories.*;
+import ragde.repositories.executor.FetchExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Transactional
+public class FetchExecutorImplTest {
+
+    @Autowired
+    private FetchExecutor fetchExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @BeforeEach
+    public void setup() {
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+        // Hibernate flushes inserts before deletes
+        entityManager.flush();
+
+        final List<Permission> permissions = permissionRepository.saveAll(List.of(new Permission("P1", "D1"), new Permission("P2", "D2")));
+        final List<Role> roles = roleRepository.saveAll(List.of(
+                new Role("R1", "D1", Set.of(permissions.get(0))),
+                new Role("R2", "D2", new HashSet<>(permissions))
+        ));
+        personRepository.saveAll(List.of(
+                new Person("N1", "LN1", LocalDate.now(), 1, "A", null, Collections.emptySet()),
+                new Person("N2", "LN2", LocalDate.now(), 2, "B", null, Set.of(roles.get(1))),
+                new Person("N3", "LN3", LocalDate.now(), 3, "C", null, new HashSet<>(roles))
+        ));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Should get entity's relationships
+     */
+    @Test
+    public void getRelations() {
+        assertEquals(Map.of("roles", Role.class, "authentications", Authentication.class), fetchExecutor.getRelations(Person.class));
+        assertEquals(Map.of("person", Person.class, "authProvider", AuthProvider.class), fetchExecutor.getRelations(Authentication.class));
+        assertEquals(Map.of(), fetchExecutor.getRelations(String.class));
+    }
+
+    /**
+     * Should load the relationship of every entity and return the related entities
+     */
+    @Test
+    public void fetch() {
+        final List<Person> people = personRepository.findAll();
+        assertTrue(people.stream().noneMatch(person -> Hibernate.isInitialized(person.getRoles())));
+
+        final List<Object> roles = fetchExecutor.fetch(Person.class, people, "roles");
+
+        assertTrue(people.stream().allMatch(person -> Hibernate.isInitialized(person.getRoles())));
+        assertEquals(Set.of("R1", "R2"), roles.stream().map(role -> ((Role) role).getName()).collect(Collectors.toSet()));
+        assertEquals(2, roles.size());
+
+        final List<Object> permissions = fetchExecutor.fetch(Role.class, roles, "permissions");
+
+        assertTrue(roles.stream().allMatch(role -> Hibernate.isInitialized(((Role) role).getPermissions())));
+        assertEquals(Set.of("P1", "P2"), permissions.stream().map(permission -> ((Permission) permission).getName()).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Should not load anything when relationship doesn't exist or entities aren't managed
+     */
+    @Test
+    public void fetchIgnored() {
+        final List<Person> people = personRepository.findAll();
+        entityManager.clear();
+
+        assertEquals(List.of(), fetchExecutor.fetch(Person.class, people, "name"));
+        assertEquals(List.of(), fetchExecutor.fetch(Person.class, people, "roles"));
+        assertEquals(List.of(), fetchExecutor.fetch(String.class, List.of("value"), "roles"));
+        assertTrue(people.stream().noneMatch(person -> Hibernate.isInitialized(person.getRoles())));
+    }
+}
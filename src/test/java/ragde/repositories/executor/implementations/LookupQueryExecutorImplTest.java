@@ -0,0 +1,276 @@
+package ragde.repositories.executor.implementations;
+
+import com.mongodb.DBRef;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.CountOptions;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ragde.models.Authentication;
+import ragde.models.Permission;
+import ragde.models.Person;
+import ragde.models.Role;
+import ragde.repositories.executor.RequestedFields;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+public class LookupQueryExecutorImplTest {
+
+    private final LookupQueryExecutorImpl lookupQueryExecutor = new LookupQueryExecutorImpl();
+
+    private final MongoOperations mongoOperations = mock(MongoOperations.class);
+
+    private final Map<String, MongoCollection<Document>> collections = new HashMap<>();
+
+    @BeforeEach
+    public void setup() {
+        final MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        final MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        final MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        given(mongoOperations.getConverter()).willReturn(converter);
+        given(mongoOperations.getCollectionName(any(Class.class))).willAnswer(invocation -> ((Class<?>) invocation.getArgument(0)).getSimpleName().toLowerCase());
+        given(mongoOperations.getCollection(anyString())).willAnswer(invocation -> getCollection(invocation.getArgument(0)));
+        ReflectionTestUtils.setField(lookupQueryExecutor, "mongoOperations", mongoOperations);
+        ReflectionTestUtils.setField(lookupQueryExecutor, "INDEX_REFRESH", 300L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Should page with $match, $sort, $skip and $limit and embed the @DBRef relationship with $lookup
+     */
+    @Test
+    public void pageStages() {
+        final AggregateIterable<Document> aggregate = mockAggregate("person", List.of());
+        given(getCollection("person").countDocuments(any(Bson.class), any())).willReturn(12L);
+
+        final Page<Person> page = lookupQueryExecutor.page(Person.class, Criteria.where("sex").is("M"), PageRequest.of(1, 10, Sort.by("name")));
+
+        final ArgumentCaptor<List<Document>> pipeline = ArgumentCaptor.forClass(List.class);
+        verify(getCollection("person"), times(1)).aggregate(pipeline.capture());
+        final List<Document> stages = pipeline.getValue();
+        assertEquals(7, stages.size());
+        assertEquals(new Document("$match", new Document("sex", "M")), stages.get(0));
+        assertEquals(new Document("$sort", new Document("name", 1)), stages.get(1));
+        assertEquals(new Document("$skip", 10L), stages.get(2));
+        assertEquals(new Document("$limit", 10), stages.get(3));
+        assertTrue(stages.get(4).containsKey("$addFields"));
+        assertEquals(new Document("$lookup", new Document("from", "role").append("localField", "_lookup_roles_ids")
+                .append("foreignField", "_id").append("as", "_lookup_roles")), stages.get(5));
+        assertEquals(new Document("$project", new Document("_lookup_roles_ids", 0)), stages.get(6));
+        // references stay as arrays, so pages aren't multiplied by their relationships
+        assertTrue(stages.stream().noneMatch(stage -> stage.containsKey("$unwind")));
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(12, page.getTotalElements());
+        verify(aggregate, never()).hint(any());
+    }
+
+    /**
+     * Should use the documents embedded by $lookup and read the deeper relationships with one $in query by collection
+     */
+    @Test
+    public void pageNestedReferences() {
+        final List<Document> roles = List.of(
+                new Document("_id", "R1").append("name", "ADMIN").append("permissions", List.of(new DBRef("permission", "P1"), new DBRef("permission", "P2"))),
+                new Document("_id", "R2").append("name", "USER").append("permissions", List.of(new DBRef("permission", "P2"))));
+        mockAggregate("person", List.of(
+                new Document("_id", "1").append("name", "N1").append("roles", List.of(new DBRef("role", "R1"), new DBRef("role", "R2")))
+                        .append("_lookup_roles", roles),
+                new Document("_id", "2").append("name", "N2").append("roles", List.of(new DBRef("role", "R1")))
+                        .append("_lookup_roles", List.of(roles.get(0)))));
+        final FindIterable<Document> permissions = mockFind("permission", List.of(
+                new Document("_id", "P1").append("name", "VIEW_USERS"), new Document("_id", "P2").append("name", "CREATE_USERS")));
+        given(getCollection("person").estimatedDocumentCount()).willReturn(2L);
+
+        final List<Person> people = lookupQueryExecutor.page(Person.class, new Criteria(), PageRequest.of(0, 10)).getContent();
+
+        final Role admin = people.get(0).getRoles().stream().filter(role -> role.getId().equals("R1")).findFirst().get();
+        assertEquals(2, people.size());
+        assertEquals(2, people.get(0).getRoles().size());
+        assertSame(admin, people.get(1).getRoles().iterator().next());
+        assertEquals(Set.of("VIEW_USERS", "CREATE_USERS"), admin.getPermissions().stream().map(Permission::getName).collect(Collectors.toSet()));
+        // roles came embedded and permissions were read once for all the roles
+        verify(getCollection("role"), never()).find(any(Bson.class));
+        final ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        verify(getCollection("permission"), times(1)).find(filter.capture());
+        assertEquals(BsonDocument.parse("{_id: {$in: ['P1', 'P2']}}"), filter.getValue().toBsonDocument(Document.class, MongoClientSettings.getDefaultCodecRegistry()));
+        verify(permissions, times(1)).into(any());
+    }
+
+    /**
+     * Should read the references of several documents with one $in query by relationship and convert each document once
+     */
+    @Test
+    public void readReferences() {
+        final List<Document> documents = List.of(
+                new Document("_id", "A1").append("username", "u1").append("person", new DBRef("person", "1")).append("authProvider", new DBRef("authProvider", "LOCAL")),
+                new Document("_id", "A2").append("username", "u2").append("person", new DBRef("person", "1")).append("authProvider", new DBRef("authProvider", "LOCAL")),
+                new Document("_id", "A3").append("username", "u3").append("person", new DBRef("person", "2")).append("authProvider", new DBRef("authProvider", "LOCAL")));
+        mockFind("person", List.of(new Document("_id", "1").append("name", "N1"), new Document("_id", "2").append("name", "N2")));
+        mockFind("authprovider", List.of(new Document("_id", "LOCAL").append("name", "LOCAL")));
+
+        final List<Authentication> authentications = lookupQueryExecutor.read(Authentication.class, documents);
+
+        assertEquals(List.of("u1", "u2", "u3"), authentications.stream().map(Authentication::getUsername).collect(Collectors.toList()));
+        assertSame(authentications.get(0).getPerson(), authentications.get(1).getPerson());
+        assertEquals("N2", authentications.get(2).getPerson().getName());
+        assertSame(authentications.get(0).getAuthProvider(), authentications.get(2).getAuthProvider());
+        verify(getCollection("person"), times(1)).find(any(Bson.class));
+        verify(getCollection("authprovider"), times(1)).find(any(Bson.class));
+        // people don't have roles, so roles aren't read
+        verify(getCollection("role"), never()).find(any(Bson.class));
+    }
+
+    /**
+     * Should project only the requested fields and skip the $lookup of relationships that weren't requested
+     */
+    @Test
+    public void pageProjection() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        RequestedFields.set(Set.of("name", "lastName"));
+        mockAggregate("person", List.of(new Document("_id", "1").append("name", "N1").append("lastName", "L1")));
+
+        final List<Person> people = lookupQueryExecutor.page(Person.class, new Criteria(), PageRequest.of(0, 10)).getContent();
+
+        final List<Document> stages = getPipeline("person");
+        assertEquals(4, stages.size());
+        assertEquals(new Document("$project", new Document("_id", 1).append("name", 1).append("lastName", 1).append("version", 1)), stages.get(3));
+        assertTrue(stages.stream().noneMatch(stage -> stage.containsKey("$lookup")));
+        assertEquals("L1", people.get(0).getLastName());
+        assertNull(people.get(0).getRoles());
+    }
+
+    /**
+     * Should read the whole documents when a requested field is computed from others
+     */
+    @Test
+    public void pageProjectionComputedField() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        RequestedFields.set(Set.of("fullName", "roles"));
+        mockAggregate("person", List.of());
+
+        lookupQueryExecutor.page(Person.class, new Criteria(), PageRequest.of(0, 10));
+
+        final List<Document> stages = getPipeline("person");
+        assertEquals(new Document("$limit", 10), stages.get(2));
+        assertTrue(stages.get(3).containsKey("$addFields"));
+        assertTrue(stages.stream().noneMatch(stage -> stage.get("$project") instanceof Document && ((Document) stage.get("$project")).containsKey("_id")));
+    }
+
+    /**
+     * Should hint the index that serves filter and sort and count the filtered documents with the same hint
+     */
+    @Test
+    public void pageHint() {
+        mockIndexes("person", List.of(new Document("_id", 1), new Document("name", 1), new Document("sex", 1).append("name", 1), new Document("email", "text")));
+        final AggregateIterable<Document> aggregate = mockAggregate("person", List.of());
+        given(getCollection("person").countDocuments(any(Bson.class), any())).willReturn(5L);
+
+        final Page<Person> page = lookupQueryExecutor.page(Person.class, Criteria.where("sex").is("F"), PageRequest.of(0, 10, Sort.by("name")));
+
+        final ArgumentCaptor<CountOptions> options = ArgumentCaptor.forClass(CountOptions.class);
+        verify(aggregate, times(1)).hint(new Document("sex", 1).append("name", 1));
+        verify(getCollection("person"), times(1)).countDocuments(eq(new Document("sex", "F")), options.capture());
+        verify(getCollection("person"), never()).estimatedDocumentCount();
+        assertEquals(new Document("sex", 1).append("name", 1), options.getValue().getHint());
+        assertEquals(5, page.getTotalElements());
+    }
+
+    /**
+     * Should count with collection's metadata when there isn't filter
+     */
+    @Test
+    public void pageEstimatedCount() {
+        mockIndexes("person", List.of(new Document("_id", 1), new Document("name", -1)));
+        final AggregateIterable<Document> aggregate = mockAggregate("person", List.of());
+        given(getCollection("person").estimatedDocumentCount()).willReturn(40L);
+
+        final Page<Person> page = lookupQueryExecutor.page(Person.class, new Criteria(), PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name")));
+
+        verify(aggregate, times(1)).hint(new Document("name", -1));
+        verify(getCollection("person"), times(1)).estimatedDocumentCount();
+        verify(getCollection("person"), never()).countDocuments(any(Bson.class), any());
+        assertEquals(40, page.getTotalElements());
+    }
+
+    private List<Document> getPipeline(String collection) {
+        final ArgumentCaptor<List<Document>> pipeline = ArgumentCaptor.forClass(List.class);
+        verify(getCollection(collection), times(1)).aggregate(pipeline.capture());
+        return pipeline.getValue();
+    }
+
+    private void mockIndexes(String collection, List<Document> keys) {
+        final ListIndexesIterable<Document> listIndexes = mock(ListIndexesIterable.class);
+        mockInto(listIndexes, keys.stream().map(key -> new Document("key", key)).collect(Collectors.toList()));
+        given(getCollection(collection).listIndexes()).willReturn(listIndexes);
+    }
+
+    private MongoCollection<Document> getCollection(String name) {
+        return collections.computeIfAbsent(name, n -> {
+            final MongoCollection<Document> collection = mock(MongoCollection.class);
+            final ListIndexesIterable<Document> listIndexes = mock(ListIndexesIterable.class);
+            mockInto(listIndexes, List.of());
+            given(collection.listIndexes()).willReturn(listIndexes);
+            given(collection.getNamespace()).willReturn(new MongoNamespace("ragde", n));
+            return collection;
+        });
+    }
+
+    private AggregateIterable<Document> mockAggregate(String collection, List<Document> documents) {
+        final AggregateIterable<Document> aggregate = mock(AggregateIterable.class);
+        mockInto(aggregate, documents);
+        given(getCollection(collection).aggregate(anyList())).willReturn(aggregate);
+        return aggregate;
+    }
+
+    private FindIterable<Document> mockFind(String collection, List<Document> documents) {
+        final FindIterable<Document> find = mock(FindIterable.class);
+        mockInto(find, documents);
+        given(getCollection(collection).find(any(Bson.class))).willReturn(find);
+        return find;
+    }
+
+    private void mockInto(MongoIterable<Document> iterable, List<Document> documents) {
+        given(iterable.into(any())).willAnswer(invocation -> {
+            final Collection<Document> target = invocation.getArgument(0);
+            target.addAll(documents);
+            return target;
+        });
+    }
+}
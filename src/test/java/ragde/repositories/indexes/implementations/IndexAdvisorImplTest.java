@@ -0,0 +1,187 @@
+package ragde.repositories.indexes.implementations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import ragde.models.Person;
+import ragde.models.Role;
+import ragde.pojos.pages.FilterRequest;
+import ragde.pojos.pages.PageDataRequest;
+import ragde.repositories.indexes.IndexAdvisor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@SuppressWarnings("unchecked")
+public class IndexAdvisorImplTest {
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    /**
+     * Should return query result and record its execution
+     */
+    @Test
+    public void measure() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 10, null, List.of("description"), null);
+
+        final String result = indexAdvisor.measure(Role.class, pageDataRequest, () -> "result");
+        indexAdvisor.measure(Role.class, pageDataRequest, () -> "result");
+
+        assertEquals("result", result);
+        final Map<String, Object> statistics = getStatistics("Role", "Role[] sort [description ASC]");
+        assertEquals(2L, statistics.get("count"));
+        assertEquals(2L, statistics.get("slow"));
+        assertEquals(false, statistics.get("covered"));
+        assertEquals("Role(description)", statistics.get("suggestedIndex"));
+    }
+
+    /**
+     * Should record execution when query fails
+     */
+    @Test
+    public void measureException() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 10, null, List.of("name"), null);
+
+        assertThrows(IllegalStateException.class, () -> indexAdvisor.measure(Role.class, pageDataRequest, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(1L, getStatistics("Role", "Role[] sort [name ASC]").get("count"));
+    }
+
+    /**
+     * Should report query as covered when an index starts with a filtered field
+     */
+    @Test
+    public void measureCovered() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 10, PageDataRequest.SORT_DIRECTION.DESC, null,
+                List.of(new FilterRequest("lastName", "Smith", FilterRequest.OPERATIONS.EQ)));
+
+        indexAdvisor.measure(Person.class, pageDataRequest, () -> null);
+
+        final Map<String, Object> statistics = getStatistics("Person", "Person[EQ lastName] sort [id DESC]");
+        assertEquals(true, statistics.get("covered"));
+        assertNull(statistics.get("suggestedIndex"));
+    }
+
+    /**
+     * Should suggest equality fields, then sort fields and then a range field
+     */
+    @Test
+    public void measureNotCovered() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 10, null, List.of("name"), List.of(
+                new FilterRequest("createdAt", "2002-04-20T12:30:52Z", FilterRequest.OPERATIONS.GT),
+                new FilterRequest("civilStatus", "1", FilterRequest.OPERATIONS.EQ),
+                new FilterRequest("email", "@gmail.com", FilterRequest.OPERATIONS.ENDS_WITH)
+        ));
+
+        indexAdvisor.measure(Person.class, pageDataRequest, () -> null);
+
+        final Map<String, Object> statistics = getStatistics("Person", "Person[ENDS_WITH email, EQ civilStatus, GT createdAt] sort [name ASC]");
+        assertEquals(false, statistics.get("covered"));
+        assertEquals("Person(civilStatus,name,createdAt)", statistics.get("suggestedIndex"));
+    }
+
+    /**
+     * Should classify IN as equality and NOT_IN as range, flatten AND groups and only describe OR groups
+     */
+    @Test
+    public void measureGroups() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 10, null, List.of("name"), List.of(
+                new FilterRequest(FilterRequest.OPERATIONS.OR, List.of(
+                        new FilterRequest("name", "a", FilterRequest.OPERATIONS.EQ),
+                        new FilterRequest("email", "b", FilterRequest.OPERATIONS.LIKE)
+                )),
+                new FilterRequest(FilterRequest.OPERATIONS.IN, "civilStatus", List.of("1", "2")),
+                new FilterRequest(FilterRequest.OPERATIONS.AND, List.of(
+                        new FilterRequest(FilterRequest.OPERATIONS.NOT_IN, "createdAt", List.of("2002-04-20T12:30:52Z"))
+                ))
+        ));
+
+        indexAdvisor.measure(Person.class, pageDataRequest, () -> null);
+
+        final Map<String, Object> statistics = getStatistics("Person", "Person[IN civilStatus, NOT_IN createdAt, OR [EQ name, LIKE email]] sort [name ASC]");
+        assertEquals(false, statistics.get("covered"));
+        assertEquals("Person(civilStatus,name,createdAt)", statistics.get("suggestedIndex"));
+    }
+
+    /**
+     * Should not suggest an index when query only has LIKE filters
+     */
+    @Test
+    public void measureLike() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 10, null, null,
+                List.of(new FilterRequest("name", "a", FilterRequest.OPERATIONS.LIKE)));
+
+        indexAdvisor.measure(Person.class, pageDataRequest, () -> null);
+
+        final Map<String, Object> statistics = getStatistics("Person", "Person[LIKE name] sort [id ASC]");
+        assertEquals(false, statistics.get("covered"));
+        assertNull(statistics.get("suggestedIndex"));
+    }
+
+    /**
+     * Should keep recording known shapes and drop new ones once there are max shapes
+     */
+    @Test
+    public void measureMaxShapes() {
+        final PageDataRequest known = new PageDataRequest(0, 10, null, List.of("id"), null);
+        final PageDataRequest unknown = new PageDataRequest(0, 10, null, List.of("id"),
+                List.of(new FilterRequest("description", "max shapes", FilterRequest.OPERATIONS.EQ)));
+        indexAdvisor.measure(Role.class, known, () -> null);
+        final Object target = AopTestUtils.getTargetObject(indexAdvisor);
+        final int maxShapes = (int) ReflectionTestUtils.getField(target, "MAX_SHAPES");
+        final long dropped = (long) indexAdvisor.getReport().get("droppedQueries");
+        ReflectionTestUtils.setField(target, "MAX_SHAPES", ((Map<?, ?>) ReflectionTestUtils.getField(target, "shapes")).size());
+
+        try {
+            indexAdvisor.measure(Role.class, known, () -> null);
+            indexAdvisor.measure(Role.class, unknown, () -> null);
+        } finally {
+            ReflectionTestUtils.setField(target, "MAX_SHAPES", maxShapes);
+        }
+
+        assertEquals(dropped + 1, indexAdvisor.getReport().get("droppedQueries"));
+        assertEquals(2L, getStatistics("Role", "Role[] sort [id ASC]").get("count"));
+        final Map<String, List<Map<String, Object>>> queries = (Map<String, List<Map<String, Object>>>) indexAdvisor.getReport().get("queries");
+        assertTrue(queries.get("Role").stream().noneMatch(statistics -> statistics.get("query").equals("Role[EQ description] sort [id ASC]")));
+    }
+
+    /**
+     * Should report declared and configured indexes created at startup, creating them again does nothing
+     */
+    @Test
+    public void createIndexes() {
+        indexAdvisor.measure(Person.class, new PageDataRequest(0, 10, null, null, null), () -> null);
+
+        indexAdvisor.createIndexes();
+
+        final List<String> indexes = ((Map<String, List<String>>) indexAdvisor.getReport().get("indexes")).get("Person");
+        assertTrue(indexes.contains("id"));
+        assertTrue(indexes.contains("lastName,name"));
+        assertTrue(indexes.contains("email"));
+        assertTrue(indexes.contains("birthday"));
+        assertEquals(1, indexes.stream().filter(index -> index.equals("sex,name")).count());
+    }
+
+    /**
+     * Get the report statistics of a query shape
+     *
+     * @param entity entity name
+     * @param query  query shape
+     * @return statistics
+     */
+    private Map<String, Object> getStatistics(String entity, String query) {
+        final Map<String, List<Map<String, Object>>> queries = (Map<String, List<Map<String, Object>>>) indexAdvisor.getReport().get("queries");
+        return queries.get(entity).stream().filter(statistics -> statistics.get("query").equals(query)).findFirst().orElseThrow();
+    }
+}
@@ -1,16 +1,17 @@
 package ragde.repositories.mongo;
 
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
 import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ragde.models.Person;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -21,7 +22,7 @@ public class MongoEventListenerTest {
     private AbstractMongoEventListener mongoEventListener;
 
     /**
-     * Should set createdAt and updatedAt
+     * Should set createdAt, updatedAt and version 0
      */
     @Test
     public void onBeforeConvertWithNullId() {
@@ -30,17 +31,36 @@ public class MongoEventListenerTest {
 
         assertNotNull(person.getCreatedAt());
         assertNotNull(person.getUpdatedAt());
+        assertEquals(0L, person.getVersion());
     }
 
     /**
-     * Should set updatedAt
+     * Should set updatedAt and increase version
      */
     @Test
     public void onBeforeConvertWithId() {
         final Person person = new Person("P1");
+        person.setVersion(3L);
         mongoEventListener.onBeforeConvert(new BeforeConvertEvent(person, "person"));
 
         assertNull(person.getCreatedAt());
         assertNotNull(person.getUpdatedAt());
+        assertEquals(4L, person.getVersion());
+    }
+
+    /**
+     * Should read documents without version as version 0 and keep the others
+     */
+    @Test
+    public void onAfterConvert() {
+        final Person person = new Person("P1");
+        final Person versioned = new Person("P2");
+        versioned.setVersion(3L);
+
+        mongoEventListener.onAfterConvert(new AfterConvertEvent(new Document(), person, "person"));
+        mongoEventListener.onAfterConvert(new AfterConvertEvent(new Document(), versioned, "person"));
+
+        assertEquals(0L, person.getVersion());
+        assertEquals(3L, versioned.getVersion());
     }
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package ragde.search.implementations;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import ragde.models.Person;
+import ragde.pojos.pages.FilterRequest;
+import ragde.repositories.PersonRepository;
+import ragde.search.PersonSearchIndex;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"search.enabled=true", "search.max-ids=10"})
+public class PersonSearchIndexImplTest {
+
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Person person1;
+
+    private Person person2;
+
+    private Person person3;
+
+    @BeforeEach
+    public void setup() {
+        person1 = personRepository.save(person("Zqxander", "Smith", "zqx.ander@test.com"));
+        person2 = personRepository.save(person("Zqxandra", "Jones", "zqxandra@mail.com"));
+        person3 = personRepository.save(person("Bob", "Zqxson", null));
+        personSearchIndex.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        personRepository.deleteAll(List.of(person1, person2, person3));
+        ReflectionTestUtils.setField(personSearchIndex, "IGNORE_CASE", false);
+        ReflectionTestUtils.setField(personSearchIndex, "MAX_IDS", 10);
+        personSearchIndex.rebuild();
+    }
+
+    /**
+     * Should find the people that contain the value
+     */
+    @Test
+    public void searchLike() {
+        final Set<String> ids = personSearchIndex.search(List.of(new FilterRequest("name", "qxand", FilterRequest.OPERATIONS.LIKE)));
+
+        assertEquals(Set.of(person1.getId(), person2.getId()), ids);
+    }
+
+    /**
+     * Should find the people that start with the value
+     */
+    @Test
+    public void searchStartsWith() {
+        final Set<String> ids = personSearchIndex.search(List.of(new FilterRequest("lastName", "Zqx", FilterRequest.OPERATIONS.STARTS_WITH)));
+
+        assertEquals(Set.of(person3.getId()), ids);
+    }
+
+    /**
+     * Should find the people that match all the filters
+     */
+    @Test
+    public void searchSeveralFilters() {
+        final Set<String> ids = personSearchIndex.search(List.of(
+                new FilterRequest("email", "@mail.com", FilterRequest.OPERATIONS.ENDS_WITH),
+                new FilterRequest("name", "Zqx", FilterRequest.OPERATIONS.LIKE)
+        ));
+
+        assertEquals(Set.of(person2.getId()), ids);
+    }
+
+    /**
+     * Should check all people when value is shorter than a gram
+     */
+    @Test
+    public void searchShortValue() {
+        final Set<String> ids = personSearchIndex.search(List.of(new FilterRequest("name", "Zq", FilterRequest.OPERATIONS.STARTS_WITH)));
+
+        assertEquals(Set.of(person1.getId(), person2.getId()), ids);
+    }
+
+    /**
+     * Should respect case as the database does
+     */
+    @Test
+    public void searchCase() {
+        final List<FilterRequest> filters = List.of(new FilterRequest("name", "zqxand", FilterRequest.OPERATIONS.LIKE));
+
+        assertEquals(Set.of(), personSearchIndex.search(filters));
+
+        ReflectionTestUtils.setField(personSearchIndex, "IGNORE_CASE", true);
+        personSearchIndex.rebuild();
+
+        assertEquals(Set.of(person1.getId(), person2.getId()), personSearchIndex.search(filters));
+    }
+
+    /**
+     * Should return null when filters can't be resolved by the index
+     */
+    @Test
+    public void searchNotSupported() {
+        assertNull(personSearchIndex.search(null));
+        assertNull(personSearchIndex.search(List.of(new FilterRequest("name", "Zqxander", FilterRequest.OPERATIONS.EQ))));
+        assertNull(personSearchIndex.search(List.of(new FilterRequest("sex", "M", FilterRequest.OPERATIONS.LIKE))));
+        assertNull(personSearchIndex.search(List.of(new FilterRequest("name", "Zqx%r", FilterRequest.OPERATIONS.LIKE))));
+        assertNull(personSearchIndex.search(List.of(
+                new FilterRequest("name", "Zqx", FilterRequest.OPERATIONS.LIKE),
+                new FilterRequest("civilStatus", "1", FilterRequest.OPERATIONS.EQ)
+        )));
+    }
+
+    /**
+     * Should return null when there are more matches than max ids
+     */
+    @Test
+    public void searchMaxIds() {
+        ReflectionTestUtils.setField(personSearchIndex, "MAX_IDS", 1);
+
+        assertNull(personSearchIndex.search(List.of(new FilterRequest("name", "Zqxand", FilterRequest.OPERATIONS.LIKE))));
+    }
+
+    /**
+     * Should index and remove people immediately when there isn't transaction
+     */
+    @Test
+    public void indexAndRemove() {
+        final List<FilterRequest> filters = List.of(new FilterRequest("name", "Zqxavier", FilterRequest.OPERATIONS.LIKE));
+        final Person person = person("Zqxavier", "Smith", null);
+        person.setId("SEARCH1");
+
+        personSearchIndex.index(List.of(person));
+        assertEquals(Set.of("SEARCH1"), personSearchIndex.search(filters));
+
+        person.setName("Other");
+        personSearchIndex.index(List.of(person));
+        assertEquals(Set.of(), personSearchIndex.search(filters));
+
+        person.setName("Zqxavier");
+        personSearchIndex.index(List.of(person));
+        personSearchIndex.remove(List.of("SEARCH1"));
+        assertEquals(Set.of(), personSearchIndex.search(filters));
+    }
+
+    /**
+     * Should index people once the transaction is committed
+     */
+    @Test
+    public void indexTransaction() {
+        final List<FilterRequest> filters = List.of(new FilterRequest("name", "Zqxavier", FilterRequest.OPERATIONS.LIKE));
+        final Person person = person("Zqxavier", "Smith", null);
+        person.setId("SEARCH2");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            personSearchIndex.index(List.of(person));
+            assertEquals(Set.of(), personSearchIndex.search(filters));
+            status.setRollbackOnly();
+        });
+        assertEquals(Set.of(), personSearchIndex.search(filters));
+
+        transactionTemplate.executeWithoutResult(status -> personSearchIndex.index(List.of(person)));
+        assertEquals(Set.of("SEARCH2"), personSearchIndex.search(filters));
+        personSearchIndex.remove(List.of("SEARCH2"));
+    }
+
+    /**
+     * Should index the people saved or renamed by other instances (directly in the database) when it's refreshed
+     */
+    @Test
+    public void refresh() {
+        final List<FilterRequest> filters = List.of(new FilterRequest("name", "Zqxavier", FilterRequest.OPERATIONS.LIKE));
+        Person person = personRepository.save(person("Zqxavier", "Smith", null));
+
+        assertEquals(Set.of(), personSearchIndex.search(filters));
+        personSearchIndex.refresh();
+        assertEquals(Set.of(person.getId()), personSearchIndex.search(filters));
+
+        person.setName("Other");
+        person = personRepository.save(person);
+        personSearchIndex.refresh();
+        assertEquals(Set.of(), personSearchIndex.search(filters));
+
+        personRepository.delete(person);
+    }
+
+    /**
+     * Should report index size and usage
+     */
+    @Test
+    public void getStatistics() {
+        personSearchIndex.search(List.of(new FilterRequest("name", "Zqx", FilterRequest.OPERATIONS.LIKE)));
+
+        final Map<String, Object> statistics = personSearchIndex.getStatistics();
+
+        assertEquals(true, statistics.get("ready"));
+        assertNotNull(statistics.get("lastSync"));
+        assertTrue((Integer) statistics.get("people") >= 3);
+        assertTrue((Integer) statistics.get("grams") > 0);
+        assertTrue((Long) statistics.get("postings") > 0);
+        assertTrue((Long) statistics.get("estimatedBytes") > 0);
+        assertTrue((Long) statistics.get("searches") > 0);
+    }
+
+    private Person person(String name, String lastName, String email) {
+        return new Person(name, lastName, LocalDate.of(1990, 1, 1), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, email, null);
+    }
+}
@@ -1,5 +1,6 @@
 package ragde.security;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,12 +11,16 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ragde.caches.AuthenticationCache;
 import ragde.security.pojos.LoggedUser;
 import ragde.security.services.TokenService;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,9 +36,19 @@ public class AuthenticationProviderImplTest {
     @Autowired
     private AuthenticationProvider authenticationProvider;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
     @MockBean
     private TokenService tokenService;
 
+    @AfterEach
+    public void disableCache() {
+        ReflectionTestUtils.setField(authenticationCache, "MAX_SIZE", 0);
+        ReflectionTestUtils.setField(authenticationCache, "TTL", 0L);
+        ((Map<?, ?>) ReflectionTestUtils.getField(authenticationCache, "authentications")).clear();
+    }
+
     /**
      * Should return null when token invalid
      */
@@ -70,6 +85,7 @@ public class AuthenticationProviderImplTest {
         assertSame(authenticateExpected.getPrincipal(), authenticateResult.getPrincipal());
         assertEquals(authenticateExpected.getAuthorities().size(), authenticateResult.getAuthorities().size());
         assertEquals(0, authenticateResult.getAuthorities().size());
+        assertSame(TOKEN, ((LoggedUser) authenticateResult.getPrincipal()).getToken());
         verify(tokenService, times(1)).getLoggedUser(TOKEN);
     }
 
@@ -98,6 +114,73 @@ public class AuthenticationProviderImplTest {
         verify(tokenService, times(1)).getLoggedUser(TOKEN);
     }
 
+    /**
+     * Should parse the token once and return a copy of the cached principal when cache is enabled
+     */
+    @Test
+    public void authenticateCached() throws IOException {
+        ReflectionTestUtils.setField(authenticationCache, "MAX_SIZE", 10);
+        ReflectionTestUtils.setField(authenticationCache, "TTL", 60L);
+        final String TOKEN = "token";
+        final LoggedUser userMocked = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("PERMISSION1", "PERMISSION2"));
+        userMocked.setExpiration(new Date(System.currentTimeMillis() + 60000));
+
+        given(tokenService.getLoggedUser(TOKEN)).willReturn(userMocked);
+
+        final Authentication authenticateResult1 = authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(TOKEN, null));
+        ((LoggedUser) authenticateResult1.getPrincipal()).setToken("new token");
+        final Authentication authenticateResult2 = authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(TOKEN, null));
+
+        assertNotSame(authenticateResult1, authenticateResult2);
+        assertNotSame(userMocked, authenticateResult1.getPrincipal());
+        assertNotSame(authenticateResult1.getPrincipal(), authenticateResult2.getPrincipal());
+        final LoggedUser userExpected = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("PERMISSION1", "PERMISSION2"));
+        userExpected.setToken(TOKEN);
+        assertEquals(userExpected, authenticateResult2.getPrincipal());
+        assertSame(TOKEN, ((LoggedUser) authenticateResult2.getPrincipal()).getToken());
+        assertSame(userMocked.getExpiration(), ((LoggedUser) authenticateResult2.getPrincipal()).getExpiration());
+        assertEquals(authenticateResult1.getAuthorities(), authenticateResult2.getAuthorities());
+        assertEquals(2, authenticateResult2.getAuthorities().size());
+        verify(tokenService, times(1)).getLoggedUser(TOKEN);
+    }
+
+    /**
+     * Should parse the token again when cached token is expired
+     */
+    @Test
+    public void authenticateCachedExpired() throws IOException {
+        ReflectionTestUtils.setField(authenticationCache, "MAX_SIZE", 10);
+        ReflectionTestUtils.setField(authenticationCache, "TTL", 60L);
+        final String TOKEN = "token";
+        final LoggedUser userMocked = new LoggedUser("ID", "ROLE");
+        userMocked.setExpiration(new Date(System.currentTimeMillis() - 1000));
+
+        given(tokenService.getLoggedUser(TOKEN)).willReturn(userMocked);
+
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(TOKEN, null));
+        final Authentication authenticateResult = authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(TOKEN, null));
+
+        assertEquals("ID", ((LoggedUser) authenticateResult.getPrincipal()).getId());
+        verify(tokenService, times(2)).getLoggedUser(TOKEN);
+    }
+
+    /**
+     * Should return null when token invalid and cache is enabled
+     */
+    @Test
+    public void authenticateCachedTokenInvalid() throws IOException {
+        ReflectionTestUtils.setField(authenticationCache, "MAX_SIZE", 10);
+        ReflectionTestUtils.setField(authenticationCache, "TTL", 60L);
+        final String TOKEN = "token";
+
+        given(tokenService.getLoggedUser(TOKEN)).willReturn(null);
+
+        final Authentication authenticateResult = authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(TOKEN, null));
+
+        assertNull(authenticateResult);
+        verify(tokenService, times(1)).getLoggedUser(TOKEN);
+    }
+
     /**
      * Should return true
      */
@@ -85,7 +85,7 @@ public class FacebookCtrlTest {
 
         verify(facebookProvider, never()).getAccessGrant(any(), any());
         verify(oAuthService, never()).parseFacebookUser(any());
-        verify(tokenService, never()).createToken(any());
+        verify(tokenService, never()).createLoggedUser(any());
         verify(tokenService, never()).getLoggedUser(any());
         verify(template, never()).convertAndSend(any(), any(Object.class));
     }
@@ -105,19 +105,21 @@ public class FacebookCtrlTest {
         final AccessGrant accessGrant = new AccessGrant("token");
         final LoggedUser loggedUser = new LoggedUser("id", "R1");
         final String token = "TOKEN";
-        final Map<String, Object> map = Map.of("loggedUser", loggedUser);
+        final LoggedUser tokenUser = new LoggedUser("id", "R1");
+        tokenUser.setToken(token);
+        final Map<String, Object> map = Map.of("loggedUser", tokenUser);
         given(facebookProvider.getAccessGrant(CALLBACK, CODE)).willReturn(accessGrant);
         given(oAuthService.parseFacebookUser(any(FacebookTemplate.class))).willReturn(loggedUser);
-        given(tokenService.createToken(loggedUser)).willReturn(token);
-        given(tokenService.getLoggedUser(token)).willReturn(loggedUser);
+        given(tokenService.createLoggedUser(loggedUser)).willReturn(tokenUser);
 
         mvc.perform(builder)
                 .andExpect(status().isFound());
 
         verify(facebookProvider, times(1)).getAccessGrant(CALLBACK, CODE);
         verify(oAuthService, times(1)).parseFacebookUser(any(FacebookTemplate.class));
-        verify(tokenService, times(1)).createToken(loggedUser);
-        verify(tokenService, times(1)).getLoggedUser(token);
+        verify(tokenService, times(1)).createLoggedUser(loggedUser);
+        verify(tokenService, never()).createToken(any());
+        verify(tokenService, never()).getLoggedUser(any());
         verify(template, times(1)).convertAndSend("/oauth/response/" + STATE, map);
     }
 }
\ No newline at end of file
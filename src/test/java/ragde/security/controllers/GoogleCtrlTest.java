@@ -25,6 +25,7 @@ import java.util.Map;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.verify;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -84,19 +85,21 @@ public class GoogleCtrlTest {
         final AccessGrant accessGrant = new AccessGrant("token");
         final LoggedUser loggedUser = new LoggedUser("id", "R1");
         final String token = "TOKEN";
-        final Map<String, Object> map = Map.of("loggedUser", loggedUser);
+        final LoggedUser tokenUser = new LoggedUser("id", "R1");
+        tokenUser.setToken(token);
+        final Map<String, Object> map = Map.of("loggedUser", tokenUser);
         given(googleProvider.getAccessGrant(CALLBACK, CODE)).willReturn(accessGrant);
         given(oAuthService.parseGoogleUser(any(GoogleTemplate.class))).willReturn(loggedUser);
-        given(tokenService.createToken(loggedUser)).willReturn(token);
-        given(tokenService.getLoggedUser(token)).willReturn(loggedUser);
+        given(tokenService.createLoggedUser(loggedUser)).willReturn(tokenUser);
 
         mvc.perform(builder)
                 .andExpect(status().isFound());
 
         verify(googleProvider, times(1)).getAccessGrant(CALLBACK, CODE);
         verify(oAuthService, times(1)).parseGoogleUser(any(GoogleTemplate.class));
-        verify(tokenService, times(1)).createToken(loggedUser);
-        verify(tokenService, times(1)).getLoggedUser(token);
+        verify(tokenService, times(1)).createLoggedUser(loggedUser);
+        verify(tokenService, never()).createToken(any());
+        verify(tokenService, never()).getLoggedUser(any());
         verify(template, times(1)).convertAndSend("/oauth/response/" + STATE, map);
     }
 }
\ No newline at end of file
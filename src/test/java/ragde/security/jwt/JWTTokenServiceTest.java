@@ -2,6 +2,7 @@ package ragde.security.jwt;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import ragde.security.pojos.AccountCredentials;
 import ragde.security.pojos.LoggedUser;
 import ragde.security.services.SecurityService;
@@ -41,6 +43,9 @@ public class JWTTokenServiceTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private TokenCodec jsonTokenCodec;
+
     @MockBean
     private SecurityService securityService;
 
@@ -74,19 +79,82 @@ public class JWTTokenServiceTest {
     public void createTokenWhenNotNull() throws IOException {
         final LoggedUser loggedUser = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1", "P2", "P3"));
 
-        final String jsonExpected = mapper.writeValueAsString(loggedUser);
-
         final String tokenResult = tokenService.createToken(loggedUser);
 
-        final String jsonResult = getJson(tokenResult);
-        final LoggedUser loggedUserResult = mapper.readValue(jsonResult, LoggedUser.class);
+        final Claims claims = getClaims(tokenResult);
+        final LoggedUser loggedUserResult = tokenService.getLoggedUser(tokenResult);
 
-        assertNotSame(jsonExpected, jsonResult);
-        assertEquals(jsonExpected, jsonResult);
+        assertNull(claims.getSubject());
+        assertEquals(Set.of("id", "fn", "im", "rl", "pm", "exp"), claims.keySet());
         assertNotSame(loggedUser, loggedUserResult);
         assertEquals(loggedUser, loggedUserResult);
     }
 
+    /**
+     * Should write and read the whole LoggedUser as subject when json codec is used
+     */
+    @Test
+    public void createTokenJsonCodec() throws IOException {
+        final Object codec = ReflectionTestUtils.getField(tokenService, "codec");
+        ReflectionTestUtils.setField(tokenService, "codec", jsonTokenCodec);
+        try {
+            final LoggedUser loggedUser = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1", "P2", "P3"));
+
+            final String tokenResult = tokenService.createToken(loggedUser);
+
+            final Claims claims = getClaims(tokenResult);
+            final LoggedUser loggedUserResult = tokenService.getLoggedUser(tokenResult);
+
+            assertEquals(mapper.writeValueAsString(loggedUser), claims.getSubject());
+            assertEquals(Set.of("sub", "exp"), claims.keySet());
+            assertEquals(loggedUser, loggedUserResult);
+        } finally {
+            ReflectionTestUtils.setField(tokenService, "codec", codec);
+        }
+    }
+
+    /**
+     * Should return null when LoggedUser null
+     */
+    @Test
+    public void createLoggedUserWhenNull() throws JsonProcessingException {
+        final LoggedUser loggedUser = tokenService.createLoggedUser(null);
+
+        assertNull(loggedUser);
+    }
+
+    /**
+     * Should return null when LoggedUser has token
+     */
+    @Test
+    public void createLoggedUserWhenToken() throws JsonProcessingException {
+        final LoggedUser loggedUser = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1", "P2", "P3"));
+        loggedUser.setToken("token");
+
+        final LoggedUser loggedUserResult = tokenService.createLoggedUser(loggedUser);
+
+        assertNull(loggedUserResult);
+    }
+
+    /**
+     * Should return the same LoggedUser that getLoggedUser returns for the generated token
+     */
+    @Test
+    public void createLoggedUserWhenNotNull() throws IOException {
+        final LoggedUser loggedUser = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1", "P2", "P3"));
+
+        final LoggedUser loggedUserResult = tokenService.createLoggedUser(loggedUser);
+
+        final LoggedUser loggedUserParsed = tokenService.getLoggedUser(loggedUserResult.getToken());
+        loggedUserParsed.setToken(loggedUserResult.getToken());
+
+        assertNull(loggedUser.getToken());
+        assertNotSame(loggedUser, loggedUserResult);
+        assertNotSame(loggedUser.getPermissions(), loggedUserResult.getPermissions());
+        assertEquals(loggedUserParsed, loggedUserResult);
+        assertEquals(loggedUserParsed.getExpiration(), loggedUserResult.getExpiration());
+    }
+
     /**
      * Should return null when getLoggedUser null
      */
@@ -112,15 +180,12 @@ public class JWTTokenServiceTest {
 
         final LoggedUser loggedUserExpected = new LoggedUser(ID, ROLE);
 
-        final String jsonExpected = mapper.writeValueAsString(loggedUserExpected);
-
         final String tokenResult = tokenService.refreshToken();
 
-        final String jsonResult = getJson(tokenResult);
-        final LoggedUser loggedUserResult = mapper.readValue(jsonResult, LoggedUser.class);
+        final Claims claims = getClaims(tokenResult);
+        final LoggedUser loggedUserResult = tokenService.getLoggedUser(tokenResult);
 
-        assertNotSame(jsonExpected, jsonResult);
-        assertEquals(jsonExpected, jsonResult);
+        assertEquals(Set.of("id", "rl", "exp"), claims.keySet());
         assertNotSame(loggedUserExpected, loggedUserResult);
         assertEquals(loggedUserExpected, loggedUserResult);
         verify(securityService, times(1)).getLoggedUser();
@@ -168,9 +233,11 @@ public class JWTTokenServiceTest {
     public void getLoggedUserWhenValid() throws IOException {
         final LoggedUser loggedUserExpected = new LoggedUser("ID", "full name", "I", "ROLE", Set.of("P1", "P2"));
         final String json = mapper.writeValueAsString(loggedUserExpected);
+        // JWT keeps expiration in seconds
+        final Date expiration = new Date((System.currentTimeMillis() + expirationTime) / 1000 * 1000);
         final String token = Jwts.builder()
                 .setSubject(json)
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
+                .setExpiration(expiration)
                 .signWith(SignatureAlgorithm.HS512, secret)
                 .compact();
 
@@ -178,13 +245,13 @@ public class JWTTokenServiceTest {
 
         assertNotSame(loggedUserExpected, loggedUserResult);
         assertEquals(loggedUserExpected, loggedUserResult);
+        assertEquals(expiration, loggedUserResult.getExpiration());
     }
 
-    private String getJson(String token) {
+    private Claims getClaims(String token) {
         return Jwts.parser()
                 .setSigningKey(secret)
                 .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+                .getBody();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package ragde.security.jwt.implementations;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import ragde.security.pojos.LoggedUser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactTokenCodecTest {
+
+    private final CompactTokenCodec tokenCodec = new CompactTokenCodec();
+
+    /**
+     * Should write short claims
+     */
+    @Test
+    public void encode() {
+        final LoggedUser loggedUser = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1"));
+
+        final Map<String, Object> claimsResult = tokenCodec.encode(loggedUser);
+
+        assertEquals(Map.of("id", "ID", "fn", "Full Name", "im", "I", "rl", "ROLE", "pm", Set.of("P1")), claimsResult);
+    }
+
+    /**
+     * Should omit null values but id
+     */
+    @Test
+    public void encodeNulls() {
+        final Map<String, Object> claimsExpected = new HashMap<>();
+        claimsExpected.put("id", null);
+
+        final Map<String, Object> claimsResult = tokenCodec.encode(new LoggedUser());
+
+        assertEquals(claimsExpected, claimsResult);
+    }
+
+    /**
+     * Should return null when claims weren't written by this codec
+     */
+    @Test
+    public void decodeOtherCodec() {
+        final LoggedUser loggedUserResult = tokenCodec.decode(Jwts.claims(Map.of("sub", "{\"id\":\"ID\"}")));
+
+        assertNull(loggedUserResult);
+    }
+
+    /**
+     * Should read a LoggedUser
+     */
+    @Test
+    public void decode() {
+        final LoggedUser loggedUserExpected = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1", "P2"));
+
+        final LoggedUser loggedUserResult = tokenCodec.decode(Jwts.claims(Map.of("id", "ID", "fn", "Full Name", "im", "I", "rl", "ROLE", "pm", List.of("P1", "P2"))));
+
+        assertEquals(loggedUserExpected, loggedUserResult);
+    }
+
+    /**
+     * Should read a LoggedUser with null values
+     */
+    @Test
+    public void decodeNulls() {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put("id", null);
+
+        final LoggedUser loggedUserResult = tokenCodec.decode(Jwts.claims(claims));
+
+        assertEquals(new LoggedUser(), loggedUserResult);
+    }
+}
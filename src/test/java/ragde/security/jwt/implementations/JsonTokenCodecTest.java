@@ -0,0 +1,63 @@
+package ragde.security.jwt.implementations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.security.jwt.TokenCodec;
+import ragde.security.pojos.LoggedUser;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class JsonTokenCodecTest {
+
+    @Autowired
+    private TokenCodec jsonTokenCodec;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Should write LoggedUser as JSON subject
+     */
+    @Test
+    public void encode() throws IOException {
+        final LoggedUser loggedUser = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1"));
+
+        final Map<String, Object> claimsResult = jsonTokenCodec.encode(loggedUser);
+
+        assertEquals(Map.of("sub", mapper.writeValueAsString(loggedUser)), claimsResult);
+    }
+
+    /**
+     * Should return null when claims weren't written by this codec
+     */
+    @Test
+    public void decodeOtherCodec() throws IOException {
+        final LoggedUser loggedUserResult = jsonTokenCodec.decode(Jwts.claims(Map.of("id", "ID")));
+
+        assertNull(loggedUserResult);
+    }
+
+    /**
+     * Should read a LoggedUser
+     */
+    @Test
+    public void decode() throws IOException {
+        final LoggedUser loggedUserExpected = new LoggedUser("ID", "Full Name", "I", "ROLE", Set.of("P1", "P2"));
+
+        final LoggedUser loggedUserResult = jsonTokenCodec.decode(Jwts.claims(Map.of("sub", mapper.writeValueAsString(loggedUserExpected))));
+
+        assertNotSame(loggedUserExpected, loggedUserResult);
+        assertEquals(loggedUserExpected, loggedUserResult);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
 import ragde.models.Authentication;
@@ -25,11 +26,14 @@ import ragde.security.services.TokenService;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -95,11 +99,12 @@ public class SecurityServiceImplTest {
 
         final String TOKEN = "token";
         final LoggedUser loggedUser = new LoggedUser("P1", "Name Last Name", "I", "R1", Collections.emptySet());
+        final LoggedUser tokenUser = new LoggedUser("P1", "Name Last Name", "I", "R1", Collections.emptySet());
+        tokenUser.setToken(TOKEN);
         final LoggedUser loggedUserExpected = new LoggedUser("P1", "Name Last Name", "I", "R1", Collections.emptySet());
         loggedUserExpected.setToken(TOKEN);
         given(loggedUserFactory.loggedUser(person)).willReturn(loggedUser);
-        given(tokenService.createToken(loggedUser)).willReturn(TOKEN);
-        given(tokenService.getLoggedUser(TOKEN)).willReturn(loggedUser);
+        given(tokenService.createLoggedUser(loggedUser)).willReturn(tokenUser);
 
         final LoggedUser loggedUserResult = securityService.authenticate(credentials);
 
@@ -107,8 +112,9 @@ public class SecurityServiceImplTest {
         assertEquals(loggedUserExpected, loggedUserResult);
         verify(authenticationRepository, times(1)).findByUsername(USERNAME);
         verify(loggedUserFactory, times(1)).loggedUser(person);
-        verify(tokenService, times(1)).createToken(loggedUser);
-        verify(tokenService, times(1)).getLoggedUser(TOKEN);
+        verify(tokenService, times(1)).createLoggedUser(loggedUser);
+        verify(tokenService, never()).createToken(any());
+        verify(tokenService, never()).getLoggedUser(any());
     }
 
     /**
@@ -136,11 +142,12 @@ public class SecurityServiceImplTest {
 
         final String TOKEN = "token";
         final LoggedUser loggedUser = new LoggedUser("P1", "Name Last Name", "I", "R2", Collections.emptySet());
+        final LoggedUser tokenUser = new LoggedUser("P1", "Name Last Name", "I", "R2", Collections.emptySet());
+        tokenUser.setToken(TOKEN);
         final LoggedUser loggedUserExpected = new LoggedUser("P1", "Name Last Name", "I", "R2", Collections.emptySet());
         loggedUserExpected.setToken(TOKEN);
         given(loggedUserFactory.loggedUser(null, ROLE_ID)).willReturn(loggedUser);
-        given(tokenService.createToken(loggedUser)).willReturn(TOKEN);
-        given(tokenService.getLoggedUser(TOKEN)).willReturn(loggedUser);
+        given(tokenService.createLoggedUser(loggedUser)).willReturn(tokenUser);
 
         final LoggedUser loggedUserResult = securityService.changeRole(ROLE_ID);
 
@@ -148,8 +155,9 @@ public class SecurityServiceImplTest {
         assertEquals(loggedUserExpected, loggedUserResult);
         verify(personRepository, times(1)).findById(PERSON_ID);
         verify(loggedUserFactory, times(1)).loggedUser(null, ROLE_ID);
-        verify(tokenService, times(1)).createToken(loggedUser);
-        verify(tokenService, times(1)).getLoggedUser(TOKEN);
+        verify(tokenService, times(1)).createLoggedUser(loggedUser);
+        verify(tokenService, never()).createToken(any());
+        verify(tokenService, never()).getLoggedUser(any());
     }
 
     /**
@@ -170,11 +178,12 @@ public class SecurityServiceImplTest {
 
         final String TOKEN = "token";
         final LoggedUser loggedUser = new LoggedUser("P1", "Name Last Name", "I", "R2", Collections.emptySet());
+        final LoggedUser tokenUser = new LoggedUser("P1", "Name Last Name", "I", "R2", Collections.emptySet());
+        tokenUser.setToken(TOKEN);
         final LoggedUser loggedUserExpected = new LoggedUser("P1", "Name Last Name", "I", "R2", Collections.emptySet());
         loggedUserExpected.setToken(TOKEN);
         given(loggedUserFactory.loggedUser(person, ROLE_ID)).willReturn(loggedUser);
-        given(tokenService.createToken(loggedUser)).willReturn(TOKEN);
-        given(tokenService.getLoggedUser(TOKEN)).willReturn(loggedUser);
+        given(tokenService.createLoggedUser(loggedUser)).willReturn(tokenUser);
 
         final LoggedUser loggedUserResult = securityService.changeRole(ROLE_ID);
 
@@ -182,8 +191,9 @@ public class SecurityServiceImplTest {
         assertEquals(loggedUserExpected, loggedUserResult);
         verify(personRepository, times(1)).findById(PERSON_ID);
         verify(loggedUserFactory, times(1)).loggedUser(person, ROLE_ID);
-        verify(tokenService, times(1)).createToken(loggedUser);
-        verify(tokenService, times(1)).getLoggedUser(TOKEN);
+        verify(tokenService, times(1)).createLoggedUser(loggedUser);
+        verify(tokenService, never()).createToken(any());
+        verify(tokenService, never()).getLoggedUser(any());
     }
 
     /**
@@ -232,6 +242,58 @@ public class SecurityServiceImplTest {
         verify(tokenService, times(1)).createToken(userMocked);
     }
 
+    /**
+     * Should keep the requested token when it hasn't passed the renewal fraction of its lifetime
+     */
+    @Test
+    public void getLoggedUserNotRenewable() throws JsonProcessingException {
+        final Integer expirationTime = (Integer) ReflectionTestUtils.getField(securityService, "expirationTime");
+        ReflectionTestUtils.setField(securityService, "renewal", 0.5);
+        try {
+            final String TOKEN = "token";
+            final LoggedUser userMocked = new LoggedUser("ID", "ROLE");
+            userMocked.setToken(TOKEN);
+            userMocked.setExpiration(new Date(System.currentTimeMillis() + expirationTime * 6 / 10));
+
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userMocked, null));
+
+            final LoggedUser userResult = securityService.getLoggedUser();
+
+            assertSame(userMocked, userResult);
+            assertSame(TOKEN, userResult.getToken());
+            verify(tokenService, never()).createToken(any());
+        } finally {
+            ReflectionTestUtils.setField(securityService, "renewal", 0.0);
+        }
+    }
+
+    /**
+     * Should create a new token when requested token has passed the renewal fraction of its lifetime
+     */
+    @Test
+    public void getLoggedUserRenewable() throws JsonProcessingException {
+        final Integer expirationTime = (Integer) ReflectionTestUtils.getField(securityService, "expirationTime");
+        ReflectionTestUtils.setField(securityService, "renewal", 0.5);
+        try {
+            final LoggedUser userMocked = new LoggedUser("ID", "ROLE");
+            userMocked.setToken("token");
+            userMocked.setExpiration(new Date(System.currentTimeMillis() + expirationTime * 4 / 10));
+
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userMocked, null));
+
+            final String NEW_TOKEN = "new token";
+            given(tokenService.createToken(new LoggedUser("ID", "ROLE"))).willReturn(NEW_TOKEN);
+
+            final LoggedUser userResult = securityService.getLoggedUser();
+
+            assertSame(userMocked, userResult);
+            assertSame(NEW_TOKEN, userResult.getToken());
+            verify(tokenService, times(1)).createToken(any());
+        } finally {
+            ReflectionTestUtils.setField(securityService, "renewal", 0.0);
+        }
+    }
+
     /**
      * Should hash value
      */
@@ -0,0 +1,142 @@
+package ragde.services.executor.implementations;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import ragde.exceptions.RagdeValidationException;
+import ragde.integration_test.IntegrationTest;
+import ragde.models.Permission;
+import ragde.pojos.responses.BulkResult;
+import ragde.repositories.*;
+import ragde.services.executor.BulkExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"bulk.max-size=50", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Transactional
+public class BulkExecutorImplTest {
+
+    @Autowired
+    private BulkExecutor bulkExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @BeforeEach
+    public void setup() {
+        IntegrationTest.cleanAllData(authenticationRepository, authProviderRepository, personRepository, roleRepository, permissionRepository);
+        entityManager.flush();
+    }
+
+    /**
+     * Should throw RagdeValidationException when there are too many items
+     */
+    @Test
+    public void executeTooMany() {
+        final List<Permission> permissions = IntStream.range(0, 51).mapToObj(i -> new Permission("N" + i, "D")).collect(Collectors.toList());
+
+        final RagdeValidationException exception = assertThrows(RagdeValidationException.class,
+                () -> bulkExecutor.execute(permissions, p -> p, permissionRepository::saveAll));
+
+        assertEquals("Bulk mutations allow up to 50 items.", exception.getMessage());
+        assertEquals(0, permissionRepository.count());
+    }
+
+    /**
+     * Should write only the valid items and return the results in the same order
+     */
+    @Test
+    public void executePartial() {
+        final List<Permission> permissions = Arrays.asList(new Permission("N1", "D1"), null, new Permission(null, "D3"), new Permission("N4", "D4"), new Permission("N5", "D5"));
+        final List<Permission> written = new ArrayList<>();
+
+        final List<BulkResult<Permission>> results = bulkExecutor.execute(permissions, permission -> {
+            if (permission.getName().equals("N4")) {
+                throw new RagdeValidationException("Permission name 'N4' is already used.");
+            }
+            return permission;
+        }, entities -> {
+            written.addAll(entities);
+            return permissionRepository.saveAll(entities);
+        });
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertSame(permissions.get(0), results.get(0).getEntity());
+        assertNotNull(results.get(0).getEntity().getId());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Item can't be null.", results.get(1).getError());
+        assertNull(results.get(1).getNestedErrors());
+        assertFalse(results.get(2).isSuccess());
+        assertNull(results.get(2).getEntity());
+        assertEquals("Some data aren't valid.", results.get(2).getError());
+        assertEquals(1, results.get(2).getNestedErrors().size());
+        assertEquals("name", results.get(2).getNestedErrors().get(0).getField());
+        assertFalse(results.get(3).isSuccess());
+        assertEquals("Permission name 'N4' is already used.", results.get(3).getError());
+        assertTrue(results.get(4).isSuccess());
+        assertSame(permissions.get(4), results.get(4).getEntity());
+        assertEquals(List.of(permissions.get(0), permissions.get(4)), written);
+        assertEquals(2, permissionRepository.count());
+    }
+
+    /**
+     * Should not call writer when there aren't valid items
+     */
+    @Test
+    public void executeAllInvalid() {
+        final List<BulkResult<Permission>> results = bulkExecutor.execute(Arrays.asList(null, new Permission()), p -> p, entities -> {
+            throw new IllegalStateException("writer shouldn't be called");
+        });
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().noneMatch(BulkResult::isSuccess));
+    }
+
+    /**
+     * Should send the inserts in JDBC batches instead of one statement by entity
+     */
+    @Test
+    public void executeBatched() {
+        final List<Permission> permissions = IntStream.range(0, 40).mapToObj(i -> new Permission("N" + i, "D")).collect(Collectors.toList());
+        final Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final List<BulkResult<Permission>> results = bulkExecutor.execute(permissions, p -> p, permissionRepository::saveAll);
+
+        assertTrue(results.stream().allMatch(BulkResult::isSuccess));
+        assertEquals(40, statistics.getEntityInsertCount());
+        // one insert statement plus the sequence calls (ids are allocated in blocks of 50)
+        assertTrue(statistics.getPrepareStatementCount() < 5, "statements: " + statistics.getPrepareStatementCount());
+    }
+}
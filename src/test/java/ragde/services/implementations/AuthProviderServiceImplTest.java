@@ -1,5 +1,8 @@
 package ragde.services.implementations;
 
+import graphql.schema.DataFetchingEnvironment;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.dataloader.DataLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,16 +13,23 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.caches.ProviderConfigCache;
+import ragde.exceptions.RagdeDontFoundException;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.AuthProvider;
 import ragde.models.Authentication;
 import ragde.repositories.AuthProviderRepository;
 import ragde.repositories.AuthenticationRepository;
+import ragde.security.WebSecurityConfig;
 import ragde.security.pojos.LoggedUser;
 import ragde.services.AuthProviderService;
 
+import javax.validation.ConstraintViolationException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +38,7 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
+@SuppressWarnings("unchecked")
 public class AuthProviderServiceImplTest {
 
     @Autowired
@@ -39,10 +50,13 @@ public class AuthProviderServiceImplTest {
     @MockBean
     private AuthenticationRepository authenticationRepository;
 
+    @MockBean
+    private ProviderConfigCache providerConfigCache;
+
     @BeforeEach
     public void setup() {
         final LoggedUser user = new LoggedUser();
-        user.setPermissions(Set.of("CREATE_USERS"));
+        user.setPermissions(Set.of("CREATE_USERS", WebSecurityConfig.ADMIN_PERMISSION));
         final List<GrantedAuthority> authorities = user.getPermissions().stream().map(p -> (GrantedAuthority) () -> "ROLE_" + p).collect(Collectors.toList());
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, authorities));
     }
@@ -67,6 +81,55 @@ public class AuthProviderServiceImplTest {
         verify(authProviderRepository, times(1)).findAll();
     }
 
+    /**
+     * Should throw ConstraintViolationException when authProvider isn't valid
+     */
+    @Test
+    public void updateInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> authProviderService.update(new AuthProvider()));
+    }
+
+    /**
+     * Should throw RagdeDontFoundException when authProvider doesn't exist
+     */
+    @Test
+    public void updateDontFound() {
+        final String ID = "ID";
+        final AuthProvider authProvider = new AuthProvider("N", "D", "AK", "AS");
+        authProvider.setId(ID);
+        given(authProviderRepository.findById(ID)).willReturn(Optional.empty());
+
+        assertThrows(RagdeDontFoundException.class, () -> authProviderService.update(authProvider));
+        verify(providerConfigCache, never()).evict(any());
+    }
+
+    /**
+     * Should return an authProvider and evict its configuration when update successfully
+     */
+    @Test
+    public void updateSuccessfully() {
+        final String ID = "ID";
+        final AuthProvider authProvider = new AuthProvider("name after", "desc after", "key after", "secret after");
+        authProvider.setId(ID);
+        final AuthProvider authProviderOriginal = new AuthProvider("name before", "desc before", "key before", "secret before");
+        authProviderOriginal.setId(ID);
+        //only change desc and keys
+        final AuthProvider authProviderMocked = new AuthProvider("name before", "desc after", "key after", "secret after");
+        authProviderMocked.setId(ID);
+        given(authProviderRepository.findById(ID)).willReturn(Optional.of(authProviderOriginal));
+        given(authProviderRepository.save(authProviderOriginal)).willReturn(authProviderMocked);
+
+        final AuthProvider authProviderResult = authProviderService.update(authProvider);
+
+        assertSame(authProviderMocked, authProviderResult);
+        assertEquals("name before", authProviderOriginal.getName());
+        assertEquals("desc after", authProviderOriginal.getDescription());
+        assertEquals("key after", authProviderOriginal.getAuthKey());
+        assertEquals("secret after", authProviderOriginal.getAuthSecret());
+        verify(authProviderRepository, times(1)).save(authProviderOriginal);
+        verify(providerConfigCache, times(1)).evict("name before");
+    }
+
     /**
      * Should call findByAuthProvider function
      */
@@ -78,7 +141,7 @@ public class AuthProviderServiceImplTest {
 
         final List<Authentication> authenticationsExpected = List.of(new Authentication("A1"), new Authentication("A2"));
 
-        final List<Authentication> authenticationsResult = authProviderService.getAuthentications(authProvider);
+        final List<Authentication> authenticationsResult = authProviderService.getAuthentications(authProvider, null).join();
 
         assertSame(authenticationsMocked, authenticationsResult);
         assertNotSame(authenticationsExpected, authenticationsResult);
@@ -96,10 +159,35 @@ public class AuthProviderServiceImplTest {
 
         final List<Authentication> authenticationsExpected = List.of(new Authentication("A1"), new Authentication("A2"));
 
-        final List<Authentication> authenticationsResult = authProviderService.getAuthentications(authProvider);
+        final List<Authentication> authenticationsResult = authProviderService.getAuthentications(authProvider, null).join();
 
         assertNotSame(authenticationsExpected, authenticationsResult);
         assertEquals(authenticationsExpected, authenticationsResult);
         verify(authenticationRepository, never()).findByAuthProvider(authProvider);
     }
+
+    /**
+     * Should use DataLoader instead of calling findByAuthProvider function
+     */
+    @Test
+    public void getAuthenticationsWithDataLoader() {
+        final AuthProvider authProvider = new AuthProvider("ID");
+        final List<Authentication> authenticationsMocked = List.of(new Authentication("A1"), new Authentication("A2"));
+        final DataLoader<String, List<Authentication>> dataLoader = mock(DataLoader.class);
+        final DataFetchingEnvironment dataFetchingEnvironment = mock(DataFetchingEnvironment.class);
+        given(dataFetchingEnvironment.getDataLoader(CustomDataLoaderRegistryFactory.AUTH_PROVIDER_AUTHENTICATIONS)).willReturn((DataLoader) dataLoader);
+        given(dataLoader.load("ID")).willReturn(CompletableFuture.completedFuture(authenticationsMocked));
+        final ResolutionEnvironment environment = new ResolutionEnvironment(dataFetchingEnvironment, null, null, null);
+
+        final List<Authentication> authenticationsExpected = List.of(new Authentication("A1"), new Authentication("A2"));
+
+        final List<Authentication> authenticationsResult = authProviderService.getAuthentications(authProvider, environment).join();
+
+        assertSame(authenticationsMocked, authenticationsResult);
+        assertNotSame(authenticationsExpected, authenticationsResult);
+        assertEquals(authenticationsExpected, authenticationsResult);
+        verify(dataLoader, times(1)).load("ID");
+        verify(authenticationRepository, never()).findByAuthProvider(any());
+        verify(authenticationRepository, never()).findByAuthProviderIn(any());
+    }
 }
\ No newline at end of file
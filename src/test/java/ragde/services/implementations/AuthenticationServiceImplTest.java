@@ -8,16 +8,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.exceptions.RagdeConflictException;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
 import ragde.models.AuthProvider;
 import ragde.models.Authentication;
 import ragde.models.Person;
+import ragde.pojos.pages.CursorPage;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.repositories.AuthProviderRepository;
 import ragde.repositories.AuthenticationRepository;
 import ragde.security.pojos.LoggedUser;
@@ -26,6 +31,7 @@ import ragde.services.AuthenticationService;
 
 import javax.validation.ConstraintViolationException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -252,7 +258,9 @@ public class AuthenticationServiceImplTest {
     public void updateDontFound() {
         final String ID = "ID";
         final Authentication authentication = new Authentication(ID, "123", new AuthProvider(), new Person());
-        given(authenticationRepository.findById(ID)).willReturn(Optional.empty());
+        authentication.setId(ID);
+        given(securityService.hashValue("123")).willReturn("hash");
+        given(authenticationRepository.update(authentication, "password")).willThrow(new RagdeDontFoundException("Data don't found."));
 
         assertThrows(RagdeDontFoundException.class, () -> authenticationService.update(authentication));
     }
@@ -263,39 +271,23 @@ public class AuthenticationServiceImplTest {
     @Test
     public void updateSuccessfully() {
         final String ID = "ID";
-        final String USERNAME_AUTHENTICATION = "username after";
-        final String USERNAME_ORIGINAL = "username before";
-        final String PASSWORD_AUTHENTICATION = "pass after";
-        final String PASSWORD_ORIGINAL = "pass before";
+        final String PASSWORD = "pass after";
         final String PASSWORD_HASH = "pass hash";
-        final AuthProvider AUTHPROVIDER_AUTHENTICATION = new AuthProvider("AP1");
-        final AuthProvider AUTHPROVIDER_ORIGINAL = new AuthProvider("AP2");
-        final Person PERSON_AUTHENTICATION = new Person("P1");
-        final Person PERSON_ORIGINAL = new Person("P2");
-        final Authentication authentication = new Authentication(USERNAME_AUTHENTICATION, PASSWORD_AUTHENTICATION, AUTHPROVIDER_AUTHENTICATION, PERSON_AUTHENTICATION);
+        final Authentication authentication = new Authentication("username", PASSWORD, new AuthProvider("AP1"), new Person("P1"));
         authentication.setId(ID);
-        final Authentication authenticationOriginal = new Authentication(USERNAME_ORIGINAL, PASSWORD_ORIGINAL, AUTHPROVIDER_ORIGINAL, PERSON_ORIGINAL);
-        authenticationOriginal.setId(ID);
-        //only change password
-        final Authentication authenticationMocked = new Authentication(USERNAME_ORIGINAL, PASSWORD_HASH, AUTHPROVIDER_ORIGINAL, PERSON_ORIGINAL);
-        authenticationMocked.setId(ID);
-        given(authenticationRepository.findById(ID)).willReturn(Optional.of(authenticationOriginal));
-        given(securityService.hashValue(PASSWORD_AUTHENTICATION)).willReturn(PASSWORD_HASH);
-        given(authenticationRepository.save(authenticationOriginal)).willReturn(authenticationMocked);
-
-        final Authentication authenticationExpected = new Authentication(USERNAME_ORIGINAL, PASSWORD_HASH, AUTHPROVIDER_ORIGINAL, PERSON_ORIGINAL);
-        authenticationExpected.setId(ID);
+        authentication.setVersion(1L);
+        final Authentication authenticationMocked = new Authentication(ID);
+        given(securityService.hashValue(PASSWORD)).willReturn(PASSWORD_HASH);
+        given(authenticationRepository.update(authentication, "password")).willReturn(authenticationMocked);
 
         final Authentication authenticationResult = authenticationService.update(authentication);
 
         assertSame(authenticationMocked, authenticationResult);
-        assertNotSame(authentication, authenticationResult);
-        assertNotSame(authenticationOriginal, authenticationResult);
-        assertNotSame(authenticationExpected, authenticationResult);
-        assertEquals(authenticationExpected, authenticationResult);
-        verify(authenticationRepository, times(1)).findById(ID);
-        verify(securityService, times(1)).hashValue(PASSWORD_AUTHENTICATION);
-        verify(authenticationRepository, times(1)).save(authenticationOriginal);
+        assertEquals(PASSWORD_HASH, authentication.getPassword());
+        verify(securityService, times(1)).hashValue(PASSWORD);
+        verify(authenticationRepository, times(1)).update(authentication, "password");
+        verify(authenticationRepository, never()).findById(anyString());
+        verify(authenticationRepository, never()).save(any());
     }
 
     /**
@@ -336,6 +328,55 @@ public class AuthenticationServiceImplTest {
         verify(authenticationRepository, times(1)).delete(authentication);
     }
 
+    /**
+     * Should save only the valid authentications with LOCAL provider
+     */
+    @Test
+    public void saveAll() {
+        final AuthProvider AUTHPROVIDER = new AuthProvider("AP1");
+        final AuthProvider LOCALPROVIDER = new AuthProvider("L");
+        final Person PERSON1 = new Person("P1");
+        final Person PERSON2 = new Person("P2");
+        final List<Authentication> authentications = List.of(
+                new Authentication("U1", "pass1", AUTHPROVIDER, PERSON1),
+                new Authentication("U2", null, AUTHPROVIDER, PERSON2),
+                new Authentication("U1", "pass3", AUTHPROVIDER, PERSON2),
+                new Authentication("U4", "pass4", AUTHPROVIDER, PERSON1),
+                new Authentication("U5", "pass5", AUTHPROVIDER, PERSON2)
+        );
+        given(authProviderRepository.findByName("LOCAL")).willReturn(LOCALPROVIDER);
+        given(securityService.hashValue(anyString())).willAnswer(invocation -> invocation.getArgument(0) + " hash");
+        given(authenticationRepository.saveAll(List.of(authentications.get(0), authentications.get(4)))).willReturn(List.of(authentications.get(0), authentications.get(4)));
+
+        final List<BulkResult<Authentication>> results = authenticationService.saveAll(authentications);
+
+        assertSame(authentications.get(0), results.get(0).getEntity());
+        assertEquals("pass1 hash", authentications.get(0).getPassword());
+        assertSame(LOCALPROVIDER, authentications.get(0).getAuthProvider());
+        assertEquals("Password can't not be null.", results.get(1).getError());
+        assertEquals("Username 'U1' is already used by another user.", results.get(2).getError());
+        assertEquals("Person 'P1' already has an Authorization with provider 'LOCAL'.", results.get(3).getError());
+        assertSame(authentications.get(4), results.get(4).getEntity());
+        verify(authProviderRepository, times(1)).findByName("LOCAL");
+        verify(authenticationRepository, times(1)).saveAll(List.of(authentications.get(0), authentications.get(4)));
+    }
+
+    /**
+     * Should delete only the authentications found
+     */
+    @Test
+    public void deleteAll() {
+        final Authentication authentication = new Authentication("U1", "pass", new AuthProvider("L"), new Person("P1"));
+        authentication.setId("ID1");
+        given(authenticationRepository.findAllById(List.of("ID1", "ID2"))).willReturn(List.of(authentication));
+
+        final List<BulkResult<Authentication>> results = authenticationService.deleteAll(List.of("ID1", "ID2"));
+
+        assertSame(authentication, results.get(0).getEntity());
+        assertEquals("Data don't found.", results.get(1).getError());
+        verify(authenticationRepository, times(1)).deleteAll(List.of(authentication));
+    }
+
     /**
      * Should throw ConstraintViolationException when invalid
      */
@@ -362,4 +403,50 @@ public class AuthenticationServiceImplTest {
         assertEquals(authenticationsExpected, authenticationsResult);
         verify(authenticationRepository, times(1)).page(pageDataRequest);
     }
+
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void pageSliceInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> authenticationService.pageSlice(new PageDataRequest()));
+    }
+
+    /**
+     * Should call pageSlice function
+     */
+    @Test
+    public void pageSlice() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final PageSlice<Authentication> authenticationsMocked = new PageSlice<>(List.of(new Authentication("ID1"), new Authentication("ID2")), PageRequest.of(0, 2), true);
+        given(authenticationRepository.pageSlice(pageDataRequest)).willReturn(authenticationsMocked);
+
+        final PageSlice<Authentication> authenticationsResult = authenticationService.pageSlice(pageDataRequest);
+
+        assertSame(authenticationsMocked, authenticationsResult);
+        verify(authenticationRepository, times(1)).pageSlice(pageDataRequest);
+    }
+
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void cursorPageInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> authenticationService.cursorPage(new PageDataRequest()));
+    }
+
+    /**
+     * Should call cursorPage function
+     */
+    @Test
+    public void cursorPage() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 1, null, null, null, "cursor", null);
+        final CursorPage<Authentication> authenticationsMocked = new CursorPage<>(Collections.emptyList(), null);
+        given(authenticationRepository.cursorPage(pageDataRequest)).willReturn(authenticationsMocked);
+
+        final CursorPage<Authentication> authenticationsResult = authenticationService.cursorPage(pageDataRequest);
+
+        assertSame(authenticationsMocked, authenticationsResult);
+        verify(authenticationRepository, times(1)).cursorPage(pageDataRequest);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package ragde.services.implementations;
 
+import graphql.schema.DataFetchingEnvironment;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.dataloader.DataLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,15 +11,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.exceptions.RagdeConflictException;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.Permission;
 import ragde.models.Role;
+import ragde.pojos.pages.CursorPage;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.repositories.PermissionRepository;
 import ragde.repositories.RoleRepository;
 import ragde.security.pojos.LoggedUser;
@@ -24,6 +33,7 @@ import ragde.services.PermissionService;
 
 import javax.validation.ConstraintViolationException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +42,7 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
+@SuppressWarnings("unchecked")
 public class PermissionServiceImplTest {
 
     @Autowired
@@ -200,9 +211,11 @@ public class PermissionServiceImplTest {
         final Permission permission = new Permission(NAME_PERMISSION, DESC_PERMISSION);
         permission.setId(ID);
         permission.setRoles(ROLES_PERMISSION);
+        permission.setVersion(0L);
         final Permission permissionOriginal = new Permission(NAME_ORIGINAL, DESC_ORIGINAL);
         permissionOriginal.setId(ID);
         permissionOriginal.setRoles(ROLES_ORIGINAL);
+        permissionOriginal.setVersion(0L);
         //only change desc
         final Permission permissionMocked = new Permission(NAME_ORIGINAL, DESC_PERMISSION);
         permissionMocked.setId(ID);
@@ -225,6 +238,25 @@ public class PermissionServiceImplTest {
         verify(permissionRepository, times(1)).save(permissionOriginal);
     }
 
+    /**
+     * Should throw RagdeConflictException when permission was updated by someone else
+     */
+    @Test
+    public void updateConflict() {
+        final String ID = "ID";
+        final Permission permission = new Permission("ABC", "123");
+        permission.setId(ID);
+        permission.setVersion(0L);
+        final Permission permissionOriginal = new Permission("ABC", "456");
+        permissionOriginal.setId(ID);
+        permissionOriginal.setVersion(1L);
+        given(permissionRepository.findById(ID)).willReturn(Optional.of(permissionOriginal));
+
+        assertThrows(RagdeConflictException.class, () -> permissionService.update(permission));
+        assertEquals("456", permissionOriginal.getDescription());
+        verify(permissionRepository, never()).save(any());
+    }
+
     /**
      * Should throw RagdeDontFoundException when permission doesn't exist
      */
@@ -277,6 +309,77 @@ public class PermissionServiceImplTest {
         verify(permissionRepository, times(1)).delete(permission);
     }
 
+    /**
+     * Should save only the valid permissions
+     */
+    @Test
+    public void saveAll() {
+        final List<Permission> permissions = List.of(new Permission("N1", "D1"), new Permission("N2", "D2"), new Permission("N1", "D3"), new Permission("N4", "D4"));
+        given(permissionRepository.findByName("N2")).willReturn(new Permission("N2", "D"));
+        given(permissionRepository.saveAll(List.of(permissions.get(0), permissions.get(3)))).willReturn(List.of(permissions.get(0), permissions.get(3)));
+
+        final List<BulkResult<Permission>> results = permissionService.saveAll(permissions);
+
+        assertEquals(4, results.size());
+        assertSame(permissions.get(0), results.get(0).getEntity());
+        assertEquals("Permission name 'N2' is already used.", results.get(1).getError());
+        assertEquals("Permission name 'N1' is already used.", results.get(2).getError());
+        assertSame(permissions.get(3), results.get(3).getEntity());
+        verify(permissionRepository, times(1)).saveAll(List.of(permissions.get(0), permissions.get(3)));
+    }
+
+    /**
+     * Should update only the permissions found with their current version
+     */
+    @Test
+    public void updateAll() {
+        final Permission permission = new Permission("N1", "after");
+        permission.setId("ID1");
+        final Permission notFound = new Permission("N2", "after");
+        notFound.setId("ID2");
+        final Permission original = new Permission("N1", "before");
+        original.setId("ID1");
+        final Permission stale = new Permission("N3", "after");
+        stale.setId("ID3");
+        stale.setVersion(0L);
+        final Permission staleOriginal = new Permission("N3", "before");
+        staleOriginal.setId("ID3");
+        staleOriginal.setVersion(1L);
+        List.of(permission, notFound, original).forEach(p -> p.setVersion(1L));
+        given(permissionRepository.findAllById(List.of("ID1", "ID2", "ID3"))).willReturn(List.of(original, staleOriginal));
+        given(permissionRepository.saveAll(List.of(original))).willReturn(List.of(original));
+
+        final List<BulkResult<Permission>> results = permissionService.updateAll(List.of(permission, notFound, stale));
+
+        assertSame(original, results.get(0).getEntity());
+        assertEquals("after", original.getDescription());
+        assertEquals("Data don't found.", results.get(1).getError());
+        assertEquals("Data was modified by another user.", results.get(2).getError());
+        assertEquals("before", staleOriginal.getDescription());
+        verify(permissionRepository, times(1)).findAllById(List.of("ID1", "ID2", "ID3"));
+        verify(permissionRepository, never()).findById(anyString());
+    }
+
+    /**
+     * Should delete only the permissions that aren't used
+     */
+    @Test
+    public void deleteAll() {
+        final Permission permission = new Permission("N1", "D1");
+        permission.setId("ID1");
+        final Permission used = new Permission("N2", "D2");
+        used.setId("ID2");
+        used.setRoles(List.of(new Role("ROLE1")));
+        given(permissionRepository.findAllById(List.of("ID1", "ID2", "ID3"))).willReturn(List.of(permission, used));
+
+        final List<BulkResult<Permission>> results = permissionService.deleteAll(List.of("ID1", "ID2", "ID3"));
+
+        assertSame(permission, results.get(0).getEntity());
+        assertEquals("There are some roles using the Permission 'N2'.", results.get(1).getError());
+        assertEquals("Data don't found.", results.get(2).getError());
+        verify(permissionRepository, times(1)).deleteAll(List.of(permission));
+    }
+
     /**
      * Should throw ConstraintViolationException when invalid
      */
@@ -304,6 +407,52 @@ public class PermissionServiceImplTest {
         verify(permissionRepository, times(1)).page(pageDataRequest);
     }
 
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void pageSliceInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> permissionService.pageSlice(new PageDataRequest()));
+    }
+
+    /**
+     * Should call pageSlice function
+     */
+    @Test
+    public void pageSlice() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final PageSlice<Permission> permissionsMocked = new PageSlice<>(List.of(new Permission("ID1"), new Permission("ID2")), PageRequest.of(0, 2), true);
+        given(permissionRepository.pageSlice(pageDataRequest)).willReturn(permissionsMocked);
+
+        final PageSlice<Permission> permissionsResult = permissionService.pageSlice(pageDataRequest);
+
+        assertSame(permissionsMocked, permissionsResult);
+        verify(permissionRepository, times(1)).pageSlice(pageDataRequest);
+    }
+
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void cursorPageInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> permissionService.cursorPage(new PageDataRequest()));
+    }
+
+    /**
+     * Should call cursorPage function
+     */
+    @Test
+    public void cursorPage() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 1, null, null, null, "cursor", null);
+        final CursorPage<Permission> permissionsMocked = new CursorPage<>(Collections.emptyList(), null);
+        given(permissionRepository.cursorPage(pageDataRequest)).willReturn(permissionsMocked);
+
+        final CursorPage<Permission> permissionsResult = permissionService.cursorPage(pageDataRequest);
+
+        assertSame(permissionsMocked, permissionsResult);
+        verify(permissionRepository, times(1)).cursorPage(pageDataRequest);
+    }
+
     /**
      * Should call findByPermissions function
      */
@@ -315,7 +464,7 @@ public class PermissionServiceImplTest {
 
         final List<Role> rolesExpected = List.of(new Role("R1"), new Role("R2"));
 
-        final List<Role> rolesResult = permissionService.getRoles(permission);
+        final List<Role> rolesResult = permissionService.getRoles(permission, null).join();
 
         assertSame(rolesMocked, rolesResult);
         assertNotSame(rolesExpected, rolesResult);
@@ -333,10 +482,35 @@ public class PermissionServiceImplTest {
 
         final List<Role> rolesExpected = List.of(new Role("R1"), new Role("R2"));
 
-        final List<Role> rolesResult = permissionService.getRoles(permission);
+        final List<Role> rolesResult = permissionService.getRoles(permission, null).join();
 
         assertNotSame(rolesExpected, rolesResult);
         assertEquals(rolesExpected, rolesResult);
         verify(roleRepository, never()).findByPermissions(permission);
     }
+
+    /**
+     * Should use DataLoader instead of calling findByPermissions function
+     */
+    @Test
+    public void getRolesWithDataLoader() {
+        final Permission permission = new Permission("ID");
+        final List<Role> rolesMocked = List.of(new Role("A1"), new Role("A2"));
+        final DataLoader<String, List<Role>> dataLoader = mock(DataLoader.class);
+        final DataFetchingEnvironment dataFetchingEnvironment = mock(DataFetchingEnvironment.class);
+        given(dataFetchingEnvironment.getDataLoader(CustomDataLoaderRegistryFactory.PERMISSION_ROLES)).willReturn((DataLoader) dataLoader);
+        given(dataLoader.load("ID")).willReturn(CompletableFuture.completedFuture(rolesMocked));
+        final ResolutionEnvironment environment = new ResolutionEnvironment(dataFetchingEnvironment, null, null, null);
+
+        final List<Role> rolesExpected = List.of(new Role("A1"), new Role("A2"));
+
+        final List<Role> rolesResult = permissionService.getRoles(permission, environment).join();
+
+        assertSame(rolesMocked, rolesResult);
+        assertNotSame(rolesExpected, rolesResult);
+        assertEquals(rolesExpected, rolesResult);
+        verify(dataLoader, times(1)).load("ID");
+        verify(roleRepository, never()).findByPermissions(any());
+        verify(roleRepository, never()).findByPermissionsIn(any());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package ragde.services.implementations;
 
+import graphql.schema.DataFetchingEnvironment;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.dataloader.DataLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,24 +11,35 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.exceptions.RagdeConflictException;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.Authentication;
 import ragde.models.Person;
 import ragde.models.Role;
+import ragde.pojos.pages.CursorPage;
+import ragde.pojos.pages.FilterRequest;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.repositories.AuthenticationRepository;
 import ragde.repositories.PersonRepository;
+import ragde.search.PersonSearchIndex;
 import ragde.security.pojos.LoggedUser;
 import ragde.services.PersonService;
 
 import javax.validation.ConstraintViolationException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,8 +48,12 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
+@SuppressWarnings("unchecked")
 public class PersonServiceImplTest {
 
+    // attributes changed by update
+    private static final String[] ATTRIBUTES = {"name", "lastName", "birthday", "civilStatus", "sex", "email", "roles"};
+
     @Autowired
     private PersonService personService;
 
@@ -45,6 +63,9 @@ public class PersonServiceImplTest {
     @MockBean
     private AuthenticationRepository authenticationRepository;
 
+    @MockBean
+    private PersonSearchIndex personSearchIndex;
+
     @BeforeEach
     public void setup() {
         final LoggedUser user = new LoggedUser();
@@ -162,6 +183,7 @@ public class PersonServiceImplTest {
         assertNotSame(personExpected, personResult);
         assertEquals(personExpected, personResult);
         verify(personRepository, times(1)).save(person);
+        verify(personSearchIndex, times(1)).index(List.of(person));
     }
 
     /**
@@ -200,61 +222,45 @@ public class PersonServiceImplTest {
         final String ID = "ID";
         final Person person = new Person("name", "last", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
         person.setId(ID);
-        person.setCivilStatus(Person.CIVIL_STATUS.SINGLE);
-        person.setSex(Person.SEX.M);
-        given(personRepository.findById(ID)).willReturn(Optional.empty());
+        given(personRepository.update(person, ATTRIBUTES)).willThrow(new RagdeDontFoundException("Data don't found."));
 
         assertThrows(RagdeDontFoundException.class, () -> personService.update(person));
     }
 
+    /**
+     * Should throw RagdeConflictException when person was updated by someone else
+     */
+    @Test
+    public void updateConflict() {
+        final String ID = "ID";
+        final Person person = new Person("name", "last", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
+        person.setId(ID);
+        person.setVersion(1L);
+        given(personRepository.update(person, ATTRIBUTES)).willThrow(new RagdeConflictException("Data was modified by another user."));
+
+        assertThrows(RagdeConflictException.class, () -> personService.update(person));
+    }
+
     /**
      * Should return a person when update successfully
      */
     @Test
     public void updateSuccessfully() {
         final String ID = "ID";
-        final String NAME_PERSON = "name after";
-        final String NAME_ORIGINAL = "name before";
-        final String LAST_NAME_PERSON = "last name after";
-        final String LAST_NAME_ORIGINAL = "last name before";
-        final LocalDate BIRTHDAY_PERSON = LocalDate.now();
-        final LocalDate BIRTHDAY_ORIGINAL = LocalDate.now();
-        final Integer CIVIL_STATUS_PERSON = Person.CIVIL_STATUS.SINGLE;
-        final Integer CIVIL_STATUS_ORIGINAL = Person.CIVIL_STATUS.MARRIED;
-        final String SEX_PERSON = Person.SEX.M;
-        final String SEX_ORIGINAL = Person.SEX.F;
-        final String EMAIL_PERSON = "after@aaa";
-        final String EMAIL_ORIGINAL = "before@aaa";
-        final Set<Role> ROLES_PERSON = Set.of(new Role("R1"));
-        final Set<Role> ROLES_ORIGINAL = Set.of(new Role("R2"), new Role("R3"));
-        final List<Authentication> AUTHENTICATIONS_PERSON = List.of(new Authentication("A1"));
-        final List<Authentication> AUTHENTICATIONS_ORIGINAL = List.of(new Authentication("A2"), new Authentication("A3"));
-        final Person person = new Person(NAME_PERSON, LAST_NAME_PERSON, BIRTHDAY_PERSON, CIVIL_STATUS_PERSON, SEX_PERSON, EMAIL_PERSON, ROLES_PERSON);
+        final Person person = new Person("name", "last", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, "a@a.com", Set.of(new Role("R1")));
         person.setId(ID);
-        person.setAuthentications(AUTHENTICATIONS_PERSON);
-        final Person personOriginal = new Person(NAME_ORIGINAL, LAST_NAME_ORIGINAL, BIRTHDAY_ORIGINAL, CIVIL_STATUS_ORIGINAL, SEX_ORIGINAL, EMAIL_ORIGINAL, ROLES_ORIGINAL);
-        personOriginal.setId(ID);
-        personOriginal.setAuthentications(AUTHENTICATIONS_ORIGINAL);
-        //only change name, last name, birthday, civil status, sex and email
-        final Person personMocked = new Person(NAME_PERSON, LAST_NAME_PERSON, BIRTHDAY_PERSON, CIVIL_STATUS_PERSON, SEX_PERSON, EMAIL_PERSON, ROLES_PERSON);
-        personMocked.setId(ID);
-        personMocked.setAuthentications(AUTHENTICATIONS_ORIGINAL);
-        given(personRepository.findById(ID)).willReturn(Optional.of(personOriginal));
-        given(personRepository.save(personOriginal)).willReturn(personMocked);
-
-        final Person personExpected = new Person(NAME_PERSON, LAST_NAME_PERSON, BIRTHDAY_PERSON, CIVIL_STATUS_PERSON, SEX_PERSON, EMAIL_PERSON, ROLES_PERSON);
-        personExpected.setId(ID);
-        personExpected.setAuthentications(AUTHENTICATIONS_ORIGINAL);
+        person.setVersion(1L);
+        final Person personMocked = new Person(ID);
+        given(personRepository.update(person, ATTRIBUTES)).willReturn(personMocked);
 
         final Person personResult = personService.update(person);
 
         assertSame(personMocked, personResult);
-        assertNotSame(person, personResult);
-        assertNotSame(personOriginal, personResult);
-        assertNotSame(personExpected, personResult);
-        assertEquals(personExpected, personResult);
-        verify(personRepository, times(1)).findById(ID);
-        verify(personRepository, times(1)).save(personOriginal);
+        verify(personRepository, times(1)).update(person, ATTRIBUTES);
+        verify(personRepository, never()).findById(anyString());
+        verify(personRepository, never()).save(any());
+        verify(personSearchIndex, times(1)).index(argThat(people -> people.size() == 1 && people.stream().allMatch(indexed ->
+                indexed != personMocked && indexed.getId().equals(ID) && indexed.getName().equals("name") && indexed.getLastName().equals("last") && indexed.getEmail().equals("a@a.com"))));
     }
 
     /**
@@ -309,6 +315,115 @@ public class PersonServiceImplTest {
         assertEquals(personExpected, personResult);
         verify(personRepository, times(1)).findById(ID);
         verify(personRepository, times(1)).delete(person);
+        verify(personSearchIndex, times(1)).remove(List.of(ID));
+    }
+
+    /**
+     * Should save and index only the valid people
+     */
+    @Test
+    public void saveAll() {
+        final List<Person> people = Arrays.asList(new Person("N1", "L1", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null),
+                new Person("N2", "L2", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, "A", null, null), new Person(), null,
+                new Person("N5", "L5", LocalDate.now(), Person.CIVIL_STATUS.MARRIED, Person.SEX.F, null, null));
+        final List<Person> valid = List.of(people.get(0), people.get(4));
+        given(personRepository.saveAll(valid)).willReturn(valid);
+
+        final List<BulkResult<Person>> results = personService.saveAll(people);
+
+        assertEquals(5, results.size());
+        assertSame(people.get(0), results.get(0).getEntity());
+        assertEquals("Some data aren't valid.", results.get(1).getError());
+        assertEquals("sex", results.get(1).getNestedErrors().get(0).getField());
+        assertNull(results.get(1).getEntity());
+        assertEquals("Some data aren't valid.", results.get(2).getError());
+        assertFalse(results.get(2).getNestedErrors().isEmpty());
+        assertEquals("Item can't be null.", results.get(3).getError());
+        assertSame(people.get(4), results.get(4).getEntity());
+        verify(personRepository, times(1)).saveAll(valid);
+        verify(personSearchIndex, times(1)).index(valid);
+    }
+
+    /**
+     * Should not write when every person is invalid
+     */
+    @Test
+    public void saveAllInvalid() {
+        final List<Person> people = List.of(new Person("N1", "L1", LocalDate.now(), -1, Person.SEX.M, null, null));
+
+        final List<BulkResult<Person>> results = personService.saveAll(people);
+
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("civilStatus", results.get(0).getNestedErrors().get(0).getField());
+        verify(personRepository, never()).saveAll(any());
+        verify(personSearchIndex, times(1)).index(Collections.emptyList());
+    }
+
+    /**
+     * Should update and index only the valid people found with their current version
+     */
+    @Test
+    public void updateAll() {
+        final Person person = new Person("N1", "after", LocalDate.now(), Person.CIVIL_STATUS.MARRIED, Person.SEX.F, "a@a.com", Set.of(new Role("R1")));
+        person.setId("ID1");
+        final Person notFound = new Person("N2", "after", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
+        notFound.setId("ID2");
+        final Person invalid = new Person("N3", "after", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, "A", null, null);
+        invalid.setId("ID3");
+        final Person original = new Person("N1", "before", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
+        original.setId("ID1");
+        final Person invalidOriginal = new Person("N3", "before", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
+        invalidOriginal.setId("ID3");
+        final Person stale = new Person("N4", "after", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
+        stale.setId("ID4");
+        stale.setVersion(1L);
+        final Person staleOriginal = new Person("N4", "before", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
+        staleOriginal.setId("ID4");
+        staleOriginal.setVersion(2L);
+        List.of(person, notFound, invalid, original, invalidOriginal).forEach(p -> p.setVersion(2L));
+        given(personRepository.findAllById(List.of("ID1", "ID2", "ID3", "ID4"))).willReturn(List.of(original, invalidOriginal, staleOriginal));
+        given(personRepository.saveAll(List.of(original))).willReturn(List.of(original));
+
+        final List<BulkResult<Person>> results = personService.updateAll(List.of(person, notFound, invalid, stale));
+
+        assertSame(original, results.get(0).getEntity());
+        assertEquals("after", original.getLastName());
+        assertEquals(Person.CIVIL_STATUS.MARRIED, original.getCivilStatus());
+        assertEquals(Person.SEX.F, original.getSex());
+        assertEquals("a@a.com", original.getEmail());
+        assertEquals(Set.of(new Role("R1")), original.getRoles());
+        assertEquals("Data don't found.", results.get(1).getError());
+        assertEquals("sex", results.get(2).getNestedErrors().get(0).getField());
+        assertEquals("before", invalidOriginal.getLastName());
+        assertEquals("Data was modified by another user.", results.get(3).getError());
+        assertEquals("before", staleOriginal.getLastName());
+        verify(personRepository, times(1)).findAllById(List.of("ID1", "ID2", "ID3", "ID4"));
+        verify(personRepository, never()).findById(anyString());
+        verify(personRepository, times(1)).saveAll(List.of(original));
+        verify(personSearchIndex, times(1)).index(List.of(original));
+    }
+
+    /**
+     * Should delete and remove from index only the people without authentications
+     */
+    @Test
+    public void deleteAll() {
+        final Person person = new Person("N1", "L1", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, Set.of(new Role("R1")));
+        person.setId("ID1");
+        final Person used = new Person("N2", "L2", LocalDate.now(), Person.CIVIL_STATUS.SINGLE, Person.SEX.M, null, null);
+        used.setId("ID2");
+        used.setAuthentications(List.of(new Authentication("A1")));
+        given(personRepository.findAllById(List.of("ID1", "ID2", "ID3"))).willReturn(List.of(person, used));
+
+        final List<BulkResult<Person>> results = personService.deleteAll(List.of("ID1", "ID2", "ID3"));
+
+        assertSame(person, results.get(0).getEntity());
+        assertNull(person.getRoles());
+        assertEquals("Person 'N2 L2' has one or more authentications associated.", results.get(1).getError());
+        assertEquals("Data don't found.", results.get(2).getError());
+        verify(personRepository, times(1)).deleteAll(List.of(person));
+        verify(personRepository, never()).delete(any());
+        verify(personSearchIndex, times(1)).remove(List.of("ID1"));
     }
 
     /**
@@ -326,6 +441,7 @@ public class PersonServiceImplTest {
     public void page() {
         final PageDataRequest pageDataRequest = new PageDataRequest(0, 1, null, null, null);
         final Page<Person> peopleMocked = new PageImpl<>(List.of(new Person("ID1"), new Person("ID2")));
+        given(personSearchIndex.search(null)).willReturn(null);
         given(personRepository.page(pageDataRequest)).willReturn(peopleMocked);
 
         final Page<Person> peopleExpected = new PageImpl<>(List.of(new Person("ID1"), new Person("ID2")));
@@ -335,6 +451,111 @@ public class PersonServiceImplTest {
         assertNotSame(peopleExpected, peopleResult);
         assertEquals(peopleExpected, peopleResult);
         verify(personRepository, times(1)).page(pageDataRequest);
+        verify(personRepository, never()).findByIdIn(any(), any());
+    }
+
+    /**
+     * Should page the ids found by the search index
+     */
+    @Test
+    public void pageSearch() {
+        final List<FilterRequest> filters = List.of(new FilterRequest("name", "ed", FilterRequest.OPERATIONS.LIKE));
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 1, null, null, filters);
+        final Page<Person> peopleMocked = new PageImpl<>(List.of(new Person("ID1")));
+        given(personSearchIndex.search(filters)).willReturn(Set.of("ID1", "ID2"));
+        given(personRepository.findByIdIn(Set.of("ID1", "ID2"), PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id")))).willReturn(peopleMocked);
+
+        final Page<Person> peopleResult = personService.page(pageDataRequest);
+
+        assertSame(peopleMocked, peopleResult);
+        verify(personRepository, times(1)).findByIdIn(Set.of("ID1", "ID2"), PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id")));
+        verify(personRepository, never()).page(any());
+    }
+
+    /**
+     * Should return an empty page without querying when the search index doesn't find people
+     */
+    @Test
+    public void pageSearchEmpty() {
+        final List<FilterRequest> filters = List.of(new FilterRequest("name", "ed", FilterRequest.OPERATIONS.LIKE));
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 1, null, null, filters);
+        given(personSearchIndex.search(filters)).willReturn(Set.of());
+
+        final Page<Person> peopleResult = personService.page(pageDataRequest);
+
+        assertEquals(0, peopleResult.getTotalElements());
+        assertTrue(peopleResult.getContent().isEmpty());
+        verify(personRepository, never()).findByIdIn(any(), any());
+        verify(personRepository, never()).page(any());
+    }
+
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void pageSliceInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> personService.pageSlice(new PageDataRequest()));
+    }
+
+    /**
+     * Should call pageSlice function
+     */
+    @Test
+    public void pageSlice() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final PageSlice<Person> peopleMocked = new PageSlice<>(List.of(new Person("ID1"), new Person("ID2")), PageRequest.of(0, 2), true);
+        given(personRepository.pageSlice(pageDataRequest)).willReturn(peopleMocked);
+
+        final PageSlice<Person> peopleResult = personService.pageSlice(pageDataRequest);
+
+        assertSame(peopleMocked, peopleResult);
+        verify(personRepository, times(1)).pageSlice(pageDataRequest);
+    }
+
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void cursorPageInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> personService.cursorPage(new PageDataRequest()));
+    }
+
+    /**
+     * Should call cursorPage function
+     */
+    @Test
+    public void cursorPage() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 1, null, null, null, "cursor", null);
+        final CursorPage<Person> peopleMocked = new CursorPage<>(Collections.emptyList(), null);
+        given(personRepository.cursorPage(pageDataRequest)).willReturn(peopleMocked);
+
+        final CursorPage<Person> peopleResult = personService.cursorPage(pageDataRequest);
+
+        assertSame(peopleMocked, peopleResult);
+        verify(personRepository, times(1)).cursorPage(pageDataRequest);
+    }
+
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void exportInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> personService.export(List.of(new FilterRequest()), person -> {
+        }));
+    }
+
+    /**
+     * Should call scroll function
+     */
+    @Test
+    public void export() {
+        final List<FilterRequest> filters = List.of(new FilterRequest("name", "N", FilterRequest.OPERATIONS.EQ));
+        final Consumer<Person> consumer = person -> {
+        };
+
+        personService.export(filters, consumer);
+
+        verify(personRepository, times(1)).scroll(filters, consumer);
     }
 
     /**
@@ -348,7 +569,7 @@ public class PersonServiceImplTest {
 
         final List<Authentication> authenticationsExpected = List.of(new Authentication("A1"), new Authentication("A2"));
 
-        final List<Authentication> authenticationsResult = personService.getAuthentications(person);
+        final List<Authentication> authenticationsResult = personService.getAuthentications(person, null).join();
 
         assertSame(authenticationsMocked, authenticationsResult);
         assertNotSame(authenticationsExpected, authenticationsResult);
@@ -366,10 +587,35 @@ public class PersonServiceImplTest {
 
         final List<Authentication> authenticationsExpected = List.of(new Authentication("A1"), new Authentication("A2"));
 
-        final List<Authentication> authenticationsResult = personService.getAuthentications(person);
+        final List<Authentication> authenticationsResult = personService.getAuthentications(person, null).join();
 
         assertNotSame(authenticationsExpected, authenticationsResult);
         assertEquals(authenticationsExpected, authenticationsResult);
         verify(authenticationRepository, never()).findByPerson(person);
     }
+
+    /**
+     * Should use DataLoader instead of calling findByPerson function
+     */
+    @Test
+    public void getAuthenticationsWithDataLoader() {
+        final Person person = new Person("ID");
+        final List<Authentication> authenticationsMocked = List.of(new Authentication("A1"), new Authentication("A2"));
+        final DataLoader<String, List<Authentication>> dataLoader = mock(DataLoader.class);
+        final DataFetchingEnvironment dataFetchingEnvironment = mock(DataFetchingEnvironment.class);
+        given(dataFetchingEnvironment.getDataLoader(CustomDataLoaderRegistryFactory.PERSON_AUTHENTICATIONS)).willReturn((DataLoader) dataLoader);
+        given(dataLoader.load("ID")).willReturn(CompletableFuture.completedFuture(authenticationsMocked));
+        final ResolutionEnvironment environment = new ResolutionEnvironment(dataFetchingEnvironment, null, null, null);
+
+        final List<Authentication> authenticationsExpected = List.of(new Authentication("A1"), new Authentication("A2"));
+
+        final List<Authentication> authenticationsResult = personService.getAuthentications(person, environment).join();
+
+        assertSame(authenticationsMocked, authenticationsResult);
+        assertNotSame(authenticationsExpected, authenticationsResult);
+        assertEquals(authenticationsExpected, authenticationsResult);
+        verify(dataLoader, times(1)).load("ID");
+        verify(authenticationRepository, never()).findByPerson(any());
+        verify(authenticationRepository, never()).findByPersonIn(any());
+    }
 }
\ No newline at end of file
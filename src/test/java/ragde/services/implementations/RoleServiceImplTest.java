@@ -1,5 +1,8 @@
 package ragde.services.implementations;
 
+import graphql.schema.DataFetchingEnvironment;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.dataloader.DataLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,16 +11,23 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ragde.caches.SecondLevelCache;
+import ragde.exceptions.RagdeConflictException;
 import ragde.exceptions.RagdeDontFoundException;
 import ragde.exceptions.RagdeValidationException;
+import ragde.graphql.dataloaders.CustomDataLoaderRegistryFactory;
 import ragde.models.Permission;
 import ragde.models.Person;
 import ragde.models.Role;
+import ragde.pojos.pages.CursorPage;
 import ragde.pojos.pages.PageDataRequest;
+import ragde.pojos.pages.PageSlice;
+import ragde.pojos.responses.BulkResult;
 import ragde.repositories.PersonRepository;
 import ragde.repositories.RoleRepository;
 import ragde.security.pojos.LoggedUser;
@@ -25,6 +35,7 @@ import ragde.services.RoleService;
 
 import javax.validation.ConstraintViolationException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,8 +44,12 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
+@SuppressWarnings("unchecked")
 public class RoleServiceImplTest {
 
+    // attributes changed by update
+    private static final String[] ATTRIBUTES = {"description", "permissions"};
+
     @Autowired
     private RoleService roleService;
 
@@ -44,6 +59,9 @@ public class RoleServiceImplTest {
     @MockBean
     private PersonRepository personRepository;
 
+    @MockBean
+    private SecondLevelCache secondLevelCache;
+
     @BeforeEach
     public void setup() {
         final LoggedUser user = new LoggedUser();
@@ -188,51 +206,43 @@ public class RoleServiceImplTest {
         final String ID = "ID";
         final Role role = new Role("abc", "123", null);
         role.setId(ID);
-        given(roleRepository.findById(ID)).willReturn(Optional.empty());
+        given(roleRepository.update(role, ATTRIBUTES)).willThrow(new RagdeDontFoundException("Data don't found."));
 
         assertThrows(RagdeDontFoundException.class, () -> roleService.update(role));
     }
 
+    /**
+     * Should throw RagdeConflictException when role was updated by someone else
+     */
+    @Test
+    public void updateConflict() {
+        final String ID = "ID";
+        final Role role = new Role("abc", "123", null);
+        role.setId(ID);
+        role.setVersion(1L);
+        given(roleRepository.update(role, ATTRIBUTES)).willThrow(new RagdeConflictException("Data was modified by another user."));
+
+        assertThrows(RagdeConflictException.class, () -> roleService.update(role));
+    }
+
     /**
      * Should return a role when update successfully
      */
     @Test
     public void updateSuccessfully() {
         final String ID = "ID";
-        final String NAME_ROLE = "name after";
-        final String NAME_ORIGINAL = "name before";
-        final String DESC_ROLE = "desc after";
-        final String DESC_ORIGINAL = "desc before";
-        final Set<Permission> PERMISSIONS_ROLE = Set.of(new Permission("P1"));
-        final Set<Permission> PERMISSIONS_ORIGINAL = Set.of(new Permission("P2"), new Permission("P3"));
-        final List<Person> PEOPLE_ROLE = List.of(new Person("Per1"));
-        final List<Person> PEOPLE_ORIGINAL = List.of(new Person("Per2"), new Person("Per3"));
-        final Role role = new Role(NAME_ROLE, DESC_ROLE, PERMISSIONS_ROLE);
+        final Role role = new Role("name", "desc", Set.of(new Permission("P1")));
         role.setId(ID);
-        role.setPeople(PEOPLE_ROLE);
-        final Role roleOriginal = new Role(NAME_ORIGINAL, DESC_ORIGINAL, PERMISSIONS_ORIGINAL);
-        roleOriginal.setId(ID);
-        roleOriginal.setPeople(PEOPLE_ORIGINAL);
-        //only change desc
-        final Role roleMocked = new Role(NAME_ORIGINAL, DESC_ROLE, PERMISSIONS_ROLE);
-        roleMocked.setId(ID);
-        roleMocked.setPeople(PEOPLE_ORIGINAL);
-        given(roleRepository.findById(ID)).willReturn(Optional.of(roleOriginal));
-        given(roleRepository.save(roleOriginal)).willReturn(roleMocked);
-
-        final Role roleExpected = new Role(NAME_ORIGINAL, DESC_ROLE, PERMISSIONS_ROLE);
-        roleExpected.setId(ID);
-        roleExpected.setPeople(PEOPLE_ORIGINAL);
+        role.setVersion(1L);
+        final Role roleMocked = new Role(ID);
+        given(roleRepository.update(role, ATTRIBUTES)).willReturn(roleMocked);
 
         final Role roleResult = roleService.update(role);
 
         assertSame(roleMocked, roleResult);
-        assertNotSame(role, roleResult);
-        assertNotSame(roleOriginal, roleResult);
-        assertNotSame(roleExpected, roleResult);
-        assertEquals(roleExpected, roleResult);
-        verify(roleRepository, times(1)).findById(ID);
-        verify(roleRepository, times(1)).save(roleOriginal);
+        verify(roleRepository, times(1)).update(role, ATTRIBUTES);
+        verify(roleRepository, never()).findById(anyString());
+        verify(roleRepository, never()).save(any());
     }
 
     /**
@@ -286,6 +296,85 @@ public class RoleServiceImplTest {
         verify(roleRepository, times(1)).delete(role);
     }
 
+    /**
+     * Should save only the valid roles and evict the second-level cache
+     */
+    @Test
+    public void saveAll() {
+        final List<Role> roles = List.of(new Role("N1", "D1", null), new Role("N2", "D2", null), new Role("N1", "D3", null), new Role(), new Role("N5", "D5", null));
+        final List<Role> valid = List.of(roles.get(0), roles.get(4));
+        given(roleRepository.findByName("N2")).willReturn(new Role("N2", "D", null));
+        given(roleRepository.saveAll(valid)).willReturn(valid);
+
+        final List<BulkResult<Role>> results = roleService.saveAll(roles);
+
+        assertEquals(5, results.size());
+        assertSame(roles.get(0), results.get(0).getEntity());
+        assertEquals("Role name 'N2' is already used.", results.get(1).getError());
+        assertEquals("Role name 'N1' is already used.", results.get(2).getError());
+        assertEquals("Some data aren't valid.", results.get(3).getError());
+        assertFalse(results.get(3).getNestedErrors().isEmpty());
+        assertSame(roles.get(4), results.get(4).getEntity());
+        verify(roleRepository, times(1)).saveAll(valid);
+        verify(secondLevelCache, times(1)).evict(Role.class);
+    }
+
+    /**
+     * Should update only the roles found sent with their version and evict the second-level cache
+     */
+    @Test
+    public void updateAll() {
+        final Role role = new Role("N1", "after", Set.of(new Permission("P1")));
+        role.setId("ID1");
+        final Role notFound = new Role("N2", "after", null);
+        notFound.setId("ID2");
+        final Role original = new Role("N1", "before", null);
+        original.setId("ID1");
+        final Role withoutVersion = new Role("N3", "after", null);
+        withoutVersion.setId("ID3");
+        final Role withoutVersionOriginal = new Role("N3", "before", null);
+        withoutVersionOriginal.setId("ID3");
+        List.of(role, notFound, original, withoutVersionOriginal).forEach(r -> r.setVersion(0L));
+        given(roleRepository.findAllById(List.of("ID1", "ID2", "ID3"))).willReturn(List.of(original, withoutVersionOriginal));
+        given(roleRepository.saveAll(List.of(original))).willReturn(List.of(original));
+
+        final List<BulkResult<Role>> results = roleService.updateAll(List.of(role, notFound, withoutVersion));
+
+        assertSame(original, results.get(0).getEntity());
+        assertEquals("after", original.getDescription());
+        assertEquals(Set.of(new Permission("P1")), original.getPermissions());
+        assertEquals("Data don't found.", results.get(1).getError());
+        assertEquals("version", results.get(2).getNestedErrors().get(0).getField());
+        assertEquals("before", withoutVersionOriginal.getDescription());
+        verify(roleRepository, times(1)).findAllById(List.of("ID1", "ID2", "ID3"));
+        verify(roleRepository, never()).findById(anyString());
+        verify(roleRepository, times(1)).saveAll(List.of(original));
+        verify(secondLevelCache, times(1)).evict(Role.class);
+    }
+
+    /**
+     * Should delete only the roles that aren't used and evict the second-level cache
+     */
+    @Test
+    public void deleteAll() {
+        final Role role = new Role("N1", "D1", Set.of(new Permission("P1")));
+        role.setId("ID1");
+        final Role used = new Role("N2", "D2", null);
+        used.setId("ID2");
+        used.setPeople(List.of(new Person("Per1")));
+        given(roleRepository.findAllById(List.of("ID1", "ID2", "ID3"))).willReturn(List.of(role, used));
+
+        final List<BulkResult<Role>> results = roleService.deleteAll(List.of("ID1", "ID2", "ID3"));
+
+        assertSame(role, results.get(0).getEntity());
+        assertNull(role.getPermissions());
+        assertEquals("There are some people using the Role 'N2'.", results.get(1).getError());
+        assertEquals("Data don't found.", results.get(2).getError());
+        verify(roleRepository, times(1)).deleteAll(List.of(role));
+        verify(roleRepository, never()).delete(any());
+        verify(secondLevelCache, times(1)).evict(Role.class);
+    }
+
     /**
      * Should throw ConstraintViolationException when invalid
      */
@@ -313,6 +402,52 @@ public class RoleServiceImplTest {
         verify(roleRepository, times(1)).page(pageDataRequest);
     }
 
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void pageSliceInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> roleService.pageSlice(new PageDataRequest()));
+    }
+
+    /**
+     * Should call pageSlice function
+     */
+    @Test
+    public void pageSlice() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 2, null, null, null);
+        final PageSlice<Role> rolesMocked = new PageSlice<>(List.of(new Role("ID1"), new Role("ID2")), PageRequest.of(0, 2), true);
+        given(roleRepository.pageSlice(pageDataRequest)).willReturn(rolesMocked);
+
+        final PageSlice<Role> rolesResult = roleService.pageSlice(pageDataRequest);
+
+        assertSame(rolesMocked, rolesResult);
+        verify(roleRepository, times(1)).pageSlice(pageDataRequest);
+    }
+
+    /**
+     * Should throw ConstraintViolationException when invalid
+     */
+    @Test
+    public void cursorPageInvalid() {
+        assertThrows(ConstraintViolationException.class, () -> roleService.cursorPage(new PageDataRequest()));
+    }
+
+    /**
+     * Should call cursorPage function
+     */
+    @Test
+    public void cursorPage() {
+        final PageDataRequest pageDataRequest = new PageDataRequest(0, 1, null, null, null, "cursor", null);
+        final CursorPage<Role> rolesMocked = new CursorPage<>(Collections.emptyList(), null);
+        given(roleRepository.cursorPage(pageDataRequest)).willReturn(rolesMocked);
+
+        final CursorPage<Role> rolesResult = roleService.cursorPage(pageDataRequest);
+
+        assertSame(rolesMocked, rolesResult);
+        verify(roleRepository, times(1)).cursorPage(pageDataRequest);
+    }
+
     /**
      * Should call findByRoles function
      */
@@ -324,7 +459,7 @@ public class RoleServiceImplTest {
 
         final List<Person> peopleExpected = List.of(new Person("P1"), new Person("P2"));
 
-        final List<Person> peopleResult = roleService.getPeople(role);
+        final List<Person> peopleResult = roleService.getPeople(role, null).join();
 
         assertSame(peopleMocked, peopleResult);
         assertNotSame(peopleExpected, peopleResult);
@@ -342,10 +477,35 @@ public class RoleServiceImplTest {
 
         final List<Person> peopleExpected = List.of(new Person("P1"), new Person("P2"));
 
-        final List<Person> peopleResult = roleService.getPeople(role);
+        final List<Person> peopleResult = roleService.getPeople(role, null).join();
 
         assertNotSame(peopleExpected, peopleResult);
         assertEquals(peopleExpected, peopleResult);
         verify(personRepository, never()).findByRoles(role);
     }
+
+    /**
+     * Should use DataLoader instead of calling findByRoles function
+     */
+    @Test
+    public void getPeopleWithDataLoader() {
+        final Role role = new Role("ID");
+        final List<Person> peopleMocked = List.of(new Person("A1"), new Person("A2"));
+        final DataLoader<String, List<Person>> dataLoader = mock(DataLoader.class);
+        final DataFetchingEnvironment dataFetchingEnvironment = mock(DataFetchingEnvironment.class);
+        given(dataFetchingEnvironment.getDataLoader(CustomDataLoaderRegistryFactory.ROLE_PEOPLE)).willReturn((DataLoader) dataLoader);
+        given(dataLoader.load("ID")).willReturn(CompletableFuture.completedFuture(peopleMocked));
+        final ResolutionEnvironment environment = new ResolutionEnvironment(dataFetchingEnvironment, null, null, null);
+
+        final List<Person> peopleExpected = List.of(new Person("A1"), new Person("A2"));
+
+        final List<Person> peopleResult = roleService.getPeople(role, environment).join();
+
+        assertSame(peopleMocked, peopleResult);
+        assertNotSame(peopleExpected, peopleResult);
+        assertEquals(peopleExpected, peopleResult);
+        verify(dataLoader, times(1)).load("ID");
+        verify(personRepository, never()).findByRoles(any());
+        verify(personRepository, never()).findByRolesIn(any());
+    }
 }
\ No newline at end of file